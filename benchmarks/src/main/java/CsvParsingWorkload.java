@@ -0,0 +1,45 @@
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * CsvParsingWorkload Class that reads a CSV file of requests with Floor.unwrapData into the scheduler's queue.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class CsvParsingWorkload extends Workload implements AutoCloseable {
+	
+	private File csvFile;
+	
+	/**
+	 * Constructor for CsvParsingWorkload, writes the CSV file once for every operation.
+	 * 
+	 * @param requests	an int, the number of lines in the CSV file
+	 * @param elevators	an int, the number of elevators
+	 * @throws IOException	if the CSV file cannot be written
+	 */
+	public CsvParsingWorkload(int requests, int elevators) throws IOException {
+		super(requests, elevators);
+		this.csvFile = File.createTempFile("floorRequests", ".csv");
+		writeCsv(createRequests(requests), csvFile.getPath());
+	}
+	
+	@Override
+	public Object call() {
+		// room for every request, so the floor never waits for the scheduler
+		Scheduler s = new Scheduler(elevatorCount, requestCount);
+		Floor floor = new Floor(s, csvFile.getPath());
+		floor.unwrapData();
+		return s.getAllRequests();
+	}
+	
+	@Override
+	public void close() {
+		csvFile.delete();
+	}
+}
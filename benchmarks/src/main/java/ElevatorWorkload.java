@@ -0,0 +1,56 @@
+import java.io.IOException;
+
+/**
+ * ElevatorWorkload Class that sends requests to the elevators and steps them until every request is dropped off,
+ * without sleeping between floors, so only the elevator logic is measured.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ElevatorWorkload extends Workload {
+	
+	private RequestTable requests;
+	
+	/**
+	 * Constructor for ElevatorWorkload.
+	 * 
+	 * @param requests	an int, the number of requests in one operation
+	 * @param elevators	an int, the number of elevators
+	 * @throws IOException	if a floor is out of range
+	 */
+	public ElevatorWorkload(int requests, int elevators) throws IOException {
+		super(requests, elevators);
+		this.requests = createRequests(requests);
+	}
+	
+	@Override
+	public Object call() {
+		Scheduler s = new Scheduler(elevatorCount, requestCount);
+		for (FloorData fd : requests) {
+			s.notifySchedulerToElevator(s.selectElevator(fd), fd);
+		}
+		
+		// steps every elevator in turn until they are all idle
+		int idle = 0;
+		while (idle < elevatorCount) {
+			idle = 0;
+			for (Elevator car : s.getElevators()) {
+				int next = car.plan();
+				if (next < 0) {
+					idle++;
+				} else if (next == car.getCurrentFloor()) {
+					car.stop();
+				} else {
+					car.move(next);
+				}
+			}
+			while (s.pollSchedulerToFloor() != null);
+		}
+		return s;
+	}
+}
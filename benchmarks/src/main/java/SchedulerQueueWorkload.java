@@ -0,0 +1,49 @@
+import java.io.IOException;
+
+/**
+ * SchedulerQueueWorkload Class that moves requests through the scheduler's queues:
+ * into allFloorRequests, out to the elevator with the lowest cost and in and out of serviceableFloorRequests.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SchedulerQueueWorkload extends Workload {
+	
+	private RequestTable requests;
+	
+	/**
+	 * Constructor for SchedulerQueueWorkload.
+	 * 
+	 * @param requests	an int, the number of requests in one operation
+	 * @param elevators	an int, the number of elevators
+	 * @throws IOException	if a floor is out of range
+	 */
+	public SchedulerQueueWorkload(int requests, int elevators) throws IOException {
+		super(requests, elevators);
+		this.requests = createRequests(requests);
+	}
+	
+	@Override
+	public Object call() {
+		Scheduler s = new Scheduler(elevatorCount, requestCount);
+		for (FloorData fd : requests) {
+			s.addRequests(fd);
+		}
+		
+		FloorData fd;
+		while ((fd = s.getAllRequests().peek()) != null) {
+			s.removeRequests();
+			s.selectElevator(fd).addRequest(fd);
+			s.addServiceableRequests(fd);
+		}
+		while (!s.getServiceableRequests().isEmpty()) {
+			s.removeServiceableRequests();
+		}
+		return s;
+	}
+}
@@ -0,0 +1,46 @@
+import java.io.IOException;
+
+/**
+ * SimulationWorkload Class that runs requests through the whole simulation, from the scheduler to the elevators
+ * and back to the floor, as a discrete-event simulation.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SimulationWorkload extends Workload {
+	
+	private static final long TRAVEL_TIME = 2000; // milliseconds per floor
+	private static final long STOP_TIME = 8000; // milliseconds per stop
+	
+	private RequestTable requests;
+	
+	/**
+	 * Constructor for SimulationWorkload.
+	 * 
+	 * @param requests	an int, the number of requests in one operation
+	 * @param elevators	an int, the number of elevators
+	 * @throws IOException	if a floor is out of range
+	 */
+	public SimulationWorkload(int requests, int elevators) throws IOException {
+		super(requests, elevators);
+		this.requests = createRequests(requests);
+	}
+	
+	@Override
+	public Object call() {
+		Scheduler s = new Scheduler(elevatorCount);
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(TRAVEL_TIME);
+			car.setStopTime(STOP_TIME);
+		}
+		
+		EventSimulation simulation = new EventSimulation(s, new Floor(s, "./floorRequests.csv"), requests.iterator());
+		simulation.run();
+		return simulation;
+	}
+}
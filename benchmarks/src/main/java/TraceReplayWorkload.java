@@ -0,0 +1,46 @@
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * TraceReplayWorkload Class that replays a binary trace of requests with Floor.unwrapData into the scheduler's queue,
+ * the same requests as CsvParsingWorkload.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TraceReplayWorkload extends Workload implements AutoCloseable {
+	
+	private File traceFile;
+	
+	/**
+	 * Constructor for TraceReplayWorkload, writes the trace once for every operation.
+	 * 
+	 * @param requests	an int, the number of requests in the trace
+	 * @param elevators	an int, the number of elevators
+	 * @throws IOException	if the trace cannot be written
+	 */
+	public TraceReplayWorkload(int requests, int elevators) throws IOException {
+		super(requests, elevators);
+		this.traceFile = File.createTempFile("floorRequests", Floor.TRACE_EXTENSION);
+		writeTrace(createRequests(requests), traceFile.getPath());
+	}
+	
+	@Override
+	public Object call() {
+		// room for every request, so the floor never waits for the scheduler
+		Scheduler s = new Scheduler(elevatorCount, requestCount);
+		Floor floor = new Floor(s, traceFile.getPath());
+		floor.unwrapData();
+		return s.getAllRequests();
+	}
+	
+	@Override
+	public void close() {
+		traceFile.delete();
+	}
+}
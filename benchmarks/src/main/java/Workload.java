@@ -0,0 +1,100 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Workload Class that is one measured operation of a benchmark: a batch of requests run through the simulation.
+ * JMH does not allow benchmarks in the default package, and a named package cannot import the simulation classes,
+ * so the benchmarks in the benchmarks package load the workloads by name and only see them as a Callable.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public abstract class Workload implements Callable<Object> {
+	
+	protected static final int FLOORS = 10;
+	protected static final long SEED = 42;
+	
+	protected int requestCount;
+	protected int elevatorCount;
+	
+	/**
+	 * Constructor for Workload.
+	 * 
+	 * @param requests	an int, the number of requests in one operation
+	 * @param elevators	an int, the number of elevators
+	 */
+	public Workload(int requests, int elevators) {
+		this.requestCount = requests;
+		this.elevatorCount = elevators;
+		// the events would be measured along with the simulation
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+	}
+	
+	/**
+	 * Creates the same random requests every time, one second apart.
+	 * 
+	 * @param count	an int, the number of requests
+	 * @return	a RequestTable, the requests
+	 * @throws IOException	if a floor is out of range
+	 */
+	protected static RequestTable createRequests(int count) throws IOException {
+		Random random = new Random(SEED);
+		RequestTable requests = new RequestTable(Building.of(FLOORS), count);
+		for (int i = 0; i < count; i++) {
+			int iFloor = 1 + random.nextInt(FLOORS);
+			int dFloor = 1 + random.nextInt(FLOORS - 1);
+			if (dFloor >= iFloor) {
+				dFloor++;
+			}
+			
+			FloorData fd = new FloorData(FLOORS);
+			fd.setTimeMillis(i * 1000L);
+			fd.setInitialFloor(iFloor);
+			fd.setDestinationFloor(dFloor);
+			fd.setFloorButton(iFloor < dFloor ? "Up" : "Down");
+			requests.add(fd);
+		}
+		return requests;
+	}
+	
+	/**
+	 * Writes requests to a CSV file in the format of floorRequests.csv.
+	 * 
+	 * @param requests	a RequestTable, the requests
+	 * @param fileName	a String, the path of the CSV file
+	 * @throws IOException	if the file cannot be written
+	 */
+	protected static void writeCsv(RequestTable requests, String fileName) throws IOException {
+		try (PrintWriter pw = new PrintWriter(fileName)) {
+			for (int row = 0; row < requests.size(); row++) {
+				long seconds = requests.getTimeMillis(row) / 1000;
+				pw.printf("%d:%02d:%02d,%d,%s,%d%n", seconds / 3600 % 24, seconds / 60 % 60, seconds % 60,
+						requests.getInitialFloor(row), requests.getDirection(row) == Direction.UP ? "Up" : "Down",
+						requests.getDestinationFloor(row));
+			}
+		}
+	}
+	
+	/**
+	 * Writes the requests to a binary trace.
+	 * 
+	 * @param requests	a RequestTable, the requests
+	 * @param fileName	a String, the path of the trace
+	 * @throws IOException	if the trace cannot be written
+	 */
+	protected static void writeTrace(RequestTable requests, String fileName) throws IOException {
+		try (TraceWriter writer = new TraceWriter(Paths.get(fileName), requests.getBuilding())) {
+			for (FloorData fd : requests) {
+				writer.write(fd);
+			}
+		}
+	}
+}
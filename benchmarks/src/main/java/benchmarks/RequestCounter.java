@@ -0,0 +1,34 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * RequestCounter Class that counts the requests the benchmark serviced,
+ * JMH reports it next to the operations as requests per second.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class RequestCounter {
+	
+	public long requests;
+	
+	/**
+	 * Resets the count before every iteration.
+	 */
+	@Setup(Level.Iteration)
+	public void reset() {
+		requests = 0;
+	}
+}
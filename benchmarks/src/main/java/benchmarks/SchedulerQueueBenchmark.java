@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * SchedulerQueueBenchmark Class that measures adding, assigning and removing requests in the scheduler's queues.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SchedulerQueueBenchmark extends WorkloadBenchmark {
+	
+	@Param({"1000", "10000", "100000"})
+	public int requests;
+	
+	@Param({"1", "4", "12"})
+	public int elevators;
+	
+	/**
+	 * Loads the SchedulerQueueWorkload.
+	 * 
+	 * @throws ReflectiveOperationException	if the workload cannot be created
+	 */
+	@Setup
+	public void setUp() throws ReflectiveOperationException {
+		load("SchedulerQueueWorkload", requests, elevators);
+	}
+	
+	/**
+	 * Runs one batch of requests.
+	 * 
+	 * @param counter	a RequestCounter, counts the requests
+	 * @return	an Object, the result of the workload
+	 * @throws Exception	if the workload fails
+	 */
+	@Benchmark
+	public Object queueOperations(RequestCounter counter) throws Exception {
+		return run(counter);
+	}
+}
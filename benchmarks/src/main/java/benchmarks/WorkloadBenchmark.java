@@ -0,0 +1,84 @@
+package benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * WorkloadBenchmark Class that the benchmarks extend, it loads a workload from the default package
+ * and silences System.out while it runs.
+ * One operation is one batch of requests, the RequestCounter reports the requests per second.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class WorkloadBenchmark {
+	
+	protected Callable<Object> workload;
+	protected int requestCount;
+	private PrintStream out;
+	
+	/**
+	 * Loads a workload by its class name and silences the simulation's output.
+	 * 
+	 * @param name		a String, the name of the workload class
+	 * @param requests	an int, the number of requests in one operation
+	 * @param elevators	an int, the number of elevators
+	 * @throws ReflectiveOperationException	if the workload cannot be created
+	 */
+	@SuppressWarnings("unchecked")
+	protected void load(String name, int requests, int elevators) throws ReflectiveOperationException {
+		this.workload = (Callable<Object>) Class.forName(name).getConstructor(int.class, int.class).newInstance(requests, elevators);
+		this.requestCount = requests;
+		this.out = System.out;
+		System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+	}
+	
+	/**
+	 * Runs one operation of the workload.
+	 * 
+	 * @param counter	a RequestCounter, counts the requests of the operation
+	 * @return	an Object, the result of the workload, returned so it is not optimized away
+	 * @throws Exception	if the workload fails
+	 */
+	protected Object run(RequestCounter counter) throws Exception {
+		Object result = workload.call();
+		counter.requests += requestCount;
+		return result;
+	}
+	
+	/**
+	 * Restores System.out and cleans up the workload.
+	 * 
+	 * @throws Exception	if the workload cannot be closed
+	 */
+	@TearDown
+	public void tearDown() throws Exception {
+		System.setOut(out);
+		if (workload instanceof AutoCloseable) {
+			((AutoCloseable) workload).close();
+		}
+	}
+}
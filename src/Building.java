@@ -0,0 +1,64 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Building Class that holds what every request in the same building shares, so the requests do not each keep a copy.
+ * There is one Building for every number of floors.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class Building {
+	
+	// the floors are stored in a short by FloorData and RequestTable
+	public static final int MAX_FLOORS = Short.MAX_VALUE;
+	
+	private static final ConcurrentHashMap<Integer, Building> BUILDINGS = new ConcurrentHashMap<Integer, Building>();
+	
+	private final int floors; // the number of floors the building has
+	
+	/**
+	 * Constructor for Building.
+	 * 
+	 * @param floors	an int, the number of floors
+	 */
+	private Building(int floors) {
+		this.floors = floors;
+	}
+	
+	/**
+	 * Gets the building with a number of floors.
+	 * 
+	 * @param floors	an int, the number of floors
+	 * @return	a Building, the same Object for the same number of floors
+	 */
+	public static Building of(int floors) {
+		if (floors < 0 || floors > MAX_FLOORS) {
+			throw new IllegalArgumentException("A building has between 0 and " + MAX_FLOORS + " floors: " + floors);
+		}
+		return BUILDINGS.computeIfAbsent(floors, Building::new);
+	}
+	
+	/**
+	 * Gets the number of floors the building has.
+	 * 
+	 * @return	an int, the top floor
+	 */
+	public int getFloors() {
+		return floors;
+	}
+	
+	/**
+	 * Checks if a floor is in the building.
+	 * 
+	 * @param floor	an int, the floor
+	 * @return	a boolean, true if the floor is between 0 and the top floor
+	 */
+	public boolean hasFloor(int floor) {
+		return floor > -1 && floor <= floors;
+	}
+}
@@ -0,0 +1,133 @@
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentRequestStore Class that holds requests in the order they were added,
+ * for many threads at once without a lock.
+ * Every request gets a sequence number, the requests are ordered by it in a skip list,
+ * and a hash map from the request to its number removes any request without searching the list.
+ * A request is put in the list before its number is published in the map, so a thread that takes the number
+ * always finds the request in the list and never waits for the thread that added it.
+ * Adding, polling and removing are lock-free and cost O(log n), and size is kept in a counter.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ConcurrentRequestStore implements RequestView {
+	
+	private final ConcurrentSkipListMap<Long, FloorData> requests;	// the requests by sequence number
+	private final ConcurrentHashMap<FloorData, Long> sequences;	// the sequence number of each request
+	private final AtomicLong nextSequence;
+	private final AtomicInteger size;
+	
+	/**
+	 * Constructor for ConcurrentRequestStore.
+	 */
+	public ConcurrentRequestStore() {
+		this.requests = new ConcurrentSkipListMap<Long, FloorData>();
+		this.sequences = new ConcurrentHashMap<FloorData, Long>();
+		this.nextSequence = new AtomicLong();
+		this.size = new AtomicInteger();
+	}
+	
+	/**
+	 * Adds a request after the others.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the number of requests after adding it
+	 */
+	public int add(FloorData fd) {
+		Long sequence = nextSequence.getAndIncrement();
+		requests.put(sequence, fd);
+		int added = size.incrementAndGet();
+		// the request can only be taken once its number is in the map, and it is already in the list by then
+		if (sequences.putIfAbsent(fd, sequence) != null) {
+			requests.remove(sequence);
+			return size.decrementAndGet();
+		}
+		return added;
+	}
+	
+	/**
+	 * Removes a request.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request was removed by this call
+	 */
+	public boolean remove(FloorData fd) {
+		Long sequence = sequences.remove(fd);
+		if (sequence == null) {
+			return false;
+		}
+		requests.remove(sequence);
+		size.decrementAndGet();
+		return true;
+	}
+	
+	/**
+	 * Removes the oldest request.
+	 * 
+	 * @return	a FloorData Object, the oldest request, or null if there are none
+	 */
+	public FloorData poll() {
+		Map.Entry<Long, FloorData> entry = requests.firstEntry();
+		while (entry != null) {
+			// another thread may take the same request first, or it is still being added, then try the next one
+			if (sequences.remove(entry.getValue(), entry.getKey())) {
+				requests.remove(entry.getKey());
+				size.decrementAndGet();
+				return entry.getValue();
+			}
+			entry = requests.higherEntry(entry.getKey());
+		}
+		return null;
+	}
+	
+	@Override
+	public FloorData peek() {
+		Map.Entry<Long, FloorData> entry = requests.firstEntry();
+		return entry == null ? null : entry.getValue();
+	}
+	
+	@Override
+	public boolean contains(FloorData fd) {
+		return sequences.containsKey(fd);
+	}
+	
+	@Override
+	public int size() {
+		return size.get();
+	}
+	
+	@Override
+	public boolean isEmpty() {
+		return size.get() == 0;
+	}
+	
+	/**
+	 * Iterates over the requests from oldest to newest, without a lock,
+	 * the requests added or removed while iterating may or may not be seen.
+	 * The iterator cannot remove requests.
+	 * 
+	 * @return	an Iterator, the requests
+	 */
+	@Override
+	public Iterator<FloorData> iterator() {
+		return Collections.unmodifiableCollection(requests.values()).iterator();
+	}
+	
+	@Override
+	public String toString() {
+		return requests.values().toString();
+	}
+}
@@ -0,0 +1,178 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for ConcurrentRequestStore Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class ConcurrentRequestStoreTest {
+
+	ConcurrentRequestStore store = new ConcurrentRequestStore();
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that requests are polled in the order they were added and that any request can be removed.
+	 */
+	@Test
+	void testPollAndRemove() {
+		FloorData first = new FloorData(10);
+		FloorData second = new FloorData(10);
+		FloorData third = new FloorData(10);
+		store.add(first);
+		store.add(second);
+		assertEquals(3, store.add(third));
+		assertEquals(3, store.add(third));
+		
+		assertTrue(store.remove(second));
+		assertFalse(store.remove(second));
+		assertSame(first, store.peek());
+		assertSame(first, store.poll());
+		assertSame(third, store.poll());
+		assertNull(store.poll());
+		assertTrue(store.isEmpty());
+	}
+	
+	/**
+	 * Tests that the iterator of the view cannot remove requests.
+	 */
+	@Test
+	void testReadOnlyIterator() {
+		store.add(new FloorData(10));
+		Iterator<FloorData> it = store.iterator();
+		it.next();
+		assertThrows(UnsupportedOperationException.class, () -> it.remove());
+	}
+	
+	/**
+	 * Tests that every request is taken exactly once when many threads add, poll and remove at the same time.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testConcurrentProducersAndConsumers() throws InterruptedException {
+		int producers = 4;
+		int perProducer = 20000;
+		Set<FloorData> taken = Collections.synchronizedSet(new HashSet<FloorData>());
+		AtomicInteger takes = new AtomicInteger();
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		
+		for (int p = 0; p < producers; p++) {
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					FloorData fd = new FloorData(10);
+					store.add(fd);
+					// every other request is removed by the thread that added it, unless a consumer polled it first
+					if (i % 2 == 0 && store.remove(fd)) {
+						taken.add(fd);
+						takes.incrementAndGet();
+					}
+				}
+			}));
+		}
+		AtomicBoolean done = new AtomicBoolean();
+		for (int c = 0; c < producers; c++) {
+			threads.add(new Thread(() -> {
+				FloorData fd;
+				while (!done.get() || !store.isEmpty()) {
+					if ((fd = store.poll()) != null) {
+						taken.add(fd);
+						takes.incrementAndGet();
+					}
+				}
+			}));
+		}
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (int p = 0; p < producers; p++) {
+			threads.get(p).join();
+		}
+		done.set(true);
+		for (Thread t : threads) {
+			t.join();
+		}
+		
+		assertEquals(producers * perProducer, taken.size());
+		assertEquals(producers * perProducer, takes.get());
+		assertEquals(0, store.size());
+	}
+	
+	/**
+	 * Tests that a request added by many threads at once is taken exactly once, the copies that lose
+	 * are taken out of the list again and polling skips them instead of waiting for them.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testConcurrentDuplicates() throws InterruptedException {
+		int threads = 4;
+		int requests = 5000;
+		FloorData[] shared = new FloorData[requests];
+		for (int i = 0; i < requests; i++) {
+			shared[i] = new FloorData(10);
+		}
+		Set<FloorData> taken = Collections.synchronizedSet(new HashSet<FloorData>());
+		AtomicInteger takes = new AtomicInteger();
+		
+		ArrayList<Thread> producers = new ArrayList<Thread>();
+		for (int p = 0; p < threads; p++) {
+			producers.add(new Thread(() -> {
+				for (FloorData fd : shared) {
+					store.add(fd);
+				}
+			}));
+		}
+		AtomicBoolean done = new AtomicBoolean();
+		Thread consumer = new Thread(() -> {
+			FloorData fd;
+			while (!done.get() || !store.isEmpty()) {
+				if ((fd = store.poll()) != null) {
+					taken.add(fd);
+					takes.incrementAndGet();
+				}
+			}
+		});
+		for (Thread t : producers) {
+			t.start();
+		}
+		consumer.start();
+		for (Thread t : producers) {
+			t.join();
+		}
+		done.set(true);
+		consumer.join();
+		
+		// a request polled before another thread added it again is taken again, but never more often than it was added
+		assertEquals(requests, taken.size());
+		assertTrue(takes.get() >= requests && takes.get() <= threads * requests, takes.get() + " takes");
+		assertEquals(0, store.size());
+		assertNull(store.poll());
+	}
+}
@@ -0,0 +1,45 @@
+/**
+ * Direction enum for the direction a request or an elevator is going in.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum Direction {
+	UP,
+	DOWN;
+	
+	/**
+	 * Gets the direction of a trip between two floors.
+	 * 
+	 * @param initialFloor		an int, the floor the trip starts at
+	 * @param destinationFloor	an int, the floor the trip ends at
+	 * @return	a Direction, UP if the destination floor is above the initial floor, DOWN otherwise
+	 */
+	public static Direction of(int initialFloor, int destinationFloor) {
+		return initialFloor < destinationFloor ? UP : DOWN;
+	}
+	
+	/**
+	 * Gets the direction of a request.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a Direction, the direction the request is going in
+	 */
+	public static Direction of(FloorData fd) {
+		return of(fd.getInitialFloor(), fd.getDestinationFloor());
+	}
+	
+	/**
+	 * Gets the opposite direction.
+	 * 
+	 * @return	a Direction, DOWN for UP and UP for DOWN
+	 */
+	public Direction reverse() {
+		return this == UP ? DOWN : UP;
+	}
+}
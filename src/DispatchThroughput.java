@@ -0,0 +1,109 @@
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * DispatchThroughput Class that compares how many requests per second the scheduler services
+ * as elevators are added to the building, for each way the elevators can sweep through the building.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class DispatchThroughput {
+	
+	private static final int FLOORS = 10;
+	private static final long TRAVEL_TIME = 1; // milliseconds per floor
+	
+	/**
+	 * Runs the same requests through the scheduler with a different number of elevators each time.
+	 * 
+	 * @param args	the number of requests, followed by the elevator counts to compare (optional)
+	 * @throws IOException	if a generated request is out of range
+	 * @throws InterruptedException	if the comparison is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int requests = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int[] elevatorCounts = {1, 2, 4, 8, 12};
+		if (args.length > 1) {
+			elevatorCounts = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				elevatorCounts[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		
+		System.out.println("Elevators\tSweep\tRequests\tTime (ms)\tRequests/s\tFloors travelled\tStops");
+		for (int elevatorCount : elevatorCounts) {
+			for (SweepMode mode : SweepMode.values()) {
+				Scheduler s = new Scheduler(elevatorCount, requests);
+				long elapsed = run(s, mode, requests);
+				
+				long floorsTravelled = 0;
+				long stops = 0;
+				for (Elevator car : s.getElevators()) {
+					floorsTravelled += car.getFloorsTravelled();
+					stops += car.getStops();
+				}
+				System.out.println(elevatorCount + "\t\t" + mode + "\t" + requests + "\t\t" + elapsed / 1000000 + "\t\t"
+						+ requests * 1000000000L / elapsed + "\t\t" + floorsTravelled + "\t\t\t" + stops);
+			}
+		}
+	}
+	
+	/**
+	 * Services the requests with the given scheduler.
+	 * 
+	 * @param s			a Scheduler, the scheduler and its elevators
+	 * @param mode		a SweepMode, the way the elevators sweep through the building
+	 * @param requests	an int, the number of requests
+	 * @return	a long, the time it took to service all the requests in nanoseconds
+	 * @throws IOException	if a generated request is out of range
+	 * @throws InterruptedException	if the run is interrupted
+	 */
+	private static long run(Scheduler s, SweepMode mode, int requests) throws IOException, InterruptedException {
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(TRAVEL_TIME);
+			car.setSweepMode(mode);
+		}
+		
+		// every run gets the same requests
+		Random random = new Random(42);
+		for (int i = 0; i < requests; i++) {
+			int iFloor = 1 + random.nextInt(FLOORS);
+			int dFloor = 1 + random.nextInt(FLOORS - 1);
+			if (dFloor >= iFloor) {
+				dFloor++;
+			}
+			
+			FloorData fd = new FloorData(FLOORS);
+			fd.setInitialFloor(iFloor);
+			fd.setDestinationFloor(dFloor);
+			fd.setFloorButton(iFloor < dFloor ? "Up" : "Down");
+			s.addRequests(fd);
+		}
+		s.notifyRequestsLoaded();
+		
+		// the arrivals are drained like the floor does, without printing them
+		Thread floor = new Thread(() -> {
+			while (s.awaitSchedulerToFloor() != null);
+		}, "Floor");
+		Thread scheduler = new Thread(s, "Scheduler");
+		
+		EventLog log = EventLog.getDefault();
+		EventLog.Level level = log.getLevel();
+		log.setLevel(EventLog.Level.OFF);
+		long start = System.nanoTime();
+		try {
+			floor.start();
+			scheduler.start();
+			scheduler.join();
+			floor.join();
+		} finally {
+			log.setLevel(level);
+		}
+		return System.nanoTime() - start;
+	}
+}
@@ -1,4 +1,13 @@
-import java.util.Objects;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Elevator Class that consists of the elevator thread that will execute after the scheduler sends the request.
@@ -13,19 +22,46 @@ import java.util.Objects;
  */
 public class Elevator implements Runnable {
 	private Scheduler scheduler;
+	private int id;
 	private int elevatorToSchedulerCondition;
 	
+	// the requests the scheduler has sent to this elevator that have not been added to the sweep yet
+	private BlockingQueue<FloorData> assignedRequests;
+	// decides the next stop, only used by the elevator thread
+	private SweepEngine sweep;
+	private long travelTime;	// the time it takes to travel one floor in milliseconds
+	private long stopTime;	// the time a stop takes (doors opening, passengers, doors closing) in milliseconds
 	
 	private int currentFloor;	
-	// the floor the elevator needs to go to, so it can take the request
-	// the initial floor of the request
+	// the floor the elevator is at
 	
-	private int upState;
-	private int downState;
-	private int idle;
+	// the scheduler uses these to estimate how long it takes this elevator to get to a request
+	private int load;	// the number of requests assigned to the elevator that have not been dropped off
+	private Direction direction;	// the direction of the sweep, null while the elevator is idle
+	private int turnFloor;	// the floor the elevator turns around at
+	private long oldestArrival;	// when the oldest request the elevator has not picked up arrived, Long.MAX_VALUE if there is none
+	private boolean doorsOpen;	// true from a stop until the elevator decides where to go next
 	
-	private boolean canService;
-	// true if the request is serviceable, false otherwise
+	// the fields above are only used by the thread that runs the elevator, the other threads read the published state
+	private volatile ElevatorState state;
+	private long version;	// the version of the published state
+	
+	private volatile int upState;
+	private volatile int downState;
+	private volatile int idle;
+	
+	private long floorsTravelled;
+	private long stops;
+	
+	// the elevator beats every time it makes progress, the scheduler's watchdog takes the requests of one that stops beating
+	private final ReentrantLock stepLock;	// held while the elevator changes its sweep, so the watchdog never sees half of a change
+	private final Object faultLock;	// notified when a fault is injected or cleared
+	private volatile Fault fault;	// the fault injected into the elevator, null while it works
+	private volatile long faultEnd;	// when the fault clears, on the clock of System.nanoTime
+	private volatile long faultTime;	// when the fault stopped the elevator, on the clock of the scheduler's metrics
+	private volatile long heartbeat;	// when the elevator last made progress, on the clock of the scheduler's metrics
+	
+	private final EventLog log;	// where the elevator logs its stops, pickups and drop-offs
 	
 	
 	/**
@@ -34,12 +70,397 @@ public class Elevator implements Runnable {
 	 * @param s	A Scheduler object that is used to communicate between the two clients (i.e., floor and elevator).
 	 */
 	public Elevator(Scheduler s) {
+		this(s, 1);
+	}
+	
+	/**
+	 * Constructor for Elevator.
+	 * 
+	 * @param s		A Scheduler object that is used to communicate between the two clients (i.e., floor and elevator).
+	 * @param id	an int, the number of the elevator in the building
+	 */
+	public Elevator(Scheduler s, int id) {
 		this.scheduler = s;
+		this.id = id;
 		this.elevatorToSchedulerCondition = 0;
+		this.assignedRequests = new LinkedBlockingQueue<FloorData>();
+		this.sweep = new SweepEngine(SweepMode.LOOK);
+		this.travelTime = 0;
+		this.stopTime = 0;
 		this.upState = 0;
 		this.downState = 0;
 		this.idle = 1;
 		this.currentFloor = 2; // assume elevator starts at floor 2
+		this.turnFloor = currentFloor;
+		this.oldestArrival = Long.MAX_VALUE;
+		this.doorsOpen = false;
+		this.stepLock = new ReentrantLock();
+		this.faultLock = new Object();
+		this.faultTime = FloorData.NO_TIME;
+		this.heartbeat = s.getMetrics().getTime();
+		this.log = EventLog.getDefault();
+		publish();
+	}
+	
+	/**
+	 * Get the number of the elevator.
+	 * 
+	 * @return	an int, the id of the elevator
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	/**
+	 * Get the floor the elevator is at.
+	 * 
+	 * @return	an int, the current floor
+	 */
+	public int getCurrentFloor() {
+		return state.getFloor();
+	}
+	
+	/**
+	 * Get the direction the elevator is sweeping in.
+	 * 
+	 * @return	a Direction, the direction of the sweep, or null if the elevator is idle
+	 */
+	public Direction getDirection() {
+		return state.getDirection();
+	}
+	
+	/**
+	 * Get the floor the elevator turns around at, the end of its current sweep.
+	 * 
+	 * @return	an int, the turn floor
+	 */
+	public int getTurnFloor() {
+		return state.getTurnFloor();
+	}
+	
+	/**
+	 * Get the time the oldest request the elevator has not picked up yet arrived at the scheduler,
+	 * the request with the earliest deadline. Updated every time the elevator decides where to go next.
+	 * 
+	 * @return	a long, the arrival time on the clock of the scheduler's metrics, or Long.MAX_VALUE if the elevator has no one to pick up
+	 */
+	public long getOldestArrival() {
+		return state.getOldestArrival();
+	}
+	
+	/**
+	 * Get the state the elevator published last, e.g., to read its floor, direction and turn floor together.
+	 * Never blocks, so the scheduler and monitors can poll every elevator as often as they like.
+	 * 
+	 * @return	an ElevatorState, the state of the elevator after its last change
+	 */
+	public ElevatorState getState() {
+		return state;
+	}
+	
+	/**
+	 * Get the number of requests assigned to the elevator that have not been dropped off.
+	 * 
+	 * @return	an int, the load of the elevator
+	 */
+	public synchronized int getLoad() {
+		return load;
+	}
+	
+	/**
+	 * Get the number of floors the elevator has travelled.
+	 * 
+	 * @return	a long, the total travel of the elevator
+	 */
+	public long getFloorsTravelled() {
+		return floorsTravelled;
+	}
+	
+	/**
+	 * Get the number of times the elevator has stopped to pick up or drop off requests.
+	 * 
+	 * @return	a long, the number of stops
+	 */
+	public long getStops() {
+		return stops;
+	}
+	
+	/**
+	 * Sets the time it takes the elevator to travel one floor.
+	 * 
+	 * @param travelTime	a long, the travel time per floor in milliseconds
+	 */
+	public void setTravelTime(long travelTime) {
+		this.travelTime = travelTime;
+	}
+	
+	/**
+	 * Get the time it takes the elevator to travel one floor.
+	 * 
+	 * @return	a long, the travel time per floor in milliseconds
+	 */
+	public long getTravelTime() {
+		return travelTime;
+	}
+	
+	/**
+	 * Sets the time a stop takes.
+	 * 
+	 * @param stopTime	a long, the time the elevator spends at a floor it stops at, in milliseconds
+	 */
+	public void setStopTime(long stopTime) {
+		this.stopTime = stopTime;
+	}
+	
+	/**
+	 * Get the time a stop takes.
+	 * 
+	 * @return	a long, the time the elevator spends at a floor it stops at, in milliseconds
+	 */
+	public long getStopTime() {
+		return stopTime;
+	}
+	
+	/**
+	 * Injects a fault into the elevator, replacing the one it has. A fault with a duration clears itself once it has lasted that long.
+	 * 
+	 * @param fault	a Fault, the fault, its elevator and start time are not used
+	 */
+	public void injectFault(Fault fault) {
+		synchronized (faultLock) {
+			faultEnd = System.nanoTime() + fault.getDuration() * 1000000;
+			faultTime = fault.getType() == FaultType.SLOW ? scheduler.getMetrics().getTime() : FloorData.NO_TIME;
+			this.fault = fault;
+			faultLock.notifyAll();
+		}
+	}
+	
+	/**
+	 * Clears the fault of the elevator, it carries on where it stopped.
+	 */
+	public void clearFault() {
+		synchronized (faultLock) {
+			fault = null;
+			faultTime = FloorData.NO_TIME;
+			faultLock.notifyAll();
+		}
+	}
+	
+	/**
+	 * Gets the fault of the elevator.
+	 * 
+	 * @return	a Fault, the fault that has not cleared yet, or null if the elevator works
+	 */
+	public Fault getFault() {
+		Fault f = fault;
+		if (f != null && f.getDuration() > 0 && System.nanoTime() - faultEnd >= 0) {
+			return null;
+		}
+		return f;
+	}
+	
+	/**
+	 * Get the time a fault stopped the elevator: when it got stuck, when its doors jammed or when it was slowed down.
+	 * 
+	 * @return	a long, the time on the clock of the scheduler's metrics, or FloorData.NO_TIME if no fault has stopped it
+	 */
+	public long getFaultTime() {
+		return faultTime;
+	}
+	
+	/**
+	 * Get the time the elevator last made progress: planned, moved a floor, stopped, or waited for requests while idle.
+	 * 
+	 * @return	a long, the time of the last heartbeat on the clock of the scheduler's metrics
+	 */
+	public long getHeartbeat() {
+		return heartbeat;
+	}
+	
+	/**
+	 * Gets the requests the elevator has not picked up yet, including the ones the scheduler sent
+	 * that the elevator has not added to its sweep.
+	 * 
+	 * @return	an ArrayList, a copy of the requests, oldest first
+	 */
+	public ArrayList<FloorData> getWaitingRequests() {
+		ArrayList<FloorData> requests = sweep.getWaiting().toList();
+		requests.addAll(assignedRequests);
+		return requests;
+	}
+	
+	/**
+	 * Gets the passengers in the elevator.
+	 * 
+	 * @return	an ArrayList, a copy of the requests that were picked up and not dropped off, oldest first
+	 */
+	public ArrayList<FloorData> getRidingRequests() {
+		return sweep.getRiding().toList();
+	}
+	
+	/**
+	 * Takes away every request the elevator has not picked up, so the scheduler can send them to another elevator.
+	 * Called by the scheduler's watchdog while the elevator thread is stalled, the passengers stay in the elevator.
+	 * 
+	 * @return	an ArrayList, the requests that were taken, oldest first,
+	 * 			or null if the elevator thread is in the middle of changing its sweep and nothing was taken
+	 */
+	public ArrayList<FloorData> releaseWaitingRequests() {
+		if (!stepLock.tryLock()) {
+			return null;
+		}
+		try {
+			ArrayList<FloorData> released = takeWaitingRequests();
+			synchronized (this) {
+				load -= released.size();
+			}
+			updateOldestArrival();
+			publish();
+			return released;
+		} finally {
+			stepLock.unlock();
+		}
+	}
+	
+	/**
+	 * Takes the requests the elevator has not picked up out of its sweep, and the ones the scheduler sent
+	 * that it has not added to its sweep yet. Called by releaseWaitingRequests while holding the step lock.
+	 * 
+	 * @return	an ArrayList, the requests that were taken, oldest first
+	 */
+	protected ArrayList<FloorData> takeWaitingRequests() {
+		ArrayList<FloorData> released = sweep.getWaiting().toList();
+		for (FloorData fd : released) {
+			sweep.remove(fd);
+		}
+		FloorData fd;
+		while ((fd = assignedRequests.poll()) != null) {
+			released.add(fd);
+		}
+		return released;
+	}
+	
+	/**
+	 * Writes the state of the elevator and its requests to a checkpoint.
+	 * Must be called while the elevator thread is not running, e.g., between the events of an EventSimulation.
+	 * 
+	 * @param out	a DataOutput, where the elevator is written
+	 * @throws IOException	if the elevator cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		out.writeInt(id);
+		out.writeInt(currentFloor);
+		out.writeByte(direction == null ? -1 : direction.ordinal());
+		out.writeInt(turnFloor);
+		out.writeByte(upState);
+		out.writeByte(downState);
+		out.writeByte(idle);
+		out.writeInt(getLoad());
+		out.writeLong(floorsTravelled);
+		out.writeLong(stops);
+		out.writeLong(travelTime);
+		out.writeLong(stopTime);
+		out.writeInt(assignedRequests.size());
+		for (FloorData fd : assignedRequests) {
+			scheduler.getMetrics().writeRequest(fd, out);
+		}
+		sweep.writeState(out, scheduler.getMetrics());
+	}
+	
+	/**
+	 * Reads the state written by writeState into this elevator, which has no requests yet.
+	 * 
+	 * @param in		a DataInput, where the elevator is read from
+	 * @param building	a Building, the building of the checkpoint
+	 * @throws IOException	if the elevator cannot be read, or was written for another elevator
+	 */
+	public void readState(DataInput in, Building building) throws IOException {
+		int checkpointId = in.readInt();
+		if (checkpointId != id) {
+			throw new IOException("The checkpoint is for elevator " + checkpointId + ", not elevator " + id);
+		}
+		currentFloor = in.readInt();
+		byte d = in.readByte();
+		direction = d < 0 ? null : Direction.values()[d];
+		turnFloor = in.readInt();
+		upState = in.readByte();
+		downState = in.readByte();
+		idle = in.readByte();
+		synchronized (this) {
+			load = in.readInt();
+		}
+		floorsTravelled = in.readLong();
+		stops = in.readLong();
+		travelTime = in.readLong();
+		stopTime = in.readLong();
+		int assigned = in.readInt();
+		for (int i = 0; i < assigned; i++) {
+			assignedRequests.add(scheduler.getMetrics().readRequest(in, building));
+		}
+		sweep.readState(in, building, scheduler.getMetrics());
+		updateOldestArrival();
+		publish();
+	}
+	
+	/**
+	 * Sets the way the elevator sweeps through the building, must be called before the elevator thread starts.
+	 * 
+	 * @param mode	a SweepMode, SCAN, LOOK (the default) or C_LOOK
+	 */
+	public void setSweepMode(SweepMode mode) {
+		this.sweep = new SweepEngine(mode);
+	}
+	
+	/**
+	 * Adds a request to the requests the elevator services, wakes up the elevator thread if it is waiting.
+	 * 
+	 * @param fd	a FloorData Object, the request sent by the scheduler
+	 */
+	public void addRequest(FloorData fd) {
+		synchronized (this) {
+			load++;
+		}
+		deliver(fd);
+	}
+	
+	/**
+	 * Hands a request the scheduler sent to the elevator thread.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	protected void deliver(FloorData fd) {
+		assignedRequests.add(fd);
+	}
+	
+	/**
+	 * Sets where the elevator is and where it is going, used by RemoteElevator
+	 * to mirror an elevator that runs in another process.
+	 * 
+	 * @param floor		an int, the floor the elevator is at
+	 * @param direction	a Direction, the direction of the sweep, or null if the elevator is idle
+	 * @param turnFloor	an int, the floor the elevator turns around at
+	 */
+	protected void setStatus(int floor, Direction direction, int turnFloor) {
+		stepLock.lock();
+		try {
+			this.currentFloor = floor;
+			this.direction = direction;
+			this.turnFloor = turnFloor;
+			publish();
+		} finally {
+			stepLock.unlock();
+		}
+	}
+	
+	/**
+	 * Checks whether the elevator can pick up a request on its current sweep,
+	 * i.e., the elevator is idle, or the request is ahead of it and going in the same direction.
+	 * 
+	 * @param fd	a FloorData object, the request that needs to be serviced
+	 * @return	a boolean, true if the request is on the way, false otherwise
+	 */
+	public boolean isOnTheWay(FloorData fd) {
+		return state.isOnTheWay(fd);
 	}
 	
 	/**
@@ -56,121 +477,269 @@ public class Elevator implements Runnable {
  		
  		return elevatorToSchedulerCondition;
 	}
-
+	
 	/**
-	 * Checks whether the request is serviceable at the moment
-	 * @param fd	a FloorData object, the request that needs to be serviced
-	 * @return	a boolean, true if the request is serviceable, false otherwise
+	 * Tells the scheduler that a request has been dropped off at its destination floor.
+	 * 
+	 * @param fd	a FloorData Object, the request that was serviced
+	 * @return	An integer value (either 0 or 1) that is used to go back to scheduler from the elevator.
+	 */
+	public int notifyElevatorToScheduler(FloorData fd) {
+		synchronized (this) {
+			load--;
+		}
+		elevatorToSchedulerCondition = 1;
+		scheduler.requestServiced(this, fd);
+		
+		return elevatorToSchedulerCondition;
+	}
+	
+	/**
+	 * Tells the scheduler that every request going to the floor the elevator stopped at has been dropped off,
+	 * in one round trip instead of one for each.
+	 * 
+	 * @param dropped	a Collection, the requests that were serviced
+	 * @return	An integer value (either 0 or 1) that is used to go back to scheduler from the elevator.
+	 */
+	public int notifyElevatorToScheduler(Collection<FloorData> dropped) {
+		synchronized (this) {
+			load -= dropped.size();
+		}
+		elevatorToSchedulerCondition = 1;
+		scheduler.requestsServiced(this, dropped);
+		
+		return elevatorToSchedulerCondition;
+	}
+	
+	/**
+	 * Adds a request the scheduler sent to the sweep.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	private void receiveRequest(FloorData fd) {
+		scheduler.getMetrics().endHandoff(fd);
+		sweep.add(fd);
+		log.log(EventType.ELEVATOR_RECEIVED, id, fd.getInitialFloor(), fd.getDestinationFloor());
+	}
+	
+	/**
+	 * Sets the arrival time of the oldest request waiting to be picked up, the waiting requests are kept
+	 * in the order they were assigned, so it is the first one.
+	 */
+	private void updateOldestArrival() {
+		FloorData oldest = sweep.getWaiting().peek();
+		long arrival = oldest == null ? FloorData.NO_TIME : scheduler.getMetrics().getArrivalTime(oldest);
+		oldestArrival = arrival == FloorData.NO_TIME ? Long.MAX_VALUE : arrival;
+	}
+	
+	/**
+	 * Publishes the state of the elevator after a change. It is called while holding the step lock, or before the elevator
+	 * thread starts, so one thread publishes at a time, and a published state is never changed, so a reader sees all of a change or none of it.
+	 */
+	private void publish() {
+		RequestStore waiting = sweep.getWaiting();
+		RequestStore riding = sweep.getRiding();
+		BitSet floors = waiting.getFloors();
+		floors.or(riding.getFloors());
+		state = new ElevatorState(id, version++, currentFloor, direction, turnFloor, doorsOpen, floors, riding.size(), waiting.size(), oldestArrival);
+	}
+	
+	/**
+	 * Decides what the elevator does next: adds the requests the scheduler sent to the sweep,
+	 * the ones on the way are picked up in this sweep, then finds the next stop.
+	 * 
+	 * @return	an int, the floor of the next stop (the current floor if the elevator stops here),
+	 * 			or -1 if the elevator has no requests and is idle
 	 */
-	public boolean executeRequest(FloorData fd) {
-		if (fd.getInitialFloor() < fd.getDestinationFloor()) {
-			upState = 1;
+	public int plan() {
+		stepLock.lock();
+		try {
+			return planStep();
+		} finally {
+			stepLock.unlock();
 		}
-		else {
-			downState = 1;
+	}
+	
+	/**
+	 * Decides what the elevator does next, while holding the step lock.
+	 * 
+	 * @return	an int, the floor of the next stop, or -1 if the elevator is idle
+	 */
+	private int planStep() {
+    	FloorData fd;
+    	while ((fd = assignedRequests.poll()) != null) {
+    		receiveRequest(fd);
+    	}
+    	updateOldestArrival();
+    	
+    	int next = sweep.nextStop(currentFloor);
+    	direction = sweep.getDirection();
+    	turnFloor = sweep.getTurnFloor(currentFloor);
+    	doorsOpen = false;
+    	
+    	if (next < 0) {
+    		// Elevator is idle only when it executes ALL the requests 
+    		upState = 0;
+    		downState = 0;
+    		if (idle == 0) {
+    			idle = 1;
+    			log.log(EventType.ELEVATOR_IDLE, id, currentFloor, 0);
+    		}
+    	} else {
+    		idle = 0;
+    		upState = next > currentFloor ? 1 : 0;
+    		downState = next < currentFloor ? 1 : 0;
+    	}
+    	publish();
+    	return next;
+	}
+	
+	/**
+	 * Drops off and picks up the requests at the floor the elevator stopped at.
+	 * The doors stay open until the elevator decides where to go next.
+	 */
+	public void stop() {
+		stepLock.lock();
+		try {
+			stopStep();
+		} finally {
+			stepLock.unlock();
 		}
+	}
+	
+	/**
+	 * Drops off and picks up the requests at the floor, while holding the step lock.
+	 */
+	private void stopStep() {
+		stops++;
+		doorsOpen = true;
+		log.log(EventType.ELEVATOR_STOPPED, id, currentFloor, 0);
 		
-		if(upState == 1 && currentFloor > fd.getDestinationFloor()) {
-			canService = false;
-			
-		} else if(upState == 1 && currentFloor < fd.getDestinationFloor()) {
-			downState = 0;
-			currentFloor = fd.getInitialFloor();
-			canService = true;
-		}
-		else if(downState == 1 && currentFloor < fd.getDestinationFloor()) {
-			canService = false;	
-		}
-		else if(downState == 1 && currentFloor > fd.getDestinationFloor()) {
-			upState = 0;
-			currentFloor = fd.getInitialFloor();
-			canService = true;
-			
-		}
-		else if (Objects.isNull(fd)) {
-			canService = false;
-		}
-		return canService;
+		ArrayList<FloorData> dropped = sweep.dropOff(currentFloor);
+		for (FloorData fd : dropped) {
+			log.log(EventType.DROPPED_OFF, id, fd.getInitialFloor(), fd.getDestinationFloor());
+		}
+		if (!dropped.isEmpty()) {
+			notifyElevatorToScheduler(dropped);    // going back to scheduler from elevator, so scheduler can send the data to the floor
+		}
 		
+		ArrayList<FloorData> picked = sweep.pickUp(currentFloor);
+		for (FloorData fd : picked) {
+			log.log(EventType.PICKED_UP, id, fd.getInitialFloor(), fd.getDestinationFloor());
+			scheduler.requestPickedUp(this, fd);
+		}
+		updateOldestArrival();
+		publish();
+	}
+	
+	/**
+	 * Moves the elevator one floor towards the given floor.
+	 * 
+	 * @param floor	an int, the floor the elevator is going to
+	 */
+	public void move(int floor) {
+		stepLock.lock();
+		try {
+			currentFloor += floor > currentFloor ? 1 : -1;
+			floorsTravelled++;
+			publish();
+		} finally {
+			stepLock.unlock();
+		}
+	}
+	
+	/**
+	 * Records that the elevator made progress, or for a RemoteElevator that its process reported in.
+	 */
+	protected void beat() {
+		heartbeat = scheduler.getMetrics().getTime();
+	}
+	
+	/**
+	 * Waits for a request while the elevator is idle. With the scheduler's watchdog on,
+	 * it wakes up every heartbeat interval to beat, so an idle elevator is not mistaken for a failed one.
+	 * 
+	 * @return	a FloorData Object, the request, or null if none came before the heartbeat interval
+	 * @throws InterruptedException	if the scheduler stops the elevator
+	 */
+	private FloorData awaitRequest() throws InterruptedException {
+		long interval = scheduler.getHeartbeatInterval();
+		return interval > 0 ? assignedRequests.poll(interval, TimeUnit.MILLISECONDS) : assignedRequests.take();
+	}
+	
+	/**
+	 * Blocks while a fault of the given type stops the elevator. The elevator does not beat in the meantime.
+	 * 
+	 * @param type	a FaultType, STUCK or DOOR_JAM
+	 * @throws InterruptedException	if the scheduler stops the elevator
+	 */
+	private void holdFault(FaultType type) throws InterruptedException {
+		Fault f = getFault();
+		if (f == null || f.getType() != type) {
+			return;
+		}
+		faultTime = scheduler.getMetrics().getTime();
+		log.log(EventType.ELEVATOR_FAULT, id, currentFloor, 0);
+		synchronized (faultLock) {
+			while ((f = getFault()) != null && f.getType() == type) {
+				faultLock.wait(f.getDuration() > 0 ? Math.max(1, (faultEnd - System.nanoTime()) / 1000000) : 0);
+			}
+		}
+	}
+	
+	/**
+	 * Gets how long a floor or a stop takes, longer while the elevator is slowed down.
+	 * 
+	 * @param time	a long, the time it normally takes in milliseconds
+	 * @return	a long, the time it takes now in milliseconds
+	 */
+	private long scale(long time) {
+		Fault f = getFault();
+		return f != null && f.getType() == FaultType.SLOW ? (long) (time * f.getFactor()) : time;
 	}
 	
 	/**
 	 * Used to run the Elevator threads.
+	 * Blocks until the scheduler sends a request instead of polling the scheduler,
+	 * then sweeps through the building until all of its requests are serviced.
+	 * The elevator thread stops when it is interrupted by the scheduler, even while it still has requests.
 	 */
 	@Override
     public void run() { 
-        while(true) {
-        	if (scheduler.getSchedulerToElevatorCondition() == 1) {
-        		if(scheduler.getServiceableRequests().isEmpty() && !scheduler.getAllRequests().isEmpty()) {
-        			// as long as the serviceableRequests and allFloorRequests queue are not empty
-        			// keep checking whether the request is serviceable or not
-        			currentFloor = ((FloorData) scheduler.getAllRequests().element()).getInitialFloor();
-    	        	for(FloorData item: scheduler.getAllRequests()) {
-    	        		// if request is serviceable, add the FloorData object to the serviceableRequests queue
-    	        		if(executeRequest(item))  
-    	        		{
-    	        			    scheduler.addServiceableRequests(item);
-    	        			    
-    	        			    
-    	        			    // setting these to 0 since our elevator is stationary
-    	        			    // since it is neither going up nor down - it is not servicing anything yet
-    	        			    upState = 0;
-    	        			    downState = 0;
-    	        		}
-    	        		else {
-    	        			// Otherwise, output a message that the request cannot be serviced at the moment
-    	        			System.out.println("Request at time: " + item.getTime() + " cannot be processed at the moment.");
-    	        		}
-    	        	}
-        		}
-	        	while(!scheduler.getServiceableRequests().isEmpty()) {
-	        		// Go through the serviceableRequests queue
-	        		// until all requests have been serviced by the elevator
-	        		
-   	            	System.out.println("\nElevator: processing request");
-   	                System.out.println("\n\tElevator Received Request: " +
-   	                		"\n\t\tInitial Floor: " + ((FloorData) scheduler.getServiceableRequests().element()).getInitialFloor() +
-	                		" Destination Floor: " + ((FloorData) scheduler.getServiceableRequests().element()).getDestinationFloor() +
-	                		" Floor Button: " + ((FloorData)scheduler.getServiceableRequests().element()).getFloorButton() +
-	                		" Time: " + ((FloorData)scheduler.getServiceableRequests().element()).getTime() + "\n");
-   	                
-   	          
-   	                // calling this method to update the states
-  	                executeRequest(scheduler.getServiceableRequests().element());
-   	 			    System.out.println("Elevator upState = " + upState);
-   	 			    System.out.println("Elevator downState = " + downState);
-   	                System.out.println("Elevator: request was processed. Elevator is Stationary.");
-   	               
-   	                upState = 0;
-   	                downState = 0;
-   	                // Elevator is idle only when it executes ALL the requests 
-   	                // Therefore, we are setting idle equals 0 since the elevator is stationary, but not idle yet
-   	                idle = 0;
-   	                
-   	                notifyElevatorToScheduler();    // going back to scheduler from elevator, so scheduler can send the data to the floor
-   	                break;    	
-       	         }
-        	} else {
-	    		idle = 1;
-	    		if (idle == 1 && scheduler.getAllRequests().isEmpty() && scheduler.getServiceableRequests().isEmpty()) {
-	    			// idle when all the requests in the allFloorRequests have been serviced
-	    			// and both queues are empty
-	    			System.out.println("Elevator State = Idle");
-	    			
-	    			// setting idle equal to 0 to break out of the while loop and stop the elevator from executing
-	    			idle = 0;
-	    		}
-        		try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {}
-        	}
-        }
+		try {
+	        while(!Thread.currentThread().isInterrupted()) {
+	        	holdFault(FaultType.STUCK);
+	        	beat();
+	        	int next = plan();
+	        	if (next < 0) {
+	        		FloorData fd = awaitRequest();
+	        		if (fd != null) {
+	        			stepLock.lock();
+	        			try {
+	        				receiveRequest(fd);
+	        			} finally {
+	        				stepLock.unlock();
+	        			}
+	        		}
+	        	} else if (next == currentFloor) {
+	        		stop();
+	        		holdFault(FaultType.DOOR_JAM);
+	        		if (stopTime > 0) {
+	        			Thread.sleep(scale(stopTime));
+	        		}
+	        	} else {
+	        		if (travelTime > 0) {
+	        			Thread.sleep(scale(travelTime));
+	        		}
+	        		// stuck between floors
+	        		holdFault(FaultType.STUCK);
+	        		move(next);
+	        	}
+	        }
+		} catch (InterruptedException e) {
+			// the scheduler stops the elevator once all the requests have been serviced
+		}
+        
+		idle = 1;
 	}
 }
-        		
-
-         	
-            
-    
-	
-
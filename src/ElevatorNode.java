@@ -0,0 +1,175 @@
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ElevatorNode Class that runs one elevator in its own process, it talks to the scheduler's process (SchedulerNode) over UdpTransport.
+ * The elevator gets its requests from the scheduler and reports where it is every STATUS_INTERVAL when it has moved.
+ * While the scheduler has a watchdog, the STATUS is also sent once every heartbeat interval in which the elevator beat,
+ * so an elevator that is idle is not taken for a failed one, and one that stopped beating stops reporting in.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ElevatorNode implements Runnable {
+	
+	private static final long STATUS_INTERVAL = 1;	// milliseconds
+	
+	private final UdpTransport transport;
+	private final RemoteScheduler scheduler;
+	private final Elevator elevator;
+	private final CountDownLatch ended;	// counted down by the END message of the scheduler
+	
+	/**
+	 * Constructor for ElevatorNode.
+	 * 
+	 * @param transport	a UdpTransport, used to talk to the scheduler
+	 * @param address	a SocketAddress, the address of the scheduler's process
+	 * @param id		an int, the number of the elevator in the building
+	 */
+	public ElevatorNode(UdpTransport transport, SocketAddress address, int id) {
+		this.transport = transport;
+		this.scheduler = new RemoteScheduler(transport, address);
+		this.elevator = new Elevator(scheduler, id);
+		this.ended = new CountDownLatch(1);
+		transport.setHandler(this::receive);
+		transport.setFailureHandler(this::failed);
+	}
+	
+	/**
+	 * Get the elevator.
+	 * 
+	 * @return	an Elevator, the elevator
+	 */
+	public Elevator getElevator() {
+		return elevator;
+	}
+	
+	/**
+	 * Get the scheduler as the elevator sees it.
+	 * 
+	 * @return	a RemoteScheduler, the scheduler
+	 */
+	public RemoteScheduler getScheduler() {
+		return scheduler;
+	}
+	
+	/**
+	 * Handles a message from the scheduler.
+	 * 
+	 * @param from	a SocketAddress, the scheduler's process
+	 * @param m		a Message, the message
+	 */
+	private void receive(SocketAddress from, Message m) {
+		switch (m.getType()) {
+		case ASSIGN:
+			FloorData fd = m.toFloorData();
+			scheduler.register(m.getId(), fd);
+			elevator.addRequest(fd);
+			break;
+		case RELEASE:
+			// taken before the next message, an ASSIGN after it is for a request the elevator keeps;
+			// the elevator thread holds its step lock for a few microseconds at a time
+			ArrayList<FloorData> released;
+			while ((released = elevator.releaseWaitingRequests()) == null) {
+				Thread.onSpinWait();
+			}
+			for (FloorData request : released) {
+				scheduler.unregister(request);
+			}
+			break;
+		case END:
+			ended.countDown();
+			break;
+		default:
+			System.err.println("Elevator " + elevator.getId() + ": unexpected message " + m);
+		}
+	}
+	
+	/**
+	 * Called by the transport once the scheduler has stopped acknowledging messages, the elevator stops.
+	 * 
+	 * @param address	a SocketAddress, the scheduler's process
+	 */
+	private void failed(SocketAddress address) {
+		System.err.println("Elevator " + elevator.getId() + ": the scheduler stopped answering, stopping");
+		ended.countDown();
+	}
+	
+	/**
+	 * Used to run the elevator until the scheduler ends the simulation, sending its STATUS whenever it has changed
+	 * and at least once every heartbeat interval in which the elevator beat.
+	 */
+	@Override
+	public void run() {
+		transport.send(scheduler.getAddress(), Message.of(MessageType.HELLO, elevator.getId()));
+		Thread t = new Thread(elevator, "Elevator " + elevator.getId());
+		t.start();
+		
+		int floor = -1;
+		Direction direction = null;
+		int turnFloor = -1;
+		long version = -1;
+		long interval = scheduler.getHeartbeatInterval() * 1000000;
+		long sentBeat = elevator.getHeartbeat();	// the heartbeat of the elevator when the last STATUS was sent
+		try {
+			while (!ended.await(STATUS_INTERVAL, TimeUnit.MILLISECONDS)) {
+				ElevatorState state = elevator.getState();
+				long heartbeat = elevator.getHeartbeat();
+				boolean changed = false;
+				if (state.getVersion() != version) {
+					version = state.getVersion();
+					changed = state.getFloor() != floor || state.getDirection() != direction || state.getTurnFloor() != turnFloor;
+				}
+				if (changed || interval > 0 && heartbeat - sentBeat >= interval) {
+					Message status = Message.status(elevator);
+					floor = status.getInitialFloor();
+					direction = status.getDirection();
+					turnFloor = status.getDestinationFloor();
+					sentBeat = heartbeat;
+					transport.send(scheduler.getAddress(), status);
+				}
+			}
+		} catch (InterruptedException e) {
+			// stop the elevator
+		}
+		
+		t.interrupt();
+		try {
+			t.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs an elevator's process.
+	 * 
+	 * @param args	the address of the scheduler (host:port), the number of the elevator,
+	 * 				and the travel time per floor in milliseconds (optional)
+	 * @throws IOException	if the socket cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		SocketAddress address = UdpTransport.parseAddress(args.length > 0 ? args[0] : "localhost:5000");
+		int id = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+		
+		try (UdpTransport transport = new UdpTransport(0)) {
+			ElevatorNode node = new ElevatorNode(transport, address, id);
+			node.getScheduler().setFailureTimeout(Long.getLong(Scheduler.FAILURE_TIMEOUT_PROPERTY, 0));
+			if (args.length > 2) {
+				node.getElevator().setTravelTime(Long.parseLong(args[2]));
+			}
+			node.run();
+			EventLog.getDefault().flush();
+			transport.flush(1000);
+			System.out.println(transport);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+import java.util.BitSet;
+
+/**
+ * ElevatorState Class that holds a copy of an elevator's state at one moment: where it is, where it is going,
+ * whether its doors are open, the floors it will stop at and how many requests it has.
+ * The elevator publishes a new one every time its state changes and never changes one it has published,
+ * so the scheduler and monitors read all of it at once without locking the elevator or seeing half of a change.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ElevatorState {
+	
+	private final int id;
+	private final long version;	// counts the states the elevator has published, a newer state has a higher version
+	private final int floor;
+	private final Direction direction;	// the direction of the sweep, null while the elevator is idle
+	private final int turnFloor;
+	private final boolean doorsOpen;
+	private final BitSet stops;	// the floors with a request to pick up or drop off, never changed
+	private final int passengers;
+	private final int waiting;
+	private final long oldestArrival;
+	
+	/**
+	 * Constructor for ElevatorState.
+	 * 
+	 * @param id			an int, the number of the elevator
+	 * @param version		a long, the number of states the elevator has published before this one
+	 * @param floor			an int, the floor the elevator is at
+	 * @param direction		a Direction, the direction of the sweep, or null if the elevator is idle
+	 * @param turnFloor		an int, the floor the elevator turns around at
+	 * @param doorsOpen		a boolean, true while the elevator is stopped at a floor with its doors open
+	 * @param stops			a BitSet, the floors with a request to pick up or drop off, it must not be changed afterwards
+	 * @param passengers	an int, the number of requests in the elevator
+	 * @param waiting		an int, the number of requests the elevator has not picked up
+	 * @param oldestArrival	a long, when the oldest request the elevator has not picked up arrived, Long.MAX_VALUE if there is none
+	 */
+	public ElevatorState(int id, long version, int floor, Direction direction, int turnFloor, boolean doorsOpen, BitSet stops,
+			int passengers, int waiting, long oldestArrival) {
+		this.id = id;
+		this.version = version;
+		this.floor = floor;
+		this.direction = direction;
+		this.turnFloor = turnFloor;
+		this.doorsOpen = doorsOpen;
+		this.stops = stops;
+		this.passengers = passengers;
+		this.waiting = waiting;
+		this.oldestArrival = oldestArrival;
+	}
+	
+	/**
+	 * Get the number of the elevator.
+	 * 
+	 * @return	an int, the id of the elevator
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	/**
+	 * Get the version of the state, a reader that polls an elevator only needs to look at a state with a new version.
+	 * 
+	 * @return	a long, the number of states the elevator published before this one
+	 */
+	public long getVersion() {
+		return version;
+	}
+	
+	/**
+	 * Get the floor the elevator is at.
+	 * 
+	 * @return	an int, the current floor
+	 */
+	public int getFloor() {
+		return floor;
+	}
+	
+	/**
+	 * Get the direction the elevator is sweeping in.
+	 * 
+	 * @return	a Direction, the direction of the sweep, or null if the elevator is idle
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+	
+	/**
+	 * Get the floor the elevator turns around at, the end of its current sweep.
+	 * 
+	 * @return	an int, the turn floor
+	 */
+	public int getTurnFloor() {
+		return turnFloor;
+	}
+	
+	/**
+	 * Checks whether the elevator is stopped at a floor with its doors open.
+	 * 
+	 * @return	a boolean, true if the doors are open, false otherwise
+	 */
+	public boolean isDoorsOpen() {
+		return doorsOpen;
+	}
+	
+	/**
+	 * Checks whether the elevator is idle.
+	 * 
+	 * @return	a boolean, true if the elevator has no requests in its sweep, false otherwise
+	 */
+	public boolean isIdle() {
+		return direction == null;
+	}
+	
+	/**
+	 * Gets the floors the elevator will stop at.
+	 * 
+	 * @return	a BitSet, a copy of the floors with a request to pick up or drop off
+	 */
+	public BitSet getStops() {
+		return (BitSet) stops.clone();
+	}
+	
+	/**
+	 * Checks whether the elevator will stop at a floor, without copying the stops.
+	 * 
+	 * @param floor	an int, the floor
+	 * @return	a boolean, true if the elevator has a request to pick up or drop off at the floor, false otherwise
+	 */
+	public boolean hasStop(int floor) {
+		return floor >= 0 && stops.get(floor);
+	}
+	
+	/**
+	 * Get the number of requests in the elevator.
+	 * 
+	 * @return	an int, the passengers
+	 */
+	public int getPassengers() {
+		return passengers;
+	}
+	
+	/**
+	 * Get the number of requests in the sweep of the elevator that it has not picked up.
+	 * 
+	 * @return	an int, the requests waiting for the elevator
+	 */
+	public int getWaiting() {
+		return waiting;
+	}
+	
+	/**
+	 * Get the time the oldest request the elevator has not picked up yet arrived at the scheduler.
+	 * 
+	 * @return	a long, the arrival time on the clock of the scheduler's metrics, or Long.MAX_VALUE if the elevator has no one to pick up
+	 */
+	public long getOldestArrival() {
+		return oldestArrival;
+	}
+	
+	/**
+	 * Checks whether the elevator can pick up a request on its current sweep,
+	 * i.e., the elevator is idle, or the request is ahead of it and going in the same direction.
+	 * 
+	 * @param fd	a FloorData object, the request that needs to be serviced
+	 * @return	a boolean, true if the request is on the way, false otherwise
+	 */
+	public boolean isOnTheWay(FloorData fd) {
+		if (direction == null) {
+			return true;
+		}
+		if (Direction.of(fd) != direction) {
+			return false;
+		}
+		return direction == Direction.UP ? fd.getInitialFloor() >= floor : fd.getInitialFloor() <= floor;
+	}
+	
+	/**
+	 * Gets the state of the elevator.
+	 * 
+	 * @return	a String, the floor, the direction, the doors, the stops and the requests of the elevator
+	 */
+	@Override
+	public String toString() {
+		return "Elevator " + id + " v" + version + ": floor " + floor + ", " + (direction == null ? "idle" : direction + " to " + turnFloor)
+				+ ", doors " + (doorsOpen ? "open" : "closed") + ", stops " + stops + ", " + passengers + " riding, " + waiting + " waiting";
+	}
+}
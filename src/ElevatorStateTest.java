@@ -0,0 +1,135 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for ElevatorState class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class ElevatorStateTest {
+	
+	Building building = Building.of(10);
+	Scheduler s = new Scheduler();
+	Elevator e = new Elevator(s);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the elevator publishes a new state on every move and stop, and never changes an old one.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testTransitions() throws IOException {
+		ElevatorState idle = e.getState();
+		assertTrue(idle.isIdle());
+		assertEquals(2, idle.getFloor());
+		assertFalse(idle.isDoorsOpen());
+		assertTrue(idle.getStops().isEmpty());
+		
+		e.addRequest(TestRequests.request(building, 4, 1));
+		assertEquals(4, e.plan());
+		ElevatorState planned = e.getState();
+		assertTrue(planned.getVersion() > idle.getVersion());
+		assertEquals(Direction.UP, planned.getDirection());
+		assertEquals(4, planned.getTurnFloor());
+		assertTrue(planned.hasStop(4));
+		assertEquals(1, planned.getWaiting());
+		
+		e.move(4);
+		e.move(4);
+		assertEquals(4, e.getState().getFloor());
+		assertEquals(4, e.plan());
+		e.stop();
+		ElevatorState stopped = e.getState();
+		assertTrue(stopped.isDoorsOpen());
+		assertEquals(1, stopped.getPassengers());
+		assertEquals(0, stopped.getWaiting());
+		assertTrue(stopped.hasStop(1));
+		assertFalse(stopped.hasStop(4));
+		
+		// the doors close once the elevator decides where to go next
+		assertEquals(1, e.plan());
+		assertFalse(e.getState().isDoorsOpen());
+		assertEquals(Direction.DOWN, e.getState().getDirection());
+		
+		// the states that were read before do not change
+		assertTrue(idle.isIdle());
+		assertEquals(2, idle.getFloor());
+		assertTrue(planned.hasStop(4));
+		assertTrue(stopped.isDoorsOpen());
+		
+		// changing a copy of the stops does not change the state
+		stopped.getStops().clear();
+		assertTrue(stopped.hasStop(1));
+	}
+	
+	/**
+	 * Tests that a thread polling a running elevator only sees states that agree with themselves, in order.
+	 * 
+	 * @throws IOException
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testPolling() throws IOException, InterruptedException {
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<String> torn = new AtomicReference<String>();
+		Thread poller = new Thread(() -> {
+			long version = -1;
+			while (running.get() && torn.get() == null) {
+				ElevatorState state = e.getState();
+				Direction d = state.getDirection();
+				boolean agrees = d == null ? !state.isDoorsOpen()
+						: d == Direction.UP ? state.getFloor() <= state.getTurnFloor() : state.getFloor() >= state.getTurnFloor();
+				if (!agrees || state.getVersion() < version) {
+					torn.set(state.toString());
+				}
+				version = state.getVersion();
+			}
+		});
+		Thread car = new Thread(e);
+		poller.start();
+		car.start();
+		
+		Random random = new Random(42);
+		int requests = 2000;
+		for (int i = 0; i < requests; i++) {
+			int from = 1 + random.nextInt(10);
+			int to = 1 + (from + random.nextInt(9)) % 10;
+			e.addRequest(TestRequests.request(building, from, to));
+		}
+		for (int i = 0; i < requests; i++) {
+			assertNotNull(s.awaitSchedulerToFloor());
+		}
+		
+		running.set(false);
+		car.interrupt();
+		car.join();
+		poller.join();
+		assertNull(torn.get());
+		assertEquals(0, e.getState().getPassengers());
+		assertTrue(e.getState().getStops().isEmpty());
+	}
+}
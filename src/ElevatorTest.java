@@ -1,5 +1,7 @@
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,5 +41,26 @@ class ElevatorTest {
 		assertEquals(e.notifyElevatorToScheduler(), 1);
 		assertEquals(s.getSchedulerToElevatorCondition(), 0);
 	}
-
+	
+	/**
+	 * Tests that the elevator keeps track of its load as requests are added and dropped off.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testLoad() throws IOException {
+		FloorData fd = new FloorData(5);
+		fd.setInitialFloor(4);
+		fd.setDestinationFloor(1);
+		fd.setFloorButton("Down");
+		
+		// an idle elevator can pick up any request
+		assertTrue(e.isOnTheWay(fd));
+		
+		e.addRequest(fd);
+		assertEquals(e.getLoad(), 1);
+		e.notifyElevatorToScheduler(fd);
+		assertEquals(e.getLoad(), 0);
+		assertSame(fd, s.awaitSchedulerToFloor());
+	}
 }
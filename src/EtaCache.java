@@ -0,0 +1,193 @@
+/**
+ * EtaCache Class that estimates how long it takes one car to get to any floor, going in either direction.
+ * The scheduler tells it when the car gets a stop and when a stop is done. The route of the car is only
+ * worked out again when a floor is added to or removed from its stops, and only on the next estimate:
+ * the car sweeps to the farthest stop ahead of it, stopping on the way, turns around, sweeps to the
+ * farthest stop the other way, and turns around again. The arrival times at every floor along the route
+ * are kept, so an estimate is two lookups, minus the time the car has already spent getting to where it is now.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class EtaCache {
+	
+	private final TravelTimeMatrix matrix;
+	private final int top;	// the top floor
+	private final int[][] stops;	// the number of requests that stop at each floor, by direction
+	private int stopFloors;	// the number of floors and directions the car stops at
+	
+	private boolean valid;	// false once the stops have changed since the route was worked out
+	private final long[][] eta;	// the time the car gets to each floor from the start of the route, by direction, in milliseconds
+	private int routes;	// the number of times the route was worked out
+	
+	/**
+	 * Constructor for EtaCache.
+	 * 
+	 * @param matrix	a TravelTimeMatrix, the travel times of the building
+	 */
+	public EtaCache(TravelTimeMatrix matrix) {
+		this.matrix = matrix;
+		this.top = matrix.getBuilding().getFloors();
+		this.stops = new int[2][top + 1];
+		this.eta = new long[2][top + 1];
+		this.valid = false;
+	}
+	
+	/**
+	 * Adds a stop, for a request picked up at the floor or dropped off there.
+	 * 
+	 * @param floor		an int, the floor
+	 * @param direction	a Direction, the direction the request is going in
+	 */
+	public synchronized void addStop(int floor, Direction direction) {
+		if (stops[direction.ordinal()][floor]++ == 0) {
+			stopFloors++;
+			valid = false;
+		}
+	}
+	
+	/**
+	 * Removes a stop once the request has been picked up or dropped off.
+	 * 
+	 * @param floor		an int, the floor
+	 * @param direction	a Direction, the direction the request is going in
+	 */
+	public synchronized void removeStop(int floor, Direction direction) {
+		int[] counts = stops[direction.ordinal()];
+		if (counts[floor] > 0 && --counts[floor] == 0) {
+			stopFloors--;
+			valid = false;
+		}
+	}
+	
+	/**
+	 * Estimates the time it takes the car to get to a floor, to pick up a request going in a direction.
+	 * 
+	 * @param floor			an int, the floor of the request
+	 * @param direction		a Direction, the direction of the request
+	 * @param carFloor		an int, the floor the car is at
+	 * @param carDirection	a Direction, the direction the car is going in, or null if it is idle
+	 * @return	a long, the estimated time of arrival in milliseconds from now
+	 */
+	public synchronized long getEta(int floor, Direction direction, int carFloor, Direction carDirection) {
+		if (stopFloors == 0) {
+			return matrix.getTravelTime(carFloor, floor);
+		}
+		if (!valid) {
+			route(carFloor, carDirection);
+		}
+		
+		long elapsed = eta[(carDirection == null ? getStartDirection(carFloor) : carDirection).ordinal()][carFloor];
+		long arrival = eta[direction.ordinal()][floor];
+		if (arrival < elapsed) {
+			// the car has gone past the floor since the route was worked out, it comes back on the next sweep
+			route(carFloor, carDirection);
+			return eta[direction.ordinal()][floor];
+		}
+		return arrival - elapsed;
+	}
+	
+	/**
+	 * Works out the arrival time at every floor in both directions along the route of the car.
+	 * 
+	 * @param carFloor		an int, the floor the car is at
+	 * @param carDirection	a Direction, the direction the car is going in, or null if it is idle
+	 */
+	private void route(int carFloor, Direction carDirection) {
+		Direction d = carDirection == null ? getStartDirection(carFloor) : carDirection;
+		Direction r = d.reverse();
+		long[] ahead = eta[d.ordinal()];
+		long[] back = eta[r.ordinal()];
+		int[] stopsAhead = stops[d.ordinal()];
+		int[] stopsBack = stops[r.ordinal()];
+		int step = d == Direction.UP ? 1 : -1;
+		int end = d == Direction.UP ? top : 0;	// the end of the building in the direction of the car
+		int start = d == Direction.UP ? 0 : top;	// the other end
+		long stopTime = matrix.getStopTime();
+		
+		// the car turns around at the farthest stop ahead of it
+		int turn = carFloor;
+		for (int f = carFloor; f != end + step; f += step) {
+			if (stopsAhead[f] + stopsBack[f] > 0) {
+				turn = f;
+			}
+		}
+		
+		// the sweep ahead of the car, a floor past the turn would make the car go a little farther
+		int last = carFloor;
+		long lastTime = 0;
+		for (int f = carFloor; f != end + step; f += step) {
+			ahead[f] = lastTime + matrix.getTravelTime(last, f);
+			if (stopsAhead[f] > 0) {
+				lastTime = ahead[f] + stopTime;
+				last = f;
+			}
+		}
+		
+		// the sweep back, it turns around again at the farthest stop
+		for (int f = end; f != turn; f -= step) {
+			back[f] = lastTime + matrix.getTravelTime(last, f);
+		}
+		int turnBack = turn;
+		for (int f = turn; f != start - step; f -= step) {
+			back[f] = lastTime + matrix.getTravelTime(last, f);
+			if (stopsBack[f] > 0) {
+				lastTime = back[f] + stopTime;
+				last = f;
+			}
+			if (stopsBack[f] > 0 || ((f - carFloor) * step < 0 && stopsAhead[f] > 0)) {
+				turnBack = f;
+			}
+		}
+		
+		// the sweep behind where the car started, in its direction again
+		for (int f = start; f != carFloor; f += step) {
+			ahead[f] = lastTime + matrix.getTravelTime(last, f);
+			if ((f - turnBack) * step >= 0 && stopsAhead[f] > 0) {
+				lastTime = ahead[f] + stopTime;
+				last = f;
+			}
+		}
+		
+		valid = true;
+		routes++;
+	}
+	
+	/**
+	 * Gets the direction an idle car starts in, towards its stops.
+	 * 
+	 * @param carFloor	an int, the floor the car is at
+	 * @return	a Direction, UP if the car has a stop above it, DOWN otherwise
+	 */
+	private Direction getStartDirection(int carFloor) {
+		for (int f = carFloor + 1; f <= top; f++) {
+			if (stops[0][f] + stops[1][f] > 0) {
+				return Direction.UP;
+			}
+		}
+		return Direction.DOWN;
+	}
+	
+	/**
+	 * Get the number of times the route was worked out, i.e., the number of times the cache was invalidated and used.
+	 * 
+	 * @return	an int, the number of routes
+	 */
+	public synchronized int getRoutes() {
+		return routes;
+	}
+	
+	/**
+	 * Get the travel times the estimates are made from.
+	 * 
+	 * @return	a TravelTimeMatrix, the matrix
+	 */
+	public TravelTimeMatrix getMatrix() {
+		return matrix;
+	}
+}
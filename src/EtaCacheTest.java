@@ -0,0 +1,115 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for EtaCache Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class EtaCacheTest {
+
+	Building building = Building.of(10);
+	TravelTimeMatrix matrix = new TravelTimeMatrix(building, Kinematics.DEFAULT);
+	EtaCache cache;
+	long stop = Kinematics.DEFAULT.getStopTime();
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new EtaCache(matrix);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that a car with no stops goes straight to the floor.
+	 */
+	@Test
+	void testIdle() {
+		assertEquals(matrix.getTravelTime(2, 7), cache.getEta(7, Direction.DOWN, 2, null));
+		assertEquals(0, cache.getRoutes());
+	}
+	
+	/**
+	 * Tests the estimates ahead of the car, on the way back, and behind it.
+	 */
+	@Test
+	void testRoute() {
+		// a request going up from 5 to 8, the car is at 2 going up
+		cache.addStop(5, Direction.UP);
+		cache.addStop(8, Direction.UP);
+		
+		long atFive = matrix.getTravelTime(2, 5) + stop;
+		long atEight = atFive + matrix.getTravelTime(5, 8) + stop;
+		assertEquals(matrix.getTravelTime(2, 4), cache.getEta(4, Direction.UP, 2, Direction.UP));
+		assertEquals(atFive + matrix.getTravelTime(5, 6), cache.getEta(6, Direction.UP, 2, Direction.UP));
+		assertEquals(atEight + matrix.getTravelTime(8, 4), cache.getEta(4, Direction.DOWN, 2, Direction.UP));
+		assertEquals(atEight + matrix.getTravelTime(8, 1), cache.getEta(1, Direction.UP, 2, Direction.UP));
+		assertEquals(1, cache.getRoutes());
+	}
+	
+	/**
+	 * Tests that the route is only worked out again when a floor is added to or removed from the stops,
+	 * and that the car moving along its route takes the time it spent off the estimate.
+	 */
+	@Test
+	void testInvalidation() {
+		cache.addStop(5, Direction.UP);
+		cache.addStop(8, Direction.UP);
+		long eta = cache.getEta(6, Direction.UP, 2, Direction.UP);
+		
+		assertEquals(eta - matrix.getTravelTime(2, 3), cache.getEta(6, Direction.UP, 3, Direction.UP));
+		// another passenger at the same stops
+		cache.addStop(5, Direction.UP);
+		cache.addStop(8, Direction.UP);
+		cache.removeStop(8, Direction.UP);
+		cache.getEta(6, Direction.UP, 3, Direction.UP);
+		assertEquals(1, cache.getRoutes());
+		
+		cache.addStop(7, Direction.DOWN);
+		cache.getEta(6, Direction.UP, 3, Direction.UP);
+		assertEquals(2, cache.getRoutes());
+		
+		// the car went past floor 4, it comes back for it after turning around twice
+		long behind = cache.getEta(4, Direction.UP, 6, Direction.UP);
+		assertTrue(behind > matrix.getTravelTime(6, 8) + matrix.getTravelTime(8, 0), String.valueOf(behind));
+	}
+	
+	/**
+	 * Tests that the scheduler sends a request to the elevator that gets there the soonest, with its stops on the way.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testScheduler() throws IOException {
+		Scheduler s = new Scheduler(2);
+		s.setTravelTimes(matrix);
+		Elevator busy = s.getElevators().get(0);
+		Elevator free = s.getElevators().get(1);
+		
+		assertSame(busy, s.dispatch(TestRequests.request(building, 2, 9)));
+		FloorData fd = TestRequests.request(building, 4, 1);
+		assertEquals(matrix.getTravelTime(2, 4), s.getCost(free, fd));
+		assertTrue(s.getCost(busy, fd) > s.getCost(free, fd));
+		assertSame(free, s.dispatch(fd));
+		
+		// the stops of the request that was picked up are gone once it is dropped off
+		s.requestPickedUp(free, fd);
+		s.requestServiced(free, fd);
+		assertEquals(matrix.getTravelTime(2, 7), s.getEtaCache(free).getEta(7, Direction.UP, 2, null));
+	}
+}
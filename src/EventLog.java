@@ -0,0 +1,360 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * EventLog Class that the floor, scheduler and elevator threads log their events to instead of System.out.
+ * An event is written as fixed-size binary values (time, event type, elevator, two floors) into a ring buffer
+ * that is allocated once, a writer thread takes them out in batches and prints them to the console,
+ * or writes the binary events to a file.
+ * Logging does not lock, allocate or wait for I/O. If the ring buffer is full the event is dropped and counted.
+ * Below its level an event costs one comparison, so a run with the level OFF logs nothing.
+ * 
+ * The level and the file of the default log are set with -Deventlog.level=OFF|INFO|DEBUG and -Deventlog.file=path.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class EventLog {
+	
+	/**
+	 * Level Enum for how much is logged, every level logs the events of the levels before it.
+	 */
+	public enum Level {
+		OFF,	// nothing
+		INFO,	// state changes, e.g., an elevator becoming idle
+		DEBUG	// every request, stop, pickup and drop-off
+	}
+	
+	public static final int DEFAULT_CAPACITY = 1 << 16;	// events
+	public static final int EVENT_BYTES = 24;	// the size of an event in the file
+	
+	private static final int FIELDS = 3;	// longs per event: time, type and elevator, floors
+	private static final int BATCH = 1024;	// events the writer takes out at once
+	private static final EventType[] TYPES = EventType.values();
+	
+	private static EventLog defaultLog;
+	
+	private final int mask;
+	private final long[] events;
+	private final AtomicLongArray published;	// the sequence number + 1 of the event in each slot, once it is written
+	private final AtomicLong head;	// the sequence number of the next event
+	private volatile long tail;	// the sequence number of the next event the writer takes out
+	private final AtomicLong dropped;
+	private volatile int level;
+	private final long start;	// the events are printed with the time since the log was created
+	
+	private final PrintStream console;	// null for System.out at the time of writing
+	private final FileChannel file;	// null for the console
+	private final Thread writer;
+	private volatile boolean closed;
+	
+	/**
+	 * Constructor for EventLog that prints to System.out.
+	 * 
+	 * @param capacity	an int, the number of events the ring buffer holds, rounded up to a power of two
+	 * @param level		a Level, the events that are logged
+	 */
+	public EventLog(int capacity, Level level) {
+		this(capacity, level, null, null);
+	}
+	
+	/**
+	 * Constructor for EventLog that prints to a stream.
+	 * 
+	 * @param capacity	an int, the number of events the ring buffer holds, rounded up to a power of two
+	 * @param level		a Level, the events that are logged
+	 * @param console	a PrintStream, where the events are printed
+	 */
+	public EventLog(int capacity, Level level, PrintStream console) {
+		this(capacity, level, console, null);
+	}
+	
+	/**
+	 * Constructor for EventLog that writes the binary events to a file, EVENT_BYTES for each event.
+	 * 
+	 * @param capacity	an int, the number of events the ring buffer holds, rounded up to a power of two
+	 * @param level		a Level, the events that are logged
+	 * @param path		a Path, the file, it is replaced if it exists
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public EventLog(int capacity, Level level, Path path) throws IOException {
+		this(capacity, level, null, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+	}
+	
+	/**
+	 * Constructor for EventLog, starts the writer thread.
+	 */
+	private EventLog(int capacity, Level level, PrintStream console, FileChannel file) {
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.mask = size - 1;
+		this.events = new long[size * FIELDS];
+		this.published = new AtomicLongArray(size);
+		this.head = new AtomicLong();
+		this.tail = 0;
+		this.dropped = new AtomicLong();
+		this.level = level.ordinal();
+		this.start = System.nanoTime();
+		this.console = console;
+		this.file = file;
+		this.closed = false;
+		
+		this.writer = new Thread(this::write, "Event Log Writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+	
+	/**
+	 * Gets the log the floor, scheduler and elevators write to, created the first time it is used.
+	 * 
+	 * @return	an EventLog, the default log
+	 */
+	public static synchronized EventLog getDefault() {
+		if (defaultLog == null) {
+			Level level = Level.valueOf(System.getProperty("eventlog.level", Level.DEBUG.name()));
+			String fileName = System.getProperty("eventlog.file");
+			try {
+				defaultLog = fileName == null ? new EventLog(DEFAULT_CAPACITY, level) : new EventLog(DEFAULT_CAPACITY, level, Paths.get(fileName));
+			} catch (IOException e) {
+				System.err.println("Event log: could not open " + fileName + ": " + e.getMessage());
+				defaultLog = new EventLog(DEFAULT_CAPACITY, level);
+			}
+		}
+		return defaultLog;
+	}
+	
+	/**
+	 * Sets the events that are logged from now on.
+	 * 
+	 * @param level	a Level, the level
+	 */
+	public void setLevel(Level level) {
+		this.level = level.ordinal();
+	}
+	
+	/**
+	 * Get the events that are logged.
+	 * 
+	 * @return	a Level, the level
+	 */
+	public Level getLevel() {
+		return Level.values()[level];
+	}
+	
+	/**
+	 * Checks if an event would be logged.
+	 * 
+	 * @param type	an EventType, the event
+	 * @return	a boolean, true if the level of the event is logged
+	 */
+	public boolean isLogged(EventType type) {
+		return type.getLevel().ordinal() <= level;
+	}
+	
+	/**
+	 * Logs an event, if its level is logged.
+	 * 
+	 * @param type		an EventType, the event
+	 * @param elevator	an int, the id of the elevator, 0 if it is not about an elevator
+	 * @param a			an int, the first floor (or count) of the event
+	 * @param b			an int, the second floor (or count) of the event
+	 * @return	a boolean, false if the event was dropped because the ring buffer was full
+	 */
+	public boolean log(EventType type, int elevator, int a, int b) {
+		if (type.getLevel().ordinal() > level) {
+			return true;
+		}
+		
+		long sequence;
+		do {
+			sequence = head.get();
+			if (sequence - tail > mask) {
+				dropped.incrementAndGet();
+				return false;
+			}
+		} while (!head.compareAndSet(sequence, sequence + 1));
+		
+		int slot = (int) (sequence & mask);
+		int i = slot * FIELDS;
+		events[i] = System.nanoTime();
+		events[i + 1] = ((long) type.ordinal() << 32) | (elevator & 0xFFFFFFFFL);
+		events[i + 2] = ((long) a << 32) | (b & 0xFFFFFFFFL);
+		// the writer reads the event after it sees the sequence number
+		published.lazySet(slot, sequence + 1);
+		return true;
+	}
+	
+	/**
+	 * Get the number of events that were dropped because the ring buffer was full.
+	 * 
+	 * @return	a long, the number of dropped events
+	 */
+	public long getDropped() {
+		return dropped.get();
+	}
+	
+	/**
+	 * Blocks until the writer has written every event logged before this call.
+	 */
+	public void flush() {
+		long target = head.get();
+		while (tail < target && writer.isAlive()) {
+			LockSupport.unpark(writer);
+			LockSupport.parkNanos(100000);
+		}
+	}
+	
+	/**
+	 * Writes the events that are left and stops the writer thread.
+	 */
+	public void close() {
+		flush();
+		closed = true;
+		LockSupport.unpark(writer);
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Used to run the writer thread: takes the events out of the ring buffer in order, in batches,
+	 * and sleeps for a millisecond when there are none.
+	 */
+	private void write() {
+		StringBuilder text = new StringBuilder();
+		ByteBuffer bytes = ByteBuffer.allocateDirect(BATCH * EVENT_BYTES);
+		
+		while (!closed || tail < head.get()) {
+			long sequence = tail;
+			int count = 0;
+			while (count < BATCH && published.get((int) (sequence & mask)) == sequence + 1) {
+				int i = (int) (sequence & mask) * FIELDS;
+				long time = events[i];
+				int type = (int) (events[i + 1] >>> 32);
+				int elevator = (int) events[i + 1];
+				int a = (int) (events[i + 2] >>> 32);
+				int b = (int) events[i + 2];
+				if (file != null) {
+					bytes.putLong(time).putInt(type).putInt(elevator).putInt(a).putInt(b);
+				} else {
+					format(text, time - start, TYPES[type], elevator, a, b);
+					text.append('\n');
+				}
+				sequence++;
+				count++;
+			}
+			if (count == 0) {
+				LockSupport.parkNanos(1000000);
+				continue;
+			}
+			
+			// the slots can be used again once the events are copied out
+			tail = sequence;
+			if (file != null) {
+				writeFile(bytes);
+			} else {
+				(console == null ? System.out : console).print(text);
+				text.setLength(0);
+			}
+		}
+		
+		if (file != null) {
+			try {
+				file.close();
+			} catch (IOException e) {
+				System.err.println("Event log: could not close the file: " + e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Writes a batch of binary events to the file.
+	 * 
+	 * @param bytes	a ByteBuffer, the events
+	 */
+	private void writeFile(ByteBuffer bytes) {
+		bytes.flip();
+		try {
+			while (bytes.hasRemaining()) {
+				file.write(bytes);
+			}
+		} catch (IOException e) {
+			System.err.println("Event log: could not write the file: " + e.getMessage());
+		}
+		bytes.clear();
+	}
+	
+	/**
+	 * Appends an event as text, e.g. "[  12.345 ms] Elevator 1: stopped at floor 3".
+	 * 
+	 * @param sb		a StringBuilder, where the event is appended
+	 * @param time		a long, the time of the event in nanoseconds
+	 * @param type		an EventType, the event
+	 * @param elevator	an int, the id of the elevator
+	 * @param a			an int, the first value
+	 * @param b			an int, the second value
+	 */
+	public static void format(StringBuilder sb, long time, EventType type, int elevator, int a, int b) {
+		long micros = time / 1000;
+		String millis = Long.toString(micros / 1000);
+		sb.append('[');
+		for (int i = millis.length(); i < 8; i++) {
+			sb.append(' ');
+		}
+		sb.append(millis).append('.');
+		long fraction = micros % 1000;
+		if (fraction < 100) {
+			sb.append('0');
+		}
+		if (fraction < 10) {
+			sb.append('0');
+		}
+		sb.append(fraction).append(" ms] ");
+		type.format(sb, elevator, a, b);
+	}
+	
+	/**
+	 * Prints the events of a binary event log file.
+	 * 
+	 * @param args	the path of the file
+	 * @throws IOException	if the file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		try (FileChannel in = FileChannel.open(Paths.get(args[0]), StandardOpenOption.READ)) {
+			ByteBuffer bytes = ByteBuffer.allocate(BATCH * EVENT_BYTES);
+			StringBuilder text = new StringBuilder();
+			long start = -1;
+			while (in.read(bytes) > 0 || bytes.position() > 0) {
+				bytes.flip();
+				if (bytes.remaining() < EVENT_BYTES) {
+					break;
+				}
+				while (bytes.remaining() >= EVENT_BYTES) {
+					long time = bytes.getLong();
+					if (start < 0) {
+						start = time;
+					}
+					format(text, time - start, TYPES[bytes.getInt()], bytes.getInt(), bytes.getInt(), bytes.getInt());
+					text.append('\n');
+				}
+				bytes.compact();
+				System.out.print(text);
+				text.setLength(0);
+			}
+		}
+	}
+}
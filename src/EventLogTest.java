@@ -0,0 +1,117 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for EventLog Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class EventLogTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the events are printed in the order they were logged.
+	 */
+	@Test
+	void testConsole() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		EventLog log = new EventLog(16, EventLog.Level.DEBUG, new PrintStream(bytes, true));
+		log.log(EventType.ELEVATOR_STOPPED, 1, 3, 0);
+		log.log(EventType.DROPPED_OFF, 1, 5, 3);
+		log.close();
+		
+		String[] lines = bytes.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].endsWith("] Elevator 1: stopped at floor 3"));
+		assertTrue(lines[1].endsWith("] Elevator 1: request from floor 5 to floor 3 was processed."));
+	}
+	
+	/**
+	 * Tests that the events below the level are not logged.
+	 */
+	@Test
+	void testLevel() {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		EventLog log = new EventLog(16, EventLog.Level.INFO, new PrintStream(bytes, true));
+		log.log(EventType.ELEVATOR_STOPPED, 1, 3, 0);
+		log.log(EventType.ELEVATOR_IDLE, 1, 3, 0);
+		log.setLevel(EventLog.Level.OFF);
+		log.log(EventType.ELEVATOR_IDLE, 2, 3, 0);
+		log.close();
+		
+		String[] lines = bytes.toString().split("\n");
+		assertEquals(1, lines.length);
+		assertTrue(lines[0].endsWith("] Elevator 1 State = Idle"));
+	}
+	
+	/**
+	 * Tests that no event of several threads is lost or out of order, with a ring buffer smaller than the events.
+	 * 
+	 * @throws Exception	if the file cannot be written or read
+	 */
+	@Test
+	void testConcurrentThreads() throws Exception {
+		int threads = 4;
+		int events = 5000;
+		Path path = Files.createTempFile("events", ".bin");
+		EventLog log = new EventLog(64, EventLog.Level.DEBUG, path);
+		
+		Thread[] writers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int elevator = t + 1;
+			writers[t] = new Thread(() -> {
+				for (int i = 0; i < events; i++) {
+					// a full ring buffer drops the event, try again until the writer has made room
+					while (!log.log(EventType.ELEVATOR_STOPPED, elevator, i, 0)) {
+						Thread.yield();
+					}
+				}
+			});
+			writers[t].start();
+		}
+		for (Thread t : writers) {
+			t.join();
+		}
+		log.close();
+		
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+		Files.delete(path);
+		int[] next = new int[threads + 1];
+		int count = 0;
+		while (buffer.remaining() >= EventLog.EVENT_BYTES) {
+			buffer.getLong();
+			assertEquals(EventType.ELEVATOR_STOPPED.ordinal(), buffer.getInt());
+			int elevator = buffer.getInt();
+			// the events of every thread are in the order it logged them
+			assertEquals(next[elevator]++, buffer.getInt());
+			assertEquals(0, buffer.getInt());
+			count++;
+		}
+		assertEquals(threads * events, count);
+		assertEquals(0, buffer.remaining());
+	}
+}
@@ -0,0 +1,611 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * EventSimulation Class that runs the floor, scheduler and elevator logic as a discrete-event simulation.
+ * Instead of threads sleeping in wall-clock time, every request arrival and every elevator step is an event
+ * on a virtual clock, taken from a priority queue in time order on a single thread.
+ * The results only depend on the requests and the elevator settings, so every run of the same trace is the same.
+ * A simulation can write checkpoints of its whole state and keep a RequestJournal of the requests it took in since,
+ * so it can be restored after the process dies and carry on from there, instead of being run again from the start.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class EventSimulation implements Closeable {
+	
+	private static final int ARRIVAL = 0;	// a request comes in from a floor
+	private static final int ELEVATOR = 1;	// an elevator is done with its last stop or floor and decides what to do next
+	
+	private static final long DEFAULT_TRAVEL_TIME = 2000; // milliseconds per floor
+	private static final long DEFAULT_STOP_TIME = 8000; // milliseconds per stop
+	
+	public static final int CHECKPOINT_MAGIC = 0x454C5643;	// "ELVC"
+	public static final short CHECKPOINT_VERSION = 1;
+	
+	/**
+	 * Event Class for something that happens at a point in virtual time.
+	 * Events at the same time are taken in the order they were scheduled.
+	 */
+	private static class Event implements Comparable<Event> {
+		private long time;
+		private long sequence;
+		private int type;
+		private FloorData request;	// the request that comes in, for ARRIVAL
+		private int car;	// the index of the elevator, for ELEVATOR
+		
+		@Override
+		public int compareTo(Event other) {
+			if (time != other.time) {
+				return Long.compare(time, other.time);
+			}
+			return Long.compare(sequence, other.sequence);
+		}
+	}
+	
+	private Scheduler scheduler;
+	private Floor floor;
+	private Iterator<FloorData> requests;
+	
+	private PriorityQueue<Event> events;
+	private long sequence;
+	private long now;	// the virtual clock in milliseconds
+	private long start;	// the time of the first request
+	private long end;	// the time of the last drop-off
+	
+	private boolean[] scheduled;	// true if the elevator has an ELEVATOR event coming up
+	private int[] moving;	// the floor the elevator is moving towards, or -1 if it is not moving
+	
+	private int servicedRequests;
+	private long totalTripTime;	// time from each request coming in to its drop-off, in milliseconds
+	private long maxTripTime;
+	
+	private Building building;	// the building of the requests, from the first one
+	private long taken;	// the number of requests taken from the iterator
+	private Path checkpointFile;	// null if the simulation does not write checkpoints
+	private Path journalFile;	// null if the simulation does not journal the requests
+	private RequestJournal journal;	// the requests taken in since the last checkpoint, opened once the building is known
+	private long checkpointInterval;	// virtual milliseconds between checkpoints
+	private long nextCheckpoint;
+	private int checkpoints;
+	private long maxCheckpointPause;	// the longest time writing a checkpoint took, in nanoseconds
+	
+	/**
+	 * Constructor for EventSimulation.
+	 * 
+	 * @param s			a Scheduler, the scheduler and its elevators, its thread is not started
+	 * @param f			a Floor, the floor that processes the arrivals
+	 * @param requests	an Iterator, the requests in the order of their time
+	 */
+	public EventSimulation(Scheduler s, Floor f, Iterator<FloorData> requests) {
+		this.scheduler = s;
+		this.floor = f;
+		this.requests = requests;
+		this.events = new PriorityQueue<Event>();
+		this.sequence = 0;
+		this.now = 0;
+		this.start = -1;
+		this.scheduled = new boolean[s.getElevators().size()];
+		this.moving = new int[s.getElevators().size()];
+		Arrays.fill(moving, -1);
+		
+		// the wait and ride times are measured on the virtual clock
+		s.getMetrics().setClock(() -> now * 1000000L);
+	}
+	
+	/**
+	 * Runs the simulation until every request has been dropped off.
+	 */
+	public void run() {
+		runUntil(Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Runs the simulation until every request has been dropped off, or the virtual clock gets to a time.
+	 * Calling it again carries on from there.
+	 * 
+	 * @param time	a long, the virtual time to stop at in milliseconds
+	 * @return	a boolean, true if every request has been dropped off, false if the simulation stopped at the time
+	 */
+	public boolean runUntil(long time) {
+		if (taken == 0) {
+			scheduleNextArrival();
+		}
+		
+		Event e;
+		while ((e = events.peek()) != null) {
+			if (e.time > time) {
+				return false;
+			}
+			events.poll();
+			now = e.time;
+			if (e.type == ARRIVAL) {
+				arrive(e.request);
+			} else {
+				step(e.car);
+			}
+			
+			// the floor processes the requests the elevators dropped off
+			FloorData fd;
+			while ((fd = scheduler.pollSchedulerToFloor()) != null) {
+				floor.processArrival(fd);
+				long tripTime = now - getTime(fd);
+				servicedRequests++;
+				totalTripTime += tripTime;
+				maxTripTime = Math.max(maxTripTime, tripTime);
+				end = now;
+			}
+			
+			if (checkpointFile != null && now >= nextCheckpoint) {
+				try {
+					checkpoint();
+				} catch (IOException ex) {
+					throw new UncheckedIOException("Could not write the checkpoint " + checkpointFile, ex);
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Sends a request that came in to an elevator, and wakes the elevator up if it is idle.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	private void arrive(FloorData fd) {
+		scheduler.getMetrics().requestArrived(fd);
+		Elevator car = scheduler.dispatch(fd);
+		int index = scheduler.getElevators().indexOf(car);
+		if (!scheduled[index]) {
+			schedule(now, ELEVATOR, null, index);
+		}
+		scheduleNextArrival();
+	}
+	
+	/**
+	 * Lets an elevator finish moving to the next floor, then decide what it does next.
+	 * 
+	 * @param index	an int, the index of the elevator
+	 */
+	private void step(int index) {
+		Elevator car = scheduler.getElevators().get(index);
+		scheduled[index] = false;
+		if (moving[index] >= 0) {
+			car.move(moving[index]);
+			moving[index] = -1;
+		}
+		
+		int next = car.plan();
+		if (next < 0) {
+			// idle until the scheduler sends it another request
+			return;
+		}
+		if (next == car.getCurrentFloor()) {
+			car.stop();
+			schedule(now + car.getStopTime(), ELEVATOR, null, index);
+		} else {
+			moving[index] = next;
+			schedule(now + car.getTravelTime(), ELEVATOR, null, index);
+		}
+	}
+	
+	/**
+	 * Schedules the arrival of the next request. A request that is older than the clock comes in now.
+	 */
+	private void scheduleNextArrival() {
+		if (requests.hasNext()) {
+			FloorData fd = requests.next();
+			if (building == null) {
+				building = fd.getBuilding();
+			}
+			if (journalFile != null) {
+				try {
+					if (journal == null) {
+						journal = new RequestJournal(journalFile, building, taken);
+					}
+					journal.append(fd);
+				} catch (IOException e) {
+					throw new UncheckedIOException("Could not write the journal " + journalFile, e);
+				}
+			}
+			taken++;
+			if (start < 0) {
+				start = getTime(fd);
+				now = start;
+			}
+			schedule(Math.max(now, getTime(fd)), ARRIVAL, fd, -1);
+		}
+	}
+	
+	/**
+	 * Adds an event to the queue.
+	 * 
+	 * @param time		a long, the virtual time of the event in milliseconds
+	 * @param type		an int, ARRIVAL or ELEVATOR
+	 * @param request	a FloorData Object, the request that comes in, for ARRIVAL
+	 * @param car		an int, the index of the elevator, for ELEVATOR
+	 */
+	private void schedule(long time, int type, FloorData request, int car) {
+		Event e = new Event();
+		e.time = time;
+		e.sequence = sequence++;
+		e.type = type;
+		e.request = request;
+		e.car = car;
+		events.add(e);
+		if (type == ELEVATOR) {
+			scheduled[car] = true;
+		}
+	}
+	
+	/**
+	 * Gets the time a request came in.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the time of the request in milliseconds, or the current time if it has none
+	 */
+	private long getTime(FloorData fd) {
+		return fd.getTimeMillis() == FloorData.NO_TIME ? now : fd.getTimeMillis();
+	}
+	
+	/**
+	 * Writes a checkpoint every interval of virtual time, and every request that is taken in to a journal in between.
+	 * 
+	 * @param file			a Path, the file of the checkpoints, each one replaces the last
+	 * @param journalFile	a Path, the journal of the requests since the last checkpoint, or null
+	 * @param interval		a long, the virtual time between checkpoints in milliseconds
+	 */
+	public void setCheckpoints(Path file, Path journalFile, long interval) {
+		this.checkpointFile = file;
+		this.journalFile = journalFile;
+		this.checkpointInterval = interval;
+		this.nextCheckpoint = now + interval;
+	}
+	
+	/**
+	 * Closes the journal and deletes it and the checkpoint, e.g., once every request has been dropped off.
+	 * 
+	 * @throws IOException	if the files cannot be deleted
+	 */
+	public void deleteCheckpoints() throws IOException {
+		close();
+		if (journalFile != null) {
+			Files.deleteIfExists(journalFile);
+		}
+		if (checkpointFile != null) {
+			Files.deleteIfExists(checkpointFile);
+		}
+	}
+	
+	/**
+	 * Closes the journal, the files stay so the simulation can be restored.
+	 * 
+	 * @throws IOException	if the journal cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (journal != null) {
+			journal.close();
+			journal = null;
+		}
+	}
+	
+	/**
+	 * Writes the state of the simulation, the scheduler and the elevators to the checkpoint file, then empties the journal.
+	 * The state is written to memory first and the file is replaced in one move, so a crash leaves the last checkpoint whole.
+	 * 
+	 * @throws IOException	if the checkpoint cannot be written
+	 */
+	public void checkpoint() throws IOException {
+		long pause = System.nanoTime();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		writeState(out);
+		out.flush();
+		
+		Path temporary = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+		Files.write(temporary, bytes.toByteArray());
+		Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		// a crash before the journal is emptied leaves requests the checkpoint has, they are skipped when it is read
+		if (journal != null) {
+			journal.reset(taken);
+		}
+		
+		nextCheckpoint = now + checkpointInterval;
+		checkpoints++;
+		maxCheckpointPause = Math.max(maxCheckpointPause, System.nanoTime() - pause);
+	}
+	
+	/**
+	 * Writes the state of the simulation, the scheduler and the elevators.
+	 * 
+	 * @param out	a DataOutput, where the state is written
+	 * @throws IOException	if the state cannot be written
+	 */
+	private void writeState(DataOutput out) throws IOException {
+		out.writeInt(CHECKPOINT_MAGIC);
+		out.writeShort(CHECKPOINT_VERSION);
+		out.writeShort(building == null ? 0 : building.getFloors());
+		out.writeLong(taken);
+		out.writeLong(now);
+		out.writeLong(start);
+		out.writeLong(end);
+		out.writeLong(sequence);
+		out.writeInt(servicedRequests);
+		out.writeLong(totalTripTime);
+		out.writeLong(maxTripTime);
+		
+		out.writeInt(events.size());
+		for (Event e : events) {
+			out.writeLong(e.time);
+			out.writeLong(e.sequence);
+			out.writeByte(e.type);
+			out.writeInt(e.car);
+			if (e.type == ARRIVAL) {
+				scheduler.getMetrics().writeRequest(e.request, out);
+			}
+		}
+		out.writeInt(moving.length);
+		for (int i = 0; i < moving.length; i++) {
+			out.writeBoolean(scheduled[i]);
+			out.writeInt(moving[i]);
+		}
+		scheduler.writeState(out);
+	}
+	
+	/**
+	 * Reads the state written by writeState into this simulation, which has not run yet.
+	 * 
+	 * @param in		a DataInput, where the state is read from, after the header
+	 * @param building	a Building, the building of the checkpoint
+	 * @param taken		a long, the number of requests taken in before the checkpoint
+	 * @throws IOException	if the state cannot be read, or was written with another number of elevators
+	 */
+	private void readState(DataInput in, Building building, long taken) throws IOException {
+		this.building = building;
+		this.taken = taken;
+		now = in.readLong();
+		start = in.readLong();
+		end = in.readLong();
+		sequence = in.readLong();
+		servicedRequests = in.readInt();
+		totalTripTime = in.readLong();
+		maxTripTime = in.readLong();
+		
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			Event e = new Event();
+			e.time = in.readLong();
+			e.sequence = in.readLong();
+			e.type = in.readByte();
+			e.car = in.readInt();
+			if (e.type == ARRIVAL) {
+				e.request = scheduler.getMetrics().readRequest(in, building);
+			}
+			events.add(e);
+		}
+		int elevators = in.readInt();
+		if (elevators != moving.length) {
+			throw new IOException("The checkpoint has " + elevators + " elevators, the scheduler has " + moving.length);
+		}
+		for (int i = 0; i < moving.length; i++) {
+			scheduled[i] = in.readBoolean();
+			moving[i] = in.readInt();
+		}
+		scheduler.readState(in, building);
+	}
+	
+	/**
+	 * Restores a simulation from its last checkpoint and the requests in its journal.
+	 * The requests in the journal are taken in again first, then the rest of the input after the ones taken in before the crash.
+	 * 
+	 * @param file			a Path, the checkpoint file
+	 * @param journalFile	a Path, the journal of the requests since the checkpoint, it does not have to exist
+	 * @param s				a Scheduler, a new scheduler with the same number of elevators, its thread is not started
+	 * @param f				a Floor, the floor that processes the arrivals
+	 * @param input			a RequestSource, the requests the simulation was started with from the beginning, or null if they cannot be read again
+	 * @return	an EventSimulation, the simulation at its checkpoint, run carries on from there
+	 * @throws IOException	if the checkpoint or the journal cannot be read
+	 */
+	public static EventSimulation restore(Path file, Path journalFile, Scheduler s, Floor f, RequestSource input) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)));
+		if (in.readInt() != CHECKPOINT_MAGIC) {
+			throw new IOException(file + " is not a checkpoint");
+		}
+		short version = in.readShort();
+		if (version != CHECKPOINT_VERSION) {
+			throw new IOException(file + " is a version " + version + " checkpoint, expected version " + CHECKPOINT_VERSION);
+		}
+		Building building = Building.of(in.readShort());
+		long taken = in.readLong();
+		
+		List<FloorData> journaled = RequestJournal.read(journalFile, building, taken);
+		if (input != null) {
+			input.skip(taken + journaled.size());
+		}
+		Iterator<FloorData> requests = new Iterator<FloorData>() {
+			private final Iterator<FloorData> replay = journaled.iterator();
+			
+			@Override
+			public boolean hasNext() {
+				return replay.hasNext() || (input != null && input.hasNext());
+			}
+			
+			@Override
+			public FloorData next() {
+				return replay.hasNext() ? replay.next() : input.next();
+			}
+		};
+		
+		EventSimulation simulation = new EventSimulation(s, f, requests);
+		simulation.readState(in, building, taken);
+		return simulation;
+	}
+	
+	/**
+	 * Get the number of checkpoints written.
+	 * 
+	 * @return	an int, the number of checkpoints
+	 */
+	public int getCheckpoints() {
+		return checkpoints;
+	}
+	
+	/**
+	 * Get the longest time the simulation stopped to write a checkpoint.
+	 * 
+	 * @return	a long, the longest pause in nanoseconds
+	 */
+	public long getMaxCheckpointPause() {
+		return maxCheckpointPause;
+	}
+	
+	/**
+	 * Get the number of requests the simulation has taken in.
+	 * 
+	 * @return	a long, the number of requests taken from the iterator, including the ones before a restore
+	 */
+	public long getTakenRequests() {
+		return taken;
+	}
+	
+	/**
+	 * Get the scheduler the simulation runs.
+	 * 
+	 * @return	a Scheduler, the scheduler
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+	
+	/**
+	 * Get the virtual time.
+	 * 
+	 * @return	a long, the virtual clock in milliseconds
+	 */
+	public long getNow() {
+		return now;
+	}
+	
+	/**
+	 * Get the virtual time the simulation took, from the first request to the last drop-off.
+	 * 
+	 * @return	a long, the simulated duration in milliseconds
+	 */
+	public long getSimulatedTime() {
+		return servicedRequests == 0 ? 0 : end - start;
+	}
+	
+	/**
+	 * Get the number of requests that were dropped off.
+	 * 
+	 * @return	an int, the number of serviced requests
+	 */
+	public int getServicedRequests() {
+		return servicedRequests;
+	}
+	
+	/**
+	 * Get the average time from a request coming in to its drop-off.
+	 * 
+	 * @return	a long, the average trip time in milliseconds
+	 */
+	public long getAverageTripTime() {
+		return servicedRequests == 0 ? 0 : totalTripTime / servicedRequests;
+	}
+	
+	/**
+	 * Get the longest time from a request coming in to its drop-off.
+	 * 
+	 * @return	a long, the maximum trip time in milliseconds
+	 */
+	public long getMaxTripTime() {
+		return maxTripTime;
+	}
+	
+	/**
+	 * Runs the requests in a CSV file or a binary trace through a discrete-event simulation.
+	 * With a checkpoint file, a checkpoint is written every interval of virtual time and the requests in between
+	 * are journaled next to it. If the checkpoint is there when the simulation starts, it carries on from it.
+	 * 
+	 * @param args	the path of the CSV file or trace, the number of elevators, the checkpoint file
+	 * 				and the virtual seconds between checkpoints (all optional)
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		String fileName = args.length > 0 ? args[0] : "./floorRequests.csv";
+		int elevatorCount = args.length > 1 ? Integer.parseInt(args[1]) : Scheduler.DEFAULT_ELEVATOR_COUNT;
+		Path checkpointFile = args.length > 2 ? Paths.get(args[2]) : null;
+		long checkpointInterval = args.length > 3 ? Long.parseLong(args[3]) * 1000 : 3600000;
+		
+		Scheduler s = new Scheduler(elevatorCount);
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(DEFAULT_TRAVEL_TIME);
+			car.setStopTime(DEFAULT_STOP_TIME);
+		}
+		
+		long wallClock = System.nanoTime();
+		try (RequestSource reader = Floor.open(fileName)) {
+			EventSimulation simulation;
+			Path journalFile = checkpointFile == null ? null : checkpointFile.resolveSibling(checkpointFile.getFileName() + ".journal");
+			if (checkpointFile != null && Files.exists(checkpointFile)) {
+				simulation = restore(checkpointFile, journalFile, s, new Floor(s, fileName), reader);
+				System.out.println("Restored the checkpoint at " + simulation.getNow() / 1000 + " s with " + simulation.getTakenRequests()
+						+ " requests taken in, in " + (System.nanoTime() - wallClock) / 1000000 + " ms");
+			} else {
+				simulation = new EventSimulation(s, new Floor(s, fileName), reader);
+			}
+			if (checkpointFile != null) {
+				simulation.setCheckpoints(checkpointFile, journalFile, checkpointInterval);
+			}
+			
+			// the per-event output would take longer than the simulation itself
+			EventLog log = EventLog.getDefault();
+			EventLog.Level level = log.getLevel();
+			log.setLevel(EventLog.Level.OFF);
+			try {
+				simulation.run();
+			} finally {
+				log.setLevel(level);
+			}
+			wallClock = System.nanoTime() - wallClock;
+			
+			if (checkpointFile != null) {
+				// the run is over, the next one starts from the beginning
+				simulation.deleteCheckpoints();
+				System.out.println("Wrote " + simulation.getCheckpoints() + " checkpoints, the longest pause was "
+						+ simulation.getMaxCheckpointPause() / 1000 + " us");
+			}
+			
+			long floorsTravelled = 0;
+			for (Elevator car : s.getElevators()) {
+				floorsTravelled += car.getFloorsTravelled();
+			}
+			System.out.println("Serviced " + simulation.getServicedRequests() + " requests with " + elevatorCount + " elevators");
+			System.out.println("Simulated time: " + simulation.getSimulatedTime() / 1000 + " s in " + wallClock / 1000000 + " ms");
+			System.out.println("Average trip time: " + simulation.getAverageTripTime() / 1000 + " s (max " + simulation.getMaxTripTime() / 1000 + " s)");
+			System.out.println("Floors travelled: " + floorsTravelled);
+			System.out.println(s.getMetrics().snapshot());
+		}
+	}
+}
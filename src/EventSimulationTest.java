@@ -0,0 +1,186 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 
+ */
+
+/**
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class EventSimulationTest {
+
+	Building building = Building.of(10);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+
+	/**
+	 * Tests the virtual time of a single request: travel to the initial floor, stop, travel to the destination, stop.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testSingleRequest() throws IOException {
+		ArrayList<FloorData> requests = new ArrayList<FloorData>();
+		requests.add(TestRequests.request(building, 1000, 4, 6));
+		
+		EventSimulation simulation = simulate(1, requests);
+		assertEquals(1, simulation.getServicedRequests());
+		// 2 floors to the pick-up, a stop, 2 floors to the drop-off
+		assertEquals(2 * 2000 + 8000 + 2 * 2000, simulation.getSimulatedTime());
+		assertEquals(simulation.getSimulatedTime(), simulation.getMaxTripTime());
+		
+		// waits for the elevator to come up 2 floors, then rides for a stop and 2 floors
+		MetricsSnapshot metrics = simulation.getScheduler().getMetrics().snapshot();
+		assertEquals(1, metrics.getServicedRequests());
+		assertEquals(2 * 2000 * 1000000L, metrics.getWaitTime().getMax());
+		assertEquals((8000 + 2 * 2000) * 1000000L, metrics.getRideTime().getMax());
+		assertEquals(0, metrics.getInFlightDepth());
+		assertEquals(1, metrics.getMaxInFlightDepth());
+	}
+
+	/**
+	 * Tests that every request is serviced and that the same requests give the same results every time.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testDeterministic() throws IOException {
+		Random random = new Random(42);
+		ArrayList<FloorData> requests = new ArrayList<FloorData>();
+		for (int i = 0; i < 200; i++) {
+			int iFloor = random.nextInt(10) + 1;
+			int dFloor = random.nextInt(9) + 1;
+			if (dFloor >= iFloor) {
+				dFloor++;
+			}
+			// some requests are older than the ones before them
+			requests.add(TestRequests.request(building, i * 3000 - random.nextInt(5000), iFloor, dFloor));
+		}
+		
+		EventSimulation first = simulate(3, requests);
+		EventSimulation second = simulate(3, requests);
+		assertEquals(requests.size(), first.getServicedRequests());
+		assertEquals(first.getServicedRequests(), second.getServicedRequests());
+		assertEquals(first.getSimulatedTime(), second.getSimulatedTime());
+		assertEquals(first.getAverageTripTime(), second.getAverageTripTime());
+		assertEquals(first.getMaxTripTime(), second.getMaxTripTime());
+	}
+	
+	/**
+	 * Tests that a simulation restored from a checkpoint and its journal after a crash
+	 * ends with the same results as one that was never stopped.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testCheckpointRestore() throws IOException {
+		Random random = new Random(7);
+		Path trace = Files.createTempFile("requests", Floor.TRACE_EXTENSION);
+		Path checkpoint = Files.createTempFile("simulation", ".checkpoint");
+		Path journal = checkpoint.resolveSibling(checkpoint.getFileName() + ".journal");
+		Files.delete(checkpoint);
+		try (TraceWriter writer = new TraceWriter(trace, Building.of(10))) {
+			for (int i = 0; i < 300; i++) {
+				int iFloor = random.nextInt(10) + 1;
+				int dFloor = random.nextInt(9) + 1;
+				writer.write(TestRequests.request(building, i * 4000, iFloor, dFloor >= iFloor ? dFloor + 1 : dFloor));
+			}
+		}
+		
+		try {
+			EventSimulation expected = simulate(3, new TraceReader(trace.toString()));
+			expected.run();
+			
+			// runs for a while with a checkpoint every 5 minutes, then the process dies
+			EventSimulation crashed = simulate(3, new TraceReader(trace.toString()));
+			crashed.setCheckpoints(checkpoint, journal, 300000);
+			assertFalse(crashed.runUntil(crashed.getNow() + 700000));
+			crashed.close();
+			assertEquals(2, crashed.getCheckpoints());
+			assertTrue(Files.size(journal) > TraceWriter.HEADER_BYTES);
+			
+			Scheduler s = new Scheduler(3);
+			EventSimulation restored = EventSimulation.restore(checkpoint, journal, s, new Floor(s, trace.toString()),
+					new TraceReader(trace.toString()));
+			assertTrue(restored.getNow() < crashed.getNow());
+			restored.run();
+			
+			assertEquals(300, restored.getServicedRequests());
+			assertEquals(300, restored.getTakenRequests());
+			assertEquals(expected.getSimulatedTime(), restored.getSimulatedTime());
+			assertEquals(expected.getAverageTripTime(), restored.getAverageTripTime());
+			assertEquals(expected.getMaxTripTime(), restored.getMaxTripTime());
+			for (int i = 0; i < 3; i++) {
+				Elevator car = restored.getScheduler().getElevators().get(i);
+				assertEquals(expected.getScheduler().getElevators().get(i).getFloorsTravelled(), car.getFloorsTravelled());
+				assertEquals(expected.getScheduler().getElevators().get(i).getStops(), car.getStops());
+			}
+			MetricsSnapshot before = expected.getScheduler().getMetrics().snapshot();
+			MetricsSnapshot after = restored.getScheduler().getMetrics().snapshot();
+			// the handoff latency is measured on the wall clock, the rest on the virtual clock
+			assertEquals(before.getWaitTime().toString(), after.getWaitTime().toString());
+			assertEquals(before.getRideTime().toString(), after.getRideTime().toString());
+			assertEquals(before.getHallCalls(), after.getHallCalls());
+			assertEquals(before.getArrivedRequests(), after.getArrivedRequests());
+			assertEquals(before.getMaxInFlightDepth(), after.getMaxInFlightDepth());
+		} finally {
+			Files.deleteIfExists(trace);
+			Files.deleteIfExists(checkpoint);
+			Files.deleteIfExists(journal);
+		}
+	}
+	
+	/**
+	 * Creates a simulation with 2 s per floor and 8 s per stop.
+	 * 
+	 * @param elevators	an int, the number of elevators
+	 * @param requests	an Iterator, the requests
+	 * @return	an EventSimulation, the simulation before it runs
+	 */
+	private EventSimulation simulate(int elevators, Iterator<FloorData> requests) {
+		Scheduler s = new Scheduler(elevators);
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(2000);
+			car.setStopTime(8000);
+		}
+		return new EventSimulation(s, new Floor(s, "./floorRequests.csv"), requests);
+	}
+	
+	/**
+	 * Runs requests through a simulation with 2 s per floor and 8 s per stop.
+	 * 
+	 * @param elevators	an int, the number of elevators
+	 * @param requests	an ArrayList, the requests
+	 * @return	an EventSimulation, the finished simulation
+	 */
+	private EventSimulation simulate(int elevators, ArrayList<FloorData> requests) {
+		EventSimulation simulation = simulate(elevators, requests.iterator());
+		simulation.run();
+		return simulation;
+	}
+}
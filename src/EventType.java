@@ -0,0 +1,73 @@
+/**
+ * EventType Enum for the events the floor, scheduler and elevators write to the EventLog.
+ * Every event has the level it is logged at and the message it is printed as,
+ * %e is replaced by the elevator, %a and %b by the two floors (or counts) of the event.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum EventType {
+	FLOOR_STARTED(EventLog.Level.INFO, "Starting at Floor"),
+	REQUEST_ADDED(EventLog.Level.DEBUG, "Scheduler: A request has been added to the queue (floor %a to floor %b)"),
+	REQUEST_RECEIVED(EventLog.Level.DEBUG, "Scheduler: Request received from floor %a to floor %b, State = processing Requests from floor"),
+	QUEUE_DEPTHS(EventLog.Level.DEBUG, "Scheduler: ALL REQUESTS QUEUE: %a, SERVICEABLE REQUESTS QUEUE: %b"),
+	REQUEST_SENT(EventLog.Level.DEBUG, "Scheduler: Request from floor %a to floor %b sent to elevator %e"),
+	SCHEDULER_IDLE(EventLog.Level.INFO, "Scheduler State = Idle"),
+	ELEVATOR_RECEIVED(EventLog.Level.DEBUG, "Elevator %e Received Request: Initial Floor: %a Destination Floor: %b"),
+	ELEVATOR_STOPPED(EventLog.Level.DEBUG, "Elevator %e: stopped at floor %a"),
+	PICKED_UP(EventLog.Level.DEBUG, "Elevator %e: picked up request from floor %a to floor %b"),
+	DROPPED_OFF(EventLog.Level.DEBUG, "Elevator %e: request from floor %a to floor %b was processed."),
+	ELEVATOR_IDLE(EventLog.Level.INFO, "Elevator %e State = Idle"),
+	ARRIVED(EventLog.Level.DEBUG, "Arrived At Floor: %b from floor %a"),
+	ELEVATOR_FAULT(EventLog.Level.INFO, "Elevator %e: stopped by a fault at floor %a"),
+	ELEVATOR_FAILED(EventLog.Level.INFO, "Scheduler: Elevator %e missed its heartbeat at floor %a, %b requests reassigned"),
+	ELEVATOR_RECOVERED(EventLog.Level.INFO, "Scheduler: Elevator %e is back in service at floor %a");
+	
+	private final EventLog.Level level;
+	private final String message;
+	
+	/**
+	 * Constructor for EventType.
+	 * 
+	 * @param level		a Level, the lowest level the event is logged at
+	 * @param message	a String, the message with %e, %a and %b in place of the values
+	 */
+	EventType(EventLog.Level level, String message) {
+		this.level = level;
+		this.message = message;
+	}
+	
+	/**
+	 * Get the level the event is logged at.
+	 * 
+	 * @return	a Level, the level
+	 */
+	public EventLog.Level getLevel() {
+		return level;
+	}
+	
+	/**
+	 * Appends the message of an event.
+	 * 
+	 * @param sb		a StringBuilder, where the message is appended
+	 * @param elevator	an int, the id of the elevator
+	 * @param a			an int, the first value
+	 * @param b			an int, the second value
+	 */
+	public void format(StringBuilder sb, int elevator, int a, int b) {
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			if (c == '%' && i + 1 < message.length()) {
+				char value = message.charAt(++i);
+				sb.append(value == 'e' ? elevator : value == 'a' ? a : b);
+			} else {
+				sb.append(c);
+			}
+		}
+	}
+}
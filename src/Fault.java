@@ -0,0 +1,158 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fault Class for a fault that is injected into an elevator some time after a simulation starts, for some time.
+ * A fault is written as type:elevator@start+duration*factor, e.g., "stuck:2@5000+30000" for elevator 2 stuck
+ * between floors 5 seconds into the run for 30 seconds, or "slow:1@0*4" for elevator 1 four times slower from the start.
+ * The duration and the factor can be left out, a fault without a duration lasts until Elevator.clearFault is called.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class Fault {
+	
+	private final FaultType type;
+	private final int elevator;	// the id of the elevator the fault is injected into
+	private final long start;	// milliseconds after the start of the simulation
+	private final long duration;	// milliseconds, 0 until the fault is cleared
+	private final double factor;	// how many times slower a SLOW car is
+	
+	/**
+	 * Constructor for Fault.
+	 * 
+	 * @param type		a FaultType, what goes wrong
+	 * @param elevator	an int, the id of the elevator
+	 * @param start		a long, when the fault is injected in milliseconds after the start of the simulation
+	 * @param duration	a long, how long the fault lasts in milliseconds, 0 until it is cleared
+	 * @param factor	a double, how many times longer a floor or a stop takes, used by SLOW
+	 */
+	public Fault(FaultType type, int elevator, long start, long duration, double factor) {
+		if (start < 0 || duration < 0 || !(factor >= 1)) {
+			throw new IllegalArgumentException("A fault starts and lasts 0 ms or more, and slows a car down by 1 or more: "
+					+ start + ", " + duration + ", " + factor);
+		}
+		this.type = type;
+		this.elevator = elevator;
+		this.start = start;
+		this.duration = duration;
+		this.factor = factor;
+	}
+	
+	/**
+	 * Parses a fault written as type:elevator@start+duration*factor, e.g., "door_jam:1@2000+10000".
+	 * 
+	 * @param fault	a String, the fault, the duration and the factor are optional
+	 * @return	a Fault, the fault
+	 */
+	public static Fault parse(String fault) {
+		try {
+			int colon = fault.indexOf(':');
+			int at = fault.indexOf('@', colon);
+			int star = fault.indexOf('*', at);
+			int end = star < 0 ? fault.length() : star;
+			int plus = fault.indexOf('+', at);
+			if (plus > end) {
+				plus = -1;
+			}
+			return new Fault(FaultType.valueOf(fault.substring(0, colon).trim().toUpperCase()),
+					Integer.parseInt(fault.substring(colon + 1, at).trim()), Long.parseLong(fault.substring(at + 1, plus < 0 ? end : plus).trim()),
+					plus < 0 ? 0 : Long.parseLong(fault.substring(plus + 1, end).trim()),
+					star < 0 ? 1 : Double.parseDouble(fault.substring(star + 1).trim()));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("A fault is written as type:elevator@start+duration*factor: " + fault);
+		}
+	}
+	
+	/**
+	 * Loads faults written as comma separated faults, or from a file with a fault on every line,
+	 * the lines that are empty or start with # are skipped.
+	 * 
+	 * @param faults	a String, the faults, or the path of a file of faults
+	 * @return	a List, the faults
+	 * @throws IOException	if the file cannot be read
+	 */
+	public static List<Fault> load(String faults) throws IOException {
+		List<String> lines = List.of(faults.split(","));
+		try {
+			Path path = Paths.get(faults);
+			if (Files.isRegularFile(path)) {
+				lines = Files.readAllLines(path);
+			}
+		} catch (InvalidPathException e) {
+			// not a file on this platform, e.g., the colons of the faults on Windows
+		}
+		ArrayList<Fault> loaded = new ArrayList<Fault>();
+		for (String line : lines) {
+			if (!line.isBlank() && !line.trim().startsWith("#")) {
+				loaded.add(parse(line));
+			}
+		}
+		return loaded;
+	}
+	
+	/**
+	 * Get what goes wrong.
+	 * 
+	 * @return	a FaultType, the type of the fault
+	 */
+	public FaultType getType() {
+		return type;
+	}
+	
+	/**
+	 * Get the elevator the fault is injected into.
+	 * 
+	 * @return	an int, the id of the elevator
+	 */
+	public int getElevator() {
+		return elevator;
+	}
+	
+	/**
+	 * Get when the fault is injected.
+	 * 
+	 * @return	a long, milliseconds after the start of the simulation
+	 */
+	public long getStart() {
+		return start;
+	}
+	
+	/**
+	 * Get how long the fault lasts.
+	 * 
+	 * @return	a long, the duration in milliseconds, 0 if it lasts until it is cleared
+	 */
+	public long getDuration() {
+		return duration;
+	}
+	
+	/**
+	 * Get how many times longer a floor or a stop takes while a SLOW fault lasts.
+	 * 
+	 * @return	a double, the factor, 1 for the other faults
+	 */
+	public double getFactor() {
+		return factor;
+	}
+	
+	/**
+	 * Gets the fault the way parse reads it.
+	 * 
+	 * @return	a String, the fault
+	 */
+	@Override
+	public String toString() {
+		return type.name().toLowerCase() + ":" + elevator + "@" + start + (duration > 0 ? "+" + duration : "") + (factor != 1 ? "*" + factor : "");
+	}
+}
@@ -0,0 +1,76 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * FaultInjector Class that injects faults into the elevators of a scheduler at their times, e.g., to see how long
+ * the scheduler's watchdog takes to notice a car has failed and what it costs the requests the car had.
+ * The times of the faults are counted from the moment the injector starts, the same moment as the simulation.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FaultInjector implements Runnable {
+	
+	private final ArrayList<Fault> faults;	// in the order of their start times
+	private final HashMap<Integer, Elevator> elevators;	// by id
+	private int injected;
+	
+	/**
+	 * Constructor for FaultInjector.
+	 * 
+	 * @param scheduler	a Scheduler, the scheduler of the elevators
+	 * @param faults	a List, the faults, every one for an elevator of the scheduler
+	 */
+	public FaultInjector(Scheduler scheduler, List<Fault> faults) {
+		this.elevators = new HashMap<Integer, Elevator>();
+		for (Elevator car : scheduler.getElevators()) {
+			elevators.put(car.getId(), car);
+		}
+		for (Fault fault : faults) {
+			if (!elevators.containsKey(fault.getElevator())) {
+				throw new IllegalArgumentException("There is no elevator " + fault.getElevator() + " for the fault " + fault);
+			}
+		}
+		this.faults = new ArrayList<Fault>(faults);
+		this.faults.sort(Comparator.comparingLong(Fault::getStart));
+	}
+	
+	/**
+	 * Get the number of faults injected so far.
+	 * 
+	 * @return	an int, the faults injected
+	 */
+	public synchronized int getInjected() {
+		return injected;
+	}
+	
+	/**
+	 * Used to run the FaultInjector thread.
+	 * Sleeps until each fault is due and injects it, returns once every fault is injected or the thread is interrupted.
+	 */
+	@Override
+	public void run() {
+		long start = System.nanoTime();
+		for (Fault fault : faults) {
+			long wait;
+			while ((wait = start + fault.getStart() * 1000000 - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+				LockSupport.parkNanos(wait);
+			}
+			if (Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			elevators.get(fault.getElevator()).injectFault(fault);
+			synchronized (this) {
+				injected++;
+			}
+		}
+	}
+}
@@ -0,0 +1,177 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for FaultInjector class and the scheduler's watchdog.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class FaultInjectorTest {
+	
+	private static final long TIMEOUT = 100;	// milliseconds
+	
+	Scheduler s = new Scheduler(2, 1000);
+	Building building = Building.of(10);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(2);
+		}
+		s.setFailureTimeout(TIMEOUT);
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+		EventLog.getDefault().setLevel(EventLog.Level.DEBUG);
+	}
+	
+	/**
+	 * Sends requests to the scheduler and waits until they have all arrived.
+	 * 
+	 * @param requests	an int, the number of requests
+	 * @throws InterruptedException
+	 */
+	private void run(int requests) throws InterruptedException {
+		TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.INTERFLOOR, 1, requests, 7);
+		while (generator.hasNext()) {
+			s.addRequests(generator.next());
+		}
+		s.notifyRequestsLoaded();
+		
+		Thread scheduler = new Thread(s, "Scheduler");
+		scheduler.start();
+		for (int i = 0; i < requests; i++) {
+			assertNotNull(s.awaitSchedulerToFloor());
+		}
+		scheduler.join(10000);
+		assertFalse(scheduler.isAlive());
+	}
+	
+	/**
+	 * Tests that the requests of a stuck elevator go to the other one once it misses its heartbeat.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testStuck() throws InterruptedException {
+		Elevator stuck = s.getElevators().get(0);
+		stuck.injectFault(new Fault(FaultType.STUCK, 1, 0, 0, 1));
+		run(200);
+		
+		MetricsSnapshot m = s.getMetrics().snapshot();
+		assertEquals(1, m.getFailures());
+		assertTrue(m.getReassignedRequests() > 0);
+		assertEquals(m.getReassignedRequests(), m.getReassignedWaitTime().getCount());
+		// the watchdog looks every quarter of the timeout
+		assertTrue(m.getFailoverTime().getMax() < (TIMEOUT + TIMEOUT / 4 + 50) * 1000000, m.toString());
+		assertTrue(s.getFailedElevators().contains(stuck));
+		assertEquals(0, stuck.getFloorsTravelled());
+		assertEquals(0, stuck.getLoad());
+		assertTrue(m.toString().contains("Failovers: 1 elevators"));
+	}
+	
+	/**
+	 * Tests that the requests sent again after a failover are not counted as new arrivals or new hall calls.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testReassignedCounts() throws InterruptedException {
+		// every request opens its own hall call
+		s.setCoalescing(false);
+		s.getElevators().get(0).injectFault(new Fault(FaultType.STUCK, 1, 0, 0, 1));
+		run(200);
+		
+		MetricsSnapshot m = s.getMetrics().snapshot();
+		assertTrue(m.getReassignedRequests() > 0);
+		assertEquals(200, m.getArrivedRequests());
+		assertEquals(200, m.getHallCalls());
+		assertEquals(200, m.getServicedRequests());
+	}
+	
+	/**
+	 * Tests that an elevator whose doors jammed for a while gets its passengers to their floors and serves again.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testDoorJam() throws InterruptedException {
+		Elevator jammed = s.getElevators().get(1);
+		Fault jam = new Fault(FaultType.DOOR_JAM, 2, 20, 4 * TIMEOUT, 1);
+		FaultInjector injector = new FaultInjector(s, List.of(jam));
+		Thread faults = new Thread(injector, "Faults");
+		long start = System.currentTimeMillis();
+		faults.start();
+		run(400);
+		faults.join();
+		
+		assertEquals(1, injector.getInjected());
+		assertEquals(1, s.getMetrics().snapshot().getFailures());
+		// the other elevator can finish the run before the jam is over
+		long end = start + jam.getStart() + jam.getDuration() + 1000;
+		while (jammed.getFault() != null && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+		assertNull(jammed.getFault());
+		assertTrue(jammed.getFaultTime() != FloorData.NO_TIME);
+	}
+	
+	/**
+	 * Tests that the watchdog leaves the elevators alone while they are idle or working.
+	 * 
+	 * @throws InterruptedException
+	 */
+	@Test
+	void testHealthy() throws InterruptedException {
+		run(100);
+		assertEquals(0, s.getMetrics().snapshot().getFailures());
+		assertTrue(s.getFailedElevators().isEmpty());
+		assertFalse(s.getMetrics().snapshot().toString().contains("Failovers"));
+	}
+	
+	/**
+	 * Tests that a fault for an elevator the scheduler does not have is rejected.
+	 */
+	@Test
+	void testUnknownElevator() {
+		assertThrows(IllegalArgumentException.class, () -> new FaultInjector(s, List.of(Fault.parse("stuck:3@0"))));
+	}
+	
+	/**
+	 * Tests that every scheduler has its own failure timeout, which the system property does not change.
+	 */
+	@Test
+	void testFailureTimeoutPerScheduler() {
+		String property = System.getProperty(Scheduler.FAILURE_TIMEOUT_PROPERTY);
+		System.setProperty(Scheduler.FAILURE_TIMEOUT_PROPERTY, "500");
+		try {
+			Scheduler other = new Scheduler(1);
+			assertEquals(0, other.getFailureTimeout());
+			other.setFailureTimeout(TIMEOUT * 2);
+			assertEquals(TIMEOUT * 2, other.getFailureTimeout());
+			assertEquals(TIMEOUT, s.getFailureTimeout());
+			assertThrows(IllegalArgumentException.class, () -> other.setFailureTimeout(-1));
+		} finally {
+			if (property == null) {
+				System.clearProperty(Scheduler.FAILURE_TIMEOUT_PROPERTY);
+			} else {
+				System.setProperty(Scheduler.FAILURE_TIMEOUT_PROPERTY, property);
+			}
+		}
+	}
+}
@@ -0,0 +1,88 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for Fault class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class FaultTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests parsing faults with and without a duration and a factor.
+	 */
+	@Test
+	void testParse() {
+		Fault stuck = Fault.parse("stuck:2@5000+30000");
+		assertEquals(FaultType.STUCK, stuck.getType());
+		assertEquals(2, stuck.getElevator());
+		assertEquals(5000, stuck.getStart());
+		assertEquals(30000, stuck.getDuration());
+		assertEquals(1, stuck.getFactor());
+		
+		Fault slow = Fault.parse("SLOW:1@0*4");
+		assertEquals(FaultType.SLOW, slow.getType());
+		assertEquals(0, slow.getDuration());
+		assertEquals(4, slow.getFactor());
+		
+		Fault jam = Fault.parse(" door_jam : 3 @ 100 + 200 * 1.5 ");
+		assertEquals(FaultType.DOOR_JAM, jam.getType());
+		assertEquals(200, jam.getDuration());
+		assertEquals(1.5, jam.getFactor());
+		
+		// toString is read back the same way
+		assertEquals(stuck.toString(), Fault.parse(stuck.toString()).toString());
+		assertEquals(slow.toString(), Fault.parse(slow.toString()).toString());
+		
+		assertThrows(IllegalArgumentException.class, () -> Fault.parse("broken:1@0"));
+		assertThrows(IllegalArgumentException.class, () -> Fault.parse("stuck:1"));
+		assertThrows(IllegalArgumentException.class, () -> Fault.parse("slow:1@0*0.5"));
+	}
+	
+	/**
+	 * Tests loading faults from a list and from a file.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testLoad() throws IOException {
+		List<Fault> faults = Fault.load("stuck:1@0+10,slow:2@5*2");
+		assertEquals(2, faults.size());
+		assertEquals(FaultType.SLOW, faults.get(1).getType());
+		
+		Path file = Files.createTempFile("faults", ".txt");
+		try {
+			Files.write(file, List.of("# the lobby car jams", "door_jam:1@1000+500", "", "stuck:2@2000"));
+			faults = Fault.load(file.toString());
+			assertEquals(2, faults.size());
+			assertEquals(FaultType.DOOR_JAM, faults.get(0).getType());
+			assertEquals(0, faults.get(1).getDuration());
+		} finally {
+			Files.delete(file);
+		}
+	}
+}
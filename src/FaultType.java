@@ -0,0 +1,19 @@
+/**
+ * FaultType enum for the ways a fault injected into an elevator makes it fail.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum FaultType {
+	// the car stops between floors and does nothing until the fault clears
+	STUCK,
+	// the doors do not close at the next stop, the car stays at the floor until the fault clears
+	DOOR_JAM,
+	// every floor and every stop takes longer by the factor of the fault
+	SLOW
+}
@@ -1,6 +1,4 @@
-import java.util.Date;
 import java.io.*;
-import java.text.*;
 
 /**
  * Floor Class that consists of the floor thread that executes first to send a request to the scheduler.
@@ -14,8 +12,21 @@ import java.text.*;
  * @version 02.04.2023
  */
 public class Floor implements Runnable {
+	
+	public static final String TRACE_EXTENSION = ".trace";
+	public static final double REPLAY_SPEED = Double.parseDouble(System.getProperty("replay.speed", "0"));	// 0 sends the requests as fast as they are read
+	
 	private Scheduler scheduler;
 	private String floorRequests;
+	private Building building;	// the building the requests of a CSV file are made in
+	
+	private int readRows;	// number of requests read from the CSV file
+	private int rejectedRows;	// number of lines in the CSV file that could not be parsed
+	private volatile int arrivedRows;	// number of requests the scheduler sent back to the floor
+	private double replaySpeed;	// how many times faster than their times the requests are sent, 0 to send them as they are read
+	private LatencyHistogram replayDrift;	// how late the requests were sent compared to their times, null unless they were paced
+	
+	private final EventLog log;	// where the floor logs the requests and arrivals
 	
 	/**
 	 * Constructor for Floor that initializes a scheduler and floor data.
@@ -23,111 +34,219 @@ public class Floor implements Runnable {
 	 * @param s	A Scheduler Object, the server that is used to communicate between the two clients (i.e., floor and elevator).
 	 */
 	public Floor(Scheduler s, String floorRequests) {
+		this(s, floorRequests, FloorDataReader.DEFAULT_BUILDING);
+	}
+	
+	/**
+	 * Constructor for Floor in a building with any number of floors.
+	 * 
+	 * @param s				A Scheduler Object, the server that is used to communicate between the two clients (i.e., floor and elevator).
+	 * @param floorRequests	a String, the path of the file of requests
+	 * @param building		a Building, the building the requests of a CSV file are made in, a trace has its own
+	 */
+	public Floor(Scheduler s, String floorRequests, Building building) {
 		this.scheduler = s;
 		this.floorRequests = floorRequests;
+		this.building = building;
+		this.replaySpeed = REPLAY_SPEED;
+		this.log = EventLog.getDefault();
 	}
 	
 	/**
-	 * Reads the floorRequests.csv file that contains instructions for the elevator to execute.
-	 * Sets the floor data, and notifies the scheduler.
+	 * Sets how the requests are sent to the scheduler: as fast as they are read, or each one at its time
+	 * sped up by a factor, e.g., 1 for real time or 100 to send a minute of requests in 0.6 s.
+	 * -Dreplay.speed sets the speed of every floor.
+	 * 
+	 * @param replaySpeed	a double, how many times faster than their times the requests are sent, 0 to send them as they are read
+	 */
+	public void setReplaySpeed(double replaySpeed) {
+		if (replaySpeed < 0) {
+			throw new IllegalArgumentException("The replay speed cannot be negative: " + replaySpeed);
+		}
+		this.replaySpeed = replaySpeed;
+	}
+	
+	/**
+	 * Get how many times faster than their times the requests are sent.
+	 * 
+	 * @return	a double, the replay speed, 0 if the requests are sent as they are read
+	 */
+	public double getReplaySpeed() {
+		return replaySpeed;
+	}
+	
+	/**
+	 * Get how late the last call to unwrapData sent the requests compared to their times.
+	 * 
+	 * @return	a LatencyHistogram, the drift in nanoseconds, null unless the requests were paced
+	 */
+	public LatencyHistogram getReplayDrift() {
+		return replayDrift;
+	}
+	
+	/**
+	 * Reads the floorRequests.csv file that contains instructions for the elevator to execute,
+	 * or a binary trace of them written by TraceWriter.
+	 * The file is streamed line by line, each request is sent to the scheduler as soon as it is parsed,
+	 * so the scheduler can start dispatching before the whole file has been read.
+	 * Lines that cannot be parsed are reported with their line number and skipped.
+	 * With a replay speed, each request is sent at its time by a TraceReplay, which reads a bounded window ahead.
+	 * Stops early if the thread is interrupted.
 	 */ 
 	public void unwrapData() {
-		try 
-	    {
-			// parsing a CSV file into BufferedReader class constructor
-			File csvFile = new File(floorRequests);
-		    BufferedReader br = new BufferedReader(new FileReader(csvFile));
-
-		    String line = "";
-		    while ((line = br.readLine()) != null)   //returns a Boolean value
-		    {
-		    	String[] elevatorData = new String[4];
-			    elevatorData = line.split(",");
-			
-			    String start_date = elevatorData[0];
-			    DateFormat formatter = new SimpleDateFormat("hh:mm:ss");
-			    Date date = (Date) formatter.parse(start_date);
-			    // parses out the date, so the date is in this format: hh:mm:ss
-			   
-			    setFloorData(date,
-			    		Integer.parseInt(elevatorData[1]),
-			    		elevatorData[2],
-			    		Integer.parseInt(elevatorData[3]));
+		long start = System.nanoTime();
+		readRows = 0;
+		rejectedRows = 0;
+		replayDrift = null;
+		
+		try (RequestSource reader = open(floorRequests, building)) {
+			if (replaySpeed > 0) {
+				TraceReplay replay = new TraceReplay(fd -> {
+					scheduler.addRequests(fd);
+					log.log(EventType.REQUEST_ADDED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
+				}, replaySpeed);
+				replay.replay(reader);
+				replayDrift = replay.getDrift();
+			}
+		    while (reader.hasNext() && !Thread.currentThread().isInterrupted()) {
+		    	// adding all the requests to the queue that are in the CSV file
+		    	FloorData fd = reader.next();
+			    scheduler.addRequests(fd);
+			    log.log(EventType.REQUEST_ADDED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
 		    }
-	    
-		    br.close();
+		    readRows = reader.getReadRows();
+		    rejectedRows = reader.getRejectedRows();
 	    }
-	    catch (IOException e) {} 
-		catch (ParseException e) {
-			e.printStackTrace();
+	    catch (IOException e) {
+	    	System.err.println("Floor: could not read " + floorRequests + ": " + e.getMessage());
+	    }
+		
+		long elapsed = System.nanoTime() - start;
+		if (log.getLevel() == EventLog.Level.OFF) {
+			// quiet, e.g., a Simulation that is run many times over
+			return;
+		}
+		System.out.println("Floor: read " + readRows + " requests (" + rejectedRows + " rejected) in "
+				+ elapsed / 1000000 + " ms, " + getRowsPerSecond(readRows + rejectedRows, elapsed) + " rows/s");
+		if (replayDrift != null) {
+			System.out.println("Floor: replayed at " + replaySpeed + "x, drift from the request times: " + replayDrift);
 		}
 	}
+	
+	/**
+	 * Opens a file of requests, a binary trace if its name ends with TRACE_EXTENSION, a CSV file otherwise.
+	 * 
+	 * @param fileName	a String, the path of the file
+	 * @return	a RequestSource, the requests in the file
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public static RequestSource open(String fileName) throws IOException {
+		return open(fileName, FloorDataReader.DEFAULT_BUILDING);
+	}
+	
+	/**
+	 * Opens a file of requests, a binary trace if its name ends with TRACE_EXTENSION, a CSV file otherwise.
+	 * 
+	 * @param fileName	a String, the path of the file
+	 * @param building	a Building, the building the requests of a CSV file are made in, a trace has its own
+	 * @return	a RequestSource, the requests in the file
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public static RequestSource open(String fileName, Building building) throws IOException {
+		return fileName.endsWith(TRACE_EXTENSION) ? new TraceReader(fileName) : new FloorDataReader(fileName, building);
+	}
+	
+	/**
+	 * Calculates the ingestion throughput.
+	 * 
+	 * @param rows		an int, the number of rows read
+	 * @param elapsed	a long, the time it took to read them in nanoseconds
+	 * @return	a long, the number of rows read per second
+	 */
+	private static long getRowsPerSecond(int rows, long elapsed) {
+		return elapsed == 0 ? 0 : rows * 1000000000L / elapsed;
+	}
+	
+	/**
+	 * Get the number of requests read by the last call to unwrapData.
+	 * 
+	 * @return	an int, the number of requests sent to the scheduler
+	 */
+	public int getReadRows() {
+		return readRows;
+	}
+	
+	/**
+	 * Get the number of lines rejected by the last call to unwrapData.
+	 * 
+	 * @return	an int, the number of lines that could not be parsed
+	 */
+	public int getRejectedRows() {
+		return rejectedRows;
+	}
+	
+	/**
+	 * Get the number of requests that arrived at their destination floor since the floor started running.
+	 * 
+	 * @return	an int, the number of arrivals the floor processed
+	 */
+	public int getArrivedRows() {
+		return arrivedRows;
+	}
 
 	/**
 	 * Used to run the Floor thread.
+	 * Blocks until the scheduler reports an arrival instead of polling the scheduler,
+	 * and returns once the scheduler has finished or was shut down.
 	 */
 	@Override
 	public void run() {
-        System.out.println("Starting at Floor\n");
-        unwrapData();
+        log.log(EventType.FLOOR_STARTED, 0, 0, 0);
+        arrivedRows = 0;
         
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {}
+        // read the CSV file on its own thread, so arrivals are processed while requests are still coming in
+        Thread reader = new Thread(() -> {
+        	try {
+        		unwrapData();
+        	} finally {
+        		scheduler.notifyRequestsLoaded();
+        	}
+        }, "Floor Reader");
+        reader.start();
 
-        while(true) {
-            if(scheduler.getSchedulerToFloorCondition() == 1) {
-                System.out.println("\n\tArrived At Floor:" +
-	                		"\n\t\tInitial Floor: " + ((FloorData) scheduler.getServiceableRequests().element()).getInitialFloor() +
-                		" Destination Floor: " + ((FloorData) scheduler.getServiceableRequests().element()).getDestinationFloor() +
-                		" Floor Button: " + ((FloorData)scheduler.getServiceableRequests().element()).getFloorButton() +
-                		" Time: " + ((FloorData)scheduler.getServiceableRequests().element()).getTime() + "\n\n");
-                
-                
-                // removes all the requests that have already been serviced from the allFloorRequests queue
-                scheduler.getAllRequests().removeAll(scheduler.getServiceableRequests());
-                
-                // remove the request from the head of the serviceableRequests queue
-                // since it has already been serviced
-                scheduler.removeServiceableRequests();
-                
-                // prevent the floor from executing multiple times
-                scheduler.setSchedulerToFloorConditionToFalse();
-                
-                if(scheduler.getAllRequests().isEmpty() && scheduler.getServiceableRequests().isEmpty()) {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {}
-                	System.out.println("All requests were processed. The simulation has ended.");
-                	System.exit(1);	
-                }
-               
-            } else {
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {}
-            }
-        }    
+        FloorData fd;
+        while((fd = scheduler.awaitSchedulerToFloor()) != null) {
+            processArrival(fd);
+            arrivedRows++;
+        }
+        
+        // the reader is still going if the scheduler was shut down
+        reader.interrupt();
+        boolean interrupted = false;
+        while (reader.isAlive()) {
+        	try {
+        		reader.join();
+        	} catch (InterruptedException e) {
+        		interrupted = true;
+        	}
+        }
+        if (interrupted) {
+        	Thread.currentThread().interrupt();
+        }
+        
+    	// the summary is printed after the events the threads logged
+    	log.flush();
+    	if (log.getDropped() > 0) {
+    		System.out.println("Event log: " + log.getDropped() + " events were dropped because the ring buffer was full");
+    	}
     }
 	
 	/**
-	 * Sets the FloorData Object
-	 * @param date		a Date object, the time of the request 
-	 * @param iFloor	an int, the initial floor the elevator is at
-	 * @param direction		a String, the direction the elevator is going in (up or down)
-	 * @param dFloor	an int, the destination floor the elevator needs to go to 
-	 * @throws IOException	
+	 * Processes a request that has arrived at its destination floor.
+	 * 
+	 * @param fd	a FloorData Object, the request the scheduler sent back to the floor
 	 */
-	private void setFloorData(Date date, int iFloor, String direction, int dFloor) throws IOException {
-		FloorData fd = new FloorData(10);    // setting default floors to 10
-		
-		fd.setTime(date);
-		fd.setInitialFloor(iFloor);
-		fd.setFloorButton(direction); // Up & Down
-		fd.setDestinationFloor(dFloor);
-		
-		// adding all the requests to the queue that are in the CSV file
-	    scheduler.addRequests(fd);
-	    System.out.println("Scheduler: A request has been added to the queue");
+	public void processArrival(FloorData fd) {
+        log.log(EventType.ARRIVED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * FloorActor Class for one floor of the building, the lightweight version of the Floor thread.
+ * The floor has a mailbox of the hall calls it sends to the scheduler and the requests that arrive at it.
+ * It has no thread of its own: when a message is put in an empty mailbox the floor is run on a shared executor,
+ * handles every message in its mailbox and gives the thread back.
+ * A passenger waiting for a car is a request in the scheduler's queues, not a blocked thread,
+ * so a building with hundreds of floors and thousands of waiting passengers only needs a few threads.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FloorActor implements Runnable {
+	private final int floor;
+	private final Scheduler scheduler;
+	private final FloorActors building;	// told when a hall call has been sent and when a request has arrived
+	private final Executor executor;
+	private final EventLog log;
+	
+	// the mailbox, messages are handled in the order they were sent
+	private final ConcurrentLinkedQueue<FloorData> hallCalls;	// requests made at this floor, not sent to the scheduler yet
+	private final ConcurrentLinkedQueue<FloorData> arrivals;	// requests that arrived at this floor, not processed yet
+	private final AtomicBoolean scheduled;	// true while the floor is waiting for or running on the executor
+	
+	// only changed while the floor runs, which is on one thread at a time
+	private volatile long sentCalls;
+	private volatile long arrivedRequests;
+	
+	/**
+	 * Constructor for FloorActor.
+	 * 
+	 * @param floor		an int, the floor
+	 * @param scheduler	a Scheduler, where the floor sends its hall calls
+	 * @param building	a FloorActors, the floors of the building
+	 * @param executor	an Executor, the threads the floors of the building share
+	 */
+	public FloorActor(int floor, Scheduler scheduler, FloorActors building, Executor executor) {
+		this.floor = floor;
+		this.scheduler = scheduler;
+		this.building = building;
+		this.executor = executor;
+		this.log = EventLog.getDefault();
+		this.hallCalls = new ConcurrentLinkedQueue<FloorData>();
+		this.arrivals = new ConcurrentLinkedQueue<FloorData>();
+		this.scheduled = new AtomicBoolean();
+	}
+	
+	/**
+	 * Get the floor.
+	 * 
+	 * @return	an int, the floor
+	 */
+	public int getFloor() {
+		return floor;
+	}
+	
+	/**
+	 * Get the number of hall calls the floor has sent to the scheduler.
+	 * 
+	 * @return	a long, the number of hall calls
+	 */
+	public long getSentCalls() {
+		return sentCalls;
+	}
+	
+	/**
+	 * Get the number of requests that have arrived at the floor.
+	 * 
+	 * @return	a long, the number of arrivals
+	 */
+	public long getArrivedRequests() {
+		return arrivedRequests;
+	}
+	
+	/**
+	 * Puts a hall call made at this floor in the mailbox, it is sent to the scheduler when the floor runs.
+	 * 
+	 * @param fd	a FloorData Object, the request, its initial floor is this floor
+	 */
+	public void call(FloorData fd) {
+		hallCalls.add(fd);
+		schedule();
+	}
+	
+	/**
+	 * Puts a request that arrived at this floor in the mailbox, it is processed when the floor runs.
+	 * Called by the elevator threads, does not block.
+	 * 
+	 * @param fd	a FloorData Object, the request, its destination floor is this floor
+	 */
+	public void arrive(FloorData fd) {
+		arrivals.add(fd);
+		schedule();
+	}
+	
+	/**
+	 * Runs the floor on the executor, unless it is already waiting for or running on it.
+	 */
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			executor.execute(this);
+		}
+	}
+	
+	/**
+	 * Used to run the floor on the executor.
+	 * Sends the hall calls to the scheduler and processes the arrivals that are in the mailbox.
+	 */
+	@Override
+	public void run() {
+		FloorData fd;
+		while ((fd = hallCalls.poll()) != null) {
+			// blocks while the scheduler's queue is full
+			scheduler.addRequests(fd);
+			sentCalls++;
+			building.callSent();
+		}
+		while ((fd = arrivals.poll()) != null) {
+			scheduler.arrivalReceived(fd);
+			log.log(EventType.ARRIVED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
+			arrivedRequests++;
+			building.requestArrived();
+		}
+		
+		scheduled.set(false);
+		// a message that was put in the mailbox after it was emptied, but before scheduled was reset, would be missed
+		if (!hallCalls.isEmpty() || !arrivals.isEmpty()) {
+			schedule();
+		}
+	}
+}
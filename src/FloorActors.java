@@ -0,0 +1,215 @@
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * FloorActors Class that runs every floor of the building as its own FloorActor instead of a single Floor thread.
+ * The requests are sent to the floor they are made at, which sends them to the scheduler on its own,
+ * and the scheduler sends every serviced request straight to the floor it arrived at.
+ * The floors share a few threads, so the building can have hundreds of floors
+ * and thousands of passengers waiting at the same time.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FloorActors implements Runnable {
+	
+	public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+	
+	private final Scheduler scheduler;
+	private final Building building;
+	private final Iterator<FloorData> requests;
+	private final FloorActor[] floors;	// the floor actor of every floor, by floor number
+	private final ExecutorService executor;	// the threads the floors share
+	private final EventLog log;
+	
+	// the floors report the hall calls they have sent and the requests that arrived at them
+	private final Object progress;
+	private long madeCalls;	// number of requests sent to the floors
+	private long sentCalls;	// number of hall calls the floors sent to the scheduler
+	private long arrivedRequests;	// number of requests that arrived at their destination floor
+	
+	/**
+	 * Constructor for FloorActors, creates a floor actor for every floor of the building.
+	 * 
+	 * @param s			a Scheduler, where the floors send their hall calls
+	 * @param building	a Building, the building
+	 * @param requests	an Iterator, the requests made in the building
+	 * @param threads	an int, the number of threads the floors share
+	 */
+	public FloorActors(Scheduler s, Building building, Iterator<FloorData> requests, int threads) {
+		this.scheduler = s;
+		this.building = building;
+		this.requests = requests;
+		this.progress = new Object();
+		this.log = EventLog.getDefault();
+		
+		AtomicInteger count = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "Floor Actor " + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		
+		this.floors = new FloorActor[building.getFloors() + 1];
+		for (int i = 0; i < floors.length; i++) {
+			floors[i] = new FloorActor(i, s, this, executor);
+		}
+		s.setArrivalListener(fd -> floors[fd.getDestinationFloor()].arrive(fd));
+	}
+	
+	/**
+	 * Get the floor actor of a floor.
+	 * 
+	 * @param floor	an int, the floor
+	 * @return	a FloorActor, the floor actor
+	 */
+	public FloorActor getFloor(int floor) {
+		return floors[floor];
+	}
+	
+	/**
+	 * Get the number of requests that arrived at their destination floor.
+	 * 
+	 * @return	a long, the number of arrivals
+	 */
+	public long getArrivedRequests() {
+		synchronized (progress) {
+			return arrivedRequests;
+		}
+	}
+	
+	/**
+	 * Called by a floor once it has sent a hall call to the scheduler.
+	 */
+	void callSent() {
+		synchronized (progress) {
+			sentCalls++;
+			progress.notifyAll();
+		}
+	}
+	
+	/**
+	 * Called by a floor once a request has arrived at it.
+	 */
+	void requestArrived() {
+		synchronized (progress) {
+			arrivedRequests++;
+			progress.notifyAll();
+		}
+	}
+	
+	/**
+	 * Sends a request to the floor it is made at.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	private void call(FloorData fd) {
+		if (fd.getFloors() > building.getFloors()) {
+			throw new IllegalArgumentException("The request is for a building with " + fd.getFloors() + " floors, the building has " + building.getFloors());
+		}
+		synchronized (progress) {
+			madeCalls++;
+		}
+		floors[fd.getInitialFloor()].call(fd);
+	}
+	
+	/**
+	 * Blocks until the floors have sent all of the requests or all of them have arrived.
+	 * 
+	 * @param arrived	a boolean, true to wait for the arrivals, false for the hall calls
+	 */
+	private void await(boolean arrived) {
+		boolean interrupted = false;
+		synchronized (progress) {
+			while ((arrived ? arrivedRequests : sentCalls) < madeCalls) {
+				try {
+					progress.wait();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Used to run the floors.
+	 * Sends every request to the floor it is made at, tells the scheduler once all of them have been sent,
+	 * then waits until all of them have arrived and stops the floors' threads.
+	 */
+	@Override
+	public void run() {
+		log.log(EventType.FLOOR_STARTED, 0, 0, 0);
+		try {
+			while (requests.hasNext()) {
+				call(requests.next());
+			}
+			await(false);
+		} finally {
+			scheduler.notifyRequestsLoaded();
+		}
+		
+		await(true);
+		executor.shutdown();
+	}
+	
+	/**
+	 * Runs random requests through a tall building with a floor actor on every floor.
+	 * 
+	 * @param args	the number of floors, requests, elevators and threads (all optional)
+	 * @throws IOException	if a generated request is out of range
+	 * @throws InterruptedException	if the run is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int floorCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int requestCount = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+		int elevatorCount = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_THREADS;
+		
+		Building building = Building.of(floorCount);
+		RequestTable table = new RequestTable(building, requestCount);
+		Random random = new Random(42);
+		for (int i = 0; i < requestCount; i++) {
+			int iFloor = 1 + random.nextInt(floorCount);
+			int dFloor = 1 + random.nextInt(floorCount - 1);
+			if (dFloor >= iFloor) {
+				dFloor++;
+			}
+			
+			FloorData fd = new FloorData(building);
+			fd.setInitialFloor(iFloor);
+			fd.setDestinationFloor(dFloor);
+			fd.setFloorButton(iFloor < dFloor ? "Up" : "Down");
+			table.add(fd);
+		}
+		
+		// every request can be waiting at the same time
+		Scheduler s = new Scheduler(elevatorCount, requestCount);
+		FloorActors floors = new FloorActors(s, building, table.iterator(), threads);
+		
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+		long start = System.nanoTime();
+		Thread floor = new Thread(floors, "Floors");
+		Thread scheduler = new Thread(s, "Scheduler");
+		floor.start();
+		scheduler.start();
+		floor.join();
+		scheduler.join();
+		long elapsed = System.nanoTime() - start;
+		
+		System.out.println(floorCount + " floors on " + threads + " threads, " + elevatorCount + " elevators: "
+				+ floors.getArrivedRequests() + " requests in " + elapsed / 1000000 + " ms");
+		System.out.println(s.getMetrics().snapshot());
+	}
+}
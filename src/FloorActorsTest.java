@@ -0,0 +1,91 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for FloorActors Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class FloorActorsTest {
+	
+	Building building = Building.of(300);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that every request arrives at its destination floor with fewer threads than floors.
+	 * 
+	 * @throws Exception	if a request is out of range or the test is interrupted
+	 */
+	@Test
+	void testArrivals() throws Exception {
+		int requests = 3000;
+		RequestTable table = new RequestTable(building, requests);
+		int[] arrivals = new int[building.getFloors() + 1];
+		int[] calls = new int[building.getFloors() + 1];
+		Random random = new Random(7);
+		for (int i = 0; i < requests; i++) {
+			int iFloor = 1 + random.nextInt(building.getFloors());
+			int dFloor = iFloor == building.getFloors() ? 1 : iFloor + 1 + random.nextInt(building.getFloors() - iFloor);
+			table.add(TestRequests.request(building, iFloor, dFloor));
+			calls[iFloor]++;
+			arrivals[dFloor]++;
+		}
+		
+		Scheduler s = new Scheduler(8, 100);
+		FloorActors floors = new FloorActors(s, building, table.iterator(), 2);
+		Thread floor = new Thread(floors);
+		Thread scheduler = new Thread(s);
+		floor.start();
+		scheduler.start();
+		floor.join(30000);
+		scheduler.join(30000);
+		
+		assertFalse(floor.isAlive());
+		assertFalse(scheduler.isAlive());
+		assertEquals(requests, floors.getArrivedRequests());
+		assertEquals(requests, s.getMetrics().snapshot().getServicedRequests());
+		for (int i = 0; i <= building.getFloors(); i++) {
+			assertEquals(calls[i], floors.getFloor(i).getSentCalls());
+			assertEquals(arrivals[i], floors.getFloor(i).getArrivedRequests());
+		}
+		// the floor thread was not used
+		assertNull(s.pollSchedulerToFloor());
+	}
+	
+	/**
+	 * Tests that a request for a taller building is rejected.
+	 * 
+	 * @throws Exception	if a request is out of range
+	 */
+	@Test
+	void testTallerBuilding() throws Exception {
+		FloorData fd = new FloorData(400);
+		fd.setInitialFloor(350);
+		fd.setDestinationFloor(1);
+		fd.setFloorButton("Down");
+		
+		FloorActors floors = new FloorActors(new Scheduler(), building, List.of(fd).iterator(), 1);
+		assertThrows(IllegalArgumentException.class, floors::run);
+	}
+}
@@ -1,8 +1,12 @@
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Date;
 
 /**
  * FloorData Class that stores the data defined in the floorRequests.csv file.
+ * The request is kept in primitives: the time in epoch milliseconds, the floors in shorts and the floor button in a byte,
+ * the building is shared by the requests. getTime and getFloorButton create the Date and String views of them.
  * 
  * @author Yash Kapoor
  * @author Faiaz Ahsan
@@ -14,22 +18,82 @@ import java.util.Date;
  */
 public class FloorData {
 	
-	private int floors; // the number of floors the building has
-	private Date time;
-	private int initialFloor;
-	private String floorButton;
-	private int destinationFloor;
+	public static final long NO_TIME = Long.MIN_VALUE; // the time of a request that has none
+	
+	// the floor button codes, the button is kept the way it was written in the CSV file
+	public static final byte NO_BUTTON = 0;
+	private static final String[] FLOOR_BUTTONS = {null, "Up", "Down", "up", "down", "UP", "DOWN"};
+	
+	private Building building; // shared by every request in the building
+	private long time;
+	private short initialFloor;
+	private short destinationFloor;
+	private byte floorButton;
 	
 	public FloorData(int floors) {
-		this.floors = floors;
+		this(Building.of(floors));
+	}
+	
+	/**
+	 * Constructor for FloorData.
+	 * 
+	 * @param building	a Building, the building the request is made in
+	 */
+	public FloorData(Building building) {
+		this.building = building;
+		this.time = NO_TIME;
+	}
+	
+	/**
+	 * Constructor for FloorData that was already checked, used by RequestTable.
+	 * 
+	 * @param building			a Building, the building the request is made in
+	 * @param time				a long, the time in epoch milliseconds or NO_TIME
+	 * @param initialFloor		a short, the initial floor
+	 * @param destinationFloor	a short, the destination floor
+	 * @param floorButton		a byte, the code of the floor button
+	 */
+	FloorData(Building building, long time, short initialFloor, short destinationFloor, byte floorButton) {
+		this.building = building;
+		this.time = time;
+		this.initialFloor = initialFloor;
+		this.destinationFloor = destinationFloor;
+		this.floorButton = floorButton;
+	}
+	
+	/**
+	 * Gets the building the request is made in.
+	 * 
+	 * @return	The Building.
+	 */
+	public Building getBuilding() {
+		return building;
+	}
+
+	/**
+	 * Gets the number of floors the building has.
+	 * 
+	 * @return	The integer value of the top floor.
+	 */
+	public int getFloors() {
+		return building.getFloors();
 	}
 
 	/**
 	 * Gets the time stamp of the floor request. 
 	 * 
-	 * @return	The Date time stamp.
+	 * @return	The Date time stamp, or null if the request has no time.
 	 */
 	public Date getTime() {
+		return time == NO_TIME ? null : new Date(time);
+	}
+	
+	/**
+	 * Gets the time stamp of the floor request without creating a Date.
+	 * 
+	 * @return	The time stamp in epoch milliseconds, or NO_TIME.
+	 */
+	public long getTimeMillis() {
 		return time;
 	}
 	
@@ -48,9 +112,28 @@ public class FloorData {
 	 * @return	The String value of the elevator's direction.
 	 */
 	public String getFloorButton() {
+		return FLOOR_BUTTONS[floorButton];
+	}
+	
+	/**
+	 * Gets the code of the floor button.
+	 * 
+	 * @return	The byte code of the floor button, NO_BUTTON if it was not set.
+	 */
+	public byte getFloorButtonCode() {
 		return floorButton;
 	}
 	
+	/**
+	 * Checks whether a byte is the code of a floor button.
+	 * 
+	 * @param code	The byte code.
+	 * @return	True if the code is one of the floor buttons, false for NO_BUTTON and unknown codes.
+	 */
+	public static boolean isFloorButtonCode(byte code) {
+		return code > NO_BUTTON && code < FLOOR_BUTTONS.length;
+	}
+	
 	/**
 	 * Gets the final floor the elevator arrives at.
 	 * 
@@ -66,6 +149,15 @@ public class FloorData {
 	 * @param time A Date object representing the time stamp.
 	 */
 	public void setTime(Date time) {
+		this.time = time == null ? NO_TIME : time.getTime();
+	}
+	
+	/**
+	 * Sets the time without a Date.
+	 * 
+	 * @param time The time stamp in epoch milliseconds, or NO_TIME.
+	 */
+	public void setTimeMillis(long time) {
 		this.time = time;
 	}
 	
@@ -76,8 +168,8 @@ public class FloorData {
 	 * @throws IOException Throws exception if the floor is out of range of the floor plan.
 	 */
 	public void setInitialFloor(int initialFloor) throws IOException {
-		if (initialFloor > -1 && initialFloor <= this.floors) {
-			this.initialFloor = initialFloor;
+		if (building.hasFloor(initialFloor)) {
+			this.initialFloor = (short) initialFloor;
 		}
 		else {
 			throw new IOException("The entered floor is out of range.");
@@ -91,8 +183,8 @@ public class FloorData {
 	 * @throws IOException  Throws exception if the floor is out of range of the floor plan.
 	 */
 	public void setDestinationFloor(int destinationFloor) throws IOException {
-		if (destinationFloor > -1 && destinationFloor <=this.floors) {
-			this.destinationFloor = destinationFloor;
+		if (building.hasFloor(destinationFloor)) {
+			this.destinationFloor = (short) destinationFloor;
 		}
 		else {
 			throw new IOException("The entered floor is out of range.");
@@ -105,9 +197,51 @@ public class FloorData {
 	 * @param floorButton The String value of the direction the elevator is going in.
 	 * @throws IOException Throws exception if the floor button is incorrect.
 	 */
-	public void setFloorButton(String floorButton)  {
-		this.floorButton = floorButton;
+	public void setFloorButton(String floorButton) throws IOException {
+		byte code = NO_BUTTON;
+		for (byte i = 1; i < FLOOR_BUTTONS.length; i++) {
+			if (FLOOR_BUTTONS[i].equals(floorButton)) {
+				code = i;
+				break;
+			}
+		}
+		if (code == NO_BUTTON && floorButton.equalsIgnoreCase("Up")) {
+			code = 1;
+		}
+		else if (code == NO_BUTTON && floorButton.equalsIgnoreCase("Down")) {
+			code = 2;
+		}
+		
+		if (code != NO_BUTTON) {
+			this.floorButton = code;
+		}
+		else {
+			throw new IOException("The entered floor button is incorrect.");
+		}
 	}
 	
-
+	/**
+	 * Writes the request to a checkpoint, the times it went through the scheduler are written by SchedulerMetrics.writeRequest.
+	 * 
+	 * @param out	a DataOutput, where the request is written
+	 * @throws IOException	if the request cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		out.writeLong(time);
+		out.writeShort(initialFloor);
+		out.writeShort(destinationFloor);
+		out.writeByte(floorButton);
+	}
+	
+	/**
+	 * Reads a request written by writeState.
+	 * 
+	 * @param in		a DataInput, where the request is read from
+	 * @param building	a Building, the building of the checkpoint
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if the request cannot be read
+	 */
+	public static FloorData readState(DataInput in, Building building) throws IOException {
+		return new FloorData(building, in.readLong(), in.readShort(), in.readShort(), in.readByte());
+	}
 }
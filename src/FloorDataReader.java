@@ -0,0 +1,173 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.NoSuchElementException;
+
+/**
+ * FloorDataReader Class that streams the requests in a CSV file (time,initial floor,direction,destination floor)
+ * one line at a time, so only one request is in memory no matter how big the file is.
+ * Lines that cannot be parsed are reported with their line number and skipped.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FloorDataReader implements RequestSource {
+	// shared by every line and every reader, DateTimeFormatter is immutable and thread-safe
+	private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("H:mm:ss");
+	// the times in the CSV file are on the first day of the epoch, in the local time zone
+	static final long START_OF_DAY = LocalDate.EPOCH.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	
+	public static final Building DEFAULT_BUILDING = Building.of(10);	// setting default floors to 10
+	
+	private String fileName;
+	private Building building;	// the building the requests are made in
+	private BufferedReader reader;
+	private FloorData next;	// the next request, read ahead by hasNext
+	
+	private int lineNumber;
+	private int readRows;	// number of requests read from the CSV file
+	private int rejectedRows;	// number of lines in the CSV file that could not be parsed
+	
+	/**
+	 * Constructor for FloorDataReader, opens the CSV file of requests in a building with 10 floors.
+	 * 
+	 * @param fileName	a String, the path of the CSV file
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public FloorDataReader(String fileName) throws IOException {
+		this(fileName, DEFAULT_BUILDING);
+	}
+	
+	/**
+	 * Constructor for FloorDataReader, opens the CSV file.
+	 * 
+	 * @param fileName	a String, the path of the CSV file
+	 * @param building	a Building, the building the requests are made in, lines with floors outside of it are rejected
+	 * @throws IOException	if the file cannot be opened
+	 */
+	public FloorDataReader(String fileName, Building building) throws IOException {
+		this.fileName = fileName;
+		this.building = building;
+		this.reader = new BufferedReader(new FileReader(fileName));
+	}
+	
+	/**
+	 * Checks whether there is another request in the file, reading ahead to the next line that can be parsed.
+	 * 
+	 * @return	a boolean, true if there is another request, false at the end of the file
+	 */
+	@Override
+	public boolean hasNext() {
+		while (next == null && reader != null) {
+			String line;
+			try {
+				line = reader.readLine();
+			} catch (IOException e) {
+				System.err.println("Floor: could not read " + fileName + " after line " + lineNumber + ": " + e.getMessage());
+				line = null;
+			}
+			if (line == null) {
+				close();
+				break;
+			}
+			
+			lineNumber++;
+	    	if (line.isBlank()) {
+	    		continue;
+	    	}
+	    	try {
+	    		next = parseLine(line);
+	    		readRows++;
+	    	} catch (IOException | RuntimeException e) {
+	    		// IOException for floors out of range, RuntimeException for missing fields, numbers and times
+	    		rejectedRows++;
+	    		System.err.println("Floor: skipping line " + lineNumber + " of " + fileName + " (" + e.getMessage() + "): " + line);
+	    	}
+		}
+		return next != null;
+	}
+	
+	/**
+	 * Gets the next request in the file.
+	 * 
+	 * @return	a FloorData Object, the request
+	 */
+	@Override
+	public FloorData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		FloorData fd = next;
+		next = null;
+		return fd;
+	}
+	
+	/**
+	 * Parses one line of the CSV file (time,initial floor,direction,destination floor).
+	 * 
+	 * @param line	a String, the line of the CSV file
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if a floor is out of range
+	 */
+	private FloorData parseLine(String line) throws IOException {
+		int first = line.indexOf(',');
+		int second = line.indexOf(',', first + 1);
+		int third = line.indexOf(',', second + 1);
+		if (first < 0 || second < 0 || third < 0) {
+			throw new IllegalArgumentException("expected 4 fields");
+		}
+		
+		// parses out the time, so the date is in this format: hh:mm:ss
+		LocalTime time = LocalTime.parse(line.substring(0, first), TIME_FORMAT);
+		
+		FloorData fd = new FloorData(building);
+		fd.setTimeMillis(START_OF_DAY + time.toSecondOfDay() * 1000L);
+		fd.setInitialFloor(Integer.parseInt(line, first + 1, second, 10));
+		fd.setFloorButton(line.substring(second + 1, third)); // Up & Down
+		fd.setDestinationFloor(Integer.parseInt(line, third + 1, line.length(), 10));
+		return fd;
+	}
+	
+	/**
+	 * Get the number of requests read so far.
+	 * 
+	 * @return	an int, the number of lines that were parsed
+	 */
+	public int getReadRows() {
+		return readRows;
+	}
+	
+	/**
+	 * Get the number of lines rejected so far.
+	 * 
+	 * @return	an int, the number of lines that could not be parsed
+	 */
+	public int getRejectedRows() {
+		return rejectedRows;
+	}
+	
+	/**
+	 * Closes the CSV file.
+	 */
+	@Override
+	public void close() {
+		if (reader == null) {
+			return;
+		}
+		try {
+			reader.close();
+		} catch (IOException e) {
+			System.err.println("Floor: could not close " + fileName + ": " + e.getMessage());
+		}
+		reader = null;
+	}
+}
@@ -91,4 +91,16 @@ class FloorDataTest {
 		Throwable exception = assertThrows(IOException.class,
 	            ()->{fd.setFloorButton("right");} );
 	}
+	
+	/**
+	 * Test that requests share the building and that a request has no time until it is set.
+	 */
+	@Test
+	void testBuilding() {
+		assertSame(fd.getBuilding(), new FloorData(5).getBuilding());
+		assertSame(new FloorData(Building.MAX_FLOORS).getBuilding(), Building.of(Building.MAX_FLOORS));
+		assertEquals(5, fd.getFloors());
+		assertNull(fd.getTime());
+		assertEquals(FloorData.NO_TIME, fd.getTimeMillis());
+	}
 }
@@ -0,0 +1,111 @@
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * FloorDataWriter Class that writes requests in the CSV format FloorDataReader reads (time,initial floor,direction,destination floor).
+ * The times are written as hh:mm:ss in the day, so requests more than a day apart cannot be written to the same file.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FloorDataWriter implements Closeable, Flushable {
+	
+	private Writer writer;
+	private StringBuilder line;	// reused for every line
+	private int writtenRows;
+	
+	/**
+	 * Constructor for FloorDataWriter, creates the CSV file.
+	 * 
+	 * @param fileName	a String, the path of the CSV file, it is replaced if it exists
+	 * @throws IOException	if the file cannot be created
+	 */
+	public FloorDataWriter(String fileName) throws IOException {
+		this(new BufferedWriter(new FileWriter(fileName)));
+	}
+	
+	/**
+	 * Constructor for FloorDataWriter.
+	 * 
+	 * @param writer	a Writer, where the CSV lines are written
+	 */
+	public FloorDataWriter(Writer writer) {
+		this.writer = writer;
+		this.line = new StringBuilder();
+	}
+	
+	/**
+	 * Writes a request as one line of the CSV file.
+	 * 
+	 * @param fd	a FloorData Object, the request, it must have a time and a floor button
+	 * @throws IOException	if the line cannot be written
+	 */
+	public void write(FloorData fd) throws IOException {
+		if (fd.getTimeMillis() == FloorData.NO_TIME || fd.getFloorButtonCode() == FloorData.NO_BUTTON) {
+			throw new IllegalArgumentException("A request needs a time and a floor button to be written");
+		}
+		
+		long seconds = Math.floorMod(Math.floorDiv(fd.getTimeMillis() - FloorDataReader.START_OF_DAY, 1000), 24 * 60 * 60);
+		line.setLength(0);
+		line.append(seconds / 3600).append(':');
+		appendTwoDigits(seconds / 60 % 60);
+		line.append(':');
+		appendTwoDigits(seconds % 60);
+		line.append(',').append(fd.getInitialFloor())
+			.append(',').append(fd.getFloorButton())
+			.append(',').append(fd.getDestinationFloor())
+			.append('\n');
+		writer.append(line);
+		writtenRows++;
+	}
+	
+	/**
+	 * Appends a number with a leading zero if it has one digit.
+	 * 
+	 * @param value	a long, between 0 and 59
+	 */
+	private void appendTwoDigits(long value) {
+		if (value < 10) {
+			line.append('0');
+		}
+		line.append(value);
+	}
+	
+	/**
+	 * Get the number of requests written so far.
+	 * 
+	 * @return	an int, the number of lines written
+	 */
+	public int getWrittenRows() {
+		return writtenRows;
+	}
+	
+	/**
+	 * Writes the buffered lines to the file.
+	 * 
+	 * @throws IOException	if the lines cannot be written
+	 */
+	@Override
+	public void flush() throws IOException {
+		writer.flush();
+	}
+	
+	/**
+	 * Closes the CSV file.
+	 * 
+	 * @throws IOException	if the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,87 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for FloorDataWriter Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class FloorDataWriterTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that a request is written in the format of floorRequests.csv.
+	 * 
+	 * @throws Exception	if the request cannot be written
+	 */
+	@Test
+	void testWrite() throws Exception {
+		FloorData fd = new FloorData(10);
+		fd.setTimeMillis(FloorDataReader.START_OF_DAY + ((14 * 60 + 5) * 60 + 9) * 1000L + 500);
+		fd.setInitialFloor(2);
+		fd.setFloorButton("Up");
+		fd.setDestinationFloor(4);
+		
+		StringWriter out = new StringWriter();
+		try (FloorDataWriter writer = new FloorDataWriter(out)) {
+			writer.write(fd);
+			assertEquals(1, writer.getWrittenRows());
+		}
+		assertEquals("14:05:09,2,Up,4\n", out.toString());
+		
+		assertThrows(IllegalArgumentException.class, () -> new FloorDataWriter(new StringWriter()).write(new FloorData(10)));
+	}
+	
+	/**
+	 * Tests that generated requests in a tall building are read back the same.
+	 * 
+	 * @throws Exception	if the file cannot be written or read
+	 */
+	@Test
+	void testReadBack() throws Exception {
+		Building building = Building.of(60);
+		Path path = Files.createTempFile("traffic", ".csv");
+		try (FloorDataWriter writer = new FloorDataWriter(path.toString())) {
+			assertEquals(500, new TrafficGenerator(building, TrafficPattern.DOWN_PEAK, 3, 500, 11).write(writer));
+		}
+		
+		TrafficGenerator expected = new TrafficGenerator(building, TrafficPattern.DOWN_PEAK, 3, 500, 11);
+		try (FloorDataReader reader = new FloorDataReader(path.toString(), building)) {
+			while (reader.hasNext()) {
+				FloorData fd = reader.next();
+				FloorData e = expected.next();
+				// the file has whole seconds
+				assertEquals(e.getTimeMillis() / 1000 * 1000, fd.getTimeMillis());
+				assertEquals(e.getInitialFloor(), fd.getInitialFloor());
+				assertEquals(e.getDestinationFloor(), fd.getDestinationFloor());
+				assertEquals(e.getFloorButton(), fd.getFloorButton());
+			}
+			assertEquals(500, reader.getReadRows());
+			assertEquals(0, reader.getRejectedRows());
+		} finally {
+			Files.delete(path);
+		}
+	}
+}
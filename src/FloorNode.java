@@ -0,0 +1,134 @@
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * FloorNode Class that runs the floor in its own process, it sends the requests to the scheduler's process (SchedulerNode)
+ * over UdpTransport and processes the arrivals the scheduler sends back.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class FloorNode implements Runnable {
+	private final UdpTransport transport;
+	private final SocketAddress address;	// where the scheduler's process receives messages
+	private final Iterator<FloorData> requests;
+	private final CountDownLatch ended;	// counted down by the END message of the scheduler
+	private final EventLog log;
+	
+	private volatile int sentRequests;
+	private volatile int arrivedRequests;	// only changed by the transport's receiver thread
+	
+	/**
+	 * Constructor for FloorNode.
+	 * 
+	 * @param transport	a UdpTransport, used to talk to the scheduler
+	 * @param address	a SocketAddress, the address of the scheduler's process
+	 * @param requests	an Iterator, the requests made in the building
+	 */
+	public FloorNode(UdpTransport transport, SocketAddress address, Iterator<FloorData> requests) {
+		this.transport = transport;
+		this.address = address;
+		this.requests = requests;
+		this.ended = new CountDownLatch(1);
+		this.log = EventLog.getDefault();
+		transport.setHandler(this::receive);
+		transport.setFailureHandler(this::failed);
+	}
+	
+	/**
+	 * Get the number of requests sent to the scheduler.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	public int getSentRequests() {
+		return sentRequests;
+	}
+	
+	/**
+	 * Get the number of requests that arrived at their destination floor.
+	 * 
+	 * @return	an int, the number of arrivals
+	 */
+	public int getArrivedRequests() {
+		return arrivedRequests;
+	}
+	
+	/**
+	 * Handles a message from the scheduler.
+	 * 
+	 * @param from	a SocketAddress, the scheduler's process
+	 * @param m		a Message, the message
+	 */
+	private void receive(SocketAddress from, Message m) {
+		switch (m.getType()) {
+		case ARRIVAL:
+			arrivedRequests++;
+			log.log(EventType.ARRIVED, 0, m.getInitialFloor(), m.getDestinationFloor());
+			break;
+		case END:
+			ended.countDown();
+			break;
+		default:
+			System.err.println("Floor: unexpected message " + m);
+		}
+	}
+	
+	/**
+	 * Called by the transport once the scheduler has stopped acknowledging messages, nothing more will arrive from it.
+	 * 
+	 * @param address	a SocketAddress, the scheduler's process
+	 */
+	private void failed(SocketAddress address) {
+		System.err.println("Floor: the scheduler stopped answering, " + arrivedRequests + " of " + sentRequests + " requests arrived");
+		ended.countDown();
+	}
+	
+	/**
+	 * Used to run the floor: sends every request to the scheduler, then waits until the scheduler ends the simulation.
+	 */
+	@Override
+	public void run() {
+		log.log(EventType.FLOOR_STARTED, 0, 0, 0);
+		transport.send(address, Message.of(MessageType.HELLO, 0));
+		while (requests.hasNext()) {
+			FloorData fd = requests.next();
+			transport.send(address, Message.of(MessageType.REQUEST, 0, ++sentRequests, fd));
+			log.log(EventType.REQUEST_ADDED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
+		}
+		transport.send(address, Message.of(MessageType.LOADED, 0));
+		
+		try {
+			ended.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs the floor's process.
+	 * 
+	 * @param args	the address of the scheduler (host:port) and the CSV file of requests
+	 * @throws IOException	if the CSV file cannot be opened or the socket cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		SocketAddress address = UdpTransport.parseAddress(args.length > 0 ? args[0] : "localhost:5000");
+		String fileName = args.length > 1 ? args[1] : "./floorRequests.csv";
+		
+		try (UdpTransport transport = new UdpTransport(0); FloorDataReader reader = new FloorDataReader(fileName)) {
+			FloorNode node = new FloorNode(transport, address, reader);
+			node.run();
+			EventLog.getDefault().flush();
+			System.out.println("All requests were processed. The simulation has ended.");
+			System.out.println("Floor: " + node.getArrivedRequests() + " of " + node.getSentRequests() + " requests arrived");
+			transport.flush(1000);
+			System.out.println(transport);
+		}
+	}
+}
@@ -2,6 +2,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
 import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,8 +11,6 @@ import org.junit.jupiter.api.Test;
 /**
  * JUnit Tests for Floor Class.
  * 
- * todo: fix this class.
- * 
  * @author Fareen Lavji
  * 
  * @version 02.04.2023
@@ -24,7 +23,7 @@ class FloorTest {
 	String direction = "up";
 	
 	Scheduler s = new Scheduler();
-	Floor f = new Floor(s, 5, "./testFile.csv");
+	Floor f = new Floor(s, "./testFile.csv");
 
 	/**
 	 * @throws java.lang.Exception
@@ -52,12 +51,41 @@ class FloorTest {
 		f.delete();
 	}
 
+	/**
+	 * Tests that a line of the CSV file is added to the scheduler's queue.
+	 */
 	@Test
 	void testUnwrapData() {
 		f.unwrapData();
-		assertEquals(s.getFloorData().getTime(),date);
-		assertEquals(s.getFloorData().getInitialFloor(), iFloor);
-		assertEquals(s.getFloorData().getFloorButton(), direction);
-		assertEquals(s.getFloorData().getDestinationFloor(), dFloor);
+		FloorData fd = s.getAllRequests().peek();
+		assertEquals(new SimpleDateFormat("HH:mm:ss").format(fd.getTime()), date);
+		assertEquals(fd.getInitialFloor(), iFloor);
+		assertEquals(fd.getFloorButton(), direction);
+		assertEquals(fd.getDestinationFloor(), dFloor);
+	}
+	
+	/**
+	 * Tests that lines that cannot be parsed are counted and skipped, and the rest of the file is still read.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Test
+	void testUnwrapDataRejectsBadRows() throws Exception {
+		File csvFile = new File("badTestFile.csv");
+		PrintWriter pw = new PrintWriter(csvFile);
+		pw.println("14:05:15,1,Up,3");
+		pw.println("14:05:16,one,Up,3");
+		pw.println("14:05:17,2,Down");
+		pw.println("14:05:18,2,Up,42");
+		pw.println("14:05:19,4,Down,2");
+		pw.close();
+		
+		Floor floor = new Floor(s, "./badTestFile.csv");
+		floor.unwrapData();
+		csvFile.delete();
+		
+		assertEquals(2, floor.getReadRows());
+		assertEquals(3, floor.getRejectedRows());
+		assertEquals(2, s.getAllRequests().size());
 	}
 }
@@ -0,0 +1,127 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HallCall Class for the people waiting at a floor to go in one direction, e.g., everyone who pressed "Up" on floor 3.
+ * The scheduler sends the first request of a hall call to the best elevator, and every request that comes in
+ * at the same floor in the same direction before that elevator gets there to the same elevator,
+ * so one stop picks all of them up. The hall call is closed once the elevator has picked them up.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class HallCall {
+	
+	private final int floor;
+	private final Direction direction;
+	private final Elevator elevator;	// the elevator the passengers were sent to
+	private final ArrayList<FloorData> passengers;
+	private boolean closed;	// true once the elevator has stopped for the passengers
+	
+	/**
+	 * Constructor for HallCall.
+	 * 
+	 * @param fd		a FloorData Object, the first request of the hall call
+	 * @param elevator	an Elevator, the elevator the scheduler sent the request to
+	 */
+	public HallCall(FloorData fd, Elevator elevator) {
+		this.floor = fd.getInitialFloor();
+		this.direction = Direction.of(fd);
+		this.elevator = elevator;
+		this.passengers = new ArrayList<FloorData>();
+		this.passengers.add(fd);
+		this.closed = false;
+	}
+	
+	/**
+	 * Gets the key of the hall calls at a floor in a direction.
+	 * 
+	 * @param floor		an int, the floor
+	 * @param direction	a Direction, the direction the passengers are going in
+	 * @return	an int, a different key for every floor and direction
+	 */
+	public static int key(int floor, Direction direction) {
+		return floor * 2 + direction.ordinal();
+	}
+	
+	/**
+	 * Gets the key of the hall call a request belongs to.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the key of the floor and direction of the request
+	 */
+	public static int key(FloorData fd) {
+		return key(fd.getInitialFloor(), Direction.of(fd));
+	}
+	
+	/**
+	 * Adds a passenger to the hall call, unless the elevator has already stopped for it.
+	 * 
+	 * @param fd	a FloorData Object, a request at the same floor in the same direction
+	 * @return	a boolean, true if the passenger was added, false if the hall call is closed
+	 */
+	public synchronized boolean join(FloorData fd) {
+		if (closed) {
+			return false;
+		}
+		passengers.add(fd);
+		return true;
+	}
+	
+	/**
+	 * Closes the hall call once the elevator has stopped to pick up the passengers.
+	 */
+	public synchronized void close() {
+		closed = true;
+	}
+	
+	/**
+	 * Checks whether the elevator has stopped for the passengers.
+	 * 
+	 * @return	a boolean, true if the hall call is closed, false otherwise
+	 */
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+	
+	/**
+	 * Get the floor the passengers are waiting at.
+	 * 
+	 * @return	an int, the floor of the hall call
+	 */
+	public int getFloor() {
+		return floor;
+	}
+	
+	/**
+	 * Get the direction the passengers are going in.
+	 * 
+	 * @return	a Direction, the direction of the hall call
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+	
+	/**
+	 * Get the elevator the passengers were sent to.
+	 * 
+	 * @return	an Elevator, the elevator that stops for the hall call
+	 */
+	public Elevator getElevator() {
+		return elevator;
+	}
+	
+	/**
+	 * Get the passengers of the hall call.
+	 * 
+	 * @return	a List, a copy of the requests in the order they came in
+	 */
+	public synchronized List<FloorData> getPassengers() {
+		return new ArrayList<FloorData>(passengers);
+	}
+}
@@ -0,0 +1,97 @@
+/**
+ * Kinematics Class for how an elevator car moves and stops: it speeds up at a constant acceleration
+ * up to its maximum speed, and slows down the same way, then opens its doors, waits and closes them.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class Kinematics {
+	
+	// a mid-rise passenger elevator
+	public static final Kinematics DEFAULT = new Kinematics(1.0, 2.5, 3.5, 2000, 3000, 3000);
+	
+	private final double acceleration;	// m/s^2
+	private final double maxSpeed;	// m/s
+	private final double floorHeight;	// m
+	private final long doorOpenTime;	// milliseconds
+	private final long doorCloseTime;	// milliseconds
+	private final long dwellTime;	// milliseconds the doors stay open
+	
+	/**
+	 * Constructor for Kinematics.
+	 * 
+	 * @param acceleration	a double, the acceleration and deceleration of the car in m/s^2
+	 * @param maxSpeed		a double, the top speed of the car in m/s
+	 * @param floorHeight	a double, the height of a floor in m
+	 * @param doorOpenTime	a long, the time it takes the doors to open in milliseconds
+	 * @param doorCloseTime	a long, the time it takes the doors to close in milliseconds
+	 * @param dwellTime		a long, the time the doors stay open for the passengers in milliseconds
+	 */
+	public Kinematics(double acceleration, double maxSpeed, double floorHeight, long doorOpenTime, long doorCloseTime, long dwellTime) {
+		if (acceleration <= 0 || maxSpeed <= 0 || floorHeight <= 0) {
+			throw new IllegalArgumentException("The acceleration, speed and floor height must be positive");
+		}
+		this.acceleration = acceleration;
+		this.maxSpeed = maxSpeed;
+		this.floorHeight = floorHeight;
+		this.doorOpenTime = doorOpenTime;
+		this.doorCloseTime = doorCloseTime;
+		this.dwellTime = dwellTime;
+	}
+	
+	/**
+	 * Calculates the time it takes the car to travel a distance, from standing still to standing still.
+	 * A short trip never reaches the top speed: the car speeds up for half of it and slows down for the other half.
+	 * 
+	 * @param distance	a double, the distance in m
+	 * @return	a long, the travel time in milliseconds
+	 */
+	public long getTravelTime(double distance) {
+		double d = Math.abs(distance);
+		// the distance it takes to reach the top speed and to stop from it
+		double rampDistance = maxSpeed * maxSpeed / acceleration;
+		double seconds = d >= rampDistance ? d / maxSpeed + maxSpeed / acceleration : 2 * Math.sqrt(d / acceleration);
+		return Math.round(seconds * 1000);
+	}
+	
+	/**
+	 * Calculates the time a stop takes: the doors open, stay open, and close.
+	 * 
+	 * @return	a long, the stop time in milliseconds
+	 */
+	public long getStopTime() {
+		return doorOpenTime + dwellTime + doorCloseTime;
+	}
+	
+	/**
+	 * Get the acceleration of the car.
+	 * 
+	 * @return	a double, the acceleration in m/s^2
+	 */
+	public double getAcceleration() {
+		return acceleration;
+	}
+	
+	/**
+	 * Get the top speed of the car.
+	 * 
+	 * @return	a double, the top speed in m/s
+	 */
+	public double getMaxSpeed() {
+		return maxSpeed;
+	}
+	
+	/**
+	 * Get the height of a floor.
+	 * 
+	 * @return	a double, the floor height in m
+	 */
+	public double getFloorHeight() {
+		return floorHeight;
+	}
+}
@@ -0,0 +1,215 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram Class that counts latencies in buckets to report percentiles without keeping every value.
+ * Values below 32 have a bucket each, above that every power of two is split into 32 buckets,
+ * so a percentile is at most about 3% above the real value.
+ * Recording only increments counters, it does not allocate or lock and can be called from any thread.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class LatencyHistogram {
+	
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+	
+	private final AtomicLongArray counts;
+	private final AtomicLong count;
+	private final AtomicLong sum;
+	private final AtomicLong max;
+	
+	/**
+	 * Constructor for LatencyHistogram.
+	 */
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(BUCKETS);
+		this.count = new AtomicLong();
+		this.sum = new AtomicLong();
+		this.max = new AtomicLong();
+	}
+	
+	/**
+	 * Records a latency, a negative latency is recorded as 0.
+	 * 
+	 * @param value	a long, the latency
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		counts.incrementAndGet(getBucket(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		
+		long current;
+		while (value > (current = max.get()) && !max.compareAndSet(current, value));
+	}
+	
+	/**
+	 * Get the number of latencies recorded.
+	 * 
+	 * @return	a long, the count
+	 */
+	public long getCount() {
+		return count.get();
+	}
+	
+	/**
+	 * Get the largest latency recorded.
+	 * 
+	 * @return	a long, the maximum, 0 if nothing was recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+	
+	/**
+	 * Get the average latency.
+	 * 
+	 * @return	a long, the mean, 0 if nothing was recorded
+	 */
+	public long getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : sum.get() / n;
+	}
+	
+	/**
+	 * Get the latency that a percentage of the recorded latencies are at or below.
+	 * 
+	 * @param percentile	a double, between 0 and 100
+	 * @return	a long, the top of the bucket the percentile is in, 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile) {
+		long n = count.get();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= rank) {
+				return Math.min(getBucketTop(i), max.get());
+			}
+		}
+		return max.get();
+	}
+	
+	/**
+	 * Copies the histogram, the copy does not change when more latencies are recorded.
+	 * 
+	 * @return	a LatencyHistogram, the copy
+	 */
+	public LatencyHistogram snapshot() {
+		LatencyHistogram copy = new LatencyHistogram();
+		long n = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			long c = counts.get(i);
+			copy.counts.set(i, c);
+			n += c;
+		}
+		// the count matches the buckets even if a latency is recorded while copying
+		copy.count.set(n);
+		copy.sum.set(sum.get());
+		copy.max.set(max.get());
+		return copy;
+	}
+	
+	/**
+	 * Writes the buckets that are not empty to a checkpoint.
+	 * 
+	 * @param out	a DataOutput, where the histogram is written
+	 * @throws IOException	if the histogram cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		int used = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			if (counts.get(i) != 0) {
+				used++;
+			}
+		}
+		out.writeShort(used);
+		for (int i = 0; i < BUCKETS; i++) {
+			long c = counts.get(i);
+			if (c != 0) {
+				out.writeShort(i);
+				out.writeLong(c);
+			}
+		}
+		out.writeLong(sum.get());
+		out.writeLong(max.get());
+	}
+	
+	/**
+	 * Adds the latencies of a histogram written by writeState to this one.
+	 * 
+	 * @param in	a DataInput, where the histogram is read from
+	 * @throws IOException	if the histogram cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		int used = in.readUnsignedShort();
+		for (int i = 0; i < used; i++) {
+			int bucket = in.readUnsignedShort();
+			long c = in.readLong();
+			counts.addAndGet(bucket, c);
+			count.addAndGet(c);
+		}
+		sum.addAndGet(in.readLong());
+		long m = in.readLong();
+		long current;
+		while (m > (current = max.get()) && !max.compareAndSet(current, m));
+	}
+	
+	/**
+	 * Gets the bucket a value is counted in.
+	 * 
+	 * @param value	a long, a latency that is not negative
+	 * @return	an int, the index of the bucket
+	 */
+	private static int getBucket(long value) {
+		int highestBit = 63 - Long.numberOfLeadingZeros(value);
+		if (highestBit < SUB_BUCKET_BITS) {
+			return (int) value;
+		}
+		int shift = highestBit - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+	
+	/**
+	 * Gets the largest value that is counted in a bucket.
+	 * 
+	 * @param bucket	an int, the index of the bucket
+	 * @return	a long, the top of the bucket
+	 */
+	private static long getBucketTop(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+		long top = ((subBucket + 1) << shift) - 1;
+		return top < 0 ? Long.MAX_VALUE : top;
+	}
+	
+	/**
+	 * Summarizes the histogram, the latencies are in nanoseconds and printed in milliseconds.
+	 * 
+	 * @return	a String, the count, p50, p90, p99 and max
+	 */
+	@Override
+	public String toString() {
+		return String.format("count=%d p50=%.3f p90=%.3f p99=%.3f max=%.3f ms", getCount(),
+				getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6, getMax() / 1e6);
+	}
+}
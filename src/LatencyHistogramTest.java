@@ -0,0 +1,90 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for LatencyHistogram Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class LatencyHistogramTest {
+
+	LatencyHistogram histogram = new LatencyHistogram();
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the percentiles are within the precision of the buckets.
+	 */
+	@Test
+	void testPercentiles() {
+		Random random = new Random(42);
+		long[] values = new long[100000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (long) (Math.exp(random.nextDouble() * 20));
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		
+		assertEquals(values.length, histogram.getCount());
+		assertEquals(values[values.length - 1], histogram.getMax());
+		for (double p : new double[] {50, 90, 99}) {
+			long exact = values[(int) Math.ceil(p / 100 * values.length) - 1];
+			long estimate = histogram.getPercentile(p);
+			assertTrue(estimate >= exact && estimate <= exact + exact / 16 + 1, p + ": " + estimate + " vs " + exact);
+		}
+	}
+	
+	/**
+	 * Tests that small values are exact and that the snapshot does not change.
+	 */
+	@Test
+	void testSnapshot() {
+		histogram.record(3);
+		histogram.record(7);
+		LatencyHistogram copy = histogram.snapshot();
+		histogram.record(1000);
+		
+		assertEquals(2, copy.getCount());
+		assertEquals(3, copy.getPercentile(50));
+		assertEquals(7, copy.getPercentile(99));
+		assertEquals(1000, histogram.getMax());
+	}
+	
+	/**
+	 * Tests that recording does not allocate.
+	 */
+	@Test
+	void testRecordDoesNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		for (int i = 0; i < 100000; i++) {
+			histogram.record(i);
+		}
+		long before = bean.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < 100000; i++) {
+			histogram.record(i * 31L);
+		}
+		long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+		assertTrue(allocated < 1024, allocated + " bytes");
+	}
+}
@@ -12,22 +12,21 @@
 public class Main {
 	
 	/**
-	 * Creates all the necessary objects and starts all the threads.
+	 * Creates all the necessary objects and runs the simulation until every request has arrived, then prints its results.
+	 * The scheduler starts the elevator threads.
 	 * 
-	 * @param args
+	 * @param args	the number of elevators in the building (optional, 1 by default), the number of floors (optional, 10 by default)
+	 * 				and the zones of the building (optional, see ZoneLayout.parse), the zones have their own elevators
+	 * @throws InterruptedException	if the main thread is interrupted while the simulation runs
 	 */
-	public static void main(String[] args) {
-		Thread floor, elevator, scheduler;
-		Scheduler s = new Scheduler();
+	public static void main(String[] args) throws InterruptedException {
+		int elevatorCount = args.length > 0 ? Integer.parseInt(args[0]) : Scheduler.DEFAULT_ELEVATOR_COUNT;
+		Building building = args.length > 1 ? Building.of(Integer.parseInt(args[1])) : FloorDataReader.DEFAULT_BUILDING;
+		Scheduler s = args.length > 2 ? new ZonedScheduler(ZoneLayout.parse(building, args[2])) : new Scheduler(elevatorCount);
+		s.setFailureTimeout(Long.getLong(Scheduler.FAILURE_TIMEOUT_PROPERTY, 0));
 		
-		floor = new Thread(new Floor(s, "./floorRequests.csv"), "Floor");
-		elevator = new Thread(new Elevator(s), "Elevator");
-		scheduler = new Thread(s, "Scheduler");
-		
-		floor.start();
-		scheduler.start();
-		elevator.start();
+		Simulation simulation = new Simulation(s, "./floorRequests.csv", building);
+		simulation.start();
+		System.out.println(simulation.awaitCompletion());
 	}
 }
-
-
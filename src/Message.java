@@ -0,0 +1,204 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Message Class for one message between the floor, scheduler and elevator processes.
+ * Every message is encoded in the same BYTES bytes, so a datagram holds a batch of them without any framing.
+ * A message about a request carries the request, the id the floor gave it, and the elevator that services it.
+ * 
+ * A STATUS message carries the state of the elevator in the same fields:
+ * the initial floor is the floor the elevator is at, the destination floor is the floor it turns around at,
+ * and the floor button is its direction (NO_BUTTON while the elevator is idle).
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public final class Message {
+	
+	public static final int BYTES = 24;
+	
+	private static final MessageType[] TYPES = MessageType.values();
+	
+	private final MessageType type;
+	private final int elevator;
+	private final int id;	// the id of the request
+	private final long time;	// the time of the request in epoch milliseconds, or NO_TIME
+	private final int initialFloor;
+	private final int destinationFloor;
+	private final byte floorButton;
+	private final int floors;	// the number of floors of the building
+	
+	/**
+	 * Constructor for Message.
+	 * 
+	 * @param type				a MessageType, the type of the message
+	 * @param elevator			an int, the id of the elevator, 0 if the message is not about an elevator
+	 * @param id				an int, the id of the request, 0 if the message is not about a request
+	 * @param time				a long, the time of the request in epoch milliseconds, or FloorData.NO_TIME
+	 * @param initialFloor		an int, the initial floor of the request
+	 * @param destinationFloor	an int, the destination floor of the request
+	 * @param floorButton		a byte, the code of the floor button of the request
+	 * @param floors			an int, the number of floors of the building
+	 */
+	public Message(MessageType type, int elevator, int id, long time, int initialFloor, int destinationFloor, byte floorButton, int floors) {
+		this.type = type;
+		this.elevator = elevator;
+		this.id = id;
+		this.time = time;
+		this.initialFloor = initialFloor;
+		this.destinationFloor = destinationFloor;
+		this.floorButton = floorButton;
+		this.floors = floors;
+	}
+	
+	/**
+	 * Creates a message that is not about a request.
+	 * 
+	 * @param type		a MessageType, the type of the message
+	 * @param elevator	an int, the id of the elevator, 0 if the message is not about an elevator
+	 * @return	a Message, the message
+	 */
+	public static Message of(MessageType type, int elevator) {
+		return new Message(type, elevator, 0, FloorData.NO_TIME, 0, 0, FloorData.NO_BUTTON, 0);
+	}
+	
+	/**
+	 * Creates a message about a request.
+	 * 
+	 * @param type		a MessageType, the type of the message
+	 * @param elevator	an int, the id of the elevator, 0 if the message is not about an elevator
+	 * @param id		an int, the id of the request
+	 * @param fd		a FloorData Object, the request
+	 * @return	a Message, the message
+	 */
+	public static Message of(MessageType type, int elevator, int id, FloorData fd) {
+		return new Message(type, elevator, id, fd.getTimeMillis(), fd.getInitialFloor(), fd.getDestinationFloor(),
+				fd.getFloorButtonCode(), fd.getFloors());
+	}
+	
+	/**
+	 * Creates a STATUS message of an elevator.
+	 * 
+	 * @param car	an Elevator, the elevator
+	 * @return	a Message, the message
+	 */
+	public static Message status(Elevator car) {
+		ElevatorState state = car.getState();
+		Direction d = state.getDirection();
+		byte direction = d == null ? FloorData.NO_BUTTON : (byte) (d == Direction.UP ? 1 : 2);
+		return new Message(MessageType.STATUS, car.getId(), car.getLoad(), FloorData.NO_TIME, state.getFloor(), state.getTurnFloor(), direction, 0);
+	}
+	
+	/**
+	 * Get the type of the message.
+	 * 
+	 * @return	a MessageType, the type
+	 */
+	public MessageType getType() {
+		return type;
+	}
+	
+	/**
+	 * Get the elevator the message is about.
+	 * 
+	 * @return	an int, the id of the elevator, 0 if the message is not about an elevator
+	 */
+	public int getElevator() {
+		return elevator;
+	}
+	
+	/**
+	 * Get the request the message is about.
+	 * 
+	 * @return	an int, the id of the request, 0 if the message is not about a request
+	 */
+	public int getId() {
+		return id;
+	}
+	
+	/**
+	 * Get the initial floor of the request, or the floor the elevator is at.
+	 * 
+	 * @return	an int, the floor
+	 */
+	public int getInitialFloor() {
+		return initialFloor;
+	}
+	
+	/**
+	 * Get the destination floor of the request, or the floor the elevator turns around at.
+	 * 
+	 * @return	an int, the floor
+	 */
+	public int getDestinationFloor() {
+		return destinationFloor;
+	}
+	
+	/**
+	 * Get the direction of the elevator of a STATUS message.
+	 * 
+	 * @return	a Direction, the direction, or null if the elevator is idle
+	 */
+	public Direction getDirection() {
+		return floorButton == FloorData.NO_BUTTON ? null : floorButton == 1 ? Direction.UP : Direction.DOWN;
+	}
+	
+	/**
+	 * Creates the request of the message.
+	 * 
+	 * @return	a FloorData Object, the request
+	 */
+	public FloorData toFloorData() {
+		return new FloorData(Building.of(floors), time, (short) initialFloor, (short) destinationFloor, floorButton);
+	}
+	
+	/**
+	 * Writes the message to a buffer.
+	 * 
+	 * @param buffer	a ByteBuffer, with at least BYTES bytes remaining
+	 */
+	public void encode(ByteBuffer buffer) {
+		buffer.put((byte) type.ordinal())
+			.put(floorButton)
+			.putShort((short) elevator)
+			.putInt(id)
+			.putLong(time)
+			.putShort((short) initialFloor)
+			.putShort((short) destinationFloor)
+			.putShort((short) floors)
+			.putShort((short) 0);
+	}
+	
+	/**
+	 * Reads a message from a buffer.
+	 * 
+	 * @param buffer	a ByteBuffer, with at least BYTES bytes remaining
+	 * @return	a Message, the message
+	 */
+	public static Message decode(ByteBuffer buffer) {
+		MessageType type = TYPES[buffer.get()];
+		byte floorButton = buffer.get();
+		int elevator = buffer.getShort();
+		int id = buffer.getInt();
+		long time = buffer.getLong();
+		int initialFloor = buffer.getShort();
+		int destinationFloor = buffer.getShort();
+		int floors = buffer.getShort();
+		buffer.getShort();
+		return new Message(type, elevator, id, time, initialFloor, destinationFloor, floorButton, floors);
+	}
+	
+	/**
+	 * Gets the message as a String, for debugging.
+	 * 
+	 * @return	a String, the type, elevator, request and floors of the message
+	 */
+	@Override
+	public String toString() {
+		return type + " elevator=" + elevator + " id=" + id + " floors=" + initialFloor + "->" + destinationFloor;
+	}
+}
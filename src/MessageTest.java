@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for Message Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class MessageTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that a request is encoded in BYTES bytes and decoded the same.
+	 * 
+	 * @throws Exception	if a floor is out of range
+	 */
+	@Test
+	void testEncodeRequest() throws Exception {
+		FloorData fd = new FloorData(300);
+		fd.setTimeMillis(123456789L);
+		fd.setInitialFloor(299);
+		fd.setDestinationFloor(1);
+		fd.setFloorButton("Down");
+		
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+		Message.of(MessageType.ASSIGN, 7, 100000, fd).encode(buffer);
+		assertEquals(Message.BYTES, buffer.position());
+		
+		buffer.flip();
+		Message m = Message.decode(buffer);
+		assertEquals(MessageType.ASSIGN, m.getType());
+		assertEquals(7, m.getElevator());
+		assertEquals(100000, m.getId());
+		FloorData copy = m.toFloorData();
+		assertEquals(123456789L, copy.getTimeMillis());
+		assertEquals(299, copy.getInitialFloor());
+		assertEquals(1, copy.getDestinationFloor());
+		assertEquals("Down", copy.getFloorButton());
+		assertEquals(300, copy.getFloors());
+	}
+	
+	/**
+	 * Tests that the state of an elevator is encoded in a STATUS message.
+	 */
+	@Test
+	void testStatus() {
+		Elevator car = new Elevator(new Scheduler(), 3);
+		ByteBuffer buffer = ByteBuffer.allocate(Message.BYTES);
+		Message.status(car).encode(buffer);
+		buffer.flip();
+		
+		Message m = Message.decode(buffer);
+		assertEquals(MessageType.STATUS, m.getType());
+		assertEquals(3, m.getElevator());
+		assertEquals(car.getCurrentFloor(), m.getInitialFloor());
+		assertEquals(car.getTurnFloor(), m.getDestinationFloor());
+		assertNull(m.getDirection());
+	}
+}
@@ -0,0 +1,33 @@
+/**
+ * MessageType enum for the messages the floor, scheduler and elevator processes send each other over UdpTransport.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum MessageType {
+	// floor or elevator to scheduler, the process has started, the elevator is 0 for the floor
+	HELLO,
+	// floor to scheduler, a request was made
+	REQUEST,
+	// floor to scheduler, all of the requests have been sent
+	LOADED,
+	// scheduler to elevator, the elevator services the request
+	ASSIGN,
+	// elevator to scheduler, where the elevator is and where it is going
+	STATUS,
+	// elevator to scheduler, the request was picked up at its initial floor
+	PICKED_UP,
+	// elevator to scheduler, the request was dropped off at its destination floor
+	SERVICED,
+	// scheduler to floor, the request arrived at its destination floor
+	ARRIVAL,
+	// scheduler to floor or elevator, the simulation has ended
+	END,
+	// scheduler to elevator, the watchdog sent the requests the elevator has not picked up to other elevators
+	RELEASE
+}
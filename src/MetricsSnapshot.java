@@ -0,0 +1,210 @@
+/**
+ * MetricsSnapshot Class that holds a copy of the scheduler's metrics at one moment.
+ * The times are in nanoseconds.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class MetricsSnapshot {
+	
+	private final LatencyHistogram waitTime;
+	private final LatencyHistogram rideTime;
+	private final LatencyHistogram handoffLatency;
+	private final long arrivedRequests;
+	private final long hallCalls;
+	private final long pendingDepth;
+	private final long maxPendingDepth;
+	private final long inFlightDepth;
+	private final long maxInFlightDepth;
+	private final LatencyHistogram failoverTime;
+	private final LatencyHistogram reassignedWaitTime;
+	private final long failures;
+	private final long reassignedRequests;
+	
+	/**
+	 * Constructor for MetricsSnapshot.
+	 * 
+	 * @param waitTime			a LatencyHistogram, the time from arrival to pickup
+	 * @param rideTime			a LatencyHistogram, the time from pickup to drop-off
+	 * @param handoffLatency	a LatencyHistogram, the time the requests spent being handed between the threads
+	 * @param arrivedRequests	a long, the number of requests sent to the scheduler
+	 * @param hallCalls			a long, the number of hall calls the requests were merged into
+	 * @param pendingDepth		a long, the number of requests in allFloorRequests
+	 * @param maxPendingDepth	a long, the largest number of requests in allFloorRequests
+	 * @param inFlightDepth		a long, the number of requests in serviceableFloorRequests
+	 * @param maxInFlightDepth	a long, the largest number of requests in serviceableFloorRequests
+	 * @param failoverTime		a LatencyHistogram, the time from a fault to the failed elevator's requests being sent again
+	 * @param reassignedWaitTime	a LatencyHistogram, the time from arrival to pickup of the requests taken from failed elevators
+	 * @param failures			a long, the number of times an elevator failed
+	 * @param reassignedRequests	a long, the number of requests taken from failed elevators
+	 */
+	public MetricsSnapshot(LatencyHistogram waitTime, LatencyHistogram rideTime, LatencyHistogram handoffLatency, long arrivedRequests,
+			long hallCalls, long pendingDepth, long maxPendingDepth, long inFlightDepth, long maxInFlightDepth,
+			LatencyHistogram failoverTime, LatencyHistogram reassignedWaitTime, long failures, long reassignedRequests) {
+		this.waitTime = waitTime;
+		this.rideTime = rideTime;
+		this.handoffLatency = handoffLatency;
+		this.arrivedRequests = arrivedRequests;
+		this.hallCalls = hallCalls;
+		this.pendingDepth = pendingDepth;
+		this.maxPendingDepth = maxPendingDepth;
+		this.inFlightDepth = inFlightDepth;
+		this.maxInFlightDepth = maxInFlightDepth;
+		this.failoverTime = failoverTime;
+		this.reassignedWaitTime = reassignedWaitTime;
+		this.failures = failures;
+		this.reassignedRequests = reassignedRequests;
+	}
+	
+	/**
+	 * Get the histogram of the time from arrival to pickup.
+	 * 
+	 * @return	a LatencyHistogram, the wait times
+	 */
+	public LatencyHistogram getWaitTime() {
+		return waitTime;
+	}
+	
+	/**
+	 * Get the histogram of the time from pickup to drop-off.
+	 * 
+	 * @return	a LatencyHistogram, the ride times
+	 */
+	public LatencyHistogram getRideTime() {
+		return rideTime;
+	}
+	
+	/**
+	 * Get the histogram of the time the requests spent being handed between the threads.
+	 * 
+	 * @return	a LatencyHistogram, the handoff latencies
+	 */
+	public LatencyHistogram getHandoffLatency() {
+		return handoffLatency;
+	}
+	
+	/**
+	 * Get the number of requests sent to the scheduler.
+	 * 
+	 * @return	a long, the number of requests
+	 */
+	public long getArrivedRequests() {
+		return arrivedRequests;
+	}
+	
+	/**
+	 * Get the number of hall calls the scheduler sent to an elevator, the requests at the same floor
+	 * in the same direction are merged into one while the elevator is on its way.
+	 * 
+	 * @return	a long, the number of hall calls
+	 */
+	public long getHallCalls() {
+		return hallCalls;
+	}
+	
+	/**
+	 * Get the number of requests that are dropped off.
+	 * 
+	 * @return	a long, the number of requests
+	 */
+	public long getServicedRequests() {
+		return rideTime.getCount();
+	}
+	
+	/**
+	 * Get the number of requests in allFloorRequests.
+	 * 
+	 * @return	a long, the depth of the queue
+	 */
+	public long getPendingDepth() {
+		return pendingDepth;
+	}
+	
+	/**
+	 * Get the largest number of requests that were in allFloorRequests.
+	 * 
+	 * @return	a long, the maximum depth of the queue
+	 */
+	public long getMaxPendingDepth() {
+		return maxPendingDepth;
+	}
+	
+	/**
+	 * Get the number of requests in serviceableFloorRequests.
+	 * 
+	 * @return	a long, the depth of the queue
+	 */
+	public long getInFlightDepth() {
+		return inFlightDepth;
+	}
+	
+	/**
+	 * Get the largest number of requests that were in serviceableFloorRequests.
+	 * 
+	 * @return	a long, the maximum depth of the queue
+	 */
+	public long getMaxInFlightDepth() {
+		return maxInFlightDepth;
+	}
+	
+	/**
+	 * Get the histogram of the time from a fault to the failed elevator's requests being sent to the other elevators.
+	 * 
+	 * @return	a LatencyHistogram, the failover times
+	 */
+	public LatencyHistogram getFailoverTime() {
+		return failoverTime;
+	}
+	
+	/**
+	 * Get the histogram of the time from arrival to pickup of the requests taken from failed elevators,
+	 * they are in the wait times of every request as well.
+	 * 
+	 * @return	a LatencyHistogram, the wait times of the reassigned requests
+	 */
+	public LatencyHistogram getReassignedWaitTime() {
+		return reassignedWaitTime;
+	}
+	
+	/**
+	 * Get the number of times the watchdog decided an elevator had failed.
+	 * 
+	 * @return	a long, the number of failures
+	 */
+	public long getFailures() {
+		return failures;
+	}
+	
+	/**
+	 * Get the number of requests taken from failed elevators and sent to other elevators.
+	 * 
+	 * @return	a long, the number of requests
+	 */
+	public long getReassignedRequests() {
+		return reassignedRequests;
+	}
+	
+	/**
+	 * Dumps the metrics, one line for each, the failovers only if an elevator failed.
+	 * 
+	 * @return	a String, the metrics
+	 */
+	@Override
+	public String toString() {
+		return "Requests: arrived=" + arrivedRequests + " serviced=" + getServicedRequests() + "\n" +
+				"Wait time: " + waitTime + "\n" +
+				"Ride time: " + rideTime + "\n" +
+				"Handoff latency: " + handoffLatency + "\n" +
+				"Hall calls: " + hallCalls + " for " + arrivedRequests + " requests\n" +
+				"ALL REQUESTS QUEUE: depth=" + pendingDepth + " max=" + maxPendingDepth + "\n" +
+				"SERVICEABLE REQUESTS QUEUE: depth=" + inFlightDepth + " max=" + maxInFlightDepth +
+				(failures == 0 ? "" : "\nFailovers: " + failures + " elevators, " + reassignedRequests + " requests reassigned\n" +
+				"Failover time: " + failoverTime + "\n" +
+				"Reassigned wait time: " + reassignedWaitTime);
+	}
+}
@@ -0,0 +1,181 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ParameterSweep Class that runs the same requests through many configurations of the building at once,
+ * each in its own EventSimulation on one of the threads of a pool, and collects their KPIs into one table.
+ * The simulations share nothing but the requests, which are only read, so they run on every core without waiting for each other.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ParameterSweep {
+	
+	private final RequestTable requests;
+	private final List<SimulationConfig> configs;
+	
+	/**
+	 * Constructor for ParameterSweep.
+	 * 
+	 * @param requests	a RequestTable, the requests every configuration is simulated with
+	 * @param configs	a List, the configurations
+	 */
+	public ParameterSweep(RequestTable requests, List<SimulationConfig> configs) {
+		this.requests = requests;
+		this.configs = configs;
+	}
+	
+	/**
+	 * Simulates one configuration.
+	 * 
+	 * @param config	a SimulationConfig, the configuration
+	 * @return	a SweepResult, the KPIs of the simulation
+	 */
+	public SweepResult run(SimulationConfig config) {
+		Scheduler s = new Scheduler(config.getElevators());
+		s.setWaitTarget(config.getWaitTarget());
+		for (Elevator car : s.getElevators()) {
+			car.setSweepMode(config.getMode());
+			car.setTravelTime(config.getTravelTime());
+			car.setStopTime(config.getStopTime());
+		}
+		EventSimulation simulation = new EventSimulation(s, new Floor(s, null), requests.iterator());
+		simulation.run();
+		
+		long floorsTravelled = 0;
+		long stops = 0;
+		for (Elevator car : s.getElevators()) {
+			floorsTravelled += car.getFloorsTravelled();
+			stops += car.getStops();
+		}
+		MetricsSnapshot metrics = s.getMetrics().snapshot();
+		return new SweepResult(config, simulation.getServicedRequests(), metrics.getWaitTime(), metrics.getRideTime(),
+				floorsTravelled, stops, simulation.getSimulatedTime());
+	}
+	
+	/**
+	 * Simulates every configuration on a pool of threads, with the event log off.
+	 * 
+	 * @param threads	an int, the number of simulations that run at the same time
+	 * @return	a List, the results in the order of the configurations
+	 * @throws InterruptedException	if the sweep is interrupted
+	 */
+	public List<SweepResult> run(int threads) throws InterruptedException {
+		EventLog log = EventLog.getDefault();
+		EventLog.Level level = log.getLevel();
+		log.setLevel(EventLog.Level.OFF);
+		
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Callable<SweepResult>> tasks = new ArrayList<Callable<SweepResult>>();
+			for (SimulationConfig config : configs) {
+				tasks.add(() -> run(config));
+			}
+			
+			List<SweepResult> results = new ArrayList<SweepResult>();
+			for (Future<SweepResult> f : pool.invokeAll(tasks)) {
+				try {
+					results.add(f.get());
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("A simulation failed", e.getCause());
+				}
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+			log.setLevel(level);
+		}
+	}
+	
+	/**
+	 * Parses a comma-separated list of numbers.
+	 * 
+	 * @param values	a String, e.g. "1,2,4"
+	 * @return	a long[], the numbers
+	 */
+	private static long[] parseList(String values) {
+		String[] parts = values.split(",");
+		long[] numbers = new long[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			numbers[i] = Long.parseLong(parts[i].trim());
+		}
+		return numbers;
+	}
+	
+	/**
+	 * Runs a sweep over a file of requests and prints the results table.
+	 * 
+	 * @param args	the CSV file or trace, then any of elevators=1,2,4 modes=SCAN,LOOK,C_LOOK travel=2000 stop=8000
+	 * 				target=0,120000 threads=8
+	 * @throws IOException	if the file cannot be read
+	 * @throws InterruptedException	if the sweep is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		String fileName = args.length > 0 ? args[0] : "./floorRequests.csv";
+		long[] elevators = {1, 2, 4};
+		SweepMode[] modes = SweepMode.values();
+		long[] travelTimes = {2000};
+		long[] stopTimes = {8000};
+		long[] waitTargets = {0};
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 1; i < args.length; i++) {
+			String value = args[i].substring(args[i].indexOf('=') + 1);
+			if (args[i].startsWith("elevators=")) {
+				elevators = parseList(value);
+			} else if (args[i].startsWith("modes=")) {
+				String[] names = value.split(",");
+				modes = new SweepMode[names.length];
+				for (int m = 0; m < names.length; m++) {
+					modes[m] = SweepMode.valueOf(names[m].trim());
+				}
+			} else if (args[i].startsWith("travel=")) {
+				travelTimes = parseList(value);
+			} else if (args[i].startsWith("stop=")) {
+				stopTimes = parseList(value);
+			} else if (args[i].startsWith("target=")) {
+				waitTargets = parseList(value);
+			} else if (args[i].startsWith("threads=")) {
+				threads = Integer.parseInt(value);
+			} else {
+				System.err.println("Sweep: unknown argument " + args[i]);
+				return;
+			}
+		}
+		int[] elevatorCounts = new int[elevators.length];
+		for (int i = 0; i < elevators.length; i++) {
+			elevatorCounts[i] = (int) elevators[i];
+		}
+		
+		RequestTable requests;
+		try (RequestSource source = Floor.open(fileName)) {
+			FloorData first = source.hasNext() ? source.next() : null;
+			requests = new RequestTable(first == null ? Building.of(0) : first.getBuilding(), 1024);
+			if (first != null) {
+				requests.add(first);
+			}
+			requests.addAll(source);
+		}
+		
+		List<SimulationConfig> configs = SimulationConfig.grid(elevatorCounts, modes, travelTimes, stopTimes, waitTargets);
+		long start = System.nanoTime();
+		List<SweepResult> results = new ParameterSweep(requests, configs).run(threads);
+		long elapsed = System.nanoTime() - start;
+		
+		System.out.println(SweepResult.HEADER);
+		for (SweepResult result : results) {
+			System.out.println(result);
+		}
+		System.out.println(configs.size() + " simulations of " + requests.size() + " requests on " + threads + " threads in " + elapsed / 1000000 + " ms");
+	}
+}
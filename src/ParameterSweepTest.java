@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for ParameterSweep Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class ParameterSweepTest {
+
+	RequestTable requests;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		requests = new RequestTable(Building.of(20));
+		requests.addAll(new TrafficGenerator(Building.of(20), TrafficPattern.UP_PEAK, 0.2, 500, 42));
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the grid has every combination, with the elevator counts changing the slowest.
+	 */
+	@Test
+	void testGrid() {
+		List<SimulationConfig> configs = SimulationConfig.grid(new int[] {1, 2}, SweepMode.values(),
+				new long[] {1000, 2000}, new long[] {8000});
+		
+		assertEquals(2 * SweepMode.values().length * 2, configs.size());
+		assertEquals(1, configs.get(0).getElevators());
+		assertEquals(SweepMode.values()[0], configs.get(0).getMode());
+		assertEquals(1000, configs.get(0).getTravelTime());
+		assertEquals(2000, configs.get(1).getTravelTime());
+		assertEquals(2, configs.get(configs.size() - 1).getElevators());
+		assertEquals(8000, configs.get(configs.size() - 1).getStopTime());
+		assertEquals(0, configs.get(0).getWaitTarget());
+		
+		configs = SimulationConfig.grid(new int[] {1}, new SweepMode[] {SweepMode.LOOK}, new long[] {2000}, new long[] {8000},
+				new long[] {0, 60000});
+		assertEquals(2, configs.size());
+		assertEquals(60000, configs.get(1).getWaitTarget());
+		assertEquals("1\tLOOK\t2000\t8000\t60000", configs.get(1).toString());
+	}
+	
+	/**
+	 * Tests that the simulations running in parallel give the same results, in the same order, as running them one at a time.
+	 */
+	@Test
+	void testParallelMatchesSequential() throws InterruptedException {
+		List<SimulationConfig> configs = SimulationConfig.grid(new int[] {1, 2, 4}, SweepMode.values(),
+				new long[] {2000}, new long[] {8000});
+		ParameterSweep sweep = new ParameterSweep(requests, configs);
+		
+		List<SweepResult> sequential = sweep.run(1);
+		List<SweepResult> parallel = sweep.run(4);
+		
+		assertEquals(configs.size(), parallel.size());
+		for (int i = 0; i < configs.size(); i++) {
+			assertSame(configs.get(i), parallel.get(i).getConfig());
+			assertEquals(requests.size(), parallel.get(i).getServicedRequests());
+			assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+		}
+	}
+	
+	/**
+	 * Tests that more elevators shorten the wait.
+	 */
+	@Test
+	void testMoreElevatorsWaitLess() throws InterruptedException {
+		List<SimulationConfig> configs = SimulationConfig.grid(new int[] {1, 4}, new SweepMode[] {SweepMode.LOOK},
+				new long[] {2000}, new long[] {8000});
+		List<SweepResult> results = new ParameterSweep(requests, configs).run(2);
+		
+		assertTrue(results.get(1).getWaitTime().getMean() < results.get(0).getWaitTime().getMean(),
+				results.get(0) + " vs " + results.get(1));
+		assertEquals(results.get(0).getWaitTime().getCount(), requests.size());
+	}
+}
@@ -0,0 +1,142 @@
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RemoteElevator Class for an elevator that runs in another process, as the scheduler sees it.
+ * The requests the scheduler sends to it are sent to the elevator's process over UdpTransport,
+ * and its floor and direction are the ones in the last STATUS message of the elevator,
+ * so the scheduler chooses elevators the same way it does for the elevators in its own process.
+ * Every STATUS message is a heartbeat, the elevator's process sends one at least every heartbeat interval while its elevator
+ * is making progress, so the scheduler's watchdog works the same way too.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RemoteElevator extends Elevator {
+	private final UdpTransport transport;
+	private final Map<FloorData, Integer> ids;	// the ids of the requests the floor sent
+	private final Set<FloorData> waiting;	// the requests sent to the elevator that it has not picked up
+	private final Set<FloorData> riding;	// the requests the elevator picked up and has not dropped off
+	private volatile SocketAddress address;	// where the elevator's process receives messages
+	
+	/**
+	 * Constructor for RemoteElevator.
+	 * 
+	 * @param s			a Scheduler, the scheduler
+	 * @param id		an int, the number of the elevator in the building
+	 * @param transport	a UdpTransport, used to send messages to the elevator
+	 * @param ids		a Map, the id of every request the scheduler has not sent back to the floor
+	 */
+	public RemoteElevator(Scheduler s, int id, UdpTransport transport, Map<FloorData, Integer> ids) {
+		super(s, id);
+		this.transport = transport;
+		this.ids = ids;
+		this.waiting = ConcurrentHashMap.newKeySet();
+		this.riding = ConcurrentHashMap.newKeySet();
+	}
+	
+	/**
+	 * Sets the address of the elevator's process, once its HELLO message is received.
+	 * 
+	 * @param address	a SocketAddress, the address
+	 */
+	public void connect(SocketAddress address) {
+		this.address = address;
+		beat();
+	}
+	
+	/**
+	 * Get the address of the elevator's process.
+	 * 
+	 * @return	a SocketAddress, the address, or null if the elevator has not said HELLO
+	 */
+	public SocketAddress getAddress() {
+		return address;
+	}
+	
+	/**
+	 * Sends a request the scheduler assigned to the elevator to its process.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	@Override
+	protected void deliver(FloorData fd) {
+		waiting.add(fd);
+		transport.send(address, Message.of(MessageType.ASSIGN, getId(), ids.get(fd), fd));
+	}
+	
+	/**
+	 * Called when a PICKED_UP message of the elevator is received.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request was waiting for the elevator, false if it was taken away when the elevator failed
+	 */
+	public boolean pickedUp(FloorData fd) {
+		if (!waiting.remove(fd)) {
+			return false;
+		}
+		riding.add(fd);
+		return true;
+	}
+	
+	/**
+	 * Called when a SERVICED message of the elevator is received.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request was riding in the elevator, false if it was taken away before it was picked up
+	 */
+	public boolean droppedOff(FloorData fd) {
+		return riding.remove(fd);
+	}
+	
+	/**
+	 * Takes the requests sent to the elevator that it has not picked up, so the scheduler can send them to another elevator,
+	 * and tells the elevator's process to drop them. If it picks one of them up before it is told, the messages about it are ignored.
+	 * 
+	 * @return	an ArrayList, the requests that were taken
+	 */
+	@Override
+	protected ArrayList<FloorData> takeWaitingRequests() {
+		ArrayList<FloorData> released = new ArrayList<FloorData>();
+		for (FloorData fd : waiting) {
+			if (waiting.remove(fd)) {
+				released.add(fd);
+			}
+		}
+		if (!released.isEmpty() && address != null) {
+			transport.send(address, Message.of(MessageType.RELEASE, getId()));
+		}
+		return released;
+	}
+	
+	/**
+	 * Updates the floor and direction of the elevator from a STATUS message, and its heartbeat.
+	 * 
+	 * @param m	a Message, the STATUS message
+	 */
+	public void updateStatus(Message m) {
+		setStatus(m.getInitialFloor(), m.getDirection(), m.getDestinationFloor());
+		beat();
+	}
+	
+	/**
+	 * Used to run the RemoteElevator thread, which waits until the scheduler stops it,
+	 * then tells the elevator's process that the simulation has ended.
+	 */
+	@Override
+	public void run() {
+		while (!Thread.currentThread().isInterrupted()) {
+			LockSupport.park(this);
+		}
+		transport.send(address, Message.of(MessageType.END, getId()));
+	}
+}
@@ -0,0 +1,101 @@
+import java.net.SocketAddress;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RemoteScheduler Class for the scheduler as an elevator in another process sees it.
+ * When the elevator picks up or drops off a request, the scheduler's process is told over UdpTransport.
+ * It has no elevators of its own and is never run, so it has no watchdog: its failure timeout, which ElevatorNode.main reads
+ * from -Dfailure.timeout like the scheduler's process, only sets how often the elevator beats while it is idle,
+ * and so how often its process reports in.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RemoteScheduler extends Scheduler {
+	private final UdpTransport transport;
+	private final SocketAddress address;	// where the scheduler's process receives messages
+	private final Map<FloorData, Integer> ids;	// the ids of the requests the elevator has not dropped off
+	
+	/**
+	 * Constructor for RemoteScheduler.
+	 * 
+	 * @param transport	a UdpTransport, used to send messages to the scheduler
+	 * @param address	a SocketAddress, the address of the scheduler's process
+	 */
+	public RemoteScheduler(UdpTransport transport, SocketAddress address) {
+		super(0);
+		this.transport = transport;
+		this.address = address;
+		this.ids = new ConcurrentHashMap<FloorData, Integer>();
+	}
+	
+	/**
+	 * Get the address of the scheduler's process.
+	 * 
+	 * @return	a SocketAddress, the address
+	 */
+	public SocketAddress getAddress() {
+		return address;
+	}
+	
+	/**
+	 * Keeps the id of a request the scheduler assigned to the elevator, so it can be sent back with it.
+	 * 
+	 * @param id	an int, the id of the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void register(int id, FloorData fd) {
+		ids.put(fd, id);
+	}
+	
+	/**
+	 * Forgets the id of a request the scheduler's process took away from the elevator.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void unregister(FloorData fd) {
+		ids.remove(fd);
+	}
+	
+	/**
+	 * Tells the scheduler's process that the elevator picked up a request.
+	 * 
+	 * @param car	an Elevator, the elevator that picked up the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	@Override
+	public void requestPickedUp(Elevator car, FloorData fd) {
+		transport.send(address, Message.of(MessageType.PICKED_UP, car.getId(), ids.get(fd), fd));
+	}
+	
+	/**
+	 * Tells the scheduler's process that the elevator dropped off a request.
+	 * 
+	 * @param car	an Elevator, the elevator that serviced the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	@Override
+	public void requestServiced(Elevator car, FloorData fd) {
+		transport.send(address, Message.of(MessageType.SERVICED, car.getId(), ids.remove(fd), fd));
+	}
+	
+	/**
+	 * Tells the scheduler's process that the elevator dropped off the requests, the transport batches the messages into datagrams.
+	 * 
+	 * @param car		an Elevator, the elevator that serviced the requests
+	 * @param dropped	a Collection, the requests
+	 */
+	@Override
+	public void requestsServiced(Elevator car, Collection<FloorData> dropped) {
+		for (FloorData fd : dropped) {
+			requestServiced(car, fd);
+		}
+	}
+}
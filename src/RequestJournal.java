@@ -0,0 +1,168 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RequestJournal Class for an append-only file of the requests a simulation has taken in since its last checkpoint,
+ * so the requests are not lost if the process dies, even if they came from a source that cannot be read again.
+ * The 16-byte header holds the number of requests taken in before the first one in the journal,
+ * the requests follow in the record format of TraceWriter. Every request is written as soon as it is appended,
+ * a record cut short by a crash is ignored when the journal is read.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RequestJournal implements Closeable {
+	
+	public static final int MAGIC = 0x454C564A;	// "ELVJ"
+	public static final short VERSION = 1;
+	
+	private final Path path;
+	private final FileChannel channel;
+	private final Building building;
+	private final ByteBuffer record;
+	private long base;	// the number of requests taken in before the first one in the journal
+	private long count;	// the number of requests in the journal
+	
+	/**
+	 * Constructor for RequestJournal, creates an empty journal or empties the one that is there.
+	 * 
+	 * @param path		a Path, the file of the journal
+	 * @param building	a Building, the building of the requests
+	 * @param base		a long, the number of requests taken in before the first one in the journal
+	 * @throws IOException	if the journal cannot be created
+	 */
+	public RequestJournal(Path path, Building building, long base) throws IOException {
+		this.path = path;
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.building = building;
+		this.record = ByteBuffer.allocate(TraceWriter.RECORD_BYTES);
+		reset(base);
+	}
+	
+	/**
+	 * Appends a request to the journal.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @throws IOException	if the request cannot be written
+	 */
+	public void append(FloorData fd) throws IOException {
+		record.clear();
+		record.putLong(fd.getTimeMillis())
+			.putShort((short) fd.getInitialFloor())
+			.putShort((short) fd.getDestinationFloor())
+			.put(fd.getFloorButtonCode())
+			.put((byte) 0)
+			.putShort((short) 0)
+			.flip();
+		while (record.hasRemaining()) {
+			channel.write(record);
+		}
+		count++;
+	}
+	
+	/**
+	 * Empties the journal once a checkpoint holds every request in it.
+	 * 
+	 * @param base	a long, the number of requests taken in before the checkpoint
+	 * @throws IOException	if the journal cannot be written
+	 */
+	public void reset(long base) throws IOException {
+		this.base = base;
+		this.count = 0;
+		channel.truncate(TraceWriter.HEADER_BYTES);
+		ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_BYTES);
+		header.putInt(MAGIC).putShort(VERSION).putShort((short) building.getFloors()).putLong(base).flip();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+		channel.position(TraceWriter.HEADER_BYTES);
+	}
+	
+	/**
+	 * Reads the requests in a journal that were taken in after a checkpoint.
+	 * 
+	 * @param path		a Path, the file of the journal
+	 * @param building	a Building, the building of the requests
+	 * @param after		a long, the number of requests taken in before the checkpoint
+	 * @return	a List, the requests after the checkpoint, empty if there is no journal
+	 * @throws IOException	if the journal cannot be read or is not a journal
+	 */
+	public static List<FloorData> read(Path path, Building building, long after) throws IOException {
+		List<FloorData> requests = new ArrayList<FloorData>();
+		if (!Files.exists(path)) {
+			return requests;
+		}
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+		if (bytes.remaining() < TraceWriter.HEADER_BYTES || bytes.getInt() != MAGIC) {
+			throw new IOException(path + " is not a request journal");
+		}
+		short version = bytes.getShort();
+		if (version != VERSION) {
+			throw new IOException(path + " is a version " + version + " journal, expected version " + VERSION);
+		}
+		bytes.getShort();
+		long index = bytes.getLong();
+		
+		// a record the process did not finish writing is left out
+		while (bytes.remaining() >= TraceWriter.RECORD_BYTES) {
+			long time = bytes.getLong();
+			short initialFloor = bytes.getShort();
+			short destinationFloor = bytes.getShort();
+			byte floorButton = bytes.get();
+			bytes.position(bytes.position() + 3);
+			if (index++ >= after) {
+				requests.add(new FloorData(building, time, initialFloor, destinationFloor, floorButton));
+			}
+		}
+		return requests;
+	}
+	
+	/**
+	 * Get the number of requests taken in before the first one in the journal.
+	 * 
+	 * @return	a long, the base of the journal
+	 */
+	public long getBase() {
+		return base;
+	}
+	
+	/**
+	 * Get the number of requests in the journal.
+	 * 
+	 * @return	a long, the number of requests appended since the journal was last emptied
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Get the file of the journal.
+	 * 
+	 * @return	a Path, the file
+	 */
+	public Path getPath() {
+		return path;
+	}
+	
+	/**
+	 * Closes the journal, the file stays so the requests can be read when the simulation restarts.
+	 * 
+	 * @throws IOException	if the journal cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,108 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for RequestJournal Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class RequestJournalTest {
+
+	Path path;
+	Building building = Building.of(10);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		path = Files.createTempFile("requests", ".journal");
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+		Files.deleteIfExists(path);
+	}
+	
+	/**
+	 * Tests that the requests after a checkpoint are read back, and the ones before it are skipped.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testAppendAndRead() throws IOException {
+		try (RequestJournal journal = new RequestJournal(path, building, 100)) {
+			for (int i = 1; i <= 5; i++) {
+				journal.append(new FloorData(building, i * 1000L, (short) i, (short) (i + 1), (byte) 1));
+			}
+			assertEquals(5, journal.getCount());
+		}
+		
+		List<FloorData> all = RequestJournal.read(path, building, 100);
+		assertEquals(5, all.size());
+		assertEquals(1000, all.get(0).getTimeMillis());
+		assertEquals(1, all.get(0).getInitialFloor());
+		assertEquals(2, all.get(0).getDestinationFloor());
+		assertEquals("Up", all.get(0).getFloorButton());
+		
+		// a checkpoint was written after the first 2 requests, but the process died before the journal was emptied
+		List<FloorData> after = RequestJournal.read(path, building, 102);
+		assertEquals(3, after.size());
+		assertEquals(3000, after.get(0).getTimeMillis());
+	}
+	
+	/**
+	 * Tests that emptying the journal starts it again from a new base.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testReset() throws IOException {
+		try (RequestJournal journal = new RequestJournal(path, building, 0)) {
+			journal.append(new FloorData(building, 1000L, (short) 1, (short) 2, (byte) 1));
+			journal.reset(1);
+			journal.append(new FloorData(building, 2000L, (short) 5, (short) 3, (byte) 2));
+			assertEquals(1, journal.getBase());
+		}
+		
+		List<FloorData> requests = RequestJournal.read(path, building, 1);
+		assertEquals(1, requests.size());
+		assertEquals(2000, requests.get(0).getTimeMillis());
+		assertEquals(Files.size(path), TraceWriter.HEADER_BYTES + TraceWriter.RECORD_BYTES);
+	}
+	
+	/**
+	 * Tests that a record the process did not finish writing is left out, and that a missing journal has no requests.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testTornRecord() throws IOException {
+		try (RequestJournal journal = new RequestJournal(path, building, 0)) {
+			journal.append(new FloorData(building, 1000L, (short) 1, (short) 2, (byte) 1));
+			journal.append(new FloorData(building, 2000L, (short) 2, (short) 3, (byte) 1));
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(path) - 5);
+		}
+		
+		assertEquals(1, RequestJournal.read(path, building, 0).size());
+		Files.delete(path);
+		assertTrue(RequestJournal.read(path, building, 0).isEmpty());
+	}
+}
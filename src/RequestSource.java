@@ -0,0 +1,51 @@
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * RequestSource Interface for a file of requests the floor reads one at a time, a CSV file or a binary trace.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public interface RequestSource extends Iterator<FloorData>, Closeable {
+	
+	/**
+	 * Get the number of requests read so far.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	int getReadRows();
+	
+	/**
+	 * Get the number of requests rejected so far.
+	 * 
+	 * @return	an int, the number of requests that could not be read
+	 */
+	int getRejectedRows();
+	
+	/**
+	 * Skips requests, e.g., the ones a simulation restored from a checkpoint has already taken in.
+	 * 
+	 * @param n	a long, the number of requests to skip
+	 * @return	a long, the number of requests skipped, less than n at the end of the file
+	 */
+	default long skip(long n) {
+		long skipped = 0;
+		while (skipped < n && hasNext()) {
+			next();
+			skipped++;
+		}
+		return skipped;
+	}
+	
+	/**
+	 * Closes the file.
+	 */
+	@Override
+	void close();
+}
@@ -0,0 +1,283 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/**
+ * RequestStore Class that holds requests indexed by their initial floor (or destination floor) and direction.
+ * Adding and removing a request takes constant time no matter how many requests are in the store,
+ * and finding the nearest floor with a request going in a direction only scans a bit per floor.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RequestStore {
+	
+	private boolean byDestinationFloor;	// true if the requests are indexed by destination floor instead of initial floor
+	private LinkedHashSet<FloorData> requests;	// every request in the store, oldest first
+	private ArrayList<LinkedHashSet<FloorData>> upRequests;	// requests going up, by floor
+	private ArrayList<LinkedHashSet<FloorData>> downRequests;	// requests going down, by floor
+	private BitSet upFloors;	// floors with at least one request going up
+	private BitSet downFloors;	// floors with at least one request going down
+	
+	/**
+	 * Constructor for RequestStore that indexes requests by their initial floor.
+	 */
+	public RequestStore() {
+		this(false);
+	}
+	
+	/**
+	 * Constructor for RequestStore.
+	 * 
+	 * @param byDestinationFloor	a boolean, true to index requests by their destination floor,
+	 * 								false to index them by their initial floor
+	 */
+	public RequestStore(boolean byDestinationFloor) {
+		this.byDestinationFloor = byDestinationFloor;
+		this.requests = new LinkedHashSet<FloorData>();
+		this.upRequests = new ArrayList<LinkedHashSet<FloorData>>();
+		this.downRequests = new ArrayList<LinkedHashSet<FloorData>>();
+		this.upFloors = new BitSet();
+		this.downFloors = new BitSet();
+	}
+	
+	/**
+	 * Adds a request to the store.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public synchronized void add(FloorData fd) {
+		if (!requests.add(fd)) {
+			return;
+		}
+		
+		Direction direction = Direction.of(fd);
+		int floor = getFloor(fd);
+		ArrayList<LinkedHashSet<FloorData>> index = getIndex(direction);
+		while (index.size() <= floor) {
+			index.add(new LinkedHashSet<FloorData>());
+		}
+		index.get(floor).add(fd);
+		getFloors(direction).set(floor);
+	}
+	
+	/**
+	 * Removes a request from the store.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request was in the store, false otherwise
+	 */
+	public synchronized boolean remove(FloorData fd) {
+		if (!requests.remove(fd)) {
+			return false;
+		}
+		
+		Direction direction = Direction.of(fd);
+		int floor = getFloor(fd);
+		LinkedHashSet<FloorData> waiting = getIndex(direction).get(floor);
+		waiting.remove(fd);
+		if (waiting.isEmpty()) {
+			getFloors(direction).clear(floor);
+		}
+		return true;
+	}
+	
+	/**
+	 * Removes the oldest request from the store.
+	 * 
+	 * @return	a FloorData Object, the oldest request, or null if the store is empty
+	 */
+	public synchronized FloorData poll() {
+		FloorData fd = peek();
+		if (fd != null) {
+			remove(fd);
+		}
+		return fd;
+	}
+	
+	/**
+	 * Gets the oldest request in the store without removing it.
+	 * 
+	 * @return	a FloorData Object, the oldest request, or null if the store is empty
+	 */
+	public synchronized FloorData peek() {
+		Iterator<FloorData> it = requests.iterator();
+		return it.hasNext() ? it.next() : null;
+	}
+	
+	/**
+	 * Checks whether a request is in the store.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request is in the store, false otherwise
+	 */
+	public synchronized boolean contains(FloorData fd) {
+		return requests.contains(fd);
+	}
+	
+	/**
+	 * Gets the number of requests in the store.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	public synchronized int size() {
+		return requests.size();
+	}
+	
+	/**
+	 * Checks whether the store is empty.
+	 * 
+	 * @return	a boolean, true if there are no requests in the store, false otherwise
+	 */
+	public synchronized boolean isEmpty() {
+		return requests.isEmpty();
+	}
+	
+	/**
+	 * Finds the nearest floor at or past the given floor, in the given direction,
+	 * with a request going in that direction.
+	 * 
+	 * @param direction	a Direction, the direction to look in and the direction of the requests
+	 * @param floor		an int, the floor to start looking from
+	 * @return	an int, the nearest floor with a request, or -1 if there is none
+	 */
+	public synchronized int nextFloor(Direction direction, int floor) {
+		if (floor < 0) {
+			return direction == Direction.UP ? getFloors(direction).nextSetBit(0) : -1;
+		}
+		return direction == Direction.UP ? getFloors(direction).nextSetBit(floor) : getFloors(direction).previousSetBit(floor);
+	}
+	
+	/**
+	 * Finds the highest floor with a request going in the given direction.
+	 * 
+	 * @param direction	a Direction, the direction of the requests
+	 * @return	an int, the highest floor with a request, or -1 if there is none
+	 */
+	public synchronized int highestFloor(Direction direction) {
+		return getFloors(direction).length() - 1;
+	}
+	
+	/**
+	 * Finds the lowest floor with a request going in the given direction.
+	 * 
+	 * @param direction	a Direction, the direction of the requests
+	 * @return	an int, the lowest floor with a request, or -1 if there is none
+	 */
+	public synchronized int lowestFloor(Direction direction) {
+		return getFloors(direction).nextSetBit(0);
+	}
+	
+	/**
+	 * Finds the oldest request at the nearest floor at or past the given floor, in the given direction,
+	 * going in that direction.
+	 * 
+	 * @param direction	a Direction, the direction to look in and the direction of the request
+	 * @param floor		an int, the floor to start looking from
+	 * @return	a FloorData Object, the request, or null if there is none
+	 */
+	public synchronized FloorData next(Direction direction, int floor) {
+		int next = nextFloor(direction, floor);
+		return next < 0 ? null : getIndex(direction).get(next).iterator().next();
+	}
+	
+	/**
+	 * Gets the number of requests at a floor going in a direction.
+	 * 
+	 * @param floor		an int, the floor the requests are indexed by
+	 * @param direction	a Direction, the direction of the requests
+	 * @return	an int, the number of requests
+	 */
+	public synchronized int count(int floor, Direction direction) {
+		ArrayList<LinkedHashSet<FloorData>> index = getIndex(direction);
+		return floor < 0 || floor >= index.size() ? 0 : index.get(floor).size();
+	}
+	
+	/**
+	 * Removes every request at a floor going in a direction.
+	 * 
+	 * @param floor		an int, the floor the requests are indexed by
+	 * @param direction	a Direction, the direction of the requests
+	 * @return	an ArrayList, the requests that were removed, oldest first
+	 */
+	public synchronized ArrayList<FloorData> removeAll(int floor, Direction direction) {
+		ArrayList<FloorData> removed = new ArrayList<FloorData>();
+		ArrayList<LinkedHashSet<FloorData>> index = getIndex(direction);
+		if (floor < 0 || floor >= index.size()) {
+			return removed;
+		}
+		
+		LinkedHashSet<FloorData> waiting = index.get(floor);
+		removed.addAll(waiting);
+		requests.removeAll(waiting);
+		waiting.clear();
+		getFloors(direction).clear(floor);
+		return removed;
+	}
+	
+	/**
+	 * Gets the floors with at least one request, going in either direction.
+	 * 
+	 * @return	a BitSet, a copy of the floors the requests are indexed by
+	 */
+	public synchronized BitSet getFloors() {
+		BitSet floors = (BitSet) upFloors.clone();
+		floors.or(downFloors);
+		return floors;
+	}
+	
+	/**
+	 * Copies the requests in the store, oldest first.
+	 * 
+	 * @return	an ArrayList, the requests
+	 */
+	public synchronized ArrayList<FloorData> toList() {
+		return new ArrayList<FloorData>(requests);
+	}
+	
+	/**
+	 * Gets the requests in the store, oldest first.
+	 * 
+	 * @return	a String, the requests in the store
+	 */
+	@Override
+	public synchronized String toString() {
+		return requests.toString();
+	}
+	
+	/**
+	 * Gets the floor a request is indexed by.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the destination floor or the initial floor of the request
+	 */
+	private int getFloor(FloorData fd) {
+		return byDestinationFloor ? fd.getDestinationFloor() : fd.getInitialFloor();
+	}
+	
+	/**
+	 * Gets the index of the requests going in a direction.
+	 * 
+	 * @param direction	a Direction
+	 * @return	an ArrayList, the requests going in the direction by initial floor
+	 */
+	private ArrayList<LinkedHashSet<FloorData>> getIndex(Direction direction) {
+		return direction == Direction.UP ? upRequests : downRequests;
+	}
+	
+	/**
+	 * Gets the floors with requests going in a direction.
+	 * 
+	 * @param direction	a Direction
+	 * @return	a BitSet, the floors with at least one request going in the direction
+	 */
+	private BitSet getFloors(Direction direction) {
+		return direction == Direction.UP ? upFloors : downFloors;
+	}
+}
@@ -0,0 +1,122 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for RequestStore Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class RequestStoreTest {
+
+	Building building = Building.of(10);
+	RequestStore store = new RequestStore();
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that requests are polled in the order they were added.
+	 * @throws IOException
+	 */
+	@Test
+	void testPollOldestFirst() throws IOException {
+		FloorData first = TestRequests.request(building, 3, 1);
+		FloorData second = TestRequests.request(building, 1, 3);
+		store.add(first);
+		store.add(second);
+		
+		assertEquals(2, store.size());
+		assertSame(first, store.poll());
+		assertSame(second, store.poll());
+		assertNull(store.poll());
+		assertTrue(store.isEmpty());
+	}
+	
+	/**
+	 * Tests finding the nearest request going in a direction past a floor.
+	 * @throws IOException
+	 */
+	@Test
+	void testNext() throws IOException {
+		FloorData upAt2 = TestRequests.request(building, 2, 5);
+		FloorData upAt6 = TestRequests.request(building, 6, 9);
+		FloorData downAt4 = TestRequests.request(building, 4, 1);
+		store.add(upAt2);
+		store.add(upAt6);
+		store.add(downAt4);
+		
+		assertSame(upAt6, store.next(Direction.UP, 3));
+		assertSame(upAt2, store.next(Direction.UP, 2));
+		assertNull(store.next(Direction.UP, 7));
+		assertSame(downAt4, store.next(Direction.DOWN, 8));
+		assertNull(store.next(Direction.DOWN, 3));
+		
+		store.remove(upAt6);
+		assertEquals(-1, store.nextFloor(Direction.UP, 3));
+	}
+	
+	/**
+	 * Tests removing every request waiting at a floor to go in a direction.
+	 * @throws IOException
+	 */
+	@Test
+	void testRemoveAll() throws IOException {
+		store.add(TestRequests.request(building, 3, 5));
+		store.add(TestRequests.request(building, 3, 4));
+		store.add(TestRequests.request(building, 3, 1));
+		
+		assertEquals(2, store.count(3, Direction.UP));
+		assertEquals(2, store.removeAll(3, Direction.UP).size());
+		assertEquals(0, store.count(3, Direction.UP));
+		assertEquals(1, store.size());
+		assertEquals(3, store.nextFloor(Direction.DOWN, 3));
+	}
+	
+	/**
+	 * Tests that removing requests in any order does not slow down as the store grows.
+	 * @throws IOException
+	 */
+	@Test
+	void testManyRequests() throws IOException {
+		ArrayList<FloorData> requests = new ArrayList<FloorData>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200000; i++) {
+			int iFloor = random.nextInt(10);
+			requests.add(TestRequests.request(building, iFloor, iFloor == 9 ? 0 : iFloor + 1));
+		}
+		Collections.shuffle(requests, random);
+		
+		assertTimeout(Duration.ofSeconds(5), () -> {
+			for (FloorData fd : requests) {
+				store.add(fd);
+			}
+			for (FloorData fd : requests) {
+				assertTrue(store.remove(fd));
+			}
+		});
+		assertTrue(store.isEmpty());
+		assertEquals(-1, store.nextFloor(Direction.UP, 0));
+	}
+}
@@ -0,0 +1,197 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * RequestTable Class that stores requests column by column: one primitive array for every field of FloorData.
+ * Millions of requests take 13 bytes each and no Objects, and scanning a column reads memory in order.
+ * The building is stored once for the whole table. get creates a FloorData view of a row when a request is needed.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RequestTable implements Iterable<FloorData> {
+	
+	private static final int DEFAULT_CAPACITY = 1024;
+	
+	private Building building;
+	private int size;
+	
+	private long[] times;
+	private short[] initialFloors;
+	private short[] destinationFloors;
+	private byte[] floorButtons;
+	
+	/**
+	 * Constructor for RequestTable.
+	 * 
+	 * @param building	a Building, the building every request is made in
+	 */
+	public RequestTable(Building building) {
+		this(building, DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Constructor for RequestTable.
+	 * 
+	 * @param building	a Building, the building every request is made in
+	 * @param capacity	an int, the number of requests the table holds before it grows
+	 */
+	public RequestTable(Building building, int capacity) {
+		this.building = building;
+		this.size = 0;
+		this.times = new long[capacity];
+		this.initialFloors = new short[capacity];
+		this.destinationFloors = new short[capacity];
+		this.floorButtons = new byte[capacity];
+	}
+	
+	/**
+	 * Adds a request to the end of the table.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the row of the request
+	 */
+	public int add(FloorData fd) {
+		if (fd.getFloors() > building.getFloors()) {
+			throw new IllegalArgumentException("The request is for a building with " + fd.getFloors() + " floors, the table has " + building.getFloors());
+		}
+		if (size == times.length) {
+			int capacity = Math.max(DEFAULT_CAPACITY, size + (size >> 1));
+			times = Arrays.copyOf(times, capacity);
+			initialFloors = Arrays.copyOf(initialFloors, capacity);
+			destinationFloors = Arrays.copyOf(destinationFloors, capacity);
+			floorButtons = Arrays.copyOf(floorButtons, capacity);
+		}
+		times[size] = fd.getTimeMillis();
+		initialFloors[size] = (short) fd.getInitialFloor();
+		destinationFloors[size] = (short) fd.getDestinationFloor();
+		floorButtons[size] = fd.getFloorButtonCode();
+		return size++;
+	}
+	
+	/**
+	 * Adds every request of an iterator, e.g., a FloorDataReader.
+	 * 
+	 * @param requests	an Iterator, the requests
+	 */
+	public void addAll(Iterator<FloorData> requests) {
+		while (requests.hasNext()) {
+			add(requests.next());
+		}
+	}
+	
+	/**
+	 * Creates a FloorData view of a row.
+	 * 
+	 * @param row	an int, the row
+	 * @return	a FloorData Object, the request in the row
+	 */
+	public FloorData get(int row) {
+		checkRow(row);
+		return new FloorData(building, times[row], initialFloors[row], destinationFloors[row], floorButtons[row]);
+	}
+	
+	/**
+	 * Get the time of a request.
+	 * 
+	 * @param row	an int, the row
+	 * @return	a long, the time in epoch milliseconds or FloorData.NO_TIME
+	 */
+	public long getTimeMillis(int row) {
+		checkRow(row);
+		return times[row];
+	}
+	
+	/**
+	 * Get the initial floor of a request.
+	 * 
+	 * @param row	an int, the row
+	 * @return	an int, the initial floor
+	 */
+	public int getInitialFloor(int row) {
+		checkRow(row);
+		return initialFloors[row];
+	}
+	
+	/**
+	 * Get the destination floor of a request.
+	 * 
+	 * @param row	an int, the row
+	 * @return	an int, the destination floor
+	 */
+	public int getDestinationFloor(int row) {
+		checkRow(row);
+		return destinationFloors[row];
+	}
+	
+	/**
+	 * Get the direction of a request.
+	 * 
+	 * @param row	an int, the row
+	 * @return	a Direction, the direction the request is going in
+	 */
+	public Direction getDirection(int row) {
+		checkRow(row);
+		return Direction.of(initialFloors[row], destinationFloors[row]);
+	}
+	
+	/**
+	 * Get the building every request is made in.
+	 * 
+	 * @return	a Building, the building
+	 */
+	public Building getBuilding() {
+		return building;
+	}
+	
+	/**
+	 * Get the number of requests.
+	 * 
+	 * @return	an int, the number of rows
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Creates the FloorData views of the rows in order, one at a time.
+	 * 
+	 * @return	an Iterator, the requests
+	 */
+	@Override
+	public Iterator<FloorData> iterator() {
+		return new Iterator<FloorData>() {
+			private int row = 0;
+			
+			@Override
+			public boolean hasNext() {
+				return row < size;
+			}
+			
+			@Override
+			public FloorData next() {
+				if (row >= size) {
+					throw new NoSuchElementException();
+				}
+				return get(row++);
+			}
+		};
+	}
+	
+	/**
+	 * Checks that a row is in the table.
+	 * 
+	 * @param row	an int, the row
+	 */
+	private void checkRow(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " of " + size);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for RequestTable Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class RequestTableTest {
+
+	Building building = Building.of(10);
+	RequestTable table = new RequestTable(building, 2);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the FloorData view of a row has the same values as the request that was added.
+	 * @throws IOException
+	 */
+	@Test
+	void testGet() throws IOException {
+		FloorData fd = TestRequests.request(building, 5000, 3, 7, "up");
+		assertEquals(0, table.add(fd));
+		
+		FloorData view = table.get(0);
+		assertEquals(fd.getTime(), view.getTime());
+		assertEquals(3, view.getInitialFloor());
+		assertEquals(7, view.getDestinationFloor());
+		assertEquals("up", view.getFloorButton());
+		assertSame(table.getBuilding(), view.getBuilding());
+		assertEquals(Direction.UP, table.getDirection(0));
+	}
+	
+	/**
+	 * Tests that the table grows past its capacity and keeps the rows in order.
+	 * @throws IOException
+	 */
+	@Test
+	void testGrow() throws IOException {
+		for (int i = 0; i < 5000; i++) {
+			table.add(TestRequests.request(building, i, i % 10 + 1, 10 - i % 10, "Down"));
+		}
+		assertEquals(5000, table.size());
+		
+		Iterator<FloorData> it = table.iterator();
+		for (int i = 0; i < 5000; i++) {
+			assertEquals(i, table.getTimeMillis(i));
+			assertEquals(i % 10 + 1, it.next().getInitialFloor());
+		}
+		assertFalse(it.hasNext());
+		assertThrows(IndexOutOfBoundsException.class, () -> table.get(5000));
+	}
+	
+	/**
+	 * Tests that a request for a taller building is not added.
+	 */
+	@Test
+	void testTallerBuilding() {
+		assertThrows(IllegalArgumentException.class, () -> table.add(new FloorData(20)));
+	}
+}
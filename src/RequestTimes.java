@@ -0,0 +1,293 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * RequestTimes Class that stores the times of the requests column by column, like RequestTable stores the requests:
+ * every request gets a slot, and its times are longs in the row of the slot.
+ * The slot of a request is found from its identity hash, among the PROBES slots after it in every segment,
+ * so finding, taking and releasing a slot does not allocate, lock or walk a chain, and many threads do it at once.
+ * A released slot keeps its times until another request takes it. When no segment has room near the hash
+ * of a request, a segment twice as big is added and the slots never move, so adding a segment, once more requests
+ * are in flight than ever before, is the only time it allocates or locks.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class RequestTimes {
+	
+	private static final int FIRST_SEGMENT = 1024;	// slots in the first segment, every segment after it is twice as big
+	private static final int PROBES = 8;	// slots looked at in every segment
+	
+	// the states of a slot
+	private static final int FREE = 0;	// never taken
+	private static final int LIVE = 1;
+	private static final int FLAGGED = 2;	// live and flagged, e.g., taken from a failed elevator
+	private static final int RELEASED = 3;	// the times stay until another request takes the slot
+	private static final int HELD = 4;	// released by its request, but not taken by another one until it is released again
+	
+	private final int columns;	// the number of times of a request
+	private volatile Segment[] segments;
+	
+	/**
+	 * Constructor for RequestTimes.
+	 * 
+	 * @param columns	an int, the number of times kept for every request
+	 */
+	public RequestTimes(int columns) {
+		this.columns = columns;
+		this.segments = new Segment[] {new Segment(0, FIRST_SEGMENT, columns)};
+	}
+	
+	/**
+	 * Finds the slot of a request, taken or released.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the slot, or -1 if the request has none
+	 */
+	public int find(FloorData fd) {
+		int hash = hash(fd);
+		for (Segment segment : segments) {
+			for (int probe = 0; probe < PROBES; probe++) {
+				int i = (hash + probe) & segment.mask;
+				if (segment.requests.get(i) == fd) {
+					return segment.offset + i;
+				}
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * Takes a slot for a request, every time of a new slot is FloorData.NO_TIME.
+	 * A request that has a live slot keeps it with its times, one that was released gets it back without them.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the slot
+	 */
+	public int take(FloorData fd) {
+		int slot = find(fd);
+		if (slot >= 0) {
+			Segment segment = segment(slot);
+			int i = slot - segment.offset;
+			int state = segment.states.get(i);
+			if ((state == LIVE || state == FLAGGED) && segment.requests.get(i) == fd) {
+				return slot;
+			}
+			if ((state == RELEASED || state == HELD) && segment.states.compareAndSet(i, state, LIVE)) {
+				return init(segment, i, fd);
+			}
+		}
+		
+		int hash = hash(fd);
+		while (true) {
+			Segment[] current = segments;
+			for (Segment segment : current) {
+				for (int probe = 0; probe < PROBES; probe++) {
+					int i = (hash + probe) & segment.mask;
+					int state = segment.states.get(i);
+					if ((state == FREE || state == RELEASED) && segment.states.compareAndSet(i, state, LIVE)) {
+						return init(segment, i, fd);
+					}
+				}
+			}
+			grow(current);
+		}
+	}
+	
+	/**
+	 * Gets the slot of a request and keeps it from being taken by another request until it is released,
+	 * e.g., while the request is handed to the floor after it was dropped off. A request that has no slot takes one.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the slot
+	 */
+	public int hold(FloorData fd) {
+		int slot = find(fd);
+		if (slot >= 0) {
+			Segment segment = segment(slot);
+			int i = slot - segment.offset;
+			int state = segment.states.get(i);
+			boolean held = state == RELEASED && segment.states.compareAndSet(i, RELEASED, HELD);
+			if ((held || state != RELEASED) && segment.requests.get(i) == fd) {
+				return slot;
+			}
+			if (held) {
+				// another request took the slot and released it after it was found
+				segment.states.compareAndSet(i, HELD, RELEASED);
+			}
+		}
+		return take(fd);
+	}
+	
+	/**
+	 * Releases the slot of a request, its times stay until another request takes the slot.
+	 * 
+	 * @param slot	an int, the slot
+	 */
+	public void release(int slot) {
+		Segment segment = segment(slot);
+		segment.states.set(slot - segment.offset, RELEASED);
+	}
+	
+	/**
+	 * Get one of the times of a request.
+	 * 
+	 * @param slot		an int, the slot of the request
+	 * @param column	an int, the time
+	 * @return	a long, the time, or FloorData.NO_TIME if it was not set
+	 */
+	public long get(int slot, int column) {
+		Segment segment = segment(slot);
+		return segment.times[(slot - segment.offset) * columns + column];
+	}
+	
+	/**
+	 * Sets one of the times of a request.
+	 * 
+	 * @param slot		an int, the slot of the request
+	 * @param column	an int, the time
+	 * @param time		a long, the time
+	 */
+	public void set(int slot, int column, long time) {
+		Segment segment = segment(slot);
+		segment.times[(slot - segment.offset) * columns + column] = time;
+	}
+	
+	/**
+	 * Flags the request of a live slot, e.g., because it was taken from a failed elevator.
+	 * 
+	 * @param slot	an int, the slot
+	 */
+	public void flag(int slot) {
+		Segment segment = segment(slot);
+		segment.states.compareAndSet(slot - segment.offset, LIVE, FLAGGED);
+	}
+	
+	/**
+	 * Removes the flag of a live slot.
+	 * 
+	 * @param slot	an int, the slot
+	 * @return	a boolean, true if the request was flagged
+	 */
+	public boolean unflag(int slot) {
+		Segment segment = segment(slot);
+		return segment.states.compareAndSet(slot - segment.offset, FLAGGED, LIVE);
+	}
+	
+	/**
+	 * Get the number of slots that are taken and not released.
+	 * 
+	 * @return	an int, the live slots
+	 */
+	public int getLive() {
+		int live = 0;
+		for (Segment segment : segments) {
+			for (int i = 0; i <= segment.mask; i++) {
+				int state = segment.states.get(i);
+				if (state == LIVE || state == FLAGGED) {
+					live++;
+				}
+			}
+		}
+		return live;
+	}
+	
+	/**
+	 * Get the number of slots, taken or not.
+	 * 
+	 * @return	an int, the slots of every segment
+	 */
+	public int getCapacity() {
+		Segment[] current = segments;
+		Segment last = current[current.length - 1];
+		return last.offset + last.mask + 1;
+	}
+	
+	/**
+	 * Gives a slot that was just taken to a request, with every time set to FloorData.NO_TIME.
+	 * The request that had the slot before cannot be found in it from then on.
+	 * 
+	 * @param segment	a Segment, the segment of the slot
+	 * @param i			an int, the slot in the segment
+	 * @param fd		a FloorData Object, the request
+	 * @return	an int, the slot
+	 */
+	private int init(Segment segment, int i, FloorData fd) {
+		segment.requests.set(i, null);
+		for (int column = 0; column < columns; column++) {
+			segment.times[i * columns + column] = FloorData.NO_TIME;
+		}
+		segment.requests.set(i, fd);
+		return segment.offset + i;
+	}
+	
+	/**
+	 * Adds a segment twice as big as the last one, unless another thread has added one since the segments were read.
+	 * 
+	 * @param current	a Segment array, the segments that had no room
+	 */
+	private synchronized void grow(Segment[] current) {
+		if (segments != current) {
+			return;
+		}
+		Segment last = current[current.length - 1];
+		Segment[] grown = Arrays.copyOf(current, current.length + 1);
+		grown[current.length] = new Segment(last.offset + last.mask + 1, (last.mask + 1) * 2, columns);
+		segments = grown;
+	}
+	
+	/**
+	 * Gets the segment of a slot, the segments double in size so it is found from the number of the slot.
+	 * 
+	 * @param slot	an int, the slot
+	 * @return	a Segment, the segment
+	 */
+	private Segment segment(int slot) {
+		return segments[31 - Integer.numberOfLeadingZeros(slot / FIRST_SEGMENT + 1)];
+	}
+	
+	/**
+	 * Spreads the identity hash of a request over the slots.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the hash
+	 */
+	private static int hash(FloorData fd) {
+		int h = System.identityHashCode(fd) * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+	
+	/**
+	 * Segment Class for a power of two of slots, the requests and states in atomic arrays and the times in one array,
+	 * a row of columns times for every slot.
+	 */
+	private static final class Segment {
+		
+		private final int offset;	// the number of the first slot
+		private final int mask;
+		private final AtomicReferenceArray<FloorData> requests;
+		private final AtomicIntegerArray states;
+		private final long[] times;
+		
+		/**
+		 * Constructor for Segment.
+		 * 
+		 * @param offset	an int, the number of the first slot
+		 * @param slots		an int, the number of slots, a power of two
+		 * @param columns	an int, the number of times of a slot
+		 */
+		private Segment(int offset, int slots, int columns) {
+			this.offset = offset;
+			this.mask = slots - 1;
+			this.requests = new AtomicReferenceArray<FloorData>(slots);
+			this.states = new AtomicIntegerArray(slots);
+			this.times = new long[slots * columns];
+		}
+	}
+}
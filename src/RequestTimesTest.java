@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for RequestTimes Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class RequestTimesTest {
+	
+	RequestTimes times = new RequestTimes(2);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that every request in flight gets a slot of its own, past the size of the first segment,
+	 * and that released slots are taken again instead of adding segments.
+	 */
+	@Test
+	void testSlots() {
+		FloorData[] requests = new FloorData[5000];
+		HashSet<Integer> slots = new HashSet<Integer>();
+		for (int i = 0; i < requests.length; i++) {
+			requests[i] = new FloorData(10);
+			int slot = times.take(requests[i]);
+			assertTrue(slots.add(slot));
+			times.set(slot, 1, i);
+		}
+		assertEquals(requests.length, times.getLive());
+		for (int i = 0; i < requests.length; i++) {
+			int slot = times.find(requests[i]);
+			assertEquals(i, times.get(slot, 1));
+			assertEquals(FloorData.NO_TIME, times.get(slot, 0));
+			times.release(slot);
+		}
+		assertEquals(0, times.getLive());
+		
+		// a released slot keeps its times until another request takes it, and is taken again before a segment is added
+		assertEquals(7, times.get(times.find(requests[7]), 1));
+		int capacity = times.getCapacity();
+		assertTrue(capacity > requests.length);
+		for (int i = 0; i < requests.length / 2; i++) {
+			times.take(new FloorData(10));
+		}
+		assertEquals(capacity, times.getCapacity());
+		assertEquals(requests.length / 2, times.getLive());
+	}
+	
+	/**
+	 * Tests that a request keeps its slot while it is live, and that a flag is removed once.
+	 */
+	@Test
+	void testFlag() {
+		FloorData fd = new FloorData(10);
+		int slot = times.take(fd);
+		times.set(slot, 0, 5);
+		assertEquals(slot, times.take(fd));
+		assertEquals(5, times.get(slot, 0));
+		assertEquals(-1, times.find(new FloorData(10)));
+		
+		times.flag(slot);
+		assertEquals(1, times.getLive());
+		assertTrue(times.unflag(slot));
+		assertFalse(times.unflag(slot));
+	}
+	
+	/**
+	 * Tests that a held slot keeps its times and is not taken by other requests until it is released again.
+	 */
+	@Test
+	void testHold() {
+		FloorData fd = new FloorData(10);
+		int slot = times.take(fd);
+		times.set(slot, 0, 5);
+		times.release(slot);
+		assertEquals(slot, times.hold(fd));
+		assertEquals(0, times.getLive());
+		for (int i = 0; i < 5000; i++) {
+			assertNotEquals(slot, times.take(new FloorData(10)));
+		}
+		assertEquals(slot, times.find(fd));
+		assertEquals(5, times.get(slot, 0));
+		
+		times.release(slot);
+		assertEquals(slot, times.take(fd));
+		assertEquals(FloorData.NO_TIME, times.get(slot, 0));
+	}
+}
@@ -0,0 +1,43 @@
+/**
+ * RequestView Interface that gives read-only access to a queue of requests.
+ * The scheduler hands these out instead of its queues, so only the scheduler adds and removes requests.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public interface RequestView extends Iterable<FloorData> {
+	
+	/**
+	 * Get the number of requests.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	int size();
+	
+	/**
+	 * Checks if there are no requests.
+	 * 
+	 * @return	a boolean, true if there are no requests
+	 */
+	boolean isEmpty();
+	
+	/**
+	 * Gets the oldest request without removing it.
+	 * 
+	 * @return	a FloorData Object, the oldest request, or null if there are none
+	 */
+	FloorData peek();
+	
+	/**
+	 * Checks if a request is in the queue.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request is in the queue
+	 */
+	boolean contains(FloorData fd);
+}
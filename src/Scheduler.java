@@ -1,8 +1,19 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.PriorityQueue;
-import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /**
  * Scheduler Class that consists of a thread that is used as a communication channel between the clients (i.e., floor and elevator).
@@ -17,38 +28,125 @@ import java.util.Queue;
  */
 public class Scheduler implements Runnable {
 	
+	// the floor stops reading the CSV file while this many requests are waiting,
+	// so memory stays flat no matter how big the file is
+	public static final int DEFAULT_MAX_PENDING_REQUESTS = 10000;
+	public static final int DEFAULT_ELEVATOR_COUNT = 1;
+	// the system property the mains read the failure timeout from, in milliseconds
+	public static final String FAILURE_TIMEOUT_PROPERTY = "failure.timeout";
+	
+	// extra cost of assigning a request to a car for every request the car already has,
+	// roughly the number of floors a car could travel while it stops for a request
+	private static final int STOP_COST = 2;
+	
 	private ArrayList<Elevator> elevators; // collection of elevators
-	private int schedulerToElevatorCondition; // equals to 1 if elevator class can work
-	private int schedulerToFloorCondition; // equals to 1 if floor class can work
+	private ArrayList<Thread> elevatorThreads; // the threads the elevators run on
+	private volatile int schedulerToElevatorCondition; // equals to 1 while the elevators have requests to service
+	private volatile int schedulerToFloorCondition; // equals to 1 while the floor has arrivals to process
+	private volatile boolean running; // false once every request has been serviced
+	private volatile boolean requestsLoaded; // true once the floor has sent all of its requests
+	private volatile boolean shutdown; // true once the scheduler was told to stop before every request was serviced
+	
+	// put in arrivals once the simulation has ended, so the floor thread stops waiting
+	private static final FloorData END = new FloorData(0);
 	
-	private int idle;
+	// the floor, scheduler and elevator threads wait on these instead of sleeping and re-checking the condition flags,
+	// there is no lock that all of them share
+	private final Semaphore capacity;	// a permit for every request allFloorRequests can still hold
+	private final Semaphore pendingRequests;	// a permit for every request in allFloorRequests, and one once all of them are loaded
+	private final Object serviced;	// notified when serviceableFloorRequests becomes empty
 
-	private Queue<FloorData> allFloorRequests;   // a queue of all requests in the CSV file
-	private Queue<FloorData> serviceableFloorRequests;    // a queue of serviceable requests at the moment
-	
-	// Assume all the requests in the CSV file come in simultaneously or around roughly the same time.
-	// Based off that, we check whether the request is serviceable.
-	// If it is, then add it to the serviceableFloorRequests queue, service it,
-	// and remove it from both the queues. 
-	// If it is not serviceable at the moment, skip over it 
-	// and do NOT add it to the serviceableFloorRequests queue.
-	// Come back to the non-serviceable requests after the serviceable requests have been serviced
-	// and check whether they are serviceable again. 
+	private int maxPendingRequests;	// the number of requests allFloorRequests can hold before addRequests blocks
+	private final ConcurrentRequestStore allFloorRequests;   // the requests that have not been sent to an elevator yet
+	private final ConcurrentRequestStore serviceableFloorRequests;    // the requests the elevators are servicing at the moment
+	private final ConcurrentHashMap<Integer, HallCall> hallCalls;	// the hall calls the elevators are on their way to, by floor and direction
+	private volatile boolean coalescing;	// true if requests join the hall call at their floor in their direction
+	private volatile long waitTarget;	// milliseconds a request should wait at most, 0 to choose the elevators by cost alone
+	private volatile Map<Elevator, EtaCache> etaCaches;	// the arrival estimates of each elevator, null to cost requests in floors
+	private volatile long failureTimeout;	// milliseconds without a heartbeat before an elevator has failed, 0 if there is no watchdog
+	private final ConcurrentHashMap<Elevator, Long> failedElevators;	// the elevators that failed, with the last time they were silent
+	private final Set<Elevator> unreachableElevators;	// the elevators reported as failed, they do not come back
+	private long nextCheck;	// when the watchdog looks at the heartbeats next, only used by the scheduler thread
+	private final LinkedBlockingQueue<FloorData> arrivals;    // a queue of the serviced requests the floor has not processed yet
+	private volatile Consumer<FloorData> arrivalListener;	// gets the serviced requests instead of arrivals, if it is set
+	private final SchedulerMetrics metrics;	// latencies of the requests and depths of the queues
+	private final EventLog log;	// where the scheduler logs the requests it dispatches
+	
+	// The scheduler takes the requests from allFloorRequests in the order they came in
+	// and sends each one to the elevator that can get to its initial floor the soonest,
+	// every elevator has its own queue of the requests it was sent.
+	// The request stays in serviceableFloorRequests until the elevator drops it off,
+	// then the scheduler sends it to the floor.
+	// A request at the same floor in the same direction as a hall call an elevator is on its way to
+	// goes to that elevator, so one stop picks up everyone waiting there.
+	// With a wait target, the elevators that have kept a request waiting longer than the target
+	// get no new requests while another elevator can take them, so they get to the overdue one sooner.
+	// With a watchdog, an elevator that goes longer than the failure timeout without a heartbeat has failed:
+	// the requests it has not picked up go to the other elevators, and it gets no new ones until it beats again.
+	// Any number of floors and elevators add and remove requests at the same time without a lock,
+	// the queues are only handed out as read-only RequestViews.
 
 	/**
-	 * Constructor for Scheduler.
+	 * Constructor for Scheduler with one elevator.
 	 */
 	public Scheduler() {
+		this(DEFAULT_ELEVATOR_COUNT);
+	}
+	
+	/**
+	 * Constructor for Scheduler.
+	 * 
+	 * @param elevatorCount	an int, the number of elevators the scheduler sends requests to
+	 */
+	public Scheduler(int elevatorCount) {
+		this(elevatorCount, DEFAULT_MAX_PENDING_REQUESTS);
+	}
+	
+	/**
+	 * Constructor for Scheduler.
+	 * 
+	 * @param elevatorCount			an int, the number of elevators the scheduler sends requests to
+	 * @param maxPendingRequests	an int, the number of requests the allFloorRequests queue can hold before addRequests blocks
+	 */
+	public Scheduler(int elevatorCount, int maxPendingRequests) {
+		this(elevatorCount, maxPendingRequests, Elevator::new);
+	}
+	
+	/**
+	 * Constructor for Scheduler with elevators that are not the default Elevator, e.g., elevators in other processes.
+	 * 
+	 * @param elevatorCount			an int, the number of elevators the scheduler sends requests to
+	 * @param maxPendingRequests	an int, the number of requests the allFloorRequests queue can hold before addRequests blocks
+	 * @param elevatorFactory		a BiFunction, creates the elevator with the given id for the scheduler
+	 */
+	public Scheduler(int elevatorCount, int maxPendingRequests, BiFunction<Scheduler, Integer, Elevator> elevatorFactory) {
 		
 		//initialization
 		this.schedulerToElevatorCondition = 0;
 		this.schedulerToFloorCondition = 0;
+		this.running = true;
+		this.requestsLoaded = false;
+		this.shutdown = false;
+		this.capacity = new Semaphore(maxPendingRequests);
+		this.pendingRequests = new Semaphore(0);
+		this.serviced = new Object();
 		this.elevators = new ArrayList<Elevator>();
-		this.idle = 1;
-		this.allFloorRequests = new LinkedList<FloorData>();
-		this.serviceableFloorRequests = new LinkedList<FloorData>();
+		this.elevatorThreads = new ArrayList<Thread>();
+		this.maxPendingRequests = maxPendingRequests;
+		this.allFloorRequests = new ConcurrentRequestStore();
+		this.serviceableFloorRequests = new ConcurrentRequestStore();
+		this.hallCalls = new ConcurrentHashMap<Integer, HallCall>();
+		this.coalescing = true;
+		this.failureTimeout = 0;
+		this.failedElevators = new ConcurrentHashMap<Elevator, Long>();
+		this.unreachableElevators = ConcurrentHashMap.newKeySet();
+		this.arrivals = new LinkedBlockingQueue<FloorData>();
+		this.metrics = new SchedulerMetrics();
+		this.log = EventLog.getDefault();
 
-		elevators.add(new Elevator(this)); //adding one default elevator to elevator list
+		for (int i = 1; i <= elevatorCount; i++) {
+			elevators.add(elevatorFactory.apply(this, i));
+		}
 	}
 
 	/**
@@ -70,141 +168,932 @@ public class Scheduler implements Runnable {
 	}
 	
 	/**
-	 * Sets the schedulerToElevatorCondition to 0 to prevent the elevator from executing when
-	 * we are going back to the scheduler, then eventually, we are going from the scheduler back to the floor thread.
+	 * Get the elevators the scheduler sends requests to.
+	 * 
+	 * @return	an ArrayList, the elevators
+	 */
+	public ArrayList<Elevator> getElevators() {
+		return elevators;
+	}
+	
+	/**
+	 * Gets the state every elevator published last, without blocking the elevators, e.g., for a monitor that polls them.
+	 * 
+	 * @return	an ArrayList, the states in the order of getElevators
+	 */
+	public ArrayList<ElevatorState> getElevatorStates() {
+		ArrayList<ElevatorState> states = new ArrayList<ElevatorState>();
+		for (Elevator car : getElevators()) {
+			states.add(car.getState());
+		}
+		return states;
+	}
+	
+	/**
+	 * Sets the schedulerToElevatorCondition to 0 once the elevators have no more requests to service.
 	 */
 	public void setSchedulerToElevatorConditionToFalse() {
 		schedulerToElevatorCondition = 0;
 	}
 	
 	/**
-	 * Sets the schedulerToElevatorCondition to 1 to communicate from the scheduler to the elevator thread.
-	 * Sets the floor condition to 0 so the floor thread doesn't execute while the elevator is executing.
+	 * Sets the schedulerToElevatorCondition to 1 to communicate from the scheduler to the elevator threads.
 	 */
 	public void notifySchedulerToElevator() {
 		schedulerToElevatorCondition = 1;
 	}
+	
+	/**
+	 * Sends a request to an elevator, the elevator thread wakes up immediately if it is waiting for requests.
+	 * 
+	 * @param car	an Elevator, the elevator that services the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void notifySchedulerToElevator(Elevator car, FloorData fd) {
+		metrics.setInFlightDepth(serviceableFloorRequests.add(fd));
+		handOff(car, fd);
+	}
+	
+	/**
+	 * Hands a request to an elevator, the request is already in serviceableFloorRequests.
+	 * 
+	 * @param car	an Elevator, the elevator that services the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	private void handOff(Elevator car, FloorData fd) {
+		Map<Elevator, EtaCache> caches = etaCaches;
+		if (caches != null) {
+			Direction d = Direction.of(fd);
+			EtaCache cache = caches.get(car);
+			cache.addStop(fd.getInitialFloor(), d);
+			cache.addStop(fd.getDestinationFloor(), d);
+		}
+		metrics.requestAssigned(fd);
+		notifySchedulerToElevator();
+		
+		metrics.startHandoff(fd);
+		car.addRequest(fd);
+	}
+	
+	/**
+	 * Called by an elevator once it has picked up a request at its initial floor.
+	 * 
+	 * @param car	an Elevator, the elevator that picked up the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestPickedUp(Elevator car, FloorData fd) {
+		metrics.requestPickedUp(fd);
+		Map<Elevator, EtaCache> caches = etaCaches;
+		if (caches != null) {
+			caches.get(car).removeStop(fd.getInitialFloor(), Direction.of(fd));
+		}
+		
+		// the requests that come in from now on wait for the next elevator
+		int key = HallCall.key(fd);
+		HallCall call = hallCalls.get(key);
+		if (call != null && call.getElevator() == car) {
+			call.close();
+			hallCalls.remove(key, call);
+		}
+	}
+	
+	/**
+	 * Called by an elevator once it has dropped off a request.
+	 * Removes the request from the serviceableFloorRequests queue and sends it to the floor.
+	 * 
+	 * @param car	an Elevator, the elevator that serviced the request
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestServiced(Elevator car, FloorData fd) {
+		requestsServiced(car, Collections.singletonList(fd));
+	}
+	
+	/**
+	 * Called by an elevator once it has dropped off every request going to the floor it stopped at.
+	 * Removes the requests from the serviceableFloorRequests queue and sends them to the floor.
+	 * 
+	 * @param car		an Elevator, the elevator that serviced the requests
+	 * @param dropped	a Collection, the requests that were dropped off
+	 */
+	public void requestsServiced(Elevator car, Collection<FloorData> dropped) {
+		Map<Elevator, EtaCache> caches = etaCaches;
+		for (FloorData fd : dropped) {
+			metrics.requestDroppedOff(fd);
+			if (caches != null) {
+				caches.get(car).removeStop(fd.getDestinationFloor(), Direction.of(fd));
+			}
+			// sent to the floor before it is removed, so it is ahead of the END the scheduler sends once the queue is empty
+			notifySchedulerToFloor(fd);
+			serviceableFloorRequests.remove(fd);
+		}
+		metrics.setInFlightDepth(serviceableFloorRequests.size());
+		if (serviceableFloorRequests.isEmpty()) {
+			// the elevator that removes the last request wakes up the scheduler thread if it waits in awaitElevators
+			synchronized (serviced) {
+				setSchedulerToElevatorConditionToFalse();
+				serviced.notifyAll();
+			}
+		}
+	}
 
 	/**
 	 * Sets the schedulerToFloorCondition to 1.
 	 */
 	public void notifySchedulerToFloor() {
- 		schedulerToFloorCondition = 1;
+		schedulerToFloorCondition = 1;
+	}
+	
+	/**
+	 * Sends a serviced request to the floor and wakes up the floor thread.
+	 * 
+	 * @param fd	a FloorData Object, the request that has arrived at its destination floor
+	 */
+	public void notifySchedulerToFloor(FloorData fd) {
+		metrics.startHandoff(fd);
+		Consumer<FloorData> listener = arrivalListener;
+		if (listener != null) {
+			listener.accept(fd);
+			return;
+		}
+		arrivals.add(fd);
+		notifySchedulerToFloor();
+	}
+	
+	/**
+	 * Sends the serviced requests to a listener instead of the floor thread, e.g., to the floor they arrived at.
+	 * The listener is called on the thread of the elevator that dropped off the request, so it must not block,
+	 * and it calls arrivalReceived once the request has been handed over. Must be set before the scheduler thread starts.
+	 * 
+	 * @param listener	a Consumer, gets every request that has arrived at its destination floor
+	 */
+	public void setArrivalListener(Consumer<FloorData> listener) {
+		this.arrivalListener = listener;
+	}
+	
+	/**
+	 * Records the handoff latency of an arrival once the floor has received it.
+	 * 
+	 * @param fd	a FloorData Object, the request that has arrived
+	 */
+	public void arrivalReceived(FloorData fd) {
+		metrics.endHandoff(fd);
+		metrics.handoffCompleted(fd);
+	}
+	
+	/**
+	 * Blocks the floor thread until the scheduler sends it an arrival.
+	 * The handoff latency of the request is recorded once the floor receives it.
+	 * 
+	 * @return	a FloorData Object, the request that has arrived, or null if the simulation has ended.
+	 */
+	public FloorData awaitSchedulerToFloor() {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					return receiveArrival(arrivals.take());
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Gets the next arrival for the floor without waiting for one.
+	 * The handoff latency of the request is recorded once the floor receives it.
+	 * 
+	 * @return	a FloorData Object, the request that has arrived, or null if there are no arrivals.
+	 */
+	public FloorData pollSchedulerToFloor() {
+		return receiveArrival(arrivals.poll());
+	}
+	
+	/**
+	 * Records the handoff latency of an arrival the floor took from the queue.
+	 * 
+	 * @param fd	a FloorData Object, the arrival, END or null
+	 * @return	a FloorData Object, the arrival, or null if the simulation has ended or there are no arrivals
+	 */
+	private FloorData receiveArrival(FloorData fd) {
+		if (fd == END) {
+			// left in the queue for the next call
+			arrivals.add(END);
+			fd = null;
+		}
+		if (fd != null) {
+			arrivalReceived(fd);
+		}
+		if (arrivals.isEmpty() || arrivals.peek() == END) {
+			schedulerToFloorCondition = 0;
+		}
+		return fd;
+	}
+	
+	/**
+	 * Called by the floor once it has sent all of its requests, wakes up the scheduler thread.
+	 */
+	public void notifyRequestsLoaded() {
+		requestsLoaded = true;
+		pendingRequests.release();
+	}
+	
+	/**
+	 * Checks whether the floor has sent all of its requests.
+	 * 
+	 * @return	a boolean, true if no more requests will be added, false otherwise
+	 */
+	public boolean isRequestsLoaded() {
+		return requestsLoaded;
+	}
+	
+	/**
+	 * Blocks the scheduler thread until the floor sends a request.
+	 * 
+	 * @return	a FloorData Object, the oldest request in allFloorRequests,
+	 * 			or null if the floor has sent all of its requests and there are none left.
+	 */
+	private FloorData awaitRequest() {
+		acquirePendingRequest();
+		if (shutdown) {
+			// the permit of shutdown, left for the next call
+			pendingRequests.release();
+			return null;
+		}
+		FloorData fd = allFloorRequests.poll();
+		if (fd == null) {
+			// the permit of notifyRequestsLoaded, left for the next call
+			pendingRequests.release();
+			return null;
+		}
+		capacity.release();
+		metrics.setPendingDepth(allFloorRequests.size());
+		return fd;
+	}
+	
+	/**
+	 * Blocks the scheduler thread until the floor sends a request or notifyRequestsLoaded is called,
+	 * checking the heartbeats of the elevators while it waits.
+	 */
+	private void acquirePendingRequest() {
+		long interval = getHeartbeatInterval();
+		if (interval == 0) {
+			pendingRequests.acquireUninterruptibly();
+			return;
+		}
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					if (pendingRequests.tryAcquire(interval, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+				checkElevators();
+			}
+		} finally {
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	/**
+	 * Blocks the scheduler thread until the elevators have serviced all of their requests, or the scheduler is shut down,
+	 * checking the heartbeats of the elevators while it waits.
+	 */
+	private void awaitElevators() {
+		boolean interrupted = false;
+		long interval = getHeartbeatInterval();
+		while (true) {
+			synchronized (serviced) {
+				if (serviceableFloorRequests.isEmpty() || shutdown) {
+					break;
+				}
+				try {
+					serviced.wait(interval);
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			// the requests of a failed elevator are sent again without holding the lock the elevators notify
+			checkElevators();
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Sets how long an elevator can go without a heartbeat before the watchdog decides it has failed,
+	 * it must be longer than the time an elevator takes to travel a floor or to stop. The watchdog looks at the heartbeats
+	 * every quarter of the timeout, so it sends the requests of a failed elevator to the other elevators
+	 * at most a timeout and a quarter after the elevator stopped. Must be set before the scheduler thread starts.
+	 * 
+	 * @param failureTimeout	a long, the timeout in milliseconds, 0 (the default) to turn the watchdog off
+	 */
+	public void setFailureTimeout(long failureTimeout) {
+		if (failureTimeout < 0) {
+			throw new IllegalArgumentException("The failure timeout cannot be negative: " + failureTimeout);
+		}
+		this.failureTimeout = failureTimeout;
+	}
+	
+	/**
+	 * Get how long an elevator can go without a heartbeat before the watchdog decides it has failed.
+	 * 
+	 * @return	a long, the timeout in milliseconds, 0 if there is no watchdog
+	 */
+	public long getFailureTimeout() {
+		return failureTimeout;
+	}
+	
+	/**
+	 * Get how often the elevators beat while they are idle and the watchdog looks at the heartbeats.
+	 * 
+	 * @return	a long, the interval in milliseconds, 0 if there is no watchdog
+	 */
+	public long getHeartbeatInterval() {
+		long timeout = failureTimeout;
+		return timeout == 0 ? 0 : Math.max(1, timeout / 4);
+	}
+	
+	/**
+	 * Gets the elevators the watchdog decided have failed, that have not beaten again since.
+	 * 
+	 * @return	a Set, the failed elevators, it changes as they fail and recover
+	 */
+	public Set<Elevator> getFailedElevators() {
+		return Collections.unmodifiableSet(failedElevators.keySet());
 	}
 	
 	/**
-	 * Add requests to the allFloorRequests queue
+	 * Tells the scheduler that an elevator cannot be reached any more, e.g., because its process stopped acknowledging messages.
+	 * The scheduler thread sends its requests to the other elevators the next time it dispatches a request or looks at the heartbeats,
+	 * whether the watchdog is on or not, and it gets no new requests for the rest of the run.
+	 * 
+	 * @param car	an Elevator, the elevator
+	 */
+	public void reportFailure(Elevator car) {
+		unreachableElevators.add(car);
+		synchronized (serviced) {
+			serviced.notifyAll();
+		}
+	}
+	
+	/**
+	 * Looks at the heartbeats of the elevators once every heartbeat interval, on the scheduler thread.
+	 * An elevator that has not beaten for the failure timeout has failed, one that has failed is back in service
+	 * once it has beaten within the timeout for two timeouts, so a car that is only slow does not keep failing and recovering.
+	 */
+	private void checkElevators() {
+		if (!unreachableElevators.isEmpty()) {
+			for (Elevator car : unreachableElevators) {
+				if (!failedElevators.containsKey(car)) {
+					failElevator(car);
+				}
+			}
+		}
+		long timeout = failureTimeout * 1000000;
+		if (timeout == 0) {
+			return;
+		}
+		long now = metrics.getTime();
+		if (now - nextCheck < 0) {
+			return;
+		}
+		nextCheck = now + getHeartbeatInterval() * 1000000;
+		
+		for (Elevator car : elevators) {
+			Long silentAt = failedElevators.get(car);
+			if (now - car.getHeartbeat() > timeout) {
+				if (silentAt == null) {
+					failElevator(car);
+				} else {
+					failedElevators.put(car, now);
+				}
+			} else if (silentAt != null && now - silentAt > 2 * timeout && !unreachableElevators.contains(car)) {
+				failedElevators.remove(car);
+				log.log(EventType.ELEVATOR_RECOVERED, car.getId(), car.getCurrentFloor(), 0);
+			}
+		}
+	}
+	
+	/**
+	 * Takes the requests a failed elevator has not picked up and sends them to the other elevators.
+	 * Its passengers stay in it until it works again, no other elevator can get to them.
+	 * 
+	 * @param car	an Elevator, the elevator that missed its heartbeat
+	 */
+	private void failElevator(Elevator car) {
+		ArrayList<FloorData> released = car.releaseWaitingRequests();
+		if (released == null) {
+			// the elevator is in the middle of a step, the watchdog looks at it again next time
+			return;
+		}
+		failedElevators.put(car, metrics.getTime());
+		
+		// the requests that come in from now on do not join the hall calls the failed elevator was on its way to
+		for (Map.Entry<Integer, HallCall> entry : hallCalls.entrySet()) {
+			if (entry.getValue().getElevator() == car) {
+				entry.getValue().close();
+				hallCalls.remove(entry.getKey(), entry.getValue());
+			}
+		}
+		Map<Elevator, EtaCache> caches = etaCaches;
+		for (FloorData fd : released) {
+			if (caches != null) {
+				caches.get(car).removeStop(fd.getInitialFloor(), Direction.of(fd));
+				caches.get(car).removeStop(fd.getDestinationFloor(), Direction.of(fd));
+			}
+			metrics.requestReassigned(fd);
+			reassign(fd);
+		}
+		
+		// the fault is when the elevator stopped, or its last heartbeat if the thread stalled by itself
+		metrics.elevatorFailed(metrics.getTime() - Math.max(car.getHeartbeat(), car.getFaultTime()));
+		log.log(EventType.ELEVATOR_FAILED, car.getId(), car.getCurrentFloor(), released.size());
+	}
+	
+	/**
+	 * Stops the scheduler before every request has been serviced, e.g., to abandon a Simulation.
+	 * The scheduler thread stops dispatching, stops the elevator threads and wakes up the floor thread,
+	 * the requests that have not arrived are dropped and addRequests returns without adding anything.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		// each thread that wakes up leaves the permit for the next one
+		capacity.release();
+		pendingRequests.release();
+		synchronized (serviced) {
+			serviced.notifyAll();
+		}
+	}
+	
+	/**
+	 * Checks whether the scheduler was shut down.
+	 * 
+	 * @return	a boolean, true if shutdown was called, false otherwise
+	 */
+	public boolean isShutdown() {
+		return shutdown;
+	}
+	
+	/**
+	 * Stops the simulation, stops the elevator threads and wakes up the floor thread so it can finish.
+	 * Returns once the elevator threads have stopped.
+	 */
+	protected void finish() {
+		running = false;
+		arrivals.add(END);
+		
+		for (Thread t : elevatorThreads) {
+			t.interrupt();
+		}
+		try {
+			for (Thread t : elevatorThreads) {
+				t.join();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Sends a request to the elevator that is on its way to the same floor for a request in the same direction,
+	 * otherwise to the elevator with the lowest cost.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an Elevator, the elevator the request was sent to
+	 */
+	public Elevator dispatch(FloorData fd) {
+        log.log(EventType.REQUEST_RECEIVED, 0, fd.getInitialFloor(), fd.getDestinationFloor());
+        
+        Elevator car = joinHallCall(fd);
+        if (car == null) {
+        	car = selectElevator(fd);
+        	metrics.hallCallOpened();
+        	if (coalescing) {
+        		// opened before the elevator gets the request, so its pickup closes it
+        		hallCalls.put(HallCall.key(fd), new HallCall(fd, car));
+        	}
+        }
+        notifySchedulerToElevator(car, fd);
+        log.log(EventType.REQUEST_SENT, car.getId(), fd.getInitialFloor(), fd.getDestinationFloor());
+        return car;
+	}
+	
+	/**
+	 * Sends a request taken from a failed elevator to another elevator. It was counted and logged when it arrived,
+	 * and it stays in serviceableFloorRequests, so the scheduler does not finish while it is sent again,
+	 * only its hall call and its elevator are chosen again.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an Elevator, the elevator the request was sent to
+	 */
+	private Elevator reassign(FloorData fd) {
+		Elevator car = joinHallCall(fd);
+		if (car == null) {
+			car = selectElevator(fd);
+			if (coalescing) {
+				hallCalls.put(HallCall.key(fd), new HallCall(fd, car));
+			}
+		}
+		handOff(car, fd);
+		log.log(EventType.REQUEST_SENT, car.getId(), fd.getInitialFloor(), fd.getDestinationFloor());
+		return car;
+	}
+	
+	/**
+	 * Adds a request to the hall call at its floor in its direction, if an elevator is on its way to it.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an Elevator, the elevator of the hall call, or null if there is none
+	 */
+	private Elevator joinHallCall(FloorData fd) {
+		if (!coalescing) {
+			return null;
+		}
+		HallCall call = hallCalls.get(HallCall.key(fd));
+		return call != null && call.join(fd) ? call.getElevator() : null;
+	}
+	
+	/**
+	 * Sets whether the requests at the same floor in the same direction are merged into one hall call
+	 * while an elevator is on its way to them (the default), or each one goes to the elevator with the lowest cost.
+	 * 
+	 * @param coalescing	a boolean, true to merge the requests into hall calls
+	 */
+	public void setCoalescing(boolean coalescing) {
+		this.coalescing = coalescing;
+		if (!coalescing) {
+			hallCalls.clear();
+		}
+	}
+	
+	/**
+	 * Checks whether the requests at the same floor in the same direction are merged into one hall call.
+	 * 
+	 * @return	a boolean, true if the requests are merged, false otherwise
+	 */
+	public boolean isCoalescing() {
+		return coalescing;
+	}
+	
+	/**
+	 * Sets how long a request should wait for an elevator at most. Every new stop delays the requests an elevator
+	 * picks up after it, so once the oldest request an elevator has not picked up has waited longer than the target,
+	 * new requests go to the elevator with the lowest cost among the ones that are not late, and the late elevator
+	 * finishes its sweep instead of making it longer. The requests are aged on the clock of the metrics.
+	 * 
+	 * @param waitTarget	a long, the wait time target in milliseconds, 0 (the default) to choose the elevators by cost alone
+	 */
+	public void setWaitTarget(long waitTarget) {
+		if (waitTarget < 0) {
+			throw new IllegalArgumentException("The wait target cannot be negative: " + waitTarget);
+		}
+		this.waitTarget = waitTarget;
+	}
+	
+	/**
+	 * Get how long a request should wait for an elevator at most.
+	 * 
+	 * @return	a long, the wait time target in milliseconds, 0 if the elevators are chosen by cost alone
+	 */
+	public long getWaitTarget() {
+		return waitTarget;
+	}
+	
+	/**
+	 * Gets the hall call an elevator is on its way to at the floor and in the direction of a request.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a HallCall, the open hall call, or null if there is none
+	 */
+	public HallCall getHallCall(FloorData fd) {
+		return hallCalls.get(HallCall.key(fd));
+	}
+	
+	/**
+	 * Sets the travel times the cost of a request is estimated from. With a matrix, the cost is the time
+	 * the elevator takes to get to the request, with the stops it makes on the way, from an EtaCache of each elevator
+	 * that is only worked out again when the elevator's stops change. Without one (the default), the cost is in floors.
+	 * Must be set before the first request is sent to an elevator.
+	 * 
+	 * @param matrix	a TravelTimeMatrix, the travel times of the building, or null to cost the requests in floors
+	 */
+	public void setTravelTimes(TravelTimeMatrix matrix) {
+		if (matrix == null) {
+			etaCaches = null;
+			return;
+		}
+		Map<Elevator, EtaCache> caches = new HashMap<Elevator, EtaCache>();
+		for (Elevator car : elevators) {
+			caches.put(car, new EtaCache(matrix));
+		}
+		etaCaches = caches;
+	}
+	
+	/**
+	 * Gets the arrival estimates of an elevator.
+	 * 
+	 * @param car	an Elevator, the elevator
+	 * @return	an EtaCache, the estimates, or null if no travel times were set
+	 */
+	public EtaCache getEtaCache(Elevator car) {
+		Map<Elevator, EtaCache> caches = etaCaches;
+		return caches == null ? null : caches.get(car);
+	}
+	
+	/**
+	 * Chooses the elevator that services a request, the one with the lowest cost.
+	 * With a wait target, an elevator whose oldest request is overdue is only chosen if every elevator is late.
+	 * An elevator that has failed is only chosen if every elevator has failed.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	an Elevator, the elevator that should service the request
+	 */
+	public Elevator selectElevator(FloorData fd) {
+		// the requests that arrived before this time are overdue
+		long overdue = waitTarget > 0 ? metrics.getTime() - waitTarget * 1000000L : Long.MIN_VALUE;
+		boolean skipFailed = !failedElevators.isEmpty() && failedElevators.size() < elevators.size();
+		Elevator best = null;
+		int bestCost = 0;
+		boolean bestLate = false;
+		for (Elevator car : elevators) {
+			if (skipFailed && failedElevators.containsKey(car)) {
+				continue;
+			}
+			int cost = getCost(car, fd);
+			boolean late = car.getOldestArrival() <= overdue;
+			if (best == null || (late == bestLate ? cost < bestCost : bestLate)) {
+				best = car;
+				bestCost = cost;
+				bestLate = late;
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Calculates the cost of an elevator servicing a request, based on the elevator's current floor, direction and load.
+	 * The cost is the number of floors the elevator travels before it gets to the initial floor of the request:
+	 * straight there if the elevator is idle or the request is on the way, otherwise to the end of its sweep and back.
+	 * Every request the elevator already has adds the cost of a stop.
+	 * With travel times, the cost is the estimated time of arrival at the request in milliseconds instead.
+	 * The floor, direction and turn floor are read from one state the elevator published, so they always agree.
+	 * 
+	 * @param car	an Elevator
+	 * @param fd	a FloorData Object, the request
+	 * @return	an int, the cost of the elevator servicing the request
+	 */
+	public int getCost(Elevator car, FloorData fd) {
+		ElevatorState state = car.getState();
+		Map<Elevator, EtaCache> caches = etaCaches;
+		if (caches != null) {
+			long eta = caches.get(car).getEta(fd.getInitialFloor(), Direction.of(fd), state.getFloor(), state.getDirection());
+			return (int) Math.min(eta, Integer.MAX_VALUE);
+		}
+		
+		int floor = state.getFloor();
+		int distance;
+		if (state.isOnTheWay(fd)) {
+			distance = Math.abs(fd.getInitialFloor() - floor);
+		} else {
+			int turn = state.getTurnFloor();
+			distance = Math.abs(turn - floor) + Math.abs(turn - fd.getInitialFloor());
+		}
+		return distance + STOP_COST * car.getLoad();
+	}
+	
+	/**
+	 * Get the average handoff latency of a request, i.e., the time it takes the request to get
+	 * from the scheduler to an elevator, plus the time it takes to get from the elevator to the floor.
+	 * 
+	 * @return	a long, the average handoff latency in nanoseconds
+	 */
+	public long getAverageHandoffLatency() {
+		return metrics.getHandoffLatency().getMean();
+	}
+	
+	/**
+	 * Get the largest handoff latency of a request.
+	 * 
+	 * @return	a long, the maximum handoff latency in nanoseconds
+	 */
+	public long getMaxHandoffLatency() {
+		return metrics.getHandoffLatency().getMax();
+	}
+	
+	/**
+	 * Get the number of requests whose handoff latency has been measured.
+	 * 
+	 * @return	an int, the number of completed handoffs
+	 */
+	public int getHandoffCount() {
+		return (int) metrics.getHandoffLatency().getCount();
+	}
+	
+	/**
+	 * Get the metrics of the requests and the queues.
+	 * 
+	 * @return	a SchedulerMetrics, the metrics, snapshot copies them
+	 */
+	public SchedulerMetrics getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Get a summary of the measured handoff latencies.
+	 * 
+	 * @return	a String, the average and maximum handoff latency in microseconds
+	 */
+	public String getHandoffLatencySummary() {
+		return "Average handoff latency: " + TimeUnit.NANOSECONDS.toMicros(getAverageHandoffLatency()) + " us" +
+				" (max " + TimeUnit.NANOSECONDS.toMicros(getMaxHandoffLatency()) + " us)" +
+				" over " + getHandoffCount() + " requests";
+	}
+	
+	/**
+	 * Add requests to allFloorRequests, blocks while it holds maxPendingRequests requests.
+	 * Wakes up the scheduler thread if it is waiting for requests. Does nothing once the scheduler is shut down.
 	 * @param fd	a FloorData Object that gets added to the queue
 	 */
 	public void addRequests(FloorData fd) {
-		allFloorRequests.add(fd);
+		capacity.acquireUninterruptibly();
+		if (shutdown) {
+			// the permit of shutdown, left for the next floor that waits for room
+			capacity.release();
+			return;
+		}
+		metrics.requestArrived(fd);
+		metrics.setPendingDepth(allFloorRequests.add(fd));
+		pendingRequests.release();
 	}
 	
 	/**
-	 * Add requests to the servicableFloorRequests queue 
+	 * Add requests to servicableFloorRequests
 	 * @param fd	a FloorData Object that gets added to the queue
 	 */
 	public void addServiceableRequests(FloorData fd) {
-		serviceableFloorRequests.add(fd);
+		metrics.setInFlightDepth(serviceableFloorRequests.add(fd));
 	}
 	
 	/**
-	 * remove the first FloorData Object from the servicableFloorRequests queue
+	 * remove the oldest FloorData Object from servicableFloorRequests
 	 */
 	public void removeServiceableRequests() {
-		serviceableFloorRequests.remove();
+		serviceableFloorRequests.poll();
+		metrics.setInFlightDepth(serviceableFloorRequests.size());
 	}
 	
 	/**
-	 * remove the first FloorData Object from the allFloorRequests queue
+	 * remove the oldest FloorData Object from allFloorRequests
 	 */
 	public void removeRequests() {
-		allFloorRequests.remove();
+		if (pendingRequests.tryAcquire()) {
+			if (allFloorRequests.poll() != null) {
+				capacity.release();
+			} else {
+				// the permit of notifyRequestsLoaded
+				pendingRequests.release();
+			}
+			metrics.setPendingDepth(allFloorRequests.size());
+		}
 	}
 	
 	/**
-	 * Get the allFloorRequests queue
-	 * @return	a Queue, the allFloorRequests queue
+	 * Get allFloorRequests, the requests that have not been sent to an elevator yet
+	 * @return	a RequestView, a read-only view of allFloorRequests
 	 */
-	public Queue<FloorData> getAllRequests() {
+	public RequestView getAllRequests() {
 		return allFloorRequests;
 	}
 	
 	/**
-	 * Get the serviceableFloorRequests queue 
-	 * @return	a Queue, the serviceableFloorRequests queue
+	 * Get serviceableFloorRequests, the requests the elevators are servicing
+	 * @return	a RequestView, a read-only view of serviceableFloorRequests
 	 */
-	public Queue<FloorData> getServiceableRequests() {
+	public RequestView getServiceableRequests() {
 		return serviceableFloorRequests;
 	}
 	
+	/**
+	 * Writes the requests that have not been sent to an elevator, every elevator with its requests,
+	 * and the metrics to a checkpoint. The requests the elevators are servicing are written with their elevator.
+	 * Must be called while the scheduler and elevator threads are not running, e.g., between the events of an EventSimulation.
+	 * 
+	 * @param out	a DataOutput, where the scheduler is written
+	 * @throws IOException	if the scheduler cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		out.writeBoolean(coalescing);
+		out.writeInt(allFloorRequests.size());
+		for (FloorData fd : allFloorRequests) {
+			metrics.writeRequest(fd, out);
+		}
+		out.writeInt(elevators.size());
+		for (Elevator car : elevators) {
+			car.writeState(out);
+		}
+		metrics.writeState(out);
+	}
+	
+	/**
+	 * Reads the state written by writeState into this scheduler, which has the same number of elevators and no requests yet.
+	 * The requests the elevators are servicing are put back in serviceableFloorRequests, their hall calls and their stops
+	 * in the elevators' arrival estimates.
+	 * 
+	 * @param in		a DataInput, where the scheduler is read from
+	 * @param building	a Building, the building of the checkpoint
+	 * @throws IOException	if the scheduler cannot be read, or was written with another number of elevators
+	 */
+	public void readState(DataInput in, Building building) throws IOException {
+		coalescing = in.readBoolean();
+		int pending = in.readInt();
+		for (int i = 0; i < pending; i++) {
+			capacity.acquireUninterruptibly();
+			allFloorRequests.add(metrics.readRequest(in, building));
+			pendingRequests.release();
+		}
+		int count = in.readInt();
+		if (count != elevators.size()) {
+			throw new IOException("The checkpoint has " + count + " elevators, the scheduler has " + elevators.size());
+		}
+		Map<Elevator, EtaCache> caches = etaCaches;
+		for (Elevator car : elevators) {
+			car.readState(in, building);
+			for (FloorData fd : car.getWaitingRequests()) {
+				serviceableFloorRequests.add(fd);
+				HallCall call = hallCalls.get(HallCall.key(fd));
+				if (coalescing && (call == null || call.getElevator() != car || !call.join(fd))) {
+					hallCalls.put(HallCall.key(fd), new HallCall(fd, car));
+				}
+				if (caches != null) {
+					caches.get(car).addStop(fd.getInitialFloor(), Direction.of(fd));
+					caches.get(car).addStop(fd.getDestinationFloor(), Direction.of(fd));
+				}
+			}
+			for (FloorData fd : car.getRidingRequests()) {
+				serviceableFloorRequests.add(fd);
+				if (caches != null) {
+					caches.get(car).addStop(fd.getDestinationFloor(), Direction.of(fd));
+				}
+			}
+		}
+		metrics.readState(in);
+		metrics.setPendingDepth(allFloorRequests.size());
+		metrics.setInFlightDepth(serviceableFloorRequests.size());
+		if (!serviceableFloorRequests.isEmpty()) {
+			notifySchedulerToElevator();
+		}
+	}
+	
 	/**
 	 * Sets the schedulerToFloorCondition to 0 to prevent the floor from executing when
-	 * we are going back to the scheduler
+	 * we are going back to the scheduler.
 	 */
 	public void setSchedulerToFloorConditionToFalse() {
-		schedulerToFloorCondition = 0;	
+		schedulerToFloorCondition = 0;
 	}
 
 	/**
 	 * Used to run the Scheduler thread.
+	 * Starts the elevator threads, then sends every request to an elevator as soon as the floor sends it.
 	 */
 	@Override
 	public void run() {
 		
-        boolean elevatorNotExecuted = true;
+		// the elevators get a whole timeout to start beating
+		nextCheck = metrics.getTime() + failureTimeout * 1000000;
+		for (Elevator car : elevators) {
+			Thread t = new Thread(car, "Elevator " + car.getId());
+			elevatorThreads.add(t);
+			t.start();
+		}
         
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {}
-        
-        while(true) {
-        	System.out.println("SERVICEABLE REQUESTS QUEUE: " + getServiceableRequests());
-        	System.out.println("ALL REQUESTS QUEUE: " + getAllRequests());
+		FloorData fd;
+        while((fd = awaitRequest()) != null) {
+        	if (log.isLogged(EventType.QUEUE_DEPTHS)) {
+        		log.log(EventType.QUEUE_DEPTHS, 0, allFloorRequests.size(), serviceableFloorRequests.size());
+        	}
         	
-        	while(!getAllRequests().isEmpty() || !getServiceableRequests().isEmpty()) {
-	        	if (elevatorNotExecuted && getSchedulerToFloorCondition() == 0) {
-	        		// tell the elevator to start executing
-	                try {
-	                    Thread.sleep(1000);
-	                } catch (InterruptedException e) {}
-	        		idle = 0;
-	                System.out.println("\nScheduler: Request received from floor");	                
-	                System.out.println("Scheduler State = processing Requests from floor ");
-	                
-	                notifySchedulerToElevator();
-	                    
-	                elevatorNotExecuted = false;
-	                System.out.println("Scheduler: Request sent to elevator\n");     
-	                
-	            }
-	            else if (getSchedulerToElevatorCondition() == 0 && idle == 0) {
-	            	// tell the floor to start executing
-	            	System.out.println("\nScheduler State = Processing Requests from elevator ");
-	                System.out.println("Scheduler: Request received from elevator");
-	
-	                System.out.println("Scheduler: Request sent to floor");
-	               
-	                notifySchedulerToFloor();
-	                
-	                elevatorNotExecuted = true;
-	          
-	                break;
-	            }
-	            else {
-	                try {
-	                    Thread.sleep(1000);
-	                } catch (InterruptedException e) {}
-	            }
-	        }
-    		idle = 1;
-    		if (idle == 1 && getAllRequests().isEmpty() && getServiceableRequests().isEmpty()) {
-    			// idle when all the requests in the allFloorRequests have been serviced
-    			// and both queues are empty
-    			System.out.println("Scheduler State = Idle");
-    			break;
-    		}
+        	dispatch(fd);
+        	checkElevators();
         }
         
+        // the floor has sent all of its requests, wait for the elevators to service the rest
+        awaitElevators();
+		
+		// idle when all the requests in the allFloorRequests have been serviced
+		// and both queues are empty
+		log.log(EventType.SCHEDULER_IDLE, 0, 0, 0);
+		finish();
     }
 }
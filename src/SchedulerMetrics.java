@@ -0,0 +1,422 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * SchedulerMetrics Class that records when every request arrives, is assigned to an elevator, is picked up and is dropped off,
+ * with histograms of the wait time, the ride time and the handoff latency,
+ * and gauges of the number of requests in allFloorRequests and serviceableFloorRequests.
+ * When elevators fail, it records how long the scheduler took to send their requests to the other elevators
+ * and how long the requests it sent again waited.
+ * The times of a request are kept here in a slot of RequestTimes, not in the FloorData, so the requests stay small.
+ * The slot is taken when the request arrives and released when it is dropped off, or once the floor has received it
+ * if it is handed to the floor, its times stay readable until another request takes the slot.
+ * The handoff latency of a request is the time it spent handed between the threads, on System.nanoTime.
+ * Recording the times, histograms, counters and gauges does not allocate or lock once there are slots for the requests
+ * in flight, snapshot copies the metrics to dump them or scrape them during a run.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SchedulerMetrics {
+	
+	// the columns of the times of a request
+	private static final int ARRIVAL = 0;
+	private static final int ASSIGN = 1;
+	private static final int PICKUP = 2;
+	private static final int DROPOFF = 3;
+	private static final int HANDOFF_START = 4;	// the time in nanoseconds one thread handed the request to another
+	private static final int HANDOFF_LATENCY = 5;	// the time the request spent being handed between the threads
+	private static final int COLUMNS = 6;
+	
+	private volatile LongSupplier clock; // the time in nanoseconds
+	
+	// the times of the requests, a request taken from a failed elevator is flagged until it is picked up
+	private final RequestTimes times;
+	
+	private final LatencyHistogram waitTime;	// arrival -> pickup
+	private final LatencyHistogram rideTime;	// pickup -> drop-off
+	private final LatencyHistogram handoffLatency;
+	private final LatencyHistogram failoverTime;	// fault -> the failed elevator's requests sent to the other elevators
+	private final LatencyHistogram reassignedWaitTime;	// arrival -> pickup, of the requests taken from a failed elevator
+	
+	private final AtomicLong arrivedRequests;
+	private final AtomicLong hallCalls;	// hall calls the scheduler sent to an elevator, the other requests joined one of them
+	private final AtomicLong pendingDepth;	// requests in allFloorRequests
+	private final AtomicLong maxPendingDepth;
+	private final AtomicLong inFlightDepth;	// requests in serviceableFloorRequests
+	private final AtomicLong maxInFlightDepth;
+	private final AtomicLong failures;	// elevators the watchdog decided had failed
+	private final AtomicLong reassignedRequests;
+	
+	/**
+	 * Constructor for SchedulerMetrics, the times are taken from System.nanoTime.
+	 */
+	public SchedulerMetrics() {
+		this.clock = System::nanoTime;
+		this.times = new RequestTimes(COLUMNS);
+		this.waitTime = new LatencyHistogram();
+		this.rideTime = new LatencyHistogram();
+		this.handoffLatency = new LatencyHistogram();
+		this.failoverTime = new LatencyHistogram();
+		this.reassignedWaitTime = new LatencyHistogram();
+		this.arrivedRequests = new AtomicLong();
+		this.hallCalls = new AtomicLong();
+		this.pendingDepth = new AtomicLong();
+		this.maxPendingDepth = new AtomicLong();
+		this.inFlightDepth = new AtomicLong();
+		this.maxInFlightDepth = new AtomicLong();
+		this.failures = new AtomicLong();
+		this.reassignedRequests = new AtomicLong();
+	}
+	
+	/**
+	 * Sets the clock the times are taken from, e.g., the virtual clock of a simulation.
+	 * 
+	 * @param clock	a LongSupplier, the time in nanoseconds
+	 */
+	public void setClock(LongSupplier clock) {
+		this.clock = clock;
+	}
+	
+	/**
+	 * Get the time on the clock the metrics are taken from.
+	 * 
+	 * @return	a long, the time in nanoseconds
+	 */
+	public long getTime() {
+		return clock.getAsLong();
+	}
+	
+	/**
+	 * Records that a request was sent to the scheduler.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestArrived(FloorData fd) {
+		times.set(times.take(fd), ARRIVAL, clock.getAsLong());
+		arrivedRequests.incrementAndGet();
+	}
+	
+	/**
+	 * Records that the scheduler sent a request to an elevator.
+	 * A request that did not go through the scheduler's queue arrives when it is assigned.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestAssigned(FloorData fd) {
+		int slot = times.find(fd);
+		if (slot < 0 || times.get(slot, ARRIVAL) == FloorData.NO_TIME || times.get(slot, DROPOFF) != FloorData.NO_TIME) {
+			requestArrived(fd);
+			slot = times.find(fd);
+		}
+		times.set(slot, ASSIGN, clock.getAsLong());
+	}
+	
+	/**
+	 * Records that the scheduler chose an elevator for a new hall call, instead of adding the request to one.
+	 */
+	public void hallCallOpened() {
+		hallCalls.incrementAndGet();
+	}
+	
+	/**
+	 * Records that an elevator picked up a request, and its wait time.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestPickedUp(FloorData fd) {
+		long time = clock.getAsLong();
+		int slot = times.take(fd);
+		times.set(slot, PICKUP, time);
+		long arrival = times.get(slot, ARRIVAL);
+		boolean reassigned = times.unflag(slot);
+		if (arrival != FloorData.NO_TIME) {
+			waitTime.record(time - arrival);
+			if (reassigned) {
+				reassignedWaitTime.record(time - arrival);
+			}
+		}
+	}
+	
+	/**
+	 * Records that an elevator dropped off a request, and its ride time, then releases the slot of its times.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestDroppedOff(FloorData fd) {
+		int slot = times.find(fd);
+		if (slot < 0) {
+			return;
+		}
+		long time = clock.getAsLong();
+		times.set(slot, DROPOFF, time);
+		long pickup = times.get(slot, PICKUP);
+		times.release(slot);
+		if (pickup != FloorData.NO_TIME) {
+			rideTime.record(time - pickup);
+		}
+	}
+	
+	/**
+	 * Get the time a request was sent to the scheduler.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the arrival time in nanoseconds, or FloorData.NO_TIME if it has not arrived
+	 */
+	public long getArrivalTime(FloorData fd) {
+		return getTime(fd, ARRIVAL);
+	}
+	
+	/**
+	 * Get the time the scheduler sent a request to an elevator.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the assignment time in nanoseconds, or FloorData.NO_TIME if it has not been assigned
+	 */
+	public long getAssignTime(FloorData fd) {
+		return getTime(fd, ASSIGN);
+	}
+	
+	/**
+	 * Get the time an elevator picked up a request at its initial floor.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the pickup time in nanoseconds, or FloorData.NO_TIME if it has not been picked up
+	 */
+	public long getPickupTime(FloorData fd) {
+		return getTime(fd, PICKUP);
+	}
+	
+	/**
+	 * Get the time an elevator dropped off a request at its destination floor.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the drop-off time in nanoseconds, or FloorData.NO_TIME if it has not been dropped off
+	 */
+	public long getDropoffTime(FloorData fd) {
+		return getTime(fd, DROPOFF);
+	}
+	
+	/**
+	 * Get the number of requests that have a slot for their times and have not been dropped off.
+	 * 
+	 * @return	an int, the requests in flight
+	 */
+	public int getTrackedRequests() {
+		return times.getLive();
+	}
+	
+	/**
+	 * Writes a request and its times to a checkpoint, in the same layout for every request of the checkpoint.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @param out	a DataOutput, where the request is written
+	 * @throws IOException	if the request cannot be written
+	 */
+	public void writeRequest(FloorData fd, DataOutput out) throws IOException {
+		fd.writeState(out);
+		out.writeLong(getArrivalTime(fd));
+		out.writeLong(getAssignTime(fd));
+		out.writeLong(getPickupTime(fd));
+	}
+	
+	/**
+	 * Reads a request written by writeRequest and keeps its times.
+	 * 
+	 * @param in		a DataInput, where the request is read from
+	 * @param building	a Building, the building of the checkpoint
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if the request cannot be read
+	 */
+	public FloorData readRequest(DataInput in, Building building) throws IOException {
+		FloorData fd = FloorData.readState(in, building);
+		long arrival = in.readLong();
+		long assign = in.readLong();
+		long pickup = in.readLong();
+		if (arrival != FloorData.NO_TIME || assign != FloorData.NO_TIME || pickup != FloorData.NO_TIME) {
+			int slot = times.take(fd);
+			times.set(slot, ARRIVAL, arrival);
+			times.set(slot, ASSIGN, assign);
+			times.set(slot, PICKUP, pickup);
+		}
+		return fd;
+	}
+	
+	/**
+	 * Records that a request was taken from a failed elevator to be sent to another one,
+	 * its wait time is also recorded on its own once it is picked up.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void requestReassigned(FloorData fd) {
+		reassignedRequests.incrementAndGet();
+		times.flag(times.take(fd));
+	}
+	
+	/**
+	 * Records that an elevator failed, once its requests have been sent to the other elevators.
+	 * 
+	 * @param failoverTime	a long, the time from the fault to the requests being sent again in nanoseconds
+	 */
+	public void elevatorFailed(long failoverTime) {
+		failures.incrementAndGet();
+		this.failoverTime.record(failoverTime);
+	}
+	
+	/**
+	 * Marks the moment one thread hands a request to another.
+	 * A request that was dropped off keeps its slot until the floor has received it.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void startHandoff(FloorData fd) {
+		times.set(times.hold(fd), HANDOFF_START, System.nanoTime());
+	}
+	
+	/**
+	 * Marks the moment the receiving thread picks up a request, adds the time since startHandoff to its handoff latency.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void endHandoff(FloorData fd) {
+		int slot = times.find(fd);
+		if (slot < 0) {
+			return;
+		}
+		long start = times.get(slot, HANDOFF_START);
+		if (start != FloorData.NO_TIME) {
+			long latency = times.get(slot, HANDOFF_LATENCY);
+			times.set(slot, HANDOFF_LATENCY, (latency == FloorData.NO_TIME ? 0 : latency) + System.nanoTime() - start);
+			times.set(slot, HANDOFF_START, FloorData.NO_TIME);
+		}
+	}
+	
+	/**
+	 * Records the handoff latency of a request once the floor received it, then releases the slot of its times.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void handoffCompleted(FloorData fd) {
+		int slot = times.find(fd);
+		if (slot < 0) {
+			return;
+		}
+		long latency = times.get(slot, HANDOFF_LATENCY);
+		times.release(slot);
+		handoffLatency.record(latency == FloorData.NO_TIME ? 0 : latency);
+	}
+	
+	/**
+	 * Get the time a request has spent being handed between the threads so far.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a long, the handoff latency in nanoseconds, 0 if it has not been handed over
+	 */
+	public long getHandoffLatency(FloorData fd) {
+		long latency = getTime(fd, HANDOFF_LATENCY);
+		return latency == FloorData.NO_TIME ? 0 : latency;
+	}
+	
+	/**
+	 * Get the histogram of the handoff latencies, while it is still being recorded.
+	 * 
+	 * @return	a LatencyHistogram, the handoff latencies in nanoseconds
+	 */
+	public LatencyHistogram getHandoffLatency() {
+		return handoffLatency;
+	}
+	
+	/**
+	 * Sets the gauge of the number of requests in allFloorRequests.
+	 * 
+	 * @param depth	an int, the number of requests waiting for an elevator
+	 */
+	public void setPendingDepth(int depth) {
+		setGauge(pendingDepth, maxPendingDepth, depth);
+	}
+	
+	/**
+	 * Sets the gauge of the number of requests in serviceableFloorRequests.
+	 * 
+	 * @param depth	an int, the number of requests the elevators are servicing
+	 */
+	public void setInFlightDepth(int depth) {
+		setGauge(inFlightDepth, maxInFlightDepth, depth);
+	}
+	
+	/**
+	 * Copies the metrics, the copy does not change when more are recorded.
+	 * 
+	 * @return	a MetricsSnapshot, the metrics at this moment
+	 */
+	public MetricsSnapshot snapshot() {
+		return new MetricsSnapshot(waitTime.snapshot(), rideTime.snapshot(), handoffLatency.snapshot(), arrivedRequests.get(),
+				hallCalls.get(), pendingDepth.get(), maxPendingDepth.get(), inFlightDepth.get(), maxInFlightDepth.get(),
+				failoverTime.snapshot(), reassignedWaitTime.snapshot(), failures.get(), reassignedRequests.get());
+	}
+	
+	/**
+	 * Writes the histograms and counters to a checkpoint, the gauges are set again when the queues are restored.
+	 * 
+	 * @param out	a DataOutput, where the metrics are written
+	 * @throws IOException	if the metrics cannot be written
+	 */
+	public void writeState(DataOutput out) throws IOException {
+		waitTime.writeState(out);
+		rideTime.writeState(out);
+		handoffLatency.writeState(out);
+		out.writeLong(arrivedRequests.get());
+		out.writeLong(hallCalls.get());
+		out.writeLong(maxPendingDepth.get());
+		out.writeLong(maxInFlightDepth.get());
+	}
+	
+	/**
+	 * Reads the metrics written by writeState, into metrics that have not recorded anything yet.
+	 * 
+	 * @param in	a DataInput, where the metrics are read from
+	 * @throws IOException	if the metrics cannot be read
+	 */
+	public void readState(DataInput in) throws IOException {
+		waitTime.readState(in);
+		rideTime.readState(in);
+		handoffLatency.readState(in);
+		arrivedRequests.set(in.readLong());
+		hallCalls.set(in.readLong());
+		maxPendingDepth.set(in.readLong());
+		maxInFlightDepth.set(in.readLong());
+	}
+	
+	/**
+	 * Gets one of the times of a request.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @param column	an int, ARRIVAL, ASSIGN, PICKUP or DROPOFF
+	 * @return	a long, the time in nanoseconds, or FloorData.NO_TIME
+	 */
+	private long getTime(FloorData fd, int column) {
+		int slot = times.find(fd);
+		return slot < 0 ? FloorData.NO_TIME : times.get(slot, column);
+	}
+	
+	/**
+	 * Sets a gauge and raises its maximum.
+	 * 
+	 * @param gauge	an AtomicLong, the gauge
+	 * @param max	an AtomicLong, the largest value of the gauge
+	 * @param value	a long, the value
+	 */
+	private static void setGauge(AtomicLong gauge, AtomicLong max, long value) {
+		gauge.set(value);
+		long current;
+		while (value > (current = max.get()) && !max.compareAndSet(current, value));
+	}
+}
@@ -0,0 +1,158 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for SchedulerMetrics Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class SchedulerMetricsTest {
+	
+	SchedulerMetrics metrics = new SchedulerMetrics();
+	long[] clock = {0};
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		metrics.setClock(() -> clock[0]);
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the four times of a request are recorded, and the drop-off time is kept after the slot is released.
+	 */
+	@Test
+	void testTimes() {
+		FloorData fd = new FloorData(10);
+		metrics.requestArrived(fd);
+		clock[0] = 10;
+		metrics.requestAssigned(fd);
+		clock[0] = 30;
+		metrics.requestPickedUp(fd);
+		assertEquals(1, metrics.getTrackedRequests());
+		clock[0] = 100;
+		metrics.requestDroppedOff(fd);
+		
+		assertEquals(0, metrics.getArrivalTime(fd));
+		assertEquals(10, metrics.getAssignTime(fd));
+		assertEquals(30, metrics.getPickupTime(fd));
+		assertEquals(100, metrics.getDropoffTime(fd));
+		assertEquals(0, metrics.getTrackedRequests());
+		assertEquals(30, metrics.snapshot().getWaitTime().getMax());
+		assertEquals(70, metrics.snapshot().getRideTime().getMax());
+		
+		// the same request coming in again starts over
+		clock[0] = 200;
+		metrics.requestArrived(fd);
+		assertEquals(200, metrics.getArrivalTime(fd));
+		assertEquals(FloorData.NO_TIME, metrics.getDropoffTime(fd));
+	}
+	
+	/**
+	 * Tests that only the requests taken from a failed elevator count in the reassigned wait time.
+	 */
+	@Test
+	void testReassigned() {
+		FloorData moved = new FloorData(10);
+		FloorData stayed = new FloorData(10);
+		metrics.requestArrived(moved);
+		metrics.requestArrived(stayed);
+		metrics.requestReassigned(moved);
+		clock[0] = 50;
+		metrics.requestPickedUp(moved);
+		metrics.requestPickedUp(stayed);
+		metrics.requestPickedUp(moved);
+		
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(1, snapshot.getReassignedRequests());
+		assertEquals(1, snapshot.getReassignedWaitTime().getCount());
+		assertEquals(3, snapshot.getWaitTime().getCount());
+	}
+	
+	/**
+	 * Tests that the handoff latency of a request adds up over its handoffs, and is kept after its drop-off
+	 * until the floor has received it.
+	 */
+	@Test
+	void testHandoff() {
+		FloorData fd = new FloorData(10);
+		metrics.requestArrived(fd);
+		metrics.startHandoff(fd);
+		metrics.endHandoff(fd);
+		long toElevator = metrics.getHandoffLatency(fd);
+		assertTrue(toElevator >= 0);
+		metrics.endHandoff(fd);
+		assertEquals(toElevator, metrics.getHandoffLatency(fd));
+		
+		metrics.requestDroppedOff(fd);
+		metrics.startHandoff(fd);
+		// the slot of a request being handed to the floor is not taken by others
+		for (int i = 0; i < 5000; i++) {
+			metrics.requestArrived(new FloorData(10));
+		}
+		metrics.endHandoff(fd);
+		assertTrue(metrics.getHandoffLatency(fd) >= toElevator);
+		metrics.handoffCompleted(fd);
+		assertEquals(1, metrics.getHandoffLatency().getCount());
+		assertEquals(metrics.getHandoffLatency(fd), metrics.getHandoffLatency().getMax());
+	}
+	
+	/**
+	 * Tests that recording the times of the requests does not allocate once there are slots for them.
+	 */
+	@Test
+	void testRecordingDoesNotAllocate() {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		FloorData[] requests = new FloorData[1000];
+		for (int i = 0; i < requests.length; i++) {
+			requests[i] = new FloorData(10);
+		}
+		for (int round = 0; round < 50; round++) {
+			record(requests);
+		}
+		
+		long before = bean.getCurrentThreadAllocatedBytes();
+		for (int round = 0; round < 50; round++) {
+			record(requests);
+		}
+		long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+		assertTrue(allocated < 1024, allocated + " bytes");
+		assertEquals(100 * requests.length, metrics.snapshot().getRideTime().getCount());
+	}
+	
+	/**
+	 * Takes every request from its arrival to its drop-off.
+	 * 
+	 * @param requests	a FloorData array, the requests
+	 */
+	private void record(FloorData[] requests) {
+		for (FloorData fd : requests) {
+			clock[0]++;
+			metrics.requestArrived(fd);
+		}
+		for (FloorData fd : requests) {
+			clock[0]++;
+			metrics.requestAssigned(fd);
+			metrics.requestPickedUp(fd);
+		}
+		for (FloorData fd : requests) {
+			clock[0]++;
+			metrics.requestDroppedOff(fd);
+		}
+	}
+}
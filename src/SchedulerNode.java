@@ -0,0 +1,182 @@
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * SchedulerNode Class that runs the scheduler in its own process, the floor and every elevator run in other processes
+ * (FloorNode and ElevatorNode) and talk to it over UdpTransport.
+ * The floor and the elevators say HELLO first, the scheduler starts once all of them have.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SchedulerNode implements Runnable {
+	private final UdpTransport transport;
+	private final Scheduler scheduler;
+	private final Map<Integer, FloorData> requests;	// the requests that have not arrived yet, by id
+	private final Map<FloorData, Integer> ids;
+	private final CountDownLatch connected;	// counted down by the HELLO of the floor and of every elevator
+	private volatile SocketAddress floor;	// where the floor's process receives messages
+	
+	/**
+	 * Constructor for SchedulerNode.
+	 * The requests are added to the scheduler by the transport's receiver thread, which must not block,
+	 * so the scheduler's queue has no limit.
+	 * 
+	 * @param transport		a UdpTransport, used to talk to the floor and the elevators
+	 * @param elevatorCount	an int, the number of elevators
+	 */
+	public SchedulerNode(UdpTransport transport, int elevatorCount) {
+		this.transport = transport;
+		this.requests = new ConcurrentHashMap<Integer, FloorData>();
+		this.ids = new ConcurrentHashMap<FloorData, Integer>();
+		this.connected = new CountDownLatch(elevatorCount + 1);
+		this.scheduler = new Scheduler(elevatorCount, Integer.MAX_VALUE, (s, id) -> new RemoteElevator(s, id, transport, ids));
+		scheduler.setArrivalListener(this::arrived);
+		transport.setHandler(this::receive);
+		transport.setFailureHandler(this::failed);
+	}
+	
+	/**
+	 * Get the scheduler.
+	 * 
+	 * @return	a Scheduler, the scheduler
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+	
+	/**
+	 * Handles a message from the floor or an elevator.
+	 * 
+	 * @param from	a SocketAddress, the process that sent the message
+	 * @param m		a Message, the message
+	 */
+	private void receive(SocketAddress from, Message m) {
+		switch (m.getType()) {
+		case HELLO:
+			if (m.getElevator() == 0) {
+				floor = from;
+			} else {
+				getElevator(m).connect(from);
+			}
+			connected.countDown();
+			break;
+		case REQUEST:
+			FloorData fd = m.toFloorData();
+			requests.put(m.getId(), fd);
+			ids.put(fd, m.getId());
+			scheduler.addRequests(fd);
+			break;
+		case LOADED:
+			scheduler.notifyRequestsLoaded();
+			break;
+		case STATUS:
+			getElevator(m).updateStatus(m);
+			break;
+		case PICKED_UP:
+			RemoteElevator car = getElevator(m);
+			fd = requests.get(m.getId());
+			if (car.pickedUp(fd)) {
+				scheduler.requestPickedUp(car, fd);
+			}
+			break;
+		case SERVICED:
+			car = getElevator(m);
+			fd = requests.get(m.getId());
+			if (car.droppedOff(fd)) {
+				car.notifyElevatorToScheduler(fd);
+			}
+			break;
+		default:
+			System.err.println("Scheduler: unexpected message " + m);
+		}
+	}
+	
+	/**
+	 * Called by the transport once the floor or an elevator has stopped acknowledging messages.
+	 * The requests of an elevator go to the other elevators, without the floor nothing can arrive so the scheduler stops.
+	 * 
+	 * @param address	a SocketAddress, the process that failed
+	 */
+	private void failed(SocketAddress address) {
+		if (address.equals(floor)) {
+			System.err.println("Scheduler: the floor stopped answering, stopping");
+			scheduler.shutdown();
+			return;
+		}
+		for (Elevator car : scheduler.getElevators()) {
+			if (address.equals(((RemoteElevator) car).getAddress())) {
+				System.err.println("Scheduler: elevator " + car.getId() + " stopped answering");
+				scheduler.reportFailure(car);
+			}
+		}
+	}
+	
+	/**
+	 * Gets the elevator a message is about.
+	 * 
+	 * @param m	a Message, the message
+	 * @return	a RemoteElevator, the elevator
+	 */
+	private RemoteElevator getElevator(Message m) {
+		return (RemoteElevator) scheduler.getElevators().get(m.getElevator() - 1);
+	}
+	
+	/**
+	 * Sends a request that was dropped off to the floor.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	private void arrived(FloorData fd) {
+		Integer id = ids.remove(fd);
+		requests.remove(id);
+		transport.send(floor, Message.of(MessageType.ARRIVAL, 0, id, fd));
+		scheduler.arrivalReceived(fd);
+	}
+	
+	/**
+	 * Used to run the scheduler once the floor and the elevators have said HELLO.
+	 * Returns once all the requests have been serviced and the floor and the elevators were told that the simulation has ended.
+	 */
+	@Override
+	public void run() {
+		try {
+			connected.await();
+		} catch (InterruptedException e) {
+			return;
+		}
+		// stops the elevators once all the requests are serviced
+		scheduler.run();
+		transport.send(floor, Message.of(MessageType.END, 0));
+	}
+	
+	/**
+	 * Runs the scheduler's process.
+	 * 
+	 * @param args	the port and the number of elevators
+	 * @throws IOException	if the port cannot be opened
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+		int elevatorCount = args.length > 1 ? Integer.parseInt(args[1]) : Scheduler.DEFAULT_ELEVATOR_COUNT;
+		
+		try (UdpTransport transport = new UdpTransport(port)) {
+			SchedulerNode node = new SchedulerNode(transport, elevatorCount);
+			node.getScheduler().setFailureTimeout(Long.getLong(Scheduler.FAILURE_TIMEOUT_PROPERTY, 0));
+			System.out.println("Scheduler: waiting for the floor and " + elevatorCount + " elevators on port " + port);
+			node.run();
+			EventLog.getDefault().flush();
+			System.out.println(node.getScheduler().getMetrics().snapshot());
+			transport.flush(1000);
+			System.out.println(transport);
+		}
+	}
+}
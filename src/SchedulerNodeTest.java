@@ -0,0 +1,189 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for SchedulerNode Class, with the floor, scheduler and elevators talking over UDP on localhost.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class SchedulerNodeTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that every request arrives when each subsystem has its own socket, and some datagrams are lost.
+	 * 
+	 * @throws Exception	if a socket cannot be opened or the test is interrupted
+	 */
+	@Test
+	void testDistributedSimulation() throws Exception {
+		int elevatorCount = 3;
+		int requests = 500;
+		try (UdpTransport schedulerTransport = new UdpTransport(0);
+				UdpTransport floorTransport = new UdpTransport(0)) {
+			SchedulerNode scheduler = new SchedulerNode(schedulerTransport, elevatorCount);
+			SocketAddress address = new InetSocketAddress("localhost", schedulerTransport.getPort());
+			schedulerTransport.setLossRate(0.05);
+			
+			UdpTransport[] elevatorTransports = new UdpTransport[elevatorCount];
+			Thread[] elevators = new Thread[elevatorCount];
+			for (int i = 0; i < elevatorCount; i++) {
+				elevatorTransports[i] = new UdpTransport(0);
+				elevators[i] = new Thread(new ElevatorNode(elevatorTransports[i], address, i + 1));
+			}
+			FloorNode floor = new FloorNode(floorTransport, address,
+					new TrafficGenerator(Building.of(20), TrafficPattern.LUNCH, 1, requests, 4));
+			
+			Thread schedulerThread = new Thread(scheduler);
+			Thread floorThread = new Thread(floor);
+			schedulerThread.start();
+			for (Thread t : elevators) {
+				t.start();
+			}
+			floorThread.start();
+			
+			floorThread.join(30000);
+			schedulerThread.join(30000);
+			for (Thread t : elevators) {
+				t.join(30000);
+				assertFalse(t.isAlive());
+			}
+			for (UdpTransport t : elevatorTransports) {
+				t.close();
+			}
+			
+			assertFalse(floorThread.isAlive());
+			assertFalse(schedulerThread.isAlive());
+			assertEquals(requests, floor.getSentRequests());
+			assertEquals(requests, floor.getArrivedRequests());
+			assertEquals(requests, scheduler.getScheduler().getMetrics().snapshot().getServicedRequests());
+		}
+	}
+	
+	/**
+	 * Tests that the scheduler's watchdog hears the heartbeats of the elevators in the other processes while they are idle,
+	 * and that the requests of a stuck one go to the others and arrive once, with no messages about them from the stuck one.
+	 * 
+	 * @throws Exception	if a socket cannot be opened or the test is interrupted
+	 */
+	@Test
+	void testRemoteWatchdog() throws Exception {
+		int elevatorCount = 3;
+		int requests = 12;
+		long timeout = 100;	// milliseconds
+		try (UdpTransport schedulerTransport = new UdpTransport(0);
+				UdpTransport floorTransport = new UdpTransport(0)) {
+			SchedulerNode scheduler = new SchedulerNode(schedulerTransport, elevatorCount);
+			scheduler.getScheduler().setFailureTimeout(timeout);
+			SocketAddress address = new InetSocketAddress("localhost", schedulerTransport.getPort());
+			
+			UdpTransport[] elevatorTransports = new UdpTransport[elevatorCount];
+			Thread[] elevators = new Thread[elevatorCount];
+			for (int i = 0; i < elevatorCount; i++) {
+				elevatorTransports[i] = new UdpTransport(0);
+				ElevatorNode node = new ElevatorNode(elevatorTransports[i], address, i + 1);
+				node.getScheduler().setFailureTimeout(timeout);
+				node.getElevator().setTravelTime(10);
+				if (i == 0) {
+					node.getElevator().injectFault(new Fault(FaultType.STUCK, 1, 0, 4 * timeout, 1));
+				}
+				elevators[i] = new Thread(node);
+			}
+			FloorNode floor = new FloorNode(floorTransport, address,
+					new TrafficGenerator(Building.of(20), TrafficPattern.LUNCH, 1, requests, 4));
+			
+			Thread schedulerThread = new Thread(scheduler);
+			Thread floorThread = new Thread(floor);
+			schedulerThread.start();
+			for (Thread t : elevators) {
+				t.start();
+			}
+			floorThread.start();
+			
+			floorThread.join(30000);
+			schedulerThread.join(30000);
+			for (Thread t : elevators) {
+				t.join(30000);
+			}
+			for (UdpTransport t : elevatorTransports) {
+				t.close();
+			}
+			
+			assertFalse(floorThread.isAlive());
+			assertFalse(schedulerThread.isAlive());
+			assertEquals(requests, floor.getArrivedRequests());
+			MetricsSnapshot m = scheduler.getScheduler().getMetrics().snapshot();
+			// only the stuck elevator failed
+			assertEquals(1, m.getFailures(), m.toString());
+			assertTrue(m.getReassignedRequests() > 0);
+			assertEquals(requests, m.getServicedRequests());
+		}
+	}
+	
+	/**
+	 * Tests that the requests sent to an elevator whose process stopped go to the other elevator
+	 * once the scheduler's transport has given up on it.
+	 * 
+	 * @throws Exception	if a socket cannot be opened or the test is interrupted
+	 */
+	@Test
+	void testElevatorProcessFails() throws Exception {
+		int requests = 200;
+		try (UdpTransport schedulerTransport = new UdpTransport(0);
+				UdpTransport floorTransport = new UdpTransport(0);
+				UdpTransport elevatorTransport = new UdpTransport(0)) {
+			SchedulerNode scheduler = new SchedulerNode(schedulerTransport, 2);
+			SocketAddress address = new InetSocketAddress("localhost", schedulerTransport.getPort());
+			schedulerTransport.setMaxAttempts(3);
+			
+			// elevator 1 says HELLO and stops
+			try (UdpTransport dead = new UdpTransport(0)) {
+				dead.send(address, Message.of(MessageType.HELLO, 1));
+				assertTrue(dead.flush(5000));
+			}
+			Thread elevator = new Thread(new ElevatorNode(elevatorTransport, address, 2));
+			FloorNode floor = new FloorNode(floorTransport, address,
+					new TrafficGenerator(Building.of(20), TrafficPattern.LUNCH, 1, requests, 4));
+			Thread schedulerThread = new Thread(scheduler);
+			Thread floorThread = new Thread(floor);
+			schedulerThread.start();
+			elevator.start();
+			floorThread.start();
+			
+			floorThread.join(30000);
+			schedulerThread.join(30000);
+			elevator.join(30000);
+			assertFalse(floorThread.isAlive());
+			assertFalse(schedulerThread.isAlive());
+			assertEquals(requests, floor.getArrivedRequests());
+			
+			Scheduler s = scheduler.getScheduler();
+			MetricsSnapshot m = s.getMetrics().snapshot();
+			assertTrue(s.getFailedElevators().contains(s.getElevators().get(0)));
+			assertEquals(1, m.getFailures());
+			assertTrue(m.getReassignedRequests() > 0);
+			assertEquals(requests, m.getServicedRequests());
+			assertEquals(1, schedulerTransport.getFailedPeers().size());
+		}
+	}
+}
@@ -1,5 +1,9 @@
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +19,7 @@ import org.junit.jupiter.api.Test;
  */
 class SchedulerTest {
 
+	Building fiveFloors = Building.of(5);
 	Scheduler s = new Scheduler();
 
 	/**
@@ -36,19 +41,19 @@ class SchedulerTest {
 	 */
 	@Test
 	void testInitializationScheduler() {
-		assertNull(s.getFloorData());
+		assertTrue(s.getAllRequests().isEmpty());
 		assertEquals(s.getSchedulerToElevatorCondition(), 0);
 		assertEquals(s.getSchedulerToFloorCondition(), 0);
 	}
 
 	/**
-	 * Tests the setFloorData method.
+	 * Tests the addRequests method.
 	 */
 	@Test
-	void testSetFloorData() {
+	void testAddRequests() {
 		FloorData fd = new FloorData(5);
-		s.setFloorData(fd);
-		assertEquals(s.getFloorData(), fd);
+		s.addRequests(fd);
+		assertSame(s.getAllRequests().peek(), fd);
 	}
 
 	/**
@@ -78,4 +83,247 @@ class SchedulerTest {
 		s.setSchedulerToElevatorConditionToFalse();
 		assertEquals(s.getSchedulerToElevatorCondition(), 0);
 	}
+
+	/**
+	 * Tests that the handoff latency is measured once the floor receives the arrival.
+	 */
+	@Test
+	void testHandoffLatency() {
+		FloorData fd = new FloorData(5);
+		s.notifySchedulerToFloor(fd);
+		assertEquals(s.getSchedulerToFloorCondition(), 1);
+		assertSame(fd, s.awaitSchedulerToFloor());
+		assertEquals(s.getSchedulerToFloorCondition(), 0);
+		assertEquals(s.getHandoffCount(), 1);
+		assertTrue(s.getMaxHandoffLatency() >= s.getAverageHandoffLatency());
+	}
+
+	/**
+	 * Tests that a request is sent to the elevator that can get to it the soonest.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testSelectElevator() throws IOException {
+		Scheduler building = new Scheduler(2);
+		Elevator busy = building.getElevators().get(0);
+		Elevator free = building.getElevators().get(1);
+		busy.addRequest(TestRequests.request(fiveFloors, 2, 5));
+		
+		FloorData fd = TestRequests.request(fiveFloors, 2, 4);
+		assertSame(free, building.selectElevator(fd));
+		assertTrue(building.getCost(busy, fd) > building.getCost(free, fd));
+	}
+	
+	/**
+	 * Tests that the metrics follow a request from arrival to drop-off on the metrics' clock.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testMetrics() throws IOException {
+		long[] clock = {0};
+		s.getMetrics().setClock(() -> clock[0]);
+		Elevator car = s.getElevators().get(0);
+		FloorData fd = TestRequests.request(fiveFloors, 2, 4);
+		
+		s.addRequests(fd);
+		clock[0] = 10;
+		s.removeRequests();
+		s.notifySchedulerToElevator(car, fd);
+		assertEquals(10, s.getMetrics().getAssignTime(fd));
+		clock[0] = 30;
+		s.requestPickedUp(car, fd);
+		assertEquals(30, s.getMetrics().getPickupTime(fd));
+		clock[0] = 100;
+		s.requestServiced(car, fd);
+		
+		// the slot of the times is released, they stay until another request takes it
+		assertEquals(100, s.getMetrics().getDropoffTime(fd));
+		assertEquals(0, s.getMetrics().getArrivalTime(fd));
+		assertEquals(0, s.getMetrics().getTrackedRequests());
+		MetricsSnapshot metrics = s.getMetrics().snapshot();
+		assertEquals(30, metrics.getWaitTime().getMax());
+		assertEquals(70, metrics.getRideTime().getMax());
+		assertEquals(1, metrics.getArrivedRequests());
+		assertEquals(1, metrics.getMaxPendingDepth());
+		assertEquals(0, metrics.getPendingDepth());
+		assertEquals(0, metrics.getInFlightDepth());
+	}
+	
+	/**
+	 * Tests that requests from many floor threads all reach the floor when the pending queue is small.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testConcurrentFloors() throws Exception {
+		Scheduler building = new Scheduler(4, 8);
+		for (Elevator car : building.getElevators()) {
+			car.setTravelTime(0);
+			car.setStopTime(0);
+		}
+		int[] arrived = {0};
+		Thread floor = new Thread(() -> {
+			while (building.awaitSchedulerToFloor() != null) {
+				arrived[0]++;
+			}
+		});
+		Thread scheduler = new Thread(building);
+		floor.start();
+		scheduler.start();
+		
+		ArrayList<Thread> floors = new ArrayList<Thread>();
+		for (int f = 0; f < 4; f++) {
+			floors.add(new Thread(() -> {
+				for (int i = 0; i < 100; i++) {
+					try {
+						building.addRequests(TestRequests.request(fiveFloors, i % 4 + 1, 5 - i % 4));
+					} catch (IOException e) {
+						fail(e);
+					}
+				}
+			}));
+		}
+		for (Thread t : floors) {
+			t.start();
+		}
+		for (Thread t : floors) {
+			t.join();
+		}
+		building.notifyRequestsLoaded();
+		scheduler.join(10000);
+		floor.join(10000);
+		
+		assertFalse(scheduler.isAlive());
+		assertEquals(400, arrived[0]);
+		assertTrue(building.getServiceableRequests().isEmpty());
+		assertTrue(building.getMetrics().snapshot().getMaxPendingDepth() <= 8);
+	}
+	
+	/**
+	 * Tests that the requests at the same floor in the same direction go to the elevator that is on its way there,
+	 * until it picks them up, and that the stop drops off everyone going to the same floor in one call.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testHallCallCoalescing() throws IOException {
+		Scheduler building = new Scheduler(2);
+		Elevator first = building.getElevators().get(0);
+		Elevator second = building.getElevators().get(1);
+		
+		FloorData a = TestRequests.request(fiveFloors, 3, 5);
+		FloorData b = TestRequests.request(fiveFloors, 3, 4);
+		FloorData down = TestRequests.request(fiveFloors, 3, 1);
+		assertSame(first, building.dispatch(a));
+		// the second elevator costs less, but the first one stops at floor 3 going up anyway
+		assertSame(first, building.dispatch(b));
+		assertEquals(2, building.getHallCall(b).getPassengers().size());
+		assertSame(second, building.dispatch(down));
+		
+		building.requestPickedUp(first, a);
+		assertNull(building.getHallCall(a));
+		assertSame(second, building.dispatch(TestRequests.request(fiveFloors, 3, 5)));
+		
+		MetricsSnapshot metrics = building.getMetrics().snapshot();
+		assertEquals(4, metrics.getArrivedRequests());
+		assertEquals(3, metrics.getHallCalls());
+		
+		FloorData c = TestRequests.request(fiveFloors, 1, 4);
+		first.addRequest(c);
+		first.notifyElevatorToScheduler(List.of(b, c));
+		assertEquals(1, first.getLoad());
+		assertSame(b, building.pollSchedulerToFloor());
+		assertSame(c, building.pollSchedulerToFloor());
+	}
+	
+	/**
+	 * Tests that every request goes to the elevator with the lowest cost when coalescing is off.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testNoCoalescing() throws IOException {
+		Scheduler building = new Scheduler(2);
+		building.setCoalescing(false);
+		
+		assertSame(building.getElevators().get(0), building.dispatch(TestRequests.request(fiveFloors, 3, 5)));
+		assertSame(building.getElevators().get(1), building.dispatch(TestRequests.request(fiveFloors, 3, 4)));
+		assertEquals(2, building.getMetrics().snapshot().getHallCalls());
+	}
+	
+	/**
+	 * Tests that an elevator that has kept a request waiting longer than the wait target gets no new requests
+	 * while another elevator can take them, even if it costs more.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testWaitTarget() throws IOException {
+		long[] clock = {0};
+		Scheduler building = new Scheduler(2);
+		building.getMetrics().setClock(() -> clock[0]);
+		building.setWaitTarget(30000);
+		Elevator late = building.getElevators().get(0);
+		Elevator far = building.getElevators().get(1);
+		far.setStatus(10, null, 10);
+		
+		FloorData a = TestRequests.request(fiveFloors, 3, 5);
+		assertSame(late, building.dispatch(a));
+		late.plan();
+		assertEquals(building.getMetrics().getArrivalTime(a), late.getOldestArrival());
+		assertEquals(Long.MAX_VALUE, far.getOldestArrival());
+		
+		FloorData b = TestRequests.request(fiveFloors, 3, 4);
+		clock[0] = 29000 * 1000000L;
+		assertSame(late, building.selectElevator(b));
+		clock[0] = 30000 * 1000000L;
+		assertTrue(building.getCost(late, b) < building.getCost(far, b));
+		assertSame(far, building.selectElevator(b));
+		
+		building.setWaitTarget(0);
+		assertSame(late, building.selectElevator(b));
+		assertThrows(IllegalArgumentException.class, () -> building.setWaitTarget(-1));
+	}
+	
+	/**
+	 * Tests that shutdown wakes up every floor waiting for room in the queue and stops the scheduler and its elevators,
+	 * while the elevators still have requests to service.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testShutdown() throws Exception {
+		Scheduler building = new Scheduler(1, 2);
+		building.getElevators().get(0).setTravelTime(10000);
+		Thread scheduler = new Thread(building);
+		scheduler.start();
+		
+		ArrayList<Thread> floors = new ArrayList<Thread>();
+		for (int f = 0; f < 3; f++) {
+			floors.add(new Thread(() -> {
+				for (int i = 0; i < 10; i++) {
+					try {
+						building.addRequests(TestRequests.request(fiveFloors, 1, 5));
+					} catch (IOException e) {
+						fail(e);
+					}
+				}
+			}));
+		}
+		for (Thread t : floors) {
+			t.start();
+		}
+		building.shutdown();
+		for (Thread t : floors) {
+			t.join(10000);
+			assertFalse(t.isAlive());
+		}
+		scheduler.join(10000);
+		
+		assertFalse(scheduler.isAlive());
+		assertTrue(building.isShutdown());
+		assertNull(building.awaitSchedulerToFloor());
+	}
 }
@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Simulation Class that runs a floor, a scheduler and its elevators on their own threads, like Main,
+ * without ending the JVM once the requests have been serviced. start begins the run, awaitCompletion waits for it
+ * and gets its SimulationResult, shutdown stops it early. A Simulation runs once, the next run gets a new Scheduler
+ * and a new Simulation, so tests and benchmarks run many of them back to back in the same warmed-up JVM.
+ * Faults can be injected into the elevators at their times during the run, from -Dfaults or setFaults.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class Simulation {
+	
+	public static final String FAULTS = System.getProperty("faults");	// the faults the way Fault.load reads them, null for none
+	
+	private final Scheduler scheduler;
+	private final Floor floor;
+	private List<Fault> faults;
+	private Thread floorThread;
+	private Thread schedulerThread;
+	private Thread faultThread;	// null if there are no faults
+	private long startTime;	// nanoseconds
+	private SimulationResult result;	// null until the simulation has stopped
+	
+	/**
+	 * Constructor for Simulation in the building of 10 floors.
+	 * 
+	 * @param scheduler		a Scheduler, the scheduler and its elevators, it must not have been run
+	 * @param floorRequests	a String, the path of the CSV file or binary trace of requests
+	 */
+	public Simulation(Scheduler scheduler, String floorRequests) {
+		this(scheduler, floorRequests, FloorDataReader.DEFAULT_BUILDING);
+	}
+	
+	/**
+	 * Constructor for Simulation.
+	 * 
+	 * @param scheduler		a Scheduler, the scheduler and its elevators, it must not have been run
+	 * @param floorRequests	a String, the path of the CSV file or binary trace of requests
+	 * @param building		a Building, the building the requests of a CSV file are made in, a trace has its own
+	 */
+	public Simulation(Scheduler scheduler, String floorRequests, Building building) {
+		this.scheduler = scheduler;
+		this.floor = new Floor(scheduler, floorRequests, building);
+		try {
+			this.faults = FAULTS == null ? new ArrayList<Fault>() : Fault.load(FAULTS);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The faults cannot be read: " + FAULTS, e);
+		}
+	}
+	
+	/**
+	 * Sets the faults injected into the elevators during the run, instead of the ones of -Dfaults.
+	 * Must be called before the simulation starts. A fault without a duration stops its elevator for good,
+	 * the passengers in it never arrive unless Elevator.clearFault is called.
+	 * 
+	 * @param faults	a List, the faults, their times are counted from the start of the simulation
+	 */
+	public synchronized void setFaults(List<Fault> faults) {
+		this.faults = new ArrayList<Fault>(faults);
+	}
+	
+	/**
+	 * Starts the floor and scheduler threads, the scheduler starts the elevator threads.
+	 */
+	public synchronized void start() {
+		if (floorThread != null) {
+			throw new IllegalStateException("The simulation was already started");
+		}
+		floorThread = new Thread(floor, "Floor");
+		schedulerThread = new Thread(scheduler, "Scheduler");
+		if (!faults.isEmpty()) {
+			faultThread = new Thread(new FaultInjector(scheduler, faults), "Faults");
+			faultThread.setDaemon(true);
+		}
+		startTime = System.nanoTime();
+		floorThread.start();
+		schedulerThread.start();
+		if (faultThread != null) {
+			faultThread.start();
+		}
+	}
+	
+	/**
+	 * Blocks until every request has arrived, or the simulation was shut down and its threads have stopped.
+	 * 
+	 * @return	a SimulationResult, the outcome of the simulation
+	 * @throws InterruptedException	if the thread is interrupted while it waits, the simulation keeps running
+	 */
+	public SimulationResult awaitCompletion() throws InterruptedException {
+		checkStarted();
+		schedulerThread.join();
+		floorThread.join();
+		return getResult();
+	}
+	
+	/**
+	 * Blocks until every request has arrived, or the simulation was shut down and its threads have stopped,
+	 * for at most the timeout.
+	 * 
+	 * @param timeout	a long, the longest time to wait
+	 * @param unit		a TimeUnit, the unit of the timeout
+	 * @return	a SimulationResult, the outcome of the simulation
+	 * @throws InterruptedException	if the thread is interrupted while it waits, the simulation keeps running
+	 * @throws TimeoutException		if the simulation is still running after the timeout
+	 */
+	public SimulationResult awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+		checkStarted();
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (Thread t : new Thread[] {schedulerThread, floorThread}) {
+			long left = deadline - System.nanoTime();
+			if (left > 0) {
+				TimeUnit.NANOSECONDS.timedJoin(t, left);
+			}
+			if (t.isAlive()) {
+				throw new TimeoutException("The simulation is still running after " + timeout + " " + unit);
+			}
+		}
+		return getResult();
+	}
+	
+	/**
+	 * Stops the simulation before every request has arrived, awaitCompletion returns once its threads have stopped.
+	 * The requests that have not arrived are dropped. Does nothing if the simulation has already stopped.
+	 */
+	public void shutdown() {
+		scheduler.shutdown();
+	}
+	
+	/**
+	 * Checks whether the simulation has stopped.
+	 * 
+	 * @return	a boolean, true if it was started and its threads have stopped, false otherwise
+	 */
+	public synchronized boolean isDone() {
+		return floorThread != null && !floorThread.isAlive() && !schedulerThread.isAlive();
+	}
+	
+	/**
+	 * Get the scheduler of the simulation.
+	 * 
+	 * @return	a Scheduler, the scheduler
+	 */
+	public Scheduler getScheduler() {
+		return scheduler;
+	}
+	
+	/**
+	 * Get the floor of the simulation, e.g., to set its replay speed before the simulation starts.
+	 * 
+	 * @return	a Floor, the floor
+	 */
+	public Floor getFloor() {
+		return floor;
+	}
+	
+	/**
+	 * Throws if the simulation has not been started, since there would be nothing to wait for.
+	 */
+	private synchronized void checkStarted() {
+		if (floorThread == null) {
+			throw new IllegalStateException("The simulation has not been started");
+		}
+	}
+	
+	/**
+	 * Gets the outcome of the simulation once its threads have stopped, the same Object every time.
+	 * 
+	 * @return	a SimulationResult, the outcome
+	 */
+	private synchronized SimulationResult getResult() {
+		if (result == null) {
+			if (faultThread != null) {
+				// the faults that were not due yet are not injected
+				faultThread.interrupt();
+			}
+			long floorsTravelled = 0;
+			long stops = 0;
+			for (Elevator car : scheduler.getElevators()) {
+				floorsTravelled += car.getFloorsTravelled();
+				stops += car.getStops();
+			}
+			result = new SimulationResult(!scheduler.isShutdown() && floor.getArrivedRows() == floor.getReadRows(), floor.getReadRows(),
+					floor.getRejectedRows(), floor.getArrivedRows(), scheduler.getMetrics().snapshot(), floorsTravelled, stops,
+					System.nanoTime() - startTime);
+		}
+		return result;
+	}
+	
+	/**
+	 * Runs the same requests through a new scheduler again and again in this JVM, and prints how long the first run
+	 * took and how long the runs took on average once the JVM had warmed up.
+	 * 
+	 * @param args	the file of requests, the number of elevators (optional, 1 by default) and the number of runs (optional, 100 by default)
+	 * @throws InterruptedException	if the runs are interrupted
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		if (args.length < 1) {
+			System.err.println("Usage: Simulation <requests file> [elevators] [runs]");
+			return;
+		}
+		int elevatorCount = args.length > 1 ? Integer.parseInt(args[1]) : Scheduler.DEFAULT_ELEVATOR_COUNT;
+		int runs = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+		
+		long first = 0;
+		long rest = 0;
+		SimulationResult result = null;
+		for (int i = 0; i < runs; i++) {
+			Scheduler s = new Scheduler(elevatorCount);
+			s.setFailureTimeout(Long.getLong(Scheduler.FAILURE_TIMEOUT_PROPERTY, 0));
+			Simulation simulation = new Simulation(s, args[0]);
+			simulation.start();
+			result = simulation.awaitCompletion();
+			if (i == 0) {
+				first = result.getElapsedTime();
+			} else {
+				rest += result.getElapsedTime();
+			}
+		}
+		System.out.println(result);
+		System.out.println("First run: " + first / 1000 + " us, average of the other " + (runs - 1) + " runs: "
+				+ (runs > 1 ? rest / (runs - 1) / 1000 : 0) + " us");
+	}
+}
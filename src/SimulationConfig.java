@@ -0,0 +1,149 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SimulationConfig Class for one configuration of the building in a ParameterSweep:
+ * the number of elevators, the way they sweep through the building, how fast they travel and stop,
+ * and how long a request should wait at most.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SimulationConfig {
+	private final int elevators;
+	private final SweepMode mode;
+	private final long travelTime;	// milliseconds per floor
+	private final long stopTime;	// milliseconds per stop
+	private final long waitTarget;	// milliseconds, 0 if the requests are picked up in sweep order
+	
+	/**
+	 * Constructor for SimulationConfig.
+	 * 
+	 * @param elevators		an int, the number of elevators
+	 * @param mode			a SweepMode, the way the elevators sweep through the building
+	 * @param travelTime	a long, the time it takes an elevator to travel one floor in milliseconds
+	 * @param stopTime		a long, the time a stop takes (doors opening, passengers, doors closing) in milliseconds
+	 */
+	public SimulationConfig(int elevators, SweepMode mode, long travelTime, long stopTime) {
+		this(elevators, mode, travelTime, stopTime, 0);
+	}
+	
+	/**
+	 * Constructor for SimulationConfig with a wait target.
+	 * 
+	 * @param elevators		an int, the number of elevators
+	 * @param mode			a SweepMode, the way the elevators sweep through the building
+	 * @param travelTime	a long, the time it takes an elevator to travel one floor in milliseconds
+	 * @param stopTime		a long, the time a stop takes (doors opening, passengers, doors closing) in milliseconds
+	 * @param waitTarget	a long, how long a request should wait at most in milliseconds, 0 to pick up the requests in sweep order
+	 */
+	public SimulationConfig(int elevators, SweepMode mode, long travelTime, long stopTime, long waitTarget) {
+		if (elevators < 1) {
+			throw new IllegalArgumentException("A building needs at least one elevator: " + elevators);
+		}
+		this.elevators = elevators;
+		this.mode = mode;
+		this.travelTime = travelTime;
+		this.stopTime = stopTime;
+		this.waitTarget = waitTarget;
+	}
+	
+	/**
+	 * Creates every combination of the values, the elevator counts change the slowest.
+	 * 
+	 * @param elevators		an int[], the numbers of elevators
+	 * @param modes			a SweepMode[], the sweep modes
+	 * @param travelTimes	a long[], the travel times per floor in milliseconds
+	 * @param stopTimes		a long[], the stop times in milliseconds
+	 * @return	a List, the configurations
+	 */
+	public static List<SimulationConfig> grid(int[] elevators, SweepMode[] modes, long[] travelTimes, long[] stopTimes) {
+		return grid(elevators, modes, travelTimes, stopTimes, new long[] {0});
+	}
+	
+	/**
+	 * Creates every combination of the values, the elevator counts change the slowest and the wait targets the fastest.
+	 * 
+	 * @param elevators		an int[], the numbers of elevators
+	 * @param modes			a SweepMode[], the sweep modes
+	 * @param travelTimes	a long[], the travel times per floor in milliseconds
+	 * @param stopTimes		a long[], the stop times in milliseconds
+	 * @param waitTargets	a long[], the wait targets in milliseconds
+	 * @return	a List, the configurations
+	 */
+	public static List<SimulationConfig> grid(int[] elevators, SweepMode[] modes, long[] travelTimes, long[] stopTimes, long[] waitTargets) {
+		List<SimulationConfig> configs = new ArrayList<SimulationConfig>();
+		for (int e : elevators) {
+			for (SweepMode m : modes) {
+				for (long t : travelTimes) {
+					for (long s : stopTimes) {
+						for (long w : waitTargets) {
+							configs.add(new SimulationConfig(e, m, t, s, w));
+						}
+					}
+				}
+			}
+		}
+		return configs;
+	}
+	
+	/**
+	 * Get the number of elevators.
+	 * 
+	 * @return	an int, the number of elevators
+	 */
+	public int getElevators() {
+		return elevators;
+	}
+	
+	/**
+	 * Get the way the elevators sweep through the building.
+	 * 
+	 * @return	a SweepMode, the sweep mode
+	 */
+	public SweepMode getMode() {
+		return mode;
+	}
+	
+	/**
+	 * Get the time it takes an elevator to travel one floor.
+	 * 
+	 * @return	a long, the travel time in milliseconds
+	 */
+	public long getTravelTime() {
+		return travelTime;
+	}
+	
+	/**
+	 * Get the time a stop takes.
+	 * 
+	 * @return	a long, the stop time in milliseconds
+	 */
+	public long getStopTime() {
+		return stopTime;
+	}
+	
+	/**
+	 * Get how long a request should wait at most.
+	 * 
+	 * @return	a long, the wait target in milliseconds, 0 if the requests are picked up in sweep order
+	 */
+	public long getWaitTarget() {
+		return waitTarget;
+	}
+	
+	/**
+	 * Gets the configuration as the first columns of a row of the results table.
+	 * 
+	 * @return	a String, the elevators, sweep mode, travel time, stop time and wait target, separated by tabs
+	 */
+	@Override
+	public String toString() {
+		return elevators + "\t" + mode + "\t" + travelTime + "\t" + stopTime + "\t" + waitTarget;
+	}
+}
@@ -0,0 +1,132 @@
+/**
+ * SimulationResult Class for the outcome of one threaded Simulation: the requests that were read and arrived,
+ * the metrics of the scheduler and the travel of the elevators. The times are wall-clock times.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SimulationResult {
+	
+	private final boolean completed;	// false if the simulation was shut down before every request arrived
+	private final int readRows;
+	private final int rejectedRows;
+	private final int arrivedRows;
+	private final MetricsSnapshot metrics;
+	private final long floorsTravelled;
+	private final long stops;
+	private final long elapsedTime;	// nanoseconds
+	
+	/**
+	 * Constructor for SimulationResult.
+	 * 
+	 * @param completed			a boolean, false if the simulation was shut down before every request arrived
+	 * @param readRows			an int, the number of requests the floor read
+	 * @param rejectedRows		an int, the number of lines the floor could not parse
+	 * @param arrivedRows		an int, the number of requests that arrived at their destination floor
+	 * @param metrics			a MetricsSnapshot, the metrics of the scheduler once it stopped
+	 * @param floorsTravelled	a long, the floors travelled by all the elevators
+	 * @param stops				a long, the stops of all the elevators
+	 * @param elapsedTime		a long, the time from the start of the simulation until it stopped in nanoseconds
+	 */
+	public SimulationResult(boolean completed, int readRows, int rejectedRows, int arrivedRows, MetricsSnapshot metrics,
+			long floorsTravelled, long stops, long elapsedTime) {
+		this.completed = completed;
+		this.readRows = readRows;
+		this.rejectedRows = rejectedRows;
+		this.arrivedRows = arrivedRows;
+		this.metrics = metrics;
+		this.floorsTravelled = floorsTravelled;
+		this.stops = stops;
+		this.elapsedTime = elapsedTime;
+	}
+	
+	/**
+	 * Checks whether every request the floor read arrived at its destination floor.
+	 * 
+	 * @return	a boolean, false if the simulation was shut down first, true otherwise
+	 */
+	public boolean isCompleted() {
+		return completed;
+	}
+	
+	/**
+	 * Get the number of requests the floor read.
+	 * 
+	 * @return	an int, the number of requests sent to the scheduler
+	 */
+	public int getReadRows() {
+		return readRows;
+	}
+	
+	/**
+	 * Get the number of lines the floor could not parse.
+	 * 
+	 * @return	an int, the number of rejected lines
+	 */
+	public int getRejectedRows() {
+		return rejectedRows;
+	}
+	
+	/**
+	 * Get the number of requests that arrived at their destination floor.
+	 * 
+	 * @return	an int, the number of arrivals
+	 */
+	public int getArrivedRows() {
+		return arrivedRows;
+	}
+	
+	/**
+	 * Get the metrics of the scheduler once it stopped.
+	 * 
+	 * @return	a MetricsSnapshot, the wait, ride and handoff times and the depths of the queues
+	 */
+	public MetricsSnapshot getMetrics() {
+		return metrics;
+	}
+	
+	/**
+	 * Get the floors travelled by all the elevators.
+	 * 
+	 * @return	a long, the total travel
+	 */
+	public long getFloorsTravelled() {
+		return floorsTravelled;
+	}
+	
+	/**
+	 * Get the stops of all the elevators.
+	 * 
+	 * @return	a long, the number of stops
+	 */
+	public long getStops() {
+		return stops;
+	}
+	
+	/**
+	 * Get the time the simulation ran for.
+	 * 
+	 * @return	a long, the time from its start until it stopped in nanoseconds
+	 */
+	public long getElapsedTime() {
+		return elapsedTime;
+	}
+	
+	/**
+	 * Gets the summary of the simulation, followed by the metrics.
+	 * 
+	 * @return	a String, the summary
+	 */
+	@Override
+	public String toString() {
+		return (completed ? "All requests were processed. The simulation has ended."
+						: "The simulation was shut down, " + arrivedRows + " of " + readRows + " requests arrived.") + "\n" +
+				"Floors travelled: " + floorsTravelled + ", stops: " + stops + ", in " + elapsedTime / 1000000 + " ms\n" +
+				metrics;
+	}
+}
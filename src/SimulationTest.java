@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for Simulation Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class SimulationTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that simulations run back to back in the same JVM, and each one gets every request it read.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testBackToBack() throws Exception {
+		for (int i = 0; i < 50; i++) {
+			Simulation simulation = new Simulation(new Scheduler(2), "./floorRequests.csv");
+			assertFalse(simulation.isDone());
+			simulation.start();
+			SimulationResult result = simulation.awaitCompletion(10, TimeUnit.SECONDS);
+			
+			assertTrue(simulation.isDone());
+			assertTrue(result.isCompleted());
+			assertEquals(6, result.getReadRows());
+			assertEquals(6, result.getArrivedRows());
+			assertEquals(6, result.getMetrics().getServicedRequests());
+			assertTrue(result.getFloorsTravelled() > 0);
+			assertSame(result, simulation.awaitCompletion());
+		}
+	}
+	
+	/**
+	 * Tests that shutdown stops a simulation whose elevators still have requests, without waiting for them.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testShutdown() throws Exception {
+		Scheduler s = new Scheduler(1);
+		s.getElevators().get(0).setTravelTime(10000);
+		Simulation simulation = new Simulation(s, "./floorRequests.csv");
+		simulation.start();
+		simulation.shutdown();
+		SimulationResult result = simulation.awaitCompletion(10, TimeUnit.SECONDS);
+		
+		assertFalse(result.isCompleted());
+		assertTrue(result.getArrivedRows() < 6);
+		assertTrue(result.toString().startsWith("The simulation was shut down"));
+		// stopping again does nothing
+		simulation.shutdown();
+	}
+	
+	/**
+	 * Tests that a simulation cannot be awaited before it is started, or started twice.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testLifecycle() throws Exception {
+		Simulation simulation = new Simulation(new Scheduler(1), "./floorRequests.csv");
+		assertThrows(IllegalStateException.class, () -> simulation.awaitCompletion());
+		simulation.start();
+		assertThrows(IllegalStateException.class, () -> simulation.start());
+		assertTrue(simulation.awaitCompletion().isCompleted());
+	}
+}
@@ -0,0 +1,347 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+
+/**
+ * SweepEngine Class that decides where an elevator stops next.
+ * The elevator sweeps up and down the building, picking up every request going in its direction
+ * and dropping off every passenger at their destination floor along the way.
+ * The requests waiting to be picked up are indexed by initial floor and the passengers in the elevator
+ * by destination floor, so the next stop is found without going through every request.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SweepEngine {
+	
+	private SweepMode mode;
+	private RequestStore waiting;	// requests waiting to be picked up, by initial floor
+	private RequestStore riding;	// requests in the elevator, by destination floor
+	private Direction direction;	// the direction of the sweep, null while there are no requests
+	private int jumpFloor;	// the floor a C-LOOK sweep starts from, -1 unless the elevator is going there
+	private int topFloor;	// the top floor of the building, used by SCAN
+	
+	/**
+	 * Constructor for SweepEngine.
+	 * 
+	 * @param mode	a SweepMode, the way the elevator sweeps through the building
+	 */
+	public SweepEngine(SweepMode mode) {
+		this.mode = mode;
+		this.waiting = new RequestStore();
+		this.riding = new RequestStore(true);
+		this.direction = null;
+		this.jumpFloor = -1;
+		this.topFloor = 0;
+	}
+	
+	/**
+	 * Adds a request for the elevator to pick up.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 */
+	public void add(FloorData fd) {
+		waiting.add(fd);
+		topFloor = Math.max(topFloor, fd.getFloors());
+	}
+	
+	/**
+	 * Removes a request, whether it is waiting to be picked up or in the elevator.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @return	a boolean, true if the request was found, false otherwise
+	 */
+	public boolean remove(FloorData fd) {
+		return waiting.remove(fd) || riding.remove(fd);
+	}
+	
+	/**
+	 * Checks whether the elevator has no requests.
+	 * 
+	 * @return	a boolean, true if no requests are waiting or in the elevator, false otherwise
+	 */
+	public boolean isEmpty() {
+		return waiting.isEmpty() && riding.isEmpty();
+	}
+	
+	/**
+	 * Gets the number of requests waiting to be picked up or in the elevator.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	public int size() {
+		return waiting.size() + riding.size();
+	}
+	
+	/**
+	 * Gets the direction of the sweep.
+	 * 
+	 * @return	a Direction, the direction of the sweep, or null if there are no requests
+	 */
+	public Direction getDirection() {
+		return direction;
+	}
+	
+	/**
+	 * Gets the requests waiting to be picked up.
+	 * 
+	 * @return	a RequestStore, the waiting requests by initial floor
+	 */
+	public RequestStore getWaiting() {
+		return waiting;
+	}
+	
+	/**
+	 * Gets the requests in the elevator.
+	 * 
+	 * @return	a RequestStore, the requests being taken to their destination floor
+	 */
+	public RequestStore getRiding() {
+		return riding;
+	}
+	
+	/**
+	 * Finds the floor the elevator stops at next.
+	 * 
+	 * @param floor	an int, the floor the elevator is at
+	 * @return	an int, the floor of the next stop, or -1 if there are no requests
+	 */
+	public int nextStop(int floor) {
+		if (isEmpty()) {
+			direction = null;
+			jumpFloor = -1;
+			return -1;
+		}
+		if (jumpFloor >= 0) {
+			return jumpFloor;
+		}
+		if (direction == null) {
+			// head for the oldest request
+			FloorData oldest = riding.isEmpty() ? waiting.peek() : riding.peek();
+			int target = riding.isEmpty() ? oldest.getInitialFloor() : oldest.getDestinationFloor();
+			direction = target == floor ? Direction.of(oldest) : Direction.of(floor, target);
+		}
+		
+		// there is always a stop in one of the two directions
+		for (int i = 0; i < 2; i++) {
+			int stop = getStopAhead(floor);
+			if (stop >= 0) {
+				return stop;
+			}
+			
+			int end = direction == Direction.UP ? topFloor : 0;
+			if (mode == SweepMode.SCAN && floor != end) {
+				return end;
+			}
+			
+			int restart = getRestartFloor();
+			if (restart >= 0) {
+				jumpFloor = restart;
+				return jumpFloor;
+			}
+			
+			direction = direction.reverse();
+		}
+		
+		// not reachable with consistent indexes, but never leave a request behind
+		FloorData oldest = riding.isEmpty() ? waiting.peek() : riding.peek();
+		return riding.isEmpty() ? oldest.getInitialFloor() : oldest.getDestinationFloor();
+	}
+	
+	/**
+	 * Finds the nearest stop in the direction of the sweep: a passenger's destination floor
+	 * or a request going in the same direction. If there is none, the farthest request going
+	 * the other way, where the elevator turns around.
+	 * 
+	 * @param floor	an int, the floor the elevator is at
+	 * @return	an int, the floor of the stop, or -1 if there is none
+	 */
+	private int getStopAhead(int floor) {
+		int dropOff = riding.nextFloor(direction, floor);
+		int pickUp = waiting.nextFloor(direction, floor);
+		if (dropOff >= 0 && pickUp >= 0) {
+			return Math.abs(dropOff - floor) <= Math.abs(pickUp - floor) ? dropOff : pickUp;
+		}
+		if (dropOff >= 0 || pickUp >= 0) {
+			return Math.max(dropOff, pickUp);
+		}
+		
+		if (mode == SweepMode.SCAN || getRestartFloor() >= 0) {
+			// SCAN picks up the requests going the other way on the way back,
+			// C-LOOK only once there are no more requests going in the direction of the sweep
+			return -1;
+		}
+		int turn = direction == Direction.UP ? waiting.highestFloor(Direction.DOWN) : waiting.lowestFloor(Direction.UP);
+		if (turn >= 0 && (direction == Direction.UP ? turn >= floor : turn <= floor)) {
+			return turn;
+		}
+		return -1;
+	}
+	
+	/**
+	 * Finds the floor a C-LOOK sweep starts again from once the elevator is empty:
+	 * the lowest request going up, or the highest request going down.
+	 * 
+	 * @return	an int, the floor the next sweep starts from, or -1 if the elevator turns around instead
+	 */
+	private int getRestartFloor() {
+		if (mode != SweepMode.C_LOOK || !riding.isEmpty()) {
+			return -1;
+		}
+		return direction == Direction.UP ? waiting.lowestFloor(Direction.UP) : waiting.highestFloor(Direction.DOWN);
+	}
+	
+	/**
+	 * Checks whether the sweep goes past the given floor, once the elevator has stopped there.
+	 * 
+	 * @param floor	an int, the floor the elevator stopped at
+	 * @return	a boolean, true if there is a stop past the floor in the direction of the sweep, false otherwise
+	 */
+	private boolean hasStopsBeyond(int floor) {
+		if (mode == SweepMode.SCAN) {
+			return floor != (direction == Direction.UP ? topFloor : 0);
+		}
+		if (riding.nextFloor(direction, floor) >= 0 || waiting.nextFloor(direction, floor) >= 0) {
+			return true;
+		}
+		if (getRestartFloor() >= 0) {
+			// C-LOOK starts the next sweep in the same direction
+			return true;
+		}
+		if (direction == Direction.UP) {
+			return waiting.highestFloor(Direction.DOWN) > floor;
+		}
+		int turn = waiting.lowestFloor(Direction.UP);
+		return turn >= 0 && turn < floor;
+	}
+	
+	/**
+	 * Finds the farthest floor the elevator goes to before it turns around.
+	 * 
+	 * @param floor	an int, the floor the elevator is at
+	 * @return	an int, the floor the elevator turns around at
+	 */
+	public int getTurnFloor(int floor) {
+		if (direction == null) {
+			return floor;
+		}
+		if (mode == SweepMode.SCAN) {
+			return direction == Direction.UP ? topFloor : 0;
+		}
+		if (direction == Direction.UP) {
+			return Math.max(floor, Math.max(riding.highestFloor(Direction.UP),
+					Math.max(waiting.highestFloor(Direction.UP), waiting.highestFloor(Direction.DOWN))));
+		}
+		int lowest = floor;
+		for (int f : new int[] {riding.lowestFloor(Direction.DOWN), waiting.lowestFloor(Direction.DOWN), waiting.lowestFloor(Direction.UP)}) {
+			if (f >= 0) {
+				lowest = Math.min(lowest, f);
+			}
+		}
+		return lowest;
+	}
+	
+	/**
+	 * Checks whether a request can be picked up on the current sweep without turning around.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @param floor	an int, the floor the elevator is at
+	 * @return	a boolean, true if the request is on the way, false otherwise
+	 */
+	public boolean isOnTheWay(FloorData fd, int floor) {
+		if (direction == null) {
+			return true;
+		}
+		if (jumpFloor >= 0 || Direction.of(fd) != direction) {
+			return false;
+		}
+		return direction == Direction.UP ? fd.getInitialFloor() >= floor : fd.getInitialFloor() <= floor;
+	}
+	
+	/**
+	 * Writes the sweep and its requests to a checkpoint.
+	 * 
+	 * @param out		a DataOutput, where the sweep is written
+	 * @param metrics	a SchedulerMetrics, the metrics that keep the times of the requests
+	 * @throws IOException	if the sweep cannot be written
+	 */
+	public void writeState(DataOutput out, SchedulerMetrics metrics) throws IOException {
+		out.writeByte(mode.ordinal());
+		out.writeByte(direction == null ? -1 : direction.ordinal());
+		out.writeInt(jumpFloor);
+		out.writeInt(topFloor);
+		for (RequestStore store : new RequestStore[] {waiting, riding}) {
+			ArrayList<FloorData> requests = store.toList();
+			out.writeInt(requests.size());
+			for (FloorData fd : requests) {
+				metrics.writeRequest(fd, out);
+			}
+		}
+	}
+	
+	/**
+	 * Reads a sweep written by writeState into this sweep, which has no requests yet.
+	 * 
+	 * @param in		a DataInput, where the sweep is read from
+	 * @param building	a Building, the building of the checkpoint
+	 * @param metrics	a SchedulerMetrics, the metrics that keep the times of the requests
+	 * @throws IOException	if the sweep cannot be read
+	 */
+	public void readState(DataInput in, Building building, SchedulerMetrics metrics) throws IOException {
+		mode = SweepMode.values()[in.readByte()];
+		byte d = in.readByte();
+		direction = d < 0 ? null : Direction.values()[d];
+		jumpFloor = in.readInt();
+		topFloor = in.readInt();
+		for (RequestStore store : new RequestStore[] {waiting, riding}) {
+			int size = in.readInt();
+			for (int i = 0; i < size; i++) {
+				store.add(metrics.readRequest(in, building));
+			}
+		}
+	}
+	
+	/**
+	 * Drops off every passenger whose destination is the given floor.
+	 * 
+	 * @param floor	an int, the floor the elevator stopped at
+	 * @return	an ArrayList, the requests that were dropped off
+	 */
+	public ArrayList<FloorData> dropOff(int floor) {
+		ArrayList<FloorData> dropped = riding.removeAll(floor, Direction.UP);
+		dropped.addAll(riding.removeAll(floor, Direction.DOWN));
+		return dropped;
+	}
+	
+	/**
+	 * Picks up every request at the given floor going in the direction of the sweep.
+	 * If the sweep ends at this floor, the elevator turns around and picks up the requests going the other way.
+	 * 
+	 * @param floor	an int, the floor the elevator stopped at
+	 * @return	an ArrayList, the requests that were picked up
+	 */
+	public ArrayList<FloorData> pickUp(int floor) {
+		if (floor == jumpFloor) {
+			jumpFloor = -1;
+		}
+		if (direction == null) {
+			direction = waiting.count(floor, Direction.UP) > 0 ? Direction.UP : Direction.DOWN;
+		}
+		
+		ArrayList<FloorData> picked = waiting.removeAll(floor, direction);
+		if (picked.isEmpty() && !hasStopsBeyond(floor)) {
+			direction = direction.reverse();
+			picked = waiting.removeAll(floor, direction);
+		}
+		for (FloorData fd : picked) {
+			riding.add(fd);
+		}
+		return picked;
+	}
+}
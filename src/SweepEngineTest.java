@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for SweepEngine Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class SweepEngineTest {
+
+	Building building = Building.of(10);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that LOOK picks up every request going up on the way, then turns around at the last stop.
+	 * @throws IOException
+	 */
+	@Test
+	void testLook() throws IOException {
+		SweepEngine sweep = new SweepEngine(SweepMode.LOOK);
+		sweep.add(TestRequests.request(building, 2, 4));
+		sweep.add(TestRequests.request(building, 3, 5));
+		sweep.add(TestRequests.request(building, 6, 1));
+		sweep.add(TestRequests.request(building, 1, 3));
+		
+		// the elevator is at floor 2, where the oldest request is, going up
+		// at floor 1 it drops off the request from floor 6 and picks up the one going to floor 3
+		assertEquals(List.of(2, 3, 4, 5, 6, 1, 3), visit(sweep, 2));
+	}
+	
+	/**
+	 * Tests that SCAN goes to the top floor before turning around.
+	 * @throws IOException
+	 */
+	@Test
+	void testScan() throws IOException {
+		SweepEngine sweep = new SweepEngine(SweepMode.SCAN);
+		sweep.add(TestRequests.request(building, 2, 4));
+		sweep.add(TestRequests.request(building, 3, 1));
+		
+		assertEquals(List.of(2, 4, 10, 3, 1), visit(sweep, 2));
+	}
+	
+	/**
+	 * Tests that C-LOOK goes back to the lowest request going up before serving the request going down.
+	 * @throws IOException
+	 */
+	@Test
+	void testCLook() throws IOException {
+		SweepEngine sweep = new SweepEngine(SweepMode.C_LOOK);
+		sweep.add(TestRequests.request(building, 5, 7));
+		sweep.add(TestRequests.request(building, 2, 3));
+		sweep.add(TestRequests.request(building, 4, 1));
+		
+		assertEquals(List.of(5, 7, 2, 3, 4, 1), visit(sweep, 5));
+	}
+	
+	/**
+	 * Tests that a request on the way is picked up in the same sweep.
+	 * @throws IOException
+	 */
+	@Test
+	void testPickUpOnTheWay() throws IOException {
+		SweepEngine sweep = new SweepEngine(SweepMode.LOOK);
+		sweep.add(TestRequests.request(building, 1, 8));
+		assertEquals(1, sweep.nextStop(1));
+		sweep.pickUp(1);
+		assertEquals(Direction.UP, sweep.getDirection());
+		
+		FloorData onTheWay = TestRequests.request(building, 4, 6);
+		assertTrue(sweep.isOnTheWay(onTheWay, 2));
+		assertFalse(sweep.isOnTheWay(TestRequests.request(building, 4, 2), 2));
+		sweep.add(onTheWay);
+		assertEquals(4, sweep.nextStop(2));
+		assertEquals(8, sweep.getTurnFloor(2));
+	}
+	
+	/**
+	 * Runs the sweep from the given floor until all the requests are serviced.
+	 * 
+	 * @param sweep	a SweepEngine, the sweep
+	 * @param floor	an int, the floor the elevator starts at
+	 * @return	an ArrayList, the floors the elevator stopped at
+	 */
+	private ArrayList<Integer> visit(SweepEngine sweep, int floor) {
+		ArrayList<Integer> stops = new ArrayList<Integer>();
+		int next;
+		while ((next = sweep.nextStop(floor)) >= 0) {
+			floor = next;
+			stops.add(floor);
+			sweep.dropOff(floor);
+			sweep.pickUp(floor);
+		}
+		return stops;
+	}
+}
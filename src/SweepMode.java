@@ -0,0 +1,20 @@
+/**
+ * SweepMode enum for the ways an elevator can sweep through the building.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum SweepMode {
+	// travel to the top or bottom floor of the building before turning around
+	SCAN,
+	// turn around at the last stop in the current direction
+	LOOK,
+	// once a sweep is done, go back to the start of the next sweep in the same direction
+	// before serving the requests going the other way
+	C_LOOK
+}
@@ -0,0 +1,121 @@
+/**
+ * SweepResult Class for the KPIs of one simulation in a ParameterSweep.
+ * The times are simulated, on the virtual clock of the EventSimulation.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class SweepResult {
+	
+	public static final String HEADER = "Elevators\tSweep\tTravel (ms)\tStop (ms)\tTarget (ms)\tServiced\tAvg wait (s)\tP95 wait (s)\tP99 wait (s)\tMax wait (s)\tAvg ride (s)\tP95 ride (s)\tFloors travelled\tStops\tSimulated (s)";
+	
+	private final SimulationConfig config;
+	private final int servicedRequests;
+	private final LatencyHistogram waitTime;	// nanoseconds
+	private final LatencyHistogram rideTime;	// nanoseconds
+	private final long floorsTravelled;
+	private final long stops;
+	private final long simulatedTime;	// milliseconds
+	
+	/**
+	 * Constructor for SweepResult.
+	 * 
+	 * @param config			a SimulationConfig, the configuration that was simulated
+	 * @param servicedRequests	an int, the number of requests that were dropped off
+	 * @param waitTime			a LatencyHistogram, the wait times of the requests in nanoseconds
+	 * @param rideTime			a LatencyHistogram, the ride times of the requests in nanoseconds
+	 * @param floorsTravelled	a long, the floors travelled by all the elevators
+	 * @param stops				a long, the stops of all the elevators
+	 * @param simulatedTime		a long, the time from the first request to the last drop-off in milliseconds
+	 */
+	public SweepResult(SimulationConfig config, int servicedRequests, LatencyHistogram waitTime, LatencyHistogram rideTime,
+			long floorsTravelled, long stops, long simulatedTime) {
+		this.config = config;
+		this.servicedRequests = servicedRequests;
+		this.waitTime = waitTime;
+		this.rideTime = rideTime;
+		this.floorsTravelled = floorsTravelled;
+		this.stops = stops;
+		this.simulatedTime = simulatedTime;
+	}
+	
+	/**
+	 * Get the configuration that was simulated.
+	 * 
+	 * @return	a SimulationConfig, the configuration
+	 */
+	public SimulationConfig getConfig() {
+		return config;
+	}
+	
+	/**
+	 * Get the number of requests that were dropped off.
+	 * 
+	 * @return	an int, the number of serviced requests
+	 */
+	public int getServicedRequests() {
+		return servicedRequests;
+	}
+	
+	/**
+	 * Get the time the requests waited for an elevator.
+	 * 
+	 * @return	a LatencyHistogram, the wait times in nanoseconds
+	 */
+	public LatencyHistogram getWaitTime() {
+		return waitTime;
+	}
+	
+	/**
+	 * Get the time the requests rode in an elevator.
+	 * 
+	 * @return	a LatencyHistogram, the ride times in nanoseconds
+	 */
+	public LatencyHistogram getRideTime() {
+		return rideTime;
+	}
+	
+	/**
+	 * Get the floors travelled by all the elevators.
+	 * 
+	 * @return	a long, the total travel
+	 */
+	public long getFloorsTravelled() {
+		return floorsTravelled;
+	}
+	
+	/**
+	 * Get the stops of all the elevators.
+	 * 
+	 * @return	a long, the number of stops
+	 */
+	public long getStops() {
+		return stops;
+	}
+	
+	/**
+	 * Get the time from the first request to the last drop-off.
+	 * 
+	 * @return	a long, the simulated time in milliseconds
+	 */
+	public long getSimulatedTime() {
+		return simulatedTime;
+	}
+	
+	/**
+	 * Gets the result as a row of the results table, with the columns of HEADER.
+	 * 
+	 * @return	a String, the configuration and its KPIs, separated by tabs
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s\t%d\t%.1f\t%.1f\t%.1f\t%.1f\t%.1f\t%.1f\t%d\t%d\t%.0f", config, servicedRequests,
+				waitTime.getMean() / 1e9, waitTime.getPercentile(95) / 1e9, waitTime.getPercentile(99) / 1e9, waitTime.getMax() / 1e9, rideTime.getMean() / 1e9, rideTime.getPercentile(95) / 1e9,
+				floorsTravelled, stops, simulatedTime / 1e3);
+	}
+}
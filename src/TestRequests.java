@@ -0,0 +1,65 @@
+import java.io.IOException;
+
+/**
+ * TestRequests Class that creates the requests of the JUnit tests, so every test builds them the same way.
+ * It is compiled with the tests only.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+final class TestRequests {
+	
+	/**
+	 * Constructor for TestRequests, which only has static methods.
+	 */
+	private TestRequests() {
+	}
+	
+	/**
+	 * Creates a request without a time, with the floor button of its direction.
+	 * 
+	 * @param building	a Building, the building the request is made in
+	 * @param iFloor	an int, the initial floor
+	 * @param dFloor	an int, the destination floor
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if a floor is out of range
+	 */
+	static FloorData request(Building building, int iFloor, int dFloor) throws IOException {
+		return request(building, FloorData.NO_TIME, iFloor, dFloor, iFloor < dFloor ? "Up" : "Down");
+	}
+	
+	/**
+	 * Creates a request with the floor button of its direction.
+	 * 
+	 * @param building	a Building, the building the request is made in
+	 * @param time		a long, the time of the request in milliseconds
+	 * @param iFloor	an int, the initial floor
+	 * @param dFloor	an int, the destination floor
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if a floor is out of range
+	 */
+	static FloorData request(Building building, long time, int iFloor, int dFloor) throws IOException {
+		return request(building, time, iFloor, dFloor, iFloor < dFloor ? "Up" : "Down");
+	}
+	
+	/**
+	 * Creates a request.
+	 * 
+	 * @param building		a Building, the building the request is made in
+	 * @param time			a long, the time of the request in milliseconds, or FloorData.NO_TIME
+	 * @param iFloor		an int, the initial floor
+	 * @param dFloor		an int, the destination floor
+	 * @param floorButton	a String, the floor button
+	 * @return	a FloorData Object, the request
+	 * @throws IOException	if a floor is out of range
+	 */
+	static FloorData request(Building building, long time, int iFloor, int dFloor, String floorButton) throws IOException {
+		FloorData fd = new FloorData(building);
+		fd.setTimeMillis(time);
+		fd.setInitialFloor(iFloor);
+		fd.setDestinationFloor(dFloor);
+		fd.setFloorButton(floorButton);
+		return fd;
+	}
+}
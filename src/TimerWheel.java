@@ -0,0 +1,235 @@
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * TimerWheel Class for a hierarchical timer wheel: items are scheduled for a tick and released once the wheel
+ * has advanced to it. Every level has 256 slots, a slot of the first level is one tick, a slot of the next level
+ * is the 256 ticks of a whole turn of the level below it. Scheduling an item appends it to a slot in constant time,
+ * no matter how many items are pending, and an item moves down a level at most three times before it is released,
+ * so the wheel holds millions of pending items without sorting them.
+ * The wheel is not thread-safe, the thread that advances it also schedules the items.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TimerWheel<T> {
+	
+	private static final int LEVELS = 4;	// 2^32 ticks before an item goes around the top level again
+	private static final int SLOT_BITS = 8;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int MASK = SLOTS - 1;
+	
+	private final Slot[][] levels;
+	private long currentTick;	// the next tick advance releases the items of
+	private int size;	// the number of items that have not been released
+	
+	/**
+	 * Constructor for TimerWheel, starting at tick 0.
+	 */
+	public TimerWheel() {
+		this.levels = new Slot[LEVELS][SLOTS];
+		for (Slot[] level : levels) {
+			for (int i = 0; i < SLOTS; i++) {
+				level[i] = new Slot();
+			}
+		}
+		this.currentTick = 0;
+		this.size = 0;
+	}
+	
+	/**
+	 * Schedules an item for a tick, an item for a tick that has already passed is released by the next advance.
+	 * 
+	 * @param tick	a long, the tick the item is released at
+	 * @param item	a T, the item
+	 */
+	public void schedule(long tick, T item) {
+		add(Math.max(tick, currentTick), item);
+		size++;
+	}
+	
+	/**
+	 * Releases the items of every tick up to and including the given tick, in the order of their ticks,
+	 * the items of the same tick in the order they were scheduled. The consumer must not schedule items.
+	 * 
+	 * @param tick		a long, the last tick to release the items of
+	 * @param release	a Consumer, gets every item that is released
+	 * @return	an int, the number of items released
+	 */
+	public int advance(long tick, Consumer<? super T> release) {
+		int released = 0;
+		while (size > 0) {
+			// the ticks with nothing to release or move down are skipped
+			long next = nextTick();
+			if (next > tick) {
+				break;
+			}
+			currentTick = next;
+			
+			// the slots of the levels above that the wheel just turned into move down, the highest level first
+			for (int level = LEVELS - 1; level > 0; level--) {
+				if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+					cascade(levels[level][(int) ((currentTick >>> (SLOT_BITS * level)) & MASK)]);
+				}
+			}
+			
+			Slot slot = levels[0][(int) (currentTick & MASK)];
+			for (int i = 0; i < slot.size; i++) {
+				@SuppressWarnings("unchecked")
+				T item = (T) slot.items[i];
+				slot.items[i] = null;
+				release.accept(item);
+			}
+			released += slot.size;
+			size -= slot.size;
+			slot.size = 0;
+			currentTick++;
+		}
+		if (currentTick <= tick) {
+			currentTick = tick + 1;
+		}
+		return released;
+	}
+	
+	/**
+	 * Finds the next tick advance has work to do at: a tick with items to release,
+	 * or a tick where the items of a slot of a level above move down.
+	 * Looks at most one turn ahead on every level, so it takes the same time no matter how many items are pending.
+	 * 
+	 * @return	a long, the tick, or Long.MAX_VALUE if the wheel is empty
+	 */
+	public long nextTick() {
+		if (size == 0) {
+			return Long.MAX_VALUE;
+		}
+		long next = Long.MAX_VALUE;
+		for (long tick = currentTick; tick < currentTick + SLOTS; tick++) {
+			if (levels[0][(int) (tick & MASK)].size > 0) {
+				next = tick;
+				break;
+			}
+		}
+		
+		// a level turns to its next slot at the ticks that are a multiple of its span, the levels above at fewer of them
+		for (int level = 1; level < LEVELS; level++) {
+			long span = 1L << (SLOT_BITS * level);
+			long boundary = (currentTick + span - 1) & -span;
+			if (boundary >= next) {
+				break;
+			}
+			for (long tick = boundary; tick < next && tick < boundary + SLOTS * span; tick += span) {
+				if (levels[level][(int) ((tick >>> (SLOT_BITS * level)) & MASK)].size > 0) {
+					next = tick;
+					break;
+				}
+			}
+		}
+		return next;
+	}
+	
+	/**
+	 * Get the next tick advance releases the items of.
+	 * 
+	 * @return	a long, the current tick
+	 */
+	public long getCurrentTick() {
+		return currentTick;
+	}
+	
+	/**
+	 * Get the number of items that have not been released.
+	 * 
+	 * @return	an int, the number of pending items
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Checks whether every item has been released.
+	 * 
+	 * @return	a boolean, true if no items are pending, false otherwise
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Adds an item to its slot.
+	 * 
+	 * @param tick	a long, the tick of the item, not before the current tick
+	 * @param item	an Object, the item
+	 */
+	private void add(long tick, Object item) {
+		getSlot(tick).add(tick, item);
+	}
+	
+	/**
+	 * Gets the slot of the lowest level that turns to a tick before it is due.
+	 * 
+	 * @param tick	a long, the tick, not before the current tick
+	 * @return	a Slot, the slot
+	 */
+	private Slot getSlot(long tick) {
+		long delta = tick - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+			level++;
+		}
+		return levels[level][(int) ((tick >>> (SLOT_BITS * level)) & MASK)];
+	}
+	
+	/**
+	 * Moves the items of a slot down to the levels below, now that they are due within its turn.
+	 * 
+	 * @param slot	a Slot, the slot of a level above the first
+	 */
+	private void cascade(Slot slot) {
+		int kept = 0;
+		for (int i = 0; i < slot.size; i++) {
+			long tick = slot.ticks[i];
+			Object item = slot.items[i];
+			slot.items[i] = null;
+			Slot target = getSlot(tick);
+			if (target == slot) {
+				// an item past the top level's turn stays for its next turn
+				slot.ticks[kept] = tick;
+				slot.items[kept] = item;
+				kept++;
+			} else {
+				target.add(tick, item);
+			}
+		}
+		slot.size = kept;
+	}
+	
+	/**
+	 * Slot Class for the items of a slot, kept in arrays that grow as needed and are reused once the slot is emptied.
+	 */
+	private static class Slot {
+		private long[] ticks = new long[4];
+		private Object[] items = new Object[4];
+		private int size;
+		
+		/**
+		 * Appends an item to the slot.
+		 * 
+		 * @param tick	a long, the tick of the item
+		 * @param item	an Object, the item
+		 */
+		private void add(long tick, Object item) {
+			if (size == items.length) {
+				ticks = Arrays.copyOf(ticks, size * 2);
+				items = Arrays.copyOf(items, size * 2);
+			}
+			ticks[size] = tick;
+			items[size] = item;
+			size++;
+		}
+	}
+}
@@ -0,0 +1,92 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for TimerWheel Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class TimerWheelTest {
+	
+	TimerWheel<Long> wheel = new TimerWheel<Long>();
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that every item is released at its tick, not before or after, from every level of the wheel.
+	 */
+	@Test
+	void testReleasedAtTick() {
+		Random random = new Random(42);
+		int items = 100000;
+		for (int i = 0; i < items; i++) {
+			// up to the third level, and a few far past the top one
+			long tick = i % 1000 == 0 ? (1L << 33) + random.nextInt(1000) : random.nextInt(1 << 20);
+			wheel.schedule(tick, tick);
+		}
+		assertEquals(items, wheel.size());
+		
+		ArrayList<Long> released = new ArrayList<Long>();
+		long[] now = {0};
+		while (!wheel.isEmpty()) {
+			now[0] = wheel.nextTick();
+			wheel.advance(now[0], tick -> {
+				assertEquals(now[0], tick.longValue());
+				released.add(tick);
+			});
+		}
+		assertEquals(items, released.size());
+		for (int i = 1; i < items; i++) {
+			assertTrue(released.get(i - 1) <= released.get(i));
+		}
+	}
+	
+	/**
+	 * Tests that advancing past many ticks at once releases their items in order,
+	 * and that an item for a tick that has passed is released by the next advance.
+	 */
+	@Test
+	void testAdvance() {
+		wheel.schedule(70000, 3L);
+		wheel.schedule(300, 2L);
+		wheel.schedule(5, 1L);
+		
+		ArrayList<Long> released = new ArrayList<Long>();
+		assertEquals(0, wheel.advance(4, released::add));
+		assertEquals(2, wheel.advance(69999, released::add));
+		assertEquals(70000, wheel.getCurrentTick());
+		
+		// scheduled after the item of the same tick
+		wheel.schedule(10, 4L);
+		assertEquals(70000, wheel.nextTick());
+		assertEquals(2, wheel.advance(70000, released::add));
+		assertEquals(List.of(1L, 2L, 3L, 4L), released);
+		assertTrue(wheel.isEmpty());
+		assertEquals(Long.MAX_VALUE, wheel.nextTick());
+		
+		// the empty ticks are skipped
+		assertEquals(0, wheel.advance(1000000, released::add));
+		assertEquals(1000001, wheel.getCurrentTick());
+	}
+}
@@ -0,0 +1,293 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * TraceReader Class that replays a binary trace written by TraceWriter.
+ * The file is memory-mapped, MAP_BYTES at a time, and the records are read straight from the mapping,
+ * so nothing is parsed and the operating system reads ahead of the replay.
+ * advance() moves to the next request and the getters read it without creating any object,
+ * next() creates the FloorData of the request for the scheduler.
+ * Records with floors outside of the building or an unknown floor button are skipped and counted,
+ * only the first REPORTED_REJECTS of them are printed and close() prints how many were skipped in total.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TraceReader implements RequestSource {
+	
+	private static final long MAP_BYTES = (1L << 30) / TraceWriter.RECORD_BYTES * TraceWriter.RECORD_BYTES;
+	static final int REPORTED_REJECTS = 5;	// the number of rejected records that are printed one by one
+	
+	private final String fileName;
+	private FileChannel channel;
+	private final Building building;
+	private final long count;	// the number of requests in the trace
+	
+	private MappedByteBuffer map;	// the part of the file that is mapped
+	private long mapEnd;	// the index of the first record after the mapping
+	private long index;	// the index of the next record
+	private boolean ready;	// true if the current record was read by hasNext and not returned by next yet
+	
+	// the current record
+	private long time;
+	private short initialFloor;
+	private short destinationFloor;
+	private byte floorButton;
+	
+	private int readRows;
+	private int rejectedRows;
+	
+	/**
+	 * Constructor for TraceReader, opens the trace and reads its header.
+	 * 
+	 * @param fileName	a String, the path of the trace
+	 * @throws IOException	if the trace cannot be opened, is not a trace, or is shorter than its header says
+	 */
+	public TraceReader(String fileName) throws IOException {
+		this.fileName = fileName;
+		this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+		
+		try {
+			ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_BYTES);
+			while (header.hasRemaining() && channel.read(header, header.position()) > 0);
+			header.flip();
+			if (header.remaining() < TraceWriter.HEADER_BYTES || header.getInt() != TraceWriter.MAGIC) {
+				throw new IOException(fileName + " is not a trace");
+			}
+			short version = header.getShort();
+			if (version != TraceWriter.VERSION) {
+				throw new IOException(fileName + " is a version " + version + " trace, expected version " + TraceWriter.VERSION);
+			}
+			this.building = Building.of(header.getShort());
+			this.count = header.getLong();
+			if (channel.size() < TraceWriter.HEADER_BYTES + count * TraceWriter.RECORD_BYTES) {
+				throw new IOException(fileName + " is truncated, expected " + count + " requests");
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Get the building the requests are made in.
+	 * 
+	 * @return	a Building, the building in the header of the trace
+	 */
+	public Building getBuilding() {
+		return building;
+	}
+	
+	/**
+	 * Get the number of requests in the trace.
+	 * 
+	 * @return	a long, the number of requests in the header of the trace
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Moves to the next request of the trace that is valid.
+	 * 
+	 * @return	a boolean, true if there is another request, false at the end of the trace
+	 */
+	public boolean advance() {
+		if (ready) {
+			ready = false;
+			return true;
+		}
+		while (index < count) {
+			if (index >= mapEnd && !map()) {
+				return false;
+			}
+			time = map.getLong();
+			initialFloor = map.getShort();
+			destinationFloor = map.getShort();
+			floorButton = map.get();
+			map.position(map.position() + 3);
+			index++;
+			
+			if (building.hasFloor(initialFloor) && building.hasFloor(destinationFloor) && FloorData.isFloorButtonCode(floorButton)) {
+				readRows++;
+				return true;
+			}
+			if (++rejectedRows <= REPORTED_REJECTS) {
+				System.err.println("Floor: skipping request " + index + " of " + fileName + " (invalid floor or floor button)");
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Maps the next part of the trace.
+	 * 
+	 * @return	a boolean, false if the trace could not be mapped
+	 */
+	private boolean map() {
+		try {
+			long bytes = Math.min(MAP_BYTES, (count - index) * TraceWriter.RECORD_BYTES);
+			map = channel.map(FileChannel.MapMode.READ_ONLY, TraceWriter.HEADER_BYTES + index * TraceWriter.RECORD_BYTES, bytes);
+			mapEnd = index + bytes / TraceWriter.RECORD_BYTES;
+			return true;
+		} catch (IOException e) {
+			System.err.println("Floor: could not read " + fileName + " at request " + index + ": " + e.getMessage());
+			index = count;
+			return false;
+		}
+	}
+	
+	/**
+	 * Get the time of the current request.
+	 * 
+	 * @return	a long, the time in epoch milliseconds or FloorData.NO_TIME
+	 */
+	public long getTimeMillis() {
+		return time;
+	}
+	
+	/**
+	 * Get the initial floor of the current request.
+	 * 
+	 * @return	an int, the initial floor
+	 */
+	public int getInitialFloor() {
+		return initialFloor;
+	}
+	
+	/**
+	 * Get the destination floor of the current request.
+	 * 
+	 * @return	an int, the destination floor
+	 */
+	public int getDestinationFloor() {
+		return destinationFloor;
+	}
+	
+	/**
+	 * Get the floor button of the current request.
+	 * 
+	 * @return	a byte, the code of the floor button
+	 */
+	public byte getFloorButtonCode() {
+		return floorButton;
+	}
+	
+	/**
+	 * Checks whether there is another request in the trace, reading ahead to it.
+	 * 
+	 * @return	a boolean, true if there is another request, false at the end of the trace
+	 */
+	@Override
+	public boolean hasNext() {
+		if (!ready) {
+			ready = advance();
+		}
+		return ready;
+	}
+	
+	/**
+	 * Creates the FloorData of the next request in the trace.
+	 * 
+	 * @return	a FloorData Object, the request
+	 */
+	@Override
+	public FloorData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		ready = false;
+		return new FloorData(building, time, initialFloor, destinationFloor, floorButton);
+	}
+	
+	/**
+	 * Skips requests without creating their FloorData.
+	 * 
+	 * @param n	a long, the number of requests to skip
+	 * @return	a long, the number of requests skipped, less than n at the end of the trace
+	 */
+	@Override
+	public long skip(long n) {
+		long skipped = 0;
+		while (skipped < n && advance()) {
+			skipped++;
+		}
+		return skipped;
+	}
+	
+	/**
+	 * Sends every request in the trace to the scheduler.
+	 * 
+	 * @param s	a Scheduler, the scheduler
+	 * @return	an int, the number of requests sent
+	 */
+	public int feed(Scheduler s) {
+		int sent = 0;
+		while (advance()) {
+			s.addRequests(new FloorData(building, time, initialFloor, destinationFloor, floorButton));
+			sent++;
+		}
+		return sent;
+	}
+	
+	@Override
+	public int getReadRows() {
+		return readRows;
+	}
+	
+	@Override
+	public int getRejectedRows() {
+		return rejectedRows;
+	}
+	
+	/**
+	 * Closes the trace, printing how many requests were skipped if some of them were not printed.
+	 */
+	@Override
+	public void close() {
+		if (channel == null) {
+			return;
+		}
+		if (rejectedRows > REPORTED_REJECTS) {
+			System.err.println("Floor: skipped " + rejectedRows + " invalid requests of " + fileName
+					+ " (only the first " + REPORTED_REJECTS + " were printed)");
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			System.err.println("Floor: could not close " + fileName + ": " + e.getMessage());
+		}
+		channel = null;
+		map = null;
+	}
+	
+	/**
+	 * Reads every request of a trace and prints how fast it was read.
+	 * 
+	 * @param args	the trace
+	 * @throws IOException	if the trace cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		long start = System.nanoTime();
+		long checksum = 0;
+		try (TraceReader reader = new TraceReader(args[0])) {
+			while (reader.advance()) {
+				checksum += reader.getTimeMillis() + reader.getInitialFloor() * 31 + reader.getDestinationFloor();
+			}
+			long elapsed = Math.max(1, System.nanoTime() - start);
+			long bytes = TraceWriter.HEADER_BYTES + reader.getCount() * TraceWriter.RECORD_BYTES;
+			System.out.println("Read " + reader.getReadRows() + " requests (" + reader.getRejectedRows() + " rejected) in " + elapsed / 1000000 + " ms, "
+					+ reader.getReadRows() * 1000000000L / elapsed + " requests/s, " + bytes * 1000 / elapsed + " MB/s (checksum " + checksum + ")");
+		}
+	}
+}
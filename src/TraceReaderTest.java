@@ -0,0 +1,178 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for TraceReader and TraceWriter Classes.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class TraceReaderTest {
+	
+	Path path;
+	Building building = Building.of(50);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		path = Files.createTempFile("requests", Floor.TRACE_EXTENSION);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+		Files.deleteIfExists(path);
+	}
+	
+	/**
+	 * Writes generated requests to the trace.
+	 * 
+	 * @param count	an int, the number of requests
+	 * @throws IOException	if the trace cannot be written
+	 */
+	private void writeTrace(int count) throws IOException {
+		TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.UP_PEAK, 10, count, 8);
+		try (TraceWriter writer = new TraceWriter(path, building)) {
+			while (generator.hasNext()) {
+				writer.write(generator.next());
+			}
+		}
+	}
+	
+	/**
+	 * Tests that the requests are read back the same, with the building of the header.
+	 * 
+	 * @throws Exception	if the trace cannot be written or read
+	 */
+	@Test
+	void testRoundTrip() throws Exception {
+		writeTrace(10000);
+		assertEquals(TraceWriter.HEADER_BYTES + 10000 * TraceWriter.RECORD_BYTES, Files.size(path));
+		
+		TrafficGenerator expected = new TrafficGenerator(building, TrafficPattern.UP_PEAK, 10, 10000, 8);
+		try (TraceReader reader = new TraceReader(path.toString())) {
+			assertEquals(50, reader.getBuilding().getFloors());
+			assertEquals(10000, reader.getCount());
+			while (reader.hasNext()) {
+				FloorData fd = reader.next();
+				FloorData e = expected.next();
+				assertEquals(e.getTimeMillis(), fd.getTimeMillis());
+				assertEquals(e.getInitialFloor(), fd.getInitialFloor());
+				assertEquals(e.getDestinationFloor(), fd.getDestinationFloor());
+				assertEquals(e.getFloorButton(), fd.getFloorButton());
+				assertSame(reader.getBuilding(), fd.getBuilding());
+			}
+			assertFalse(expected.hasNext());
+			assertEquals(10000, reader.getReadRows());
+		}
+	}
+	
+	/**
+	 * Tests that the floor replays a trace into the scheduler like a CSV file.
+	 * 
+	 * @throws Exception	if the trace cannot be written
+	 */
+	@Test
+	void testFloorReplay() throws Exception {
+		writeTrace(500);
+		Scheduler s = new Scheduler(1, 1000);
+		Floor floor = new Floor(s, path.toString());
+		floor.unwrapData();
+		
+		assertEquals(500, floor.getReadRows());
+		assertEquals(500, s.getAllRequests().size());
+	}
+	
+	/**
+	 * Tests that a record with a floor outside of the building is skipped.
+	 * 
+	 * @throws Exception	if the trace cannot be written or read
+	 */
+	@Test
+	void testRejectsBadRecords() throws Exception {
+		try (TraceWriter writer = new TraceWriter(path, Building.of(10))) {
+			writer.write(0, 1, 5, (byte) 1);
+			writer.write(0, 1, 11, (byte) 1);
+			writer.write(0, 3, 2, (byte) 0);
+			writer.write(0, 7, 2, (byte) 2);
+		}
+		
+		try (TraceReader reader = new TraceReader(path.toString())) {
+			assertTrue(reader.advance());
+			assertEquals(5, reader.getDestinationFloor());
+			assertTrue(reader.advance());
+			assertEquals(7, reader.getInitialFloor());
+			assertFalse(reader.advance());
+			assertEquals(2, reader.getReadRows());
+			assertEquals(2, reader.getRejectedRows());
+		}
+	}
+	
+	/**
+	 * Tests that only the first rejected records are printed and the rest are counted once on close.
+	 * 
+	 * @throws Exception	if the trace cannot be written or read
+	 */
+	@Test
+	void testReportsRejectsOnce() throws Exception {
+		try (TraceWriter writer = new TraceWriter(path, Building.of(10))) {
+			for (int i = 0; i < 100; i++) {
+				writer.write(0, 1, 11, (byte) 1);
+			}
+			writer.write(0, 1, 5, (byte) 1);
+		}
+		
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		PrintStream stderr = System.err;
+		System.setErr(new PrintStream(err, true));
+		try (TraceReader reader = new TraceReader(path.toString())) {
+			assertEquals(1, reader.skip(Long.MAX_VALUE));
+			assertEquals(100, reader.getRejectedRows());
+		} finally {
+			System.setErr(stderr);
+		}
+		
+		String[] lines = err.toString().split("\\R");
+		assertEquals(TraceReader.REPORTED_REJECTS + 1, lines.length);
+		assertTrue(lines[lines.length - 1].contains("skipped 100 invalid requests"));
+	}
+	
+	/**
+	 * Tests that a file that is not a trace, or is truncated, cannot be opened.
+	 * 
+	 * @throws Exception	if the files cannot be written
+	 */
+	@Test
+	void testInvalidFiles() throws Exception {
+		Files.writeString(path, "0:00:01,1,Up,2\n");
+		assertThrows(IOException.class, () -> new TraceReader(path.toString()));
+		
+		writeTrace(100);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(TraceWriter.HEADER_BYTES + 50 * TraceWriter.RECORD_BYTES);
+		}
+		assertThrows(IOException.class, () -> new TraceReader(path.toString()));
+		
+		ByteBuffer header = ByteBuffer.allocate(TraceWriter.HEADER_BYTES);
+		header.putInt(TraceWriter.MAGIC).putShort((short) 2).putShort((short) 10).putLong(0).flip();
+		Files.write(path, header.array());
+		assertThrows(IOException.class, () -> new TraceReader(path.toString()));
+	}
+}
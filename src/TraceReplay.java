@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * TraceReplay Class that releases requests at the times they were recorded at, instead of all at once,
+ * sped up by a factor: 1 replays a trace in real time for a soak test, 100 or 1000 replays an hour in seconds.
+ * The requests are streamed onto a TimerWheel with a tick of a millisecond by default, at most lookahead of them
+ * are pending at a time, the replay thread sleeps until the next tick with requests and releases them,
+ * and records how late every request was released.
+ * The replay starts at the earliest time of the first lookahead requests, the requests that have no time are released
+ * as soon as they are read. The requests do not have to be in the order of their times, but a request read after
+ * a later one has been released is released late, and a request before the start of the replay is clamped to it.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TraceReplay {
+	
+	public static final long DEFAULT_TICK = 1000000;	// nanoseconds
+	public static final int DEFAULT_LOOKAHEAD = 1 << 16;	// requests
+	
+	private final Consumer<FloorData> release;	// gets every request at its time, e.g., Scheduler.addRequests
+	private final double speed;
+	private final long tick;	// nanoseconds
+	private final int lookahead;	// the most requests that are read ahead of the replay
+	private final LatencyHistogram drift;	// how late the requests were released, in nanoseconds
+	private int clamped;	// the number of requests before the start of the replay
+	
+	/**
+	 * Constructor for TraceReplay with a tick of a millisecond.
+	 * 
+	 * @param release	a Consumer, gets every request at its time, e.g., Scheduler.addRequests
+	 * @param speed		a double, how many times faster than recorded the requests are released
+	 */
+	public TraceReplay(Consumer<FloorData> release, double speed) {
+		this(release, speed, DEFAULT_TICK);
+	}
+	
+	/**
+	 * Constructor for TraceReplay.
+	 * 
+	 * @param release	a Consumer, gets every request at its time, e.g., Scheduler.addRequests
+	 * @param speed		a double, how many times faster than recorded the requests are released
+	 * @param tick		a long, the tick of the timer wheel in nanoseconds, a request is released at the tick it is due in
+	 */
+	public TraceReplay(Consumer<FloorData> release, double speed, long tick) {
+		this(release, speed, tick, DEFAULT_LOOKAHEAD);
+	}
+	
+	/**
+	 * Constructor for TraceReplay.
+	 * 
+	 * @param release	a Consumer, gets every request at its time, e.g., Scheduler.addRequests
+	 * @param speed		a double, how many times faster than recorded the requests are released
+	 * @param tick		a long, the tick of the timer wheel in nanoseconds, a request is released at the tick it is due in
+	 * @param lookahead	an int, the most requests that are read ahead of the replay and wait on the timer wheel
+	 */
+	public TraceReplay(Consumer<FloorData> release, double speed, long tick, int lookahead) {
+		if (!(speed > 0) || tick <= 0 || lookahead <= 0) {
+			throw new IllegalArgumentException("A replay needs a speed, a tick and a lookahead above 0: " + speed + ", " + tick + ", " + lookahead);
+		}
+		this.release = release;
+		this.speed = speed;
+		this.tick = tick;
+		this.lookahead = lookahead;
+		this.drift = new LatencyHistogram();
+	}
+	
+	/**
+	 * Releases each request at its time, reading at most lookahead requests ahead of the replay.
+	 * Returns once all of them have been released, or early if the thread is interrupted.
+	 * 
+	 * @param requests	an Iterator, the requests, e.g., a RequestSource
+	 * @return	an int, the number of requests released
+	 */
+	public int replay(Iterator<FloorData> requests) {
+		// the replay starts at the earliest request of the first window, so that one is read before any is released
+		ArrayList<FloorData> window = new ArrayList<FloorData>();
+		long first = Long.MAX_VALUE;
+		while (window.size() < lookahead && requests.hasNext()) {
+			FloorData fd = requests.next();
+			window.add(fd);
+			if (fd.getTimeMillis() != FloorData.NO_TIME) {
+				first = Math.min(first, fd.getTimeMillis());
+			}
+		}
+		final long origin = first;
+		
+		TimerWheel<FloorData> wheel = new TimerWheel<FloorData>();
+		for (FloorData fd : window) {
+			schedule(wheel, fd, origin);
+		}
+		window = null;	// the wheel holds the requests from now on
+		
+		long start = System.nanoTime();
+		int released = 0;
+		while (!Thread.currentThread().isInterrupted()) {
+			// tops the wheel up as requests are released, a request that is already due is released by the next advance
+			while (wheel.size() < lookahead && requests.hasNext()) {
+				schedule(wheel, requests.next(), origin);
+			}
+			if (wheel.isEmpty()) {
+				break;
+			}
+			
+			long wait;
+			while ((wait = start + wheel.nextTick() * tick - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+				LockSupport.parkNanos(wait);
+			}
+			released += wheel.advance((System.nanoTime() - start) / tick, fd -> {
+				release.accept(fd);
+				drift.record(Math.max(0, System.nanoTime() - start - getOffset(fd, origin)));
+			});
+		}
+		return released;
+	}
+	
+	/**
+	 * Schedules a request on the timer wheel at its time, or at the start of the replay if it is before it.
+	 * 
+	 * @param wheel		a TimerWheel, the pending requests
+	 * @param fd		a FloorData Object, the request
+	 * @param origin	a long, the time of the start of the replay in epoch milliseconds
+	 */
+	private void schedule(TimerWheel<FloorData> wheel, FloorData fd, long origin) {
+		if (fd.getTimeMillis() != FloorData.NO_TIME && fd.getTimeMillis() < origin) {
+			clamped++;
+		}
+		// rounded up, so no request is released before its time
+		wheel.schedule((getOffset(fd, origin) + tick - 1) / tick, fd);
+	}
+	
+	/**
+	 * Get how late the requests were released compared to their times, once the replay has returned.
+	 * 
+	 * @return	a LatencyHistogram, the drift of every request in nanoseconds
+	 */
+	public LatencyHistogram getDrift() {
+		return drift;
+	}
+	
+	/**
+	 * Get the number of requests that were before the start of the replay and were released at its start.
+	 * 
+	 * @return	an int, the number of clamped requests
+	 */
+	public int getClamped() {
+		return clamped;
+	}
+	
+	/**
+	 * Get how many times faster than recorded the requests are released.
+	 * 
+	 * @return	a double, the speed factor
+	 */
+	public double getSpeed() {
+		return speed;
+	}
+	
+	/**
+	 * Replays a file of requests without a scheduler and prints how late they were released.
+	 * 
+	 * @param args	the file of requests, the speed (optional, 1000 by default) and the tick in microseconds (optional, 1000 by default)
+	 * @throws IOException	if the file cannot be read
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: TraceReplay <requests file> [speed] [tick (us)]");
+			return;
+		}
+		double speed = args.length > 1 ? Double.parseDouble(args[1]) : 1000;
+		long tick = args.length > 2 ? Long.parseLong(args[2]) * 1000 : DEFAULT_TICK;
+		TraceReplay replay = new TraceReplay(fd -> {}, speed, tick);
+		try (RequestSource source = Floor.open(args[0])) {
+			long start = System.nanoTime();
+			int released = replay.replay(source);
+			System.out.println("Released " + released + " requests at " + speed + "x in " + (System.nanoTime() - start) / 1000000 + " ms");
+			System.out.println("Drift: " + replay.getDrift());
+		}
+	}
+	
+	/**
+	 * Gets the time a request is released at, after the start of the replay.
+	 * 
+	 * @param fd		a FloorData Object, the request
+	 * @param origin	a long, the time of the start of the replay in epoch milliseconds
+	 * @return	a long, the time in nanoseconds, 0 for a request before the start or without a time
+	 */
+	private long getOffset(FloorData fd, long origin) {
+		if (fd.getTimeMillis() == FloorData.NO_TIME || fd.getTimeMillis() < origin) {
+			return 0;
+		}
+		return (long) ((fd.getTimeMillis() - origin) * 1000000 / speed);
+	}
+}
@@ -0,0 +1,127 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for TraceReplay Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class TraceReplayTest {
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the requests are released in the order of their times, not the order of the file,
+	 * spaced out by their times divided by the speed, and that the drift of every request is recorded.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	void testPaced() throws IOException {
+		ArrayList<FloorData> released = new ArrayList<FloorData>();
+		ArrayList<Long> times = new ArrayList<Long>();
+		TraceReplay replay = new TraceReplay(fd -> {
+			released.add(fd);
+			times.add(System.nanoTime());
+		}, 50);
+		
+		// the requests of floorRequests.csv are 5 seconds apart from first to last, 100 ms at 50x
+		try (RequestSource source = Floor.open("./floorRequests.csv")) {
+			assertEquals(6, replay.replay(source));
+		}
+		assertEquals(6, released.size());
+		for (int i = 1; i < released.size(); i++) {
+			assertTrue(released.get(i - 1).getTimeMillis() <= released.get(i).getTimeMillis());
+		}
+		long elapsed = times.get(5) - times.get(0);
+		assertTrue(elapsed >= 100000000L, "released over " + elapsed + " ns");
+		assertEquals(6, replay.getDrift().getCount());
+		assertTrue(replay.getDrift().getMax() < 1000000000L);
+	}
+	
+	/**
+	 * Tests that the requests are read at most lookahead ahead of the replay,
+	 * and that a request before the start of the replay is clamped to it instead of being dropped.
+	 */
+	@Test
+	void testLookahead() {
+		Building building = Building.of(10);
+		ArrayList<FloorData> trace = new ArrayList<FloorData>();
+		long base = 1000000;
+		for (int i = 0; i < 20; i++) {
+			trace.add(new FloorData(building, base + i * 20, (short) 1, (short) 5, (byte) 1));
+		}
+		FloorData early = new FloorData(building, base - 1000, (short) 2, (short) 7, (byte) 1);
+		trace.add(10, early);
+		
+		int[] read = new int[1];
+		Iterator<FloorData> source = new Iterator<FloorData>() {
+			private final Iterator<FloorData> it = trace.iterator();
+			
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+			
+			@Override
+			public FloorData next() {
+				read[0]++;
+				return it.next();
+			}
+		};
+		
+		ArrayList<FloorData> released = new ArrayList<FloorData>();
+		int[] pending = new int[1];
+		TraceReplay replay = new TraceReplay(fd -> {
+			pending[0] = Math.max(pending[0], read[0] - released.size());
+			released.add(fd);
+		}, 20, TraceReplay.DEFAULT_TICK, 3);
+		
+		assertEquals(21, replay.replay(source));
+		assertEquals(21, released.size());
+		assertTrue(released.contains(early));
+		assertEquals(1, replay.getClamped());
+		assertTrue(pending[0] <= 3, pending[0] + " requests read ahead");
+		assertThrows(IllegalArgumentException.class, () -> new TraceReplay(fd -> {}, 1, TraceReplay.DEFAULT_TICK, 0));
+	}
+	
+	/**
+	 * Tests that the floor sends the requests at their times with a replay speed, and that a replay needs a speed.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testFloor() throws Exception {
+		Scheduler s = new Scheduler(1);
+		Floor floor = new Floor(s, "./floorRequests.csv");
+		floor.setReplaySpeed(1000);
+		floor.unwrapData();
+		
+		assertEquals(6, floor.getReadRows());
+		assertEquals(6, s.getAllRequests().size());
+		assertEquals(6, floor.getReplayDrift().getCount());
+		assertThrows(IllegalArgumentException.class, () -> floor.setReplaySpeed(-1));
+		assertThrows(IllegalArgumentException.class, () -> new TraceReplay(fd -> {}, 0));
+	}
+}
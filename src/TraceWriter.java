@@ -0,0 +1,163 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * TraceWriter Class that writes requests to a binary trace, which TraceReader replays without parsing any text.
+ * A trace starts with a HEADER_BYTES header: a magic number, the version, the number of floors of the building
+ * and the number of requests. Every request is a RECORD_BYTES record: the time in epoch milliseconds,
+ * the initial floor, the destination floor and the code of the floor button (its direction).
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TraceWriter implements Closeable {
+	
+	public static final int MAGIC = 0x454C5654;	// "ELVT"
+	public static final short VERSION = 1;
+	public static final int HEADER_BYTES = 16;
+	public static final int RECORD_BYTES = 16;
+	
+	private static final int BUFFER_RECORDS = 4096;
+	
+	private final FileChannel channel;
+	private final Building building;
+	private final ByteBuffer buffer;
+	private long count;	// the number of requests written
+	
+	/**
+	 * Constructor for TraceWriter, creates the trace.
+	 * 
+	 * @param path		a Path, the trace, it is replaced if it exists
+	 * @param building	a Building, the building every request is made in
+	 * @throws IOException	if the trace cannot be created
+	 */
+	public TraceWriter(Path path, Building building) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		this.building = building;
+		this.buffer = ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_BYTES);
+		this.count = 0;
+		
+		// the number of requests is written when the trace is closed
+		writeHeader();
+		channel.position(HEADER_BYTES);
+	}
+	
+	/**
+	 * Writes a request.
+	 * 
+	 * @param fd	a FloorData Object, the request
+	 * @throws IOException	if the trace cannot be written
+	 */
+	public void write(FloorData fd) throws IOException {
+		if (fd.getFloors() > building.getFloors()) {
+			throw new IllegalArgumentException("The request is for a building with " + fd.getFloors() + " floors, the trace has " + building.getFloors());
+		}
+		write(fd.getTimeMillis(), fd.getInitialFloor(), fd.getDestinationFloor(), fd.getFloorButtonCode());
+	}
+	
+	/**
+	 * Writes a request without a FloorData.
+	 * 
+	 * @param time				a long, the time in epoch milliseconds or FloorData.NO_TIME
+	 * @param initialFloor		an int, the initial floor
+	 * @param destinationFloor	an int, the destination floor
+	 * @param floorButton		a byte, the code of the floor button
+	 * @throws IOException	if the trace cannot be written
+	 */
+	public void write(long time, int initialFloor, int destinationFloor, byte floorButton) throws IOException {
+		if (buffer.remaining() < RECORD_BYTES) {
+			drain();
+		}
+		buffer.putLong(time)
+			.putShort((short) initialFloor)
+			.putShort((short) destinationFloor)
+			.put(floorButton)
+			.put((byte) 0)
+			.putShort((short) 0);
+		count++;
+	}
+	
+	/**
+	 * Get the number of requests written so far.
+	 * 
+	 * @return	a long, the number of requests
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Writes the buffered records to the file.
+	 * 
+	 * @throws IOException	if the trace cannot be written
+	 */
+	private void drain() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+	
+	/**
+	 * Writes the header at the start of the file.
+	 * 
+	 * @throws IOException	if the trace cannot be written
+	 */
+	private void writeHeader() throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putShort(VERSION).putShort((short) building.getFloors()).putLong(count).flip();
+		while (header.hasRemaining()) {
+			channel.write(header, header.position());
+		}
+	}
+	
+	/**
+	 * Writes the rest of the records and the number of requests, and closes the trace.
+	 * 
+	 * @throws IOException	if the trace cannot be written
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			drain();
+			writeHeader();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Converts a CSV file of requests to a binary trace.
+	 * 
+	 * @param args	the CSV file, the trace, and the number of floors of the building (optional, 10 by default)
+	 * @throws IOException	if the CSV file cannot be read or the trace cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println("Usage: TraceWriter <csv file> <trace file> [floors]");
+			return;
+		}
+		Building building = Building.of(args.length > 2 ? Integer.parseInt(args[2]) : 10);
+		
+		long start = System.nanoTime();
+		try (FloorDataReader reader = new FloorDataReader(args[0], building);
+				TraceWriter writer = new TraceWriter(Paths.get(args[1]), building)) {
+			while (reader.hasNext()) {
+				writer.write(reader.next());
+			}
+			System.out.println("Wrote " + writer.getCount() + " requests (" + reader.getRejectedRows() + " rejected) to " + args[1]
+					+ " in " + (System.nanoTime() - start) / 1000000 + " ms");
+		}
+	}
+}
@@ -0,0 +1,268 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TrafficGenerator Class that creates random requests for load testing the scheduler.
+ * The requests arrive as a Poisson process, i.e., the time between two requests is exponentially distributed
+ * around the average rate, and their floors follow a TrafficPattern of the building.
+ * The same seed always creates the same requests.
+ * The requests can be written to a CSV file that Floor reads, or sent to the scheduler at the rate they arrive.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TrafficGenerator implements Iterator<FloorData> {
+	
+	public static final LocalTime DEFAULT_START = LocalTime.of(8, 0);
+	
+	private final Building building;
+	private final TrafficPattern pattern;
+	private final double rate;	// requests per second
+	private final int count;	// the number of requests, or -1 for no limit
+	private final SplittableRandom random;
+	private final long start;	// the time of the first request in epoch milliseconds
+	
+	private double clock;	// the time of the next request in milliseconds since start
+	private int generated;
+	
+	/**
+	 * Constructor for TrafficGenerator, the requests start at 8:00.
+	 * 
+	 * @param building	a Building, the building the requests are made in, it needs at least 2 floors
+	 * @param pattern	a TrafficPattern, where the requests start and end
+	 * @param rate		a double, the average number of requests per second
+	 * @param count		an int, the number of requests, or -1 for no limit
+	 * @param seed		a long, the seed of the random numbers
+	 */
+	public TrafficGenerator(Building building, TrafficPattern pattern, double rate, int count, long seed) {
+		this(building, pattern, rate, count, seed, DEFAULT_START);
+	}
+	
+	/**
+	 * Constructor for TrafficGenerator.
+	 * 
+	 * @param building	a Building, the building the requests are made in, it needs at least 2 floors
+	 * @param pattern	a TrafficPattern, where the requests start and end
+	 * @param rate		a double, the average number of requests per second
+	 * @param count		an int, the number of requests, or -1 for no limit
+	 * @param seed		a long, the seed of the random numbers
+	 * @param start		a LocalTime, the time the traffic starts at, in the day of the CSV files
+	 */
+	public TrafficGenerator(Building building, TrafficPattern pattern, double rate, int count, long seed, LocalTime start) {
+		if (building.getFloors() < 2) {
+			throw new IllegalArgumentException("A building needs at least 2 floors for traffic: " + building.getFloors());
+		}
+		if (!(rate > 0)) {
+			throw new IllegalArgumentException("The rate must be positive: " + rate);
+		}
+		this.building = building;
+		this.pattern = pattern;
+		this.rate = rate;
+		this.count = count;
+		this.random = new SplittableRandom(seed);
+		this.start = FloorDataReader.START_OF_DAY + start.toSecondOfDay() * 1000L;
+		this.clock = 0;
+		this.generated = 0;
+	}
+	
+	/**
+	 * Get the number of requests created so far.
+	 * 
+	 * @return	an int, the number of requests
+	 */
+	public int getGenerated() {
+		return generated;
+	}
+	
+	/**
+	 * Checks whether there is another request.
+	 * 
+	 * @return	a boolean, false once count requests have been created
+	 */
+	@Override
+	public boolean hasNext() {
+		return count < 0 || generated < count;
+	}
+	
+	/**
+	 * Creates the next request, its time is after the time of the request before it.
+	 * 
+	 * @return	a FloorData Object, the request
+	 */
+	@Override
+	public FloorData next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		// the time until the next request of a Poisson process
+		clock += -Math.log(1 - random.nextDouble()) * 1000 / rate;
+		generated++;
+		
+		int floors = building.getFloors();
+		int iFloor;
+		int dFloor;
+		double trip = random.nextDouble();
+		if (trip < pattern.getFromLobby()) {
+			iFloor = TrafficPattern.LOBBY;
+			dFloor = otherFloor(iFloor, floors);
+		} else if (trip < pattern.getFromLobby() + pattern.getToLobby()) {
+			dFloor = TrafficPattern.LOBBY;
+			iFloor = otherFloor(dFloor, floors);
+		} else {
+			iFloor = 1 + random.nextInt(floors);
+			dFloor = otherFloor(iFloor, floors);
+		}
+		
+		try {
+			FloorData fd = new FloorData(building);
+			fd.setTimeMillis(start + (long) clock);
+			fd.setInitialFloor(iFloor);
+			fd.setDestinationFloor(dFloor);
+			fd.setFloorButton(iFloor < dFloor ? "Up" : "Down");
+			return fd;
+		} catch (IOException e) {
+			// the floors are always in the building
+			throw new IllegalStateException(e);
+		}
+	}
+	
+	/**
+	 * Chooses a random floor of the building that is not the given floor.
+	 * 
+	 * @param floor		an int, the floor to leave out
+	 * @param floors	an int, the top floor
+	 * @return	an int, a floor between 1 and floors
+	 */
+	private int otherFloor(int floor, int floors) {
+		int other = 1 + random.nextInt(floors - 1);
+		return other >= floor ? other + 1 : other;
+	}
+	
+	/**
+	 * Writes the requests to a CSV file.
+	 * 
+	 * @param writer	a FloorDataWriter, the CSV file
+	 * @return	an int, the number of requests written
+	 * @throws IOException	if the file cannot be written
+	 */
+	public int write(FloorDataWriter writer) throws IOException {
+		if (count < 0) {
+			throw new IllegalStateException("A generator with no limit cannot be written to a file");
+		}
+		int written = 0;
+		while (hasNext()) {
+			writer.write(next());
+			written++;
+		}
+		writer.flush();
+		return written;
+	}
+	
+	/**
+	 * Sends the requests to the scheduler at the rate they arrive, then tells it that all of them have been sent.
+	 * A request is sent as soon as its time has passed, so if the scheduler cannot keep up the requests are not
+	 * spread out, they are sent as fast as addRequests accepts them.
+	 * 
+	 * @param s	a Scheduler, the scheduler
+	 * @return	a long, the time it took to send the requests in nanoseconds
+	 */
+	public long feed(Scheduler s) {
+		long begin = System.nanoTime();
+		try {
+			while (hasNext()) {
+				FloorData fd = next();
+				long due = begin + (long) (clock * 1000000);
+				long wait;
+				while ((wait = due - System.nanoTime()) > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				s.addRequests(fd);
+			}
+		} finally {
+			s.notifyRequestsLoaded();
+		}
+		return System.nanoTime() - begin;
+	}
+	
+	/**
+	 * Writes requests to a CSV file, or finds the rate at which the scheduler stops keeping up.
+	 * 
+	 * "csv file pattern floors requests rate [seed]" writes the requests to the file,
+	 * "trace file pattern floors requests rate [seed]" writes them to a binary trace,
+	 * "load pattern floors elevators requests rate..." sends the requests to a scheduler at each rate
+	 * and prints the rate the scheduler serviced them at and the time the requests waited.
+	 * 
+	 * @param args	the mode and its arguments
+	 * @throws IOException	if the CSV file cannot be written
+	 * @throws InterruptedException	if the load test is interrupted
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		if (args.length >= 6 && args[0].equals("csv")) {
+			TrafficGenerator generator = new TrafficGenerator(Building.of(Integer.parseInt(args[3])), TrafficPattern.valueOf(args[2]),
+					Double.parseDouble(args[5]), Integer.parseInt(args[4]), args.length > 6 ? Long.parseLong(args[6]) : 42);
+			try (FloorDataWriter writer = new FloorDataWriter(args[1])) {
+				System.out.println("Wrote " + generator.write(writer) + " requests to " + args[1]);
+			}
+			return;
+		}
+		if (args.length >= 6 && args[0].equals("trace")) {
+			Building building = Building.of(Integer.parseInt(args[3]));
+			TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.valueOf(args[2]),
+					Double.parseDouble(args[5]), Integer.parseInt(args[4]), args.length > 6 ? Long.parseLong(args[6]) : 42);
+			try (TraceWriter writer = new TraceWriter(Paths.get(args[1]), building)) {
+				while (generator.hasNext()) {
+					writer.write(generator.next());
+				}
+				System.out.println("Wrote " + writer.getCount() + " requests to " + args[1]);
+			}
+			return;
+		}
+		if (args.length < 6 || !args[0].equals("load")) {
+			System.err.println("Usage: TrafficGenerator csv <file> <pattern> <floors> <requests> <rate> [seed]");
+			System.err.println("       TrafficGenerator trace <file> <pattern> <floors> <requests> <rate> [seed]");
+			System.err.println("       TrafficGenerator load <pattern> <floors> <elevators> <requests> <rate>...");
+			return;
+		}
+		
+		TrafficPattern pattern = TrafficPattern.valueOf(args[1]);
+		Building building = Building.of(Integer.parseInt(args[2]));
+		int elevatorCount = Integer.parseInt(args[3]);
+		int requests = Integer.parseInt(args[4]);
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+		
+		System.out.println("Offered (req/s)\tSent (req/s)\tServiced (req/s)\tWait p50 (ms)\tWait p99 (ms)\tMax pending");
+		for (int i = 5; i < args.length; i++) {
+			double rate = Double.parseDouble(args[i]);
+			Scheduler s = new Scheduler(elevatorCount, requests);
+			TrafficGenerator generator = new TrafficGenerator(building, pattern, rate, requests, 42);
+			
+			Thread scheduler = new Thread(s, "Scheduler");
+			Thread floor = new Thread(() -> {
+				while (s.awaitSchedulerToFloor() != null);
+			}, "Floor");
+			long begin = System.nanoTime();
+			scheduler.start();
+			floor.start();
+			long sent = generator.feed(s);
+			scheduler.join();
+			floor.join();
+			long elapsed = System.nanoTime() - begin;
+			
+			MetricsSnapshot metrics = s.getMetrics().snapshot();
+			System.out.printf("%.0f\t\t%.0f\t\t%.0f\t\t\t%.3f\t\t%.3f\t\t%d%n", rate, requests * 1e9 / sent, requests * 1e9 / elapsed,
+					metrics.getWaitTime().getPercentile(50) / 1e6, metrics.getWaitTime().getPercentile(99) / 1e6,
+					metrics.getMaxPendingDepth());
+		}
+	}
+}
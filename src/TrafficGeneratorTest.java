@@ -0,0 +1,141 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for TrafficGenerator Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class TrafficGeneratorTest {
+	
+	Building building = Building.of(40);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that the same seed creates the same requests.
+	 */
+	@Test
+	void testSeed() {
+		TrafficGenerator a = new TrafficGenerator(building, TrafficPattern.LUNCH, 5, 100, 1);
+		TrafficGenerator b = new TrafficGenerator(building, TrafficPattern.LUNCH, 5, 100, 1);
+		TrafficGenerator c = new TrafficGenerator(building, TrafficPattern.LUNCH, 5, 100, 2);
+		boolean different = false;
+		while (a.hasNext()) {
+			FloorData x = a.next();
+			FloorData y = b.next();
+			FloorData z = c.next();
+			assertEquals(x.getTimeMillis(), y.getTimeMillis());
+			assertEquals(x.getInitialFloor(), y.getInitialFloor());
+			assertEquals(x.getDestinationFloor(), y.getDestinationFloor());
+			different |= x.getInitialFloor() != z.getInitialFloor() || x.getTimeMillis() != z.getTimeMillis();
+		}
+		assertFalse(b.hasNext());
+		assertEquals(100, a.getGenerated());
+		assertTrue(different);
+	}
+	
+	/**
+	 * Tests that the requests are valid, in order, and arrive at the average rate.
+	 */
+	@Test
+	void testPoissonArrivals() {
+		int requests = 20000;
+		TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.INTERFLOOR, 10, requests, 3);
+		long first = 0;
+		long last = 0;
+		int[] initialFloors = new int[building.getFloors() + 1];
+		for (int i = 0; i < requests; i++) {
+			FloorData fd = generator.next();
+			assertNotEquals(fd.getInitialFloor(), fd.getDestinationFloor());
+			assertTrue(fd.getInitialFloor() >= 1 && fd.getDestinationFloor() >= 1);
+			assertEquals(Direction.of(fd) == Direction.UP ? "Up" : "Down", fd.getFloorButton());
+			assertTrue(fd.getTimeMillis() >= last);
+			if (i == 0) {
+				first = fd.getTimeMillis();
+			}
+			last = fd.getTimeMillis();
+			initialFloors[fd.getInitialFloor()]++;
+		}
+		
+		// 10 requests per second on average
+		double seconds = (last - first) / 1000.0;
+		assertEquals(requests / 10.0, seconds, requests / 10.0 * 0.05);
+		// interfloor traffic starts at every floor about as often
+		for (int floor = 1; floor <= building.getFloors(); floor++) {
+			assertEquals(requests / building.getFloors(), initialFloors[floor], requests / building.getFloors() * 0.25);
+		}
+	}
+	
+	/**
+	 * Tests that the requests follow the share of the pattern that starts or ends at the lobby.
+	 */
+	@Test
+	void testPatterns() {
+		for (TrafficPattern pattern : TrafficPattern.values()) {
+			int requests = 10000;
+			int fromLobby = 0;
+			int toLobby = 0;
+			TrafficGenerator generator = new TrafficGenerator(building, pattern, 1, requests, 5);
+			while (generator.hasNext()) {
+				FloorData fd = generator.next();
+				fromLobby += fd.getInitialFloor() == TrafficPattern.LOBBY ? 1 : 0;
+				toLobby += fd.getDestinationFloor() == TrafficPattern.LOBBY ? 1 : 0;
+			}
+			// interfloor requests start or end at the lobby too, 1 in 40 floors
+			assertEquals(pattern.getFromLobby() + 0.025, fromLobby / (double) requests, 0.03, pattern.name());
+			assertEquals(pattern.getToLobby() + 0.025, toLobby / (double) requests, 0.03, pattern.name());
+		}
+	}
+	
+	/**
+	 * Tests that the requests fed to the scheduler are all serviced, and are not sent faster than the rate.
+	 * 
+	 * @throws Exception	if the test is interrupted
+	 */
+	@Test
+	void testFeed() throws Exception {
+		Scheduler s = new Scheduler(4);
+		TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.UP_PEAK, 2000, 200, 9);
+		Thread scheduler = new Thread(s);
+		Thread floor = new Thread(() -> {
+			while (s.awaitSchedulerToFloor() != null);
+		});
+		scheduler.start();
+		floor.start();
+		long elapsed = generator.feed(s);
+		scheduler.join(10000);
+		floor.join(10000);
+		
+		assertFalse(scheduler.isAlive());
+		assertEquals(200, s.getMetrics().snapshot().getServicedRequests());
+		// the last request is due about 100 ms after the first
+		assertTrue(elapsed > 50000000L, "fed in " + elapsed + " ns");
+	}
+	
+	/**
+	 * Tests that a building needs two floors and a rate.
+	 */
+	@Test
+	void testInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> new TrafficGenerator(Building.of(1), TrafficPattern.LUNCH, 1, 1, 1));
+		assertThrows(IllegalArgumentException.class, () -> new TrafficGenerator(building, TrafficPattern.LUNCH, 0, 1, 1));
+	}
+}
@@ -0,0 +1,56 @@
+/**
+ * TrafficPattern enum for the kinds of traffic in a building during the day,
+ * the share of the requests that start at the lobby, that end at the lobby, and that go between two other floors.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public enum TrafficPattern {
+	// morning, most passengers come in at the lobby and go up to their floor
+	UP_PEAK(0.85, 0.05),
+	// evening, most passengers go down to the lobby and leave
+	DOWN_PEAK(0.05, 0.85),
+	// lunch, passengers go out and come back at the same time
+	LUNCH(0.4, 0.4),
+	// during the day, passengers go between the floors of the building
+	INTERFLOOR(0.0, 0.0);
+	
+	public static final int LOBBY = 1;	// the floor passengers come in and leave at
+	
+	private final double fromLobby;
+	private final double toLobby;
+	
+	/**
+	 * Constructor for TrafficPattern.
+	 * 
+	 * @param fromLobby	a double, the share of the requests made at the lobby
+	 * @param toLobby	a double, the share of the requests going to the lobby
+	 */
+	TrafficPattern(double fromLobby, double toLobby) {
+		this.fromLobby = fromLobby;
+		this.toLobby = toLobby;
+	}
+	
+	/**
+	 * Get the share of the requests made at the lobby.
+	 * 
+	 * @return	a double, between 0 and 1
+	 */
+	public double getFromLobby() {
+		return fromLobby;
+	}
+	
+	/**
+	 * Get the share of the requests going to the lobby.
+	 * 
+	 * @return	a double, between 0 and 1
+	 */
+	public double getToLobby() {
+		return toLobby;
+	}
+}
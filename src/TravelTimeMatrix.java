@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+/**
+ * TravelTimeMatrix Class that holds the time it takes a car to travel between every two floors of a building,
+ * calculated once from its Kinematics, so estimating a trip is a lookup instead of a calculation.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TravelTimeMatrix {
+	
+	// the matrix of the largest building takes 16 MB
+	public static final int MAX_FLOORS = 2047;
+	
+	private final Building building;
+	private final Kinematics kinematics;
+	private final int size;	// the number of floors, including floor 0
+	private final int[] times;	// milliseconds, row by row
+	private final long stopTime;	// milliseconds
+	
+	/**
+	 * Constructor for TravelTimeMatrix for a building whose floors are all the same height.
+	 * 
+	 * @param building		a Building, the building
+	 * @param kinematics	a Kinematics, how the cars move
+	 */
+	public TravelTimeMatrix(Building building, Kinematics kinematics) {
+		this(building, kinematics, uniformHeights(building, kinematics));
+	}
+	
+	/**
+	 * Constructor for TravelTimeMatrix for a building whose floors are not all the same height, e.g., a tall lobby.
+	 * 
+	 * @param building		a Building, the building
+	 * @param kinematics	a Kinematics, how the cars move
+	 * @param floorHeights	a double[], the height of every floor in m, from floor 0 to the top floor
+	 */
+	public TravelTimeMatrix(Building building, Kinematics kinematics, double[] floorHeights) {
+		if (building.getFloors() > MAX_FLOORS) {
+			throw new IllegalArgumentException("A travel time matrix has at most " + MAX_FLOORS + " floors: " + building.getFloors());
+		}
+		this.building = building;
+		this.kinematics = kinematics;
+		this.size = building.getFloors() + 1;
+		if (floorHeights.length != size) {
+			throw new IllegalArgumentException("Expected the height of " + size + " floors: " + floorHeights.length);
+		}
+		this.stopTime = kinematics.getStopTime();
+		
+		double[] levels = new double[size];	// the height of the bottom of every floor
+		for (int f = 1; f < size; f++) {
+			levels[f] = levels[f - 1] + floorHeights[f - 1];
+		}
+		this.times = new int[size * size];
+		for (int from = 0; from < size; from++) {
+			for (int to = from + 1; to < size; to++) {
+				int t = (int) kinematics.getTravelTime(levels[to] - levels[from]);
+				times[from * size + to] = t;
+				times[to * size + from] = t;
+			}
+		}
+	}
+	
+	/**
+	 * Creates the heights of a building whose floors are all the same height.
+	 * 
+	 * @param building		a Building, the building
+	 * @param kinematics	a Kinematics, with the floor height
+	 * @return	a double[], the height of every floor in m
+	 */
+	private static double[] uniformHeights(Building building, Kinematics kinematics) {
+		double[] heights = new double[building.getFloors() + 1];
+		Arrays.fill(heights, kinematics.getFloorHeight());
+		return heights;
+	}
+	
+	/**
+	 * Gets the time it takes a car to travel between two floors, from standing still to standing still.
+	 * 
+	 * @param from	an int, the floor the car leaves
+	 * @param to	an int, the floor the car stops at
+	 * @return	an int, the travel time in milliseconds
+	 */
+	public int getTravelTime(int from, int to) {
+		return times[from * size + to];
+	}
+	
+	/**
+	 * Get the time a stop takes.
+	 * 
+	 * @return	a long, the stop time in milliseconds
+	 */
+	public long getStopTime() {
+		return stopTime;
+	}
+	
+	/**
+	 * Get the building the matrix was calculated for.
+	 * 
+	 * @return	a Building, the building
+	 */
+	public Building getBuilding() {
+		return building;
+	}
+	
+	/**
+	 * Get how the cars move.
+	 * 
+	 * @return	a Kinematics, the kinematics the matrix was calculated from
+	 */
+	public Kinematics getKinematics() {
+		return kinematics;
+	}
+}
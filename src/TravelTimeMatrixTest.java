@@ -0,0 +1,79 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for TravelTimeMatrix and Kinematics Classes.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class TravelTimeMatrixTest {
+
+	Kinematics kinematics = new Kinematics(1.0, 2.5, 3.5, 2000, 3000, 3000);
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that a short trip never reaches the top speed and a long one cruises at it.
+	 */
+	@Test
+	void testKinematics() {
+		// 3.5 m is shorter than the 6.25 m it takes to reach 2.5 m/s and stop again
+		assertEquals(Math.round(2 * Math.sqrt(3.5) * 1000), kinematics.getTravelTime(3.5));
+		// 35 m: 14 s at the top speed, plus 2.5 s lost speeding up and slowing down
+		assertEquals(16500, kinematics.getTravelTime(35));
+		assertEquals(kinematics.getTravelTime(35), kinematics.getTravelTime(-35));
+		assertEquals(0, kinematics.getTravelTime(0));
+		assertEquals(8000, kinematics.getStopTime());
+	}
+	
+	/**
+	 * Tests that the matrix holds the travel time between every two floors, in both directions.
+	 */
+	@Test
+	void testMatrix() {
+		TravelTimeMatrix matrix = new TravelTimeMatrix(Building.of(20), kinematics);
+		
+		assertEquals(0, matrix.getTravelTime(7, 7));
+		assertEquals(kinematics.getTravelTime(3.5), matrix.getTravelTime(0, 1));
+		assertEquals(16500, matrix.getTravelTime(5, 15));
+		assertEquals(matrix.getTravelTime(5, 15), matrix.getTravelTime(15, 5));
+		assertEquals(matrix.getTravelTime(0, 10), matrix.getTravelTime(10, 20));
+		assertTrue(matrix.getTravelTime(0, 20) < 2 * matrix.getTravelTime(0, 10));
+		assertEquals(8000, matrix.getStopTime());
+	}
+	
+	/**
+	 * Tests a building with a tall lobby, and that a building too big for a matrix is rejected.
+	 */
+	@Test
+	void testFloorHeights() {
+		double[] heights = new double[11];
+		Arrays.fill(heights, 3.5);
+		heights[0] = 7;
+		TravelTimeMatrix matrix = new TravelTimeMatrix(Building.of(10), kinematics, heights);
+		
+		assertEquals(kinematics.getTravelTime(7), matrix.getTravelTime(0, 1));
+		assertEquals(kinematics.getTravelTime(3.5), matrix.getTravelTime(1, 2));
+		assertThrows(IllegalArgumentException.class, () -> new TravelTimeMatrix(Building.of(10), kinematics, new double[3]));
+		assertThrows(IllegalArgumentException.class, () -> new TravelTimeMatrix(Building.of(TravelTimeMatrix.MAX_FLOORS + 1), kinematics));
+	}
+}
@@ -0,0 +1,82 @@
+/**
+ * TripLeg Class for the part of a trip one zone of a ZonedScheduler services, from the floor the trip
+ * gets in a car of the zone to the floor it gets out. The scheduler of the zone services the leg like any request,
+ * once it is dropped off the next leg is sent to the scheduler of the next zone.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class TripLeg extends FloorData {
+	
+	private final FloorData trip;	// the request the floor sent
+	private final int[] route;	// the zone of every leg, shared by the trips between the same zones
+	private final int[] stops;	// the floor every leg starts at, followed by the destination floor of the trip
+	private final int leg;	// the index of this leg
+	
+	/**
+	 * Constructor for TripLeg.
+	 * 
+	 * @param trip	a FloorData Object, the request the floor sent
+	 * @param route	an int[], the zone of every leg
+	 * @param stops	an int[], the floor every leg starts at, followed by the destination floor of the trip
+	 * @param leg	an int, the index of the leg
+	 */
+	TripLeg(FloorData trip, int[] route, int[] stops, int leg) {
+		super(trip.getBuilding(), trip.getTimeMillis(), (short) stops[leg], (short) stops[leg + 1],
+				(byte) (Direction.of(stops[leg], stops[leg + 1]) == Direction.UP ? 1 : 2));
+		this.trip = trip;
+		this.route = route;
+		this.stops = stops;
+		this.leg = leg;
+	}
+	
+	/**
+	 * Get the request the floor sent.
+	 * 
+	 * @return	a FloorData Object, the whole trip
+	 */
+	public FloorData getTrip() {
+		return trip;
+	}
+	
+	/**
+	 * Get the zone that services the leg.
+	 * 
+	 * @return	an int, the index of the zone
+	 */
+	public int getZone() {
+		return route[leg];
+	}
+	
+	/**
+	 * Get the index of the leg in the trip.
+	 * 
+	 * @return	an int, 0 for the first leg
+	 */
+	public int getLeg() {
+		return leg;
+	}
+	
+	/**
+	 * Checks whether the leg ends at the destination floor of the trip.
+	 * 
+	 * @return	a boolean, true if it is the last leg, false otherwise
+	 */
+	public boolean isLast() {
+		return leg == route.length - 1;
+	}
+	
+	/**
+	 * Gets the leg that starts where this one ends.
+	 * 
+	 * @return	a TripLeg, the next leg
+	 */
+	public TripLeg next() {
+		return new TripLeg(trip, route, stops, leg + 1);
+	}
+}
@@ -0,0 +1,595 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * UdpTransport Class that sends Messages between the floor, scheduler and elevator processes over UDP.
+ * The messages to a peer are batched, as many as fit in one datagram, behind a header of
+ * the sequence number of the datagram, the sequence number of the last datagram received in order from the peer
+ * (the acknowledgement), and the number of messages.
+ * A datagram that is not acknowledged within RETRANSMIT_TIMEOUT is sent again, twice as late every time up to
+ * MAX_RETRANSMIT_TIMEOUT, and the peer delivers the messages of every datagram exactly once and in the order they were sent.
+ * A peer that has not acknowledged a datagram sent MAX_ATTEMPTS times has failed: its messages are dropped,
+ * the datagrams it sends are ignored for the rest of the run, and the failure handler is told.
+ * 
+ * One thread sends all of the datagrams (new batches, retransmissions and acknowledgements),
+ * another receives them and calls the handler, so the handler must not block for long.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class UdpTransport implements Closeable {
+	
+	public static final int MAX_DATAGRAM = 1400;	// bytes, below the MTU of an Ethernet network
+	public static final int HEADER_BYTES = 12;
+	public static final int MAX_BATCH = (MAX_DATAGRAM - HEADER_BYTES) / Message.BYTES;	// messages per datagram
+	
+	public static final int MAX_ATTEMPTS = 10;	// times a datagram is sent before its peer has failed
+	
+	private static final long RETRANSMIT_TIMEOUT = 20000000;	// nanoseconds, doubled every time the datagram is sent again
+	private static final long MAX_RETRANSMIT_TIMEOUT = 1000000000;	// nanoseconds
+	private static final int WINDOW = 256;	// datagrams sent to a peer that have not been acknowledged
+	private static final long IDLE_TIME = 1000000;	// nanoseconds the sender sleeps when it has nothing to send
+	
+	private final DatagramChannel channel;
+	private final Map<SocketAddress, Peer> peers;
+	private volatile BiConsumer<SocketAddress, Message> handler;
+	private volatile Consumer<SocketAddress> failureHandler;
+	private volatile int maxAttempts;
+	private final Thread sender;
+	private final Thread receiver;
+	private volatile boolean running;
+	
+	private final long start;
+	private final LatencyHistogram roundTrip;	// from sending a datagram to its acknowledgement, in nanoseconds
+	private final AtomicLong sentMessages;
+	private final AtomicLong receivedMessages;
+	private final AtomicLong sentDatagrams;
+	private final AtomicLong retransmits;
+	private final AtomicLong droppedMessages;	// messages to failed peers
+	
+	private volatile double lossRate;	// the share of the datagrams that are dropped instead of sent, for testing
+	private final SplittableRandom loss;	// only used by the sender thread
+	
+	/**
+	 * Peer Class for the state of the link to one other process.
+	 */
+	private static class Peer {
+		final SocketAddress address;
+		final ConcurrentLinkedQueue<Message> outbox = new ConcurrentLinkedQueue<Message>();	// messages not sent yet
+		
+		// guarded by the peer
+		int nextSequence = 1;	// the sequence number of the next datagram sent to the peer
+		final TreeMap<Integer, Batch> unacknowledged = new TreeMap<Integer, Batch>();
+		int expected = 1;	// the sequence number of the next datagram delivered from the peer
+		
+		// only used by the receiver thread
+		final TreeMap<Integer, Message[]> early = new TreeMap<Integer, Message[]>();	// datagrams received out of order
+		
+		volatile boolean acknowledge;	// true when a datagram was received and has not been acknowledged
+		volatile boolean failed;	// true once the peer did not acknowledge a datagram sent maxAttempts times
+		
+		Peer(SocketAddress address) {
+			this.address = address;
+		}
+	}
+	
+	/**
+	 * Batch Class for a datagram that was sent and has not been acknowledged.
+	 */
+	private static class Batch {
+		final int sequence;
+		final byte[] messages;	// the encoded messages
+		final int count;
+		long sentAt;
+		int attempts;
+		
+		Batch(int sequence, byte[] messages, int count) {
+			this.sequence = sequence;
+			this.messages = messages;
+			this.count = count;
+		}
+		
+		// the time to wait for the acknowledgement, twice as long after every attempt
+		long timeout() {
+			return Math.min(RETRANSMIT_TIMEOUT << Math.min(Math.max(attempts - 1, 0), 6), MAX_RETRANSMIT_TIMEOUT);
+		}
+	}
+	
+	/**
+	 * Constructor for UdpTransport, opens a UDP socket on a port and starts the sender and receiver threads.
+	 * 
+	 * @param port	an int, the port, or 0 for any free port
+	 * @throws IOException	if the port cannot be opened
+	 */
+	public UdpTransport(int port) throws IOException {
+		this.channel = DatagramChannel.open();
+		channel.bind(new InetSocketAddress(port));
+		this.peers = new ConcurrentHashMap<SocketAddress, Peer>();
+		this.running = true;
+		this.start = System.nanoTime();
+		this.roundTrip = new LatencyHistogram();
+		this.sentMessages = new AtomicLong();
+		this.receivedMessages = new AtomicLong();
+		this.sentDatagrams = new AtomicLong();
+		this.retransmits = new AtomicLong();
+		this.droppedMessages = new AtomicLong();
+		this.maxAttempts = MAX_ATTEMPTS;
+		this.loss = new SplittableRandom(port);
+		
+		int localPort = getPort();
+		this.sender = new Thread(this::send, "UDP Sender " + localPort);
+		this.receiver = new Thread(this::receive, "UDP Receiver " + localPort);
+		sender.setDaemon(true);
+		receiver.setDaemon(true);
+		sender.start();
+		receiver.start();
+	}
+	
+	/**
+	 * Parses an address written as host:port.
+	 * 
+	 * @param address	a String, e.g. "localhost:5000"
+	 * @return	an InetSocketAddress, the address
+	 */
+	public static InetSocketAddress parseAddress(String address) {
+		int colon = address.lastIndexOf(':');
+		return new InetSocketAddress(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)));
+	}
+	
+	/**
+	 * Get the port the transport receives datagrams on.
+	 * 
+	 * @return	an int, the port
+	 */
+	public int getPort() {
+		try {
+			return ((InetSocketAddress) channel.getLocalAddress()).getPort();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+	
+	/**
+	 * Sets the handler that gets every message that is received, called on the receiver thread.
+	 * 
+	 * @param handler	a BiConsumer, gets the address of the sender and the message
+	 */
+	public void setHandler(BiConsumer<SocketAddress, Message> handler) {
+		this.handler = handler;
+	}
+	
+	/**
+	 * Sets the handler that is told when a peer has failed, called on the sender thread.
+	 * 
+	 * @param failureHandler	a Consumer, gets the address of the peer
+	 */
+	public void setFailureHandler(Consumer<SocketAddress> failureHandler) {
+		this.failureHandler = failureHandler;
+	}
+	
+	/**
+	 * Sets how many times a datagram is sent before the peer that does not acknowledge it has failed.
+	 * 
+	 * @param maxAttempts	an int, at least 1, MAX_ATTEMPTS by default
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("A datagram is sent at least once: " + maxAttempts);
+		}
+		this.maxAttempts = maxAttempts;
+	}
+	
+	/**
+	 * Gets the peers that have failed.
+	 * 
+	 * @return	a Set, the addresses of the peers that did not acknowledge a datagram sent the maximum number of times
+	 */
+	public Set<SocketAddress> getFailedPeers() {
+		Set<SocketAddress> failed = new HashSet<SocketAddress>();
+		for (Peer peer : peers.values()) {
+			if (peer.failed) {
+				failed.add(peer.address);
+			}
+		}
+		return failed;
+	}
+	
+	/**
+	 * Drops a share of the datagrams instead of sending them, to test the retransmission.
+	 * 
+	 * @param lossRate	a double, between 0 and 1
+	 */
+	public void setLossRate(double lossRate) {
+		this.lossRate = lossRate;
+	}
+	
+	/**
+	 * Sends a message to another process, it is batched with the other messages to the same process.
+	 * Does not block. The message is dropped if the process has failed.
+	 * 
+	 * @param address	a SocketAddress, the address of the other process
+	 * @param message	a Message, the message
+	 */
+	public void send(SocketAddress address, Message message) {
+		Peer peer = peers.computeIfAbsent(address, Peer::new);
+		if (peer.failed) {
+			droppedMessages.incrementAndGet();
+			return;
+		}
+		peer.outbox.add(message);
+		LockSupport.unpark(sender);
+	}
+	
+	/**
+	 * Used to run the sender thread: sends the messages in the outboxes in batches,
+	 * sends the datagrams that were not acknowledged in time again, and acknowledges the datagrams that were received.
+	 */
+	private void send() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM);
+		ByteBuffer messages = ByteBuffer.allocate(MAX_BATCH * Message.BYTES);
+		ArrayList<Batch> late = new ArrayList<Batch>();
+		
+		while (running) {
+			boolean idle = true;
+			try {
+				for (Peer peer : peers.values()) {
+					if (peer.failed) {
+						continue;
+					}
+					
+					// new batches
+					while (!peer.outbox.isEmpty()) {
+						Batch batch;
+						synchronized (peer) {
+							if (peer.unacknowledged.size() >= WINDOW) {
+								break;
+							}
+							messages.clear();
+							int count = 0;
+							Message message;
+							while (count < MAX_BATCH && (message = peer.outbox.poll()) != null) {
+								message.encode(messages);
+								count++;
+							}
+							byte[] bytes = new byte[messages.position()];
+							messages.flip();
+							messages.get(bytes);
+							batch = new Batch(peer.nextSequence++, bytes, count);
+							peer.unacknowledged.put(batch.sequence, batch);
+						}
+						sentMessages.addAndGet(batch.count);
+						transmit(buffer, peer, batch);
+						idle = false;
+					}
+					
+					// retransmissions
+					long now = System.nanoTime();
+					boolean failed = false;
+					synchronized (peer) {
+						for (Batch batch : peer.unacknowledged.values()) {
+							if (now - batch.sentAt > batch.timeout()) {
+								if (batch.attempts >= maxAttempts) {
+									failed = true;
+									break;
+								}
+								late.add(batch);
+							}
+						}
+					}
+					if (failed) {
+						late.clear();
+						fail(peer);
+						continue;
+					}
+					for (Batch batch : late) {
+						retransmits.incrementAndGet();
+						transmit(buffer, peer, batch);
+						idle = false;
+					}
+					late.clear();
+					
+					// acknowledgements that did not go out with a batch
+					if (peer.acknowledge) {
+						transmit(buffer, peer, null);
+					}
+				}
+			} catch (ClosedChannelException e) {
+				return;
+			} catch (IOException e) {
+				System.err.println("UDP: could not send a datagram: " + e.getMessage());
+			}
+			
+			if (idle) {
+				LockSupport.parkNanos(IDLE_TIME);
+			}
+		}
+	}
+	
+	/**
+	 * Gives up on a peer that did not acknowledge a datagram sent maxAttempts times, drops the messages
+	 * that were not acknowledged or not sent yet, and tells the failure handler.
+	 * 
+	 * @param peer	a Peer, the peer
+	 */
+	private void fail(Peer peer) {
+		int dropped = 0;
+		synchronized (peer) {
+			peer.failed = true;
+			for (Batch batch : peer.unacknowledged.values()) {
+				dropped += batch.count;
+			}
+			peer.unacknowledged.clear();
+			peer.early.clear();
+			peer.acknowledge = false;
+		}
+		while (peer.outbox.poll() != null) {
+			dropped++;
+		}
+		droppedMessages.addAndGet(dropped);
+		System.err.println("UDP: " + peer.address + " did not acknowledge a datagram sent " + maxAttempts + " times, "
+				+ dropped + " messages dropped");
+		
+		Consumer<SocketAddress> h = failureHandler;
+		if (h != null) {
+			h.accept(peer.address);
+		}
+	}
+	
+	/**
+	 * Sends one datagram to a peer with the current acknowledgement.
+	 * 
+	 * @param buffer	a ByteBuffer, where the datagram is encoded
+	 * @param peer		a Peer, the peer
+	 * @param batch		a Batch, the messages, or null for a datagram that only acknowledges
+	 * @throws IOException	if the datagram cannot be sent
+	 */
+	private void transmit(ByteBuffer buffer, Peer peer, Batch batch) throws IOException {
+		int acknowledgement;
+		synchronized (peer) {
+			peer.acknowledge = false;
+			acknowledgement = peer.expected - 1;
+			if (batch != null) {
+				batch.sentAt = System.nanoTime();
+				batch.attempts++;
+			}
+		}
+		
+		buffer.clear();
+		buffer.putInt(batch == null ? 0 : batch.sequence)
+			.putInt(acknowledgement)
+			.putShort((short) (batch == null ? 0 : batch.count))
+			.putShort((short) 0);
+		if (batch != null) {
+			buffer.put(batch.messages);
+		}
+		buffer.flip();
+		
+		double rate = lossRate;
+		if (rate > 0 && loss.nextDouble() < rate) {
+			return;
+		}
+		channel.send(buffer, peer.address);
+		sentDatagrams.incrementAndGet();
+	}
+	
+	/**
+	 * Used to run the receiver thread: processes the acknowledgement of every datagram
+	 * and delivers its messages to the handler, in the order they were sent.
+	 */
+	private void receive() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_DATAGRAM);
+		ArrayList<Message[]> deliver = new ArrayList<Message[]>();
+		
+		while (running) {
+			SocketAddress from;
+			try {
+				buffer.clear();
+				from = channel.receive(buffer);
+			} catch (ClosedChannelException e) {
+				return;
+			} catch (IOException e) {
+				System.err.println("UDP: could not receive a datagram: " + e.getMessage());
+				continue;
+			}
+			buffer.flip();
+			if (buffer.remaining() < HEADER_BYTES) {
+				continue;
+			}
+			
+			int sequence = buffer.getInt();
+			int acknowledgement = buffer.getInt();
+			int count = buffer.getShort();
+			buffer.getShort();
+			if (count < 0 || buffer.remaining() < count * Message.BYTES) {
+				continue;
+			}
+			
+			Peer peer = peers.computeIfAbsent(from, Peer::new);
+			if (peer.failed) {
+				continue;
+			}
+			long now = System.nanoTime();
+			synchronized (peer) {
+				// every datagram up to the acknowledgement has arrived
+				Iterator<Batch> acknowledged = peer.unacknowledged.headMap(acknowledgement, true).values().iterator();
+				while (acknowledged.hasNext()) {
+					Batch batch = acknowledged.next();
+					if (batch.attempts == 1) {
+						// the round trip of a datagram that was sent again is not known
+						roundTrip.record(now - batch.sentAt);
+					}
+					acknowledged.remove();
+				}
+			}
+			if (sequence <= 0) {
+				continue;
+			}
+			
+			Message[] messages = new Message[count];
+			for (int i = 0; i < count; i++) {
+				messages[i] = Message.decode(buffer);
+			}
+			synchronized (peer) {
+				if (sequence == peer.expected) {
+					deliver.add(messages);
+					peer.expected++;
+					Message[] next;
+					while ((next = peer.early.remove(peer.expected)) != null) {
+						deliver.add(next);
+						peer.expected++;
+					}
+				} else if (sequence > peer.expected) {
+					peer.early.putIfAbsent(sequence, messages);
+				}
+				// a datagram that was already delivered is acknowledged again, the acknowledgement was lost
+				peer.acknowledge = true;
+			}
+			LockSupport.unpark(sender);
+			
+			BiConsumer<SocketAddress, Message> h = handler;
+			for (Message[] batch : deliver) {
+				receivedMessages.addAndGet(batch.length);
+				if (h != null) {
+					for (Message message : batch) {
+						h.accept(from, message);
+					}
+				}
+			}
+			deliver.clear();
+		}
+	}
+	
+	/**
+	 * Blocks until every message has been sent and acknowledged, or the time is up.
+	 * 
+	 * @param timeout	a long, the longest time to wait in milliseconds
+	 * @return	a boolean, true if every message was acknowledged
+	 */
+	public boolean flush(long timeout) {
+		long deadline = System.nanoTime() + timeout * 1000000;
+		while (System.nanoTime() < deadline) {
+			boolean done = true;
+			for (Peer peer : peers.values()) {
+				synchronized (peer) {
+					done &= peer.failed || peer.outbox.isEmpty() && peer.unacknowledged.isEmpty() && !peer.acknowledge;
+				}
+			}
+			if (done) {
+				return true;
+			}
+			LockSupport.parkNanos(IDLE_TIME);
+		}
+		return false;
+	}
+	
+	/**
+	 * Get the round trip times of the datagrams, from sending one until it was acknowledged.
+	 * 
+	 * @return	a LatencyHistogram, the round trip times in nanoseconds
+	 */
+	public LatencyHistogram getRoundTrip() {
+		return roundTrip;
+	}
+	
+	/**
+	 * Get the number of messages sent, not counting retransmissions.
+	 * 
+	 * @return	a long, the number of messages
+	 */
+	public long getSentMessages() {
+		return sentMessages.get();
+	}
+	
+	/**
+	 * Get the number of messages delivered to the handler.
+	 * 
+	 * @return	a long, the number of messages
+	 */
+	public long getReceivedMessages() {
+		return receivedMessages.get();
+	}
+	
+	/**
+	 * Get the number of datagrams sent, including retransmissions and acknowledgements.
+	 * 
+	 * @return	a long, the number of datagrams
+	 */
+	public long getSentDatagrams() {
+		return sentDatagrams.get();
+	}
+	
+	/**
+	 * Get the number of datagrams that were sent again because they were not acknowledged in time.
+	 * 
+	 * @return	a long, the number of retransmissions
+	 */
+	public long getRetransmits() {
+		return retransmits.get();
+	}
+	
+	/**
+	 * Get the number of messages that were dropped because their peer had failed.
+	 * 
+	 * @return	a long, the number of messages
+	 */
+	public long getDroppedMessages() {
+		return droppedMessages.get();
+	}
+	
+	/**
+	 * Gets the messages and datagrams sent and received, the messages per second and the round trip time.
+	 * 
+	 * @return	a String, the statistics of the transport
+	 */
+	@Override
+	public String toString() {
+		long elapsed = Math.max(1, System.nanoTime() - start);
+		long messages = getSentMessages() + getReceivedMessages();
+		return "UDP: sent " + getSentMessages() + " messages in " + getSentDatagrams() + " datagrams (" + getRetransmits() + " retransmitted), "
+				+ "received " + getReceivedMessages() + " messages, " + messages * 1000000000L / elapsed + " messages/s\n"
+				+ (getDroppedMessages() > 0 ? "UDP: " + getFailedPeers().size() + " peers failed, " + getDroppedMessages() + " messages dropped\n" : "")
+				+ "UDP round trip: " + roundTrip;
+	}
+	
+	/**
+	 * Waits up to a second for the messages to be acknowledged, then stops the threads and closes the socket.
+	 */
+	@Override
+	public void close() {
+		flush(1000);
+		running = false;
+		LockSupport.unpark(sender);
+		try {
+			sender.join();
+			channel.close();
+			receiver.join();
+		} catch (IOException e) {
+			System.err.println("UDP: could not close the socket: " + e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for UdpTransport Class, on localhost.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class UdpTransportTest {
+	
+	UdpTransport a;
+	UdpTransport b;
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+		a = new UdpTransport(0);
+		b = new UdpTransport(0);
+	}
+
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+		a.close();
+		b.close();
+	}
+	
+	/**
+	 * Sends messages from a to b and waits until all of them are received.
+	 * 
+	 * @param count	an int, the number of messages
+	 * @return	a List, the ids of the messages in the order they were received
+	 * @throws InterruptedException	if the test is interrupted
+	 */
+	private List<Integer> sendAll(int count) throws InterruptedException {
+		List<Integer> received = Collections.synchronizedList(new ArrayList<Integer>());
+		CountDownLatch done = new CountDownLatch(count);
+		b.setHandler((from, m) -> {
+			received.add(m.getId());
+			done.countDown();
+		});
+		
+		SocketAddress address = new InetSocketAddress("localhost", b.getPort());
+		for (int i = 1; i <= count; i++) {
+			a.send(address, new Message(MessageType.REQUEST, 0, i, i, 1, 2, (byte) 1, 10));
+		}
+		assertTrue(done.await(30, TimeUnit.SECONDS), "received " + received.size());
+		assertTrue(a.flush(5000));
+		return received;
+	}
+	
+	/**
+	 * Tests that the messages are received once, in order, batched into fewer datagrams.
+	 * 
+	 * @throws Exception	if the test is interrupted
+	 */
+	@Test
+	void testBatching() throws Exception {
+		List<Integer> received = sendAll(5000);
+		for (int i = 0; i < received.size(); i++) {
+			assertEquals(i + 1, received.get(i));
+		}
+		assertEquals(5000, a.getSentMessages());
+		assertEquals(5000, b.getReceivedMessages());
+		assertTrue(a.getSentDatagrams() <= 5000 / 2, "sent " + a.getSentDatagrams() + " datagrams");
+		assertTrue(a.getRoundTrip().getCount() > 0);
+	}
+	
+	/**
+	 * Tests that the messages are received once and in order when datagrams and acknowledgements are lost.
+	 * 
+	 * @throws Exception	if the test is interrupted
+	 */
+	@Test
+	void testRetransmit() throws Exception {
+		a.setLossRate(0.3);
+		b.setLossRate(0.3);
+		List<Integer> received = sendAll(3000);
+		assertEquals(3000, received.size());
+		for (int i = 0; i < received.size(); i++) {
+			assertEquals(i + 1, received.get(i));
+		}
+		assertTrue(a.getRetransmits() > 0);
+	}
+	
+	/**
+	 * Tests that a datagram to a peer that stopped is sent again later every time, and that the peer has failed
+	 * once it was sent the maximum number of times.
+	 * 
+	 * @throws Exception	if the test is interrupted
+	 */
+	@Test
+	void testDeadPeer() throws Exception {
+		SocketAddress address = new InetSocketAddress("localhost", b.getPort());
+		b.close();
+		List<SocketAddress> failed = Collections.synchronizedList(new ArrayList<SocketAddress>());
+		CountDownLatch done = new CountDownLatch(1);
+		a.setFailureHandler(peer -> {
+			failed.add(peer);
+			done.countDown();
+		});
+		a.setMaxAttempts(4);
+		
+		long start = System.nanoTime();
+		a.send(address, new Message(MessageType.REQUEST, 0, 1, 1, 1, 2, (byte) 1, 10));
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		// sent again after 20, 40 and 80 ms, then given up on 160 ms later
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300));
+		assertEquals(3, a.getRetransmits());
+		assertEquals(List.of(address), failed);
+		assertTrue(a.getFailedPeers().contains(address));
+		
+		a.send(address, new Message(MessageType.REQUEST, 0, 2, 1, 1, 2, (byte) 1, 10));
+		assertEquals(2, a.getDroppedMessages());
+		assertTrue(a.flush(100));
+		assertEquals(1, failed.size());
+	}
+}
@@ -0,0 +1,130 @@
+/**
+ * Zone Class for one group of elevators in a tall building, e.g., the low-rise, mid-rise or high-rise cars.
+ * The elevators of a zone serve its lobby and the floors from its lowest to its highest floor, and nothing else.
+ * The lobby is where passengers change to or from the other zones, it does not have to be next to the other floors,
+ * e.g., an express zone that serves the ground floor and the floors 31 to 60, or a shuttle between the ground floor
+ * and a sky lobby on floor 61 (a zone from 61 to 61 with its lobby at 0).
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class Zone {
+	private final String name;
+	private final int lobby;	// the transfer floor of the zone
+	private final int lowestFloor;
+	private final int highestFloor;
+	private final int elevators;	// the number of elevators in the zone's group
+	
+	/**
+	 * Constructor for Zone.
+	 * 
+	 * @param name			a String, the name of the zone
+	 * @param lobby			an int, the floor where passengers change to or from the other zones
+	 * @param lowestFloor	an int, the lowest floor the zone serves besides its lobby
+	 * @param highestFloor	an int, the highest floor the zone serves besides its lobby
+	 * @param elevators		an int, the number of elevators that serve the zone
+	 */
+	public Zone(String name, int lobby, int lowestFloor, int highestFloor, int elevators) {
+		if (lowestFloor < 0 || highestFloor < lowestFloor || lobby < 0) {
+			throw new IllegalArgumentException("Zone " + name + " has no floors: " + lowestFloor + "-" + highestFloor + "@" + lobby);
+		}
+		if (elevators < 1) {
+			throw new IllegalArgumentException("Zone " + name + " needs at least one elevator: " + elevators);
+		}
+		this.name = name;
+		this.lobby = lobby;
+		this.lowestFloor = lowestFloor;
+		this.highestFloor = highestFloor;
+		this.elevators = elevators;
+	}
+	
+	/**
+	 * Parses a zone written as name=lowest-highest@lobby*elevators, e.g., "high=61-90@60*4".
+	 * 
+	 * @param zone	a String, the zone
+	 * @return	a Zone, the zone
+	 */
+	public static Zone parse(String zone) {
+		try {
+			int equals = zone.indexOf('=');
+			int dash = zone.indexOf('-', equals);
+			int at = zone.indexOf('@', dash);
+			int star = zone.indexOf('*', at);
+			return new Zone(zone.substring(0, equals).trim(), Integer.parseInt(zone.substring(at + 1, star).trim()),
+					Integer.parseInt(zone.substring(equals + 1, dash).trim()), Integer.parseInt(zone.substring(dash + 1, at).trim()),
+					Integer.parseInt(zone.substring(star + 1).trim()));
+		} catch (NumberFormatException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("A zone is written as name=lowest-highest@lobby*elevators: " + zone);
+		}
+	}
+	
+	/**
+	 * Checks whether the elevators of the zone stop at a floor.
+	 * 
+	 * @param floor	an int, the floor
+	 * @return	a boolean, true if the floor is the lobby or one of the zone's floors, false otherwise
+	 */
+	public boolean serves(int floor) {
+		return floor == lobby || (floor >= lowestFloor && floor <= highestFloor);
+	}
+	
+	/**
+	 * Get the name of the zone.
+	 * 
+	 * @return	a String, the name
+	 */
+	public String getName() {
+		return name;
+	}
+	
+	/**
+	 * Get the floor where passengers change to or from the other zones.
+	 * 
+	 * @return	an int, the lobby
+	 */
+	public int getLobby() {
+		return lobby;
+	}
+	
+	/**
+	 * Get the lowest floor the zone serves besides its lobby.
+	 * 
+	 * @return	an int, the lowest floor
+	 */
+	public int getLowestFloor() {
+		return lowestFloor;
+	}
+	
+	/**
+	 * Get the highest floor the zone serves besides its lobby.
+	 * 
+	 * @return	an int, the highest floor
+	 */
+	public int getHighestFloor() {
+		return highestFloor;
+	}
+	
+	/**
+	 * Get the number of elevators that serve the zone.
+	 * 
+	 * @return	an int, the size of the zone's group
+	 */
+	public int getElevators() {
+		return elevators;
+	}
+	
+	/**
+	 * Gets the zone the way parse reads it.
+	 * 
+	 * @return	a String, name=lowest-highest@lobby*elevators
+	 */
+	@Override
+	public String toString() {
+		return name + "=" + lowestFloor + "-" + highestFloor + "@" + lobby + "*" + elevators;
+	}
+}
@@ -0,0 +1,280 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * ZoneLayout Class for the zones of a tall building and the routes of the trips between them.
+ * Every floor of the building is served by at least one zone. A trip between two floors no zone serves together
+ * changes cars at the floors the zones share, e.g., a sky lobby, taking the route with the fewest changes.
+ * The floors served by the same zones have the same routes, so the routes are worked out once for every pair of them.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ZoneLayout {
+	
+	public static final int MAX_ZONES = 32;	// the zones serving a floor are kept in the bits of an int
+	
+	private final Building building;
+	private final List<Zone> zones;
+	private final int[] floorClasses;	// the class of every floor, the floors in a class are served by the same zones
+	private final int[] classZones;	// the zones serving the floors of every class, a bit per zone
+	private final int[][] transferFloors;	// the floor two zones share, -1 if they share none
+	private final int[][][] routes;	// the zones of the legs from a class of floors to another, null if no zone serves the floors
+	
+	/**
+	 * Constructor for ZoneLayout.
+	 * 
+	 * @param building	a Building, the building the zones are in
+	 * @param zones		a List, the zones, every floor from 1 to the top floor must be served by one of them
+	 */
+	public ZoneLayout(Building building, List<Zone> zones) {
+		if (zones.isEmpty() || zones.size() > MAX_ZONES) {
+			throw new IllegalArgumentException("A building has between 1 and " + MAX_ZONES + " zones: " + zones.size());
+		}
+		this.building = building;
+		this.zones = Collections.unmodifiableList(new ArrayList<Zone>(zones));
+		this.floorClasses = new int[building.getFloors() + 1];
+		
+		// the floors served by the same zones are in the same class
+		HashMap<Integer, Integer> classes = new HashMap<Integer, Integer>();
+		ArrayList<Integer> masks = new ArrayList<Integer>();
+		for (int floor = 0; floor < floorClasses.length; floor++) {
+			int mask = 0;
+			for (int z = 0; z < zones.size(); z++) {
+				if (zones.get(z).serves(floor)) {
+					mask |= 1 << z;
+				}
+			}
+			if (mask == 0 && floor > 0) {
+				throw new IllegalArgumentException("No zone serves floor " + floor);
+			}
+			Integer c = classes.get(mask);
+			if (c == null) {
+				c = masks.size();
+				classes.put(mask, c);
+				masks.add(mask);
+			}
+			floorClasses[floor] = c;
+		}
+		this.classZones = new int[masks.size()];
+		for (int c = 0; c < classZones.length; c++) {
+			classZones[c] = masks.get(c);
+		}
+		
+		this.transferFloors = new int[zones.size()][zones.size()];
+		for (int i = 0; i < zones.size(); i++) {
+			for (int j = 0; j < zones.size(); j++) {
+				transferFloors[i][j] = sharedFloor(zones.get(i), zones.get(j));
+			}
+		}
+		
+		this.routes = new int[classZones.length][classZones.length][];
+		for (int from = 0; from < classZones.length; from++) {
+			for (int to = 0; to < classZones.length; to++) {
+				if (classZones[from] != 0 && classZones[to] != 0) {
+					routes[from][to] = findRoute(classZones[from], classZones[to]);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Parses the zones of a building written as comma separated zones, e.g., "low=2-30@1*4,high=31-60@1*4".
+	 * 
+	 * @param building	a Building, the building the zones are in
+	 * @param zones		a String, the zones the way Zone.parse reads them
+	 * @return	a ZoneLayout, the zones
+	 */
+	public static ZoneLayout parse(Building building, String zones) {
+		ArrayList<Zone> parsed = new ArrayList<Zone>();
+		for (String zone : zones.split(",")) {
+			parsed.add(Zone.parse(zone));
+		}
+		return new ZoneLayout(building, parsed);
+	}
+	
+	/**
+	 * Splits the floors above the lobby into zones of the same size, every zone serves the lobby.
+	 * 
+	 * @param building		a Building, the building
+	 * @param zoneCount		an int, the number of zones
+	 * @param carsPerZone	an int, the number of elevators of every zone
+	 * @return	a ZoneLayout, the zones
+	 */
+	public static ZoneLayout split(Building building, int zoneCount, int carsPerZone) {
+		int lobby = TrafficPattern.LOBBY;
+		int floors = building.getFloors() - lobby;
+		ArrayList<Zone> zones = new ArrayList<Zone>();
+		for (int z = 0; z < zoneCount; z++) {
+			zones.add(new Zone("zone" + (z + 1), lobby, lobby + 1 + z * floors / zoneCount, lobby + (z + 1) * floors / zoneCount, carsPerZone));
+		}
+		return new ZoneLayout(building, zones);
+	}
+	
+	/**
+	 * Gets the zones a trip takes, one for every leg. The array is shared by every trip between the same zones
+	 * and must not be changed.
+	 * 
+	 * @param from	an int, the initial floor of the trip
+	 * @param to	an int, the destination floor of the trip
+	 * @return	an int[], the index of the zone of every leg
+	 */
+	public int[] getRoute(int from, int to) {
+		int[] route = routes[getFloorClass(from)][getFloorClass(to)];
+		if (route == null) {
+			throw new IllegalArgumentException("No zone serves floor " + (classZones[floorClasses[from]] == 0 ? from : to));
+		}
+		return route;
+	}
+	
+	/**
+	 * Gets the floors a trip stops at: its initial floor, the floors it changes cars at and its destination floor.
+	 * 
+	 * @param from	an int, the initial floor of the trip
+	 * @param to	an int, the destination floor of the trip
+	 * @param route	an int[], the zones of the trip from getRoute
+	 * @return	an int[], the floor every leg starts at, followed by the destination floor
+	 */
+	public int[] getStops(int from, int to, int[] route) {
+		int[] stops = new int[route.length + 1];
+		stops[0] = from;
+		for (int leg = 1; leg < route.length; leg++) {
+			stops[leg] = transferFloors[route[leg - 1]][route[leg]];
+		}
+		stops[route.length] = to;
+		return stops;
+	}
+	
+	/**
+	 * Gets the floor where passengers change from one zone to another.
+	 * 
+	 * @param from	an int, the index of the zone
+	 * @param to	an int, the index of the other zone
+	 * @return	an int, the floor both zones serve, -1 if they share none
+	 */
+	public int getTransferFloor(int from, int to) {
+		return transferFloors[from][to];
+	}
+	
+	/**
+	 * Get the building the zones are in.
+	 * 
+	 * @return	a Building, the building
+	 */
+	public Building getBuilding() {
+		return building;
+	}
+	
+	/**
+	 * Get the zones of the building.
+	 * 
+	 * @return	a List, the zones, it cannot be changed
+	 */
+	public List<Zone> getZones() {
+		return zones;
+	}
+	
+	/**
+	 * Gets the zones the way parse reads them.
+	 * 
+	 * @return	a String, the comma separated zones
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (Zone zone : zones) {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(zone);
+		}
+		return sb.toString();
+	}
+	
+	/**
+	 * Gets the class of a floor.
+	 * 
+	 * @param floor	an int, the floor
+	 * @return	an int, the class of the floor
+	 */
+	private int getFloorClass(int floor) {
+		if (!building.hasFloor(floor)) {
+			throw new IllegalArgumentException("Floor " + floor + " is not in the building");
+		}
+		return floorClasses[floor];
+	}
+	
+	/**
+	 * Finds the route with the fewest changes between the floors served by some zones and the floors served by others,
+	 * with a breadth first search through the zones that share a floor.
+	 * 
+	 * @param from	an int, the zones serving the initial floor, a bit per zone
+	 * @param to	an int, the zones serving the destination floor, a bit per zone
+	 * @return	an int[], the index of the zone of every leg
+	 */
+	private int[] findRoute(int from, int to) {
+		int both = from & to;
+		if (both != 0) {
+			return new int[] {Integer.numberOfTrailingZeros(both)};
+		}
+		
+		int[] previous = new int[zones.size()];
+		Arrays.fill(previous, -2);
+		ArrayDeque<Integer> queue = new ArrayDeque<Integer>();
+		for (int z = 0; z < zones.size(); z++) {
+			if ((from & (1 << z)) != 0) {
+				previous[z] = -1;
+				queue.add(z);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int z = queue.poll();
+			for (int next = 0; next < zones.size(); next++) {
+				if (previous[next] != -2 || transferFloors[z][next] < 0) {
+					continue;
+				}
+				previous[next] = z;
+				if ((to & (1 << next)) != 0) {
+					ArrayList<Integer> legs = new ArrayList<Integer>();
+					for (int leg = next; leg >= 0; leg = previous[leg]) {
+						legs.add(0, leg);
+					}
+					int[] route = new int[legs.size()];
+					for (int leg = 0; leg < route.length; leg++) {
+						route[leg] = legs.get(leg);
+					}
+					return route;
+				}
+				queue.add(next);
+			}
+		}
+		throw new IllegalArgumentException("The zones do not share a floor with each other: " + this);
+	}
+	
+	/**
+	 * Finds a floor two zones share, one of their lobbies if the other zone serves it.
+	 * 
+	 * @param a	a Zone
+	 * @param b	another Zone
+	 * @return	an int, the floor both zones serve, -1 if they share none
+	 */
+	private static int sharedFloor(Zone a, Zone b) {
+		if (b.serves(a.getLobby())) {
+			return a.getLobby();
+		}
+		if (a.serves(b.getLobby())) {
+			return b.getLobby();
+		}
+		int lowest = Math.max(a.getLowestFloor(), b.getLowestFloor());
+		return lowest <= Math.min(a.getHighestFloor(), b.getHighestFloor()) ? lowest : -1;
+	}
+}
@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for Zone and ZoneLayout Classes.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class ZoneLayoutTest {
+	
+	// low and mid rise from the ground floor, the high rise from a sky lobby the shuttle goes to
+	ZoneLayout layout = ZoneLayout.parse(Building.of(90), "low=2-30@1*4,mid=31-60@1*4,sky=61-61@1*2,high=62-90@61*4");
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that a zone is parsed the way toString writes it, and that a zone with no floors or elevators is rejected.
+	 */
+	@Test
+	void testParseZone() {
+		Zone zone = Zone.parse("high=62-90@61*4");
+		assertEquals("high", zone.getName());
+		assertEquals(61, zone.getLobby());
+		assertEquals(62, zone.getLowestFloor());
+		assertEquals(90, zone.getHighestFloor());
+		assertEquals(4, zone.getElevators());
+		assertEquals("high=62-90@61*4", zone.toString());
+		
+		assertTrue(zone.serves(61));
+		assertTrue(zone.serves(75));
+		assertFalse(zone.serves(60));
+		assertFalse(zone.serves(1));
+		
+		assertThrows(IllegalArgumentException.class, () -> Zone.parse("high=62-90"));
+		assertThrows(IllegalArgumentException.class, () -> Zone.parse("high=90-62@61*4"));
+		assertThrows(IllegalArgumentException.class, () -> Zone.parse("high=62-90@61*0"));
+	}
+	
+	/**
+	 * Tests that a trip a zone serves takes one leg, and that a trip between zones changes at their shared lobby.
+	 */
+	@Test
+	void testRoute() {
+		assertArrayEquals(new int[] {0}, layout.getRoute(5, 20));
+		assertArrayEquals(new int[] {5, 20}, layout.getStops(5, 20, layout.getRoute(5, 20)));
+		assertArrayEquals(new int[] {1}, layout.getRoute(1, 45));
+		
+		int[] route = layout.getRoute(20, 45);
+		assertArrayEquals(new int[] {0, 1}, route);
+		assertArrayEquals(new int[] {20, 1, 45}, layout.getStops(20, 45, route));
+		// the trips between the same zones share the route
+		assertSame(route, layout.getRoute(10, 50));
+		assertEquals(layout.toString(), ZoneLayout.parse(Building.of(90), layout.toString()).toString());
+	}
+	
+	/**
+	 * Tests that a trip to the high rise takes the shuttle to the sky lobby, and a trip down from it takes the shuttle back.
+	 */
+	@Test
+	void testSkyLobby() {
+		assertArrayEquals(new int[] {2, 3}, layout.getRoute(1, 80));
+		assertArrayEquals(new int[] {1, 61, 80}, layout.getStops(1, 80, layout.getRoute(1, 80)));
+		assertArrayEquals(new int[] {3, 2, 0}, layout.getRoute(80, 10));
+		assertArrayEquals(new int[] {80, 61, 1, 10}, layout.getStops(80, 10, layout.getRoute(80, 10)));
+		assertArrayEquals(new int[] {3}, layout.getRoute(61, 90));
+		assertEquals(61, layout.getTransferFloor(2, 3));
+		assertEquals(-1, layout.getTransferFloor(0, 3));
+	}
+	
+	/**
+	 * Tests that the floors are split evenly above the lobby.
+	 */
+	@Test
+	void testSplit() {
+		ZoneLayout split = ZoneLayout.split(Building.of(61), 3, 2);
+		assertEquals("zone1=2-21@1*2,zone2=22-41@1*2,zone3=42-61@1*2", split.toString());
+		assertEquals(6, split.getZones().stream().mapToInt(Zone::getElevators).sum());
+	}
+	
+	/**
+	 * Tests that a layout with a floor no zone serves, or zones that share no floor, is rejected.
+	 */
+	@Test
+	void testInvalidLayout() {
+		assertThrows(IllegalArgumentException.class, () -> ZoneLayout.parse(Building.of(30), "low=2-20@1*2"));
+		assertThrows(IllegalArgumentException.class, () -> ZoneLayout.parse(Building.of(30), "low=2-15@1*2,high=16-30@16*2"));
+		assertThrows(IllegalArgumentException.class, () -> new ZoneLayout(Building.of(30), Collections.emptyList()));
+		assertThrows(IllegalArgumentException.class, () -> layout.getRoute(0, 20));
+		assertThrows(IllegalArgumentException.class, () -> layout.getRoute(5, 91));
+		assertEquals(Arrays.asList("low", "mid", "sky", "high"), layout.getZones().stream().map(Zone::getName).toList());
+	}
+}
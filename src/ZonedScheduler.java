@@ -0,0 +1,326 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ZonedScheduler Class for a tall building split into zones, e.g., low-rise, mid-rise, high-rise and sky lobby zones.
+ * Every zone has its own group of elevators and its own Scheduler with its own queues, running on its own thread,
+ * so the zones dispatch in parallel and never wait for each other's locks.
+ * A trip between floors of different zones is split into TripLegs along the route of the ZoneLayout,
+ * once a zone drops off a leg at a transfer floor the next leg is sent to the next zone.
+ * The floor sees one scheduler: it adds the trips and gets them back once they arrive at their destination floor.
+ * 
+ * @author Yash Kapoor
+ * @author Faiaz Ahsan
+ * @author Zeid Alwash
+ * @author Fareen Lavji
+ * @author Harishan Amutheesan
+ * 
+ * @version 02.04.2023
+ */
+public class ZonedScheduler extends Scheduler {
+	
+	private static final long TRAVEL_TIME = 1; // milliseconds per floor in main
+	
+	private final ZoneLayout layout;
+	private final ArrayList<Scheduler> zones;	// the scheduler of every zone, in the order of the layout
+	private final Semaphore capacity;	// a permit for every trip that can still be added
+	private final AtomicInteger openTrips;	// the trips that have not arrived, plus one until the floor has sent all of them
+	
+	/**
+	 * Constructor for ZonedScheduler.
+	 * 
+	 * @param layout	a ZoneLayout, the zones of the building
+	 */
+	public ZonedScheduler(ZoneLayout layout) {
+		this(layout, DEFAULT_MAX_PENDING_REQUESTS);
+	}
+	
+	/**
+	 * Constructor for ZonedScheduler.
+	 * 
+	 * @param layout				a ZoneLayout, the zones of the building
+	 * @param maxPendingRequests	an int, the number of trips that have not arrived before addRequests blocks
+	 */
+	public ZonedScheduler(ZoneLayout layout, int maxPendingRequests) {
+		super(0);
+		this.layout = layout;
+		this.zones = new ArrayList<Scheduler>();
+		this.capacity = new Semaphore(maxPendingRequests);
+		this.openTrips = new AtomicInteger(1);
+		
+		int firstId = 0;
+		for (Zone zone : layout.getZones()) {
+			// the legs sent on from the other zones never block their elevators
+			int offset = firstId;
+			Scheduler s = new Scheduler(zone.getElevators(), Integer.MAX_VALUE, (scheduler, id) -> new Elevator(scheduler, offset + id)) {
+				@Override
+				public void requestPickedUp(Elevator car, FloorData fd) {
+					super.requestPickedUp(car, fd);
+					legPickedUp((TripLeg) fd);
+				}
+			};
+			for (Elevator car : s.getElevators()) {
+				car.setStatus(zone.getLobby(), null, zone.getLobby());
+			}
+			s.setArrivalListener(fd -> legArrived(s, (TripLeg) fd));
+			zones.add(s);
+			firstId += zone.getElevators();
+		}
+	}
+	
+	/**
+	 * Adds a trip, its first leg is sent to the zone that serves its initial floor.
+	 * Blocks while maxPendingRequests trips have not arrived, does nothing once the scheduler is shut down.
+	 * 
+	 * @param fd	a FloorData Object, the trip
+	 */
+	@Override
+	public void addRequests(FloorData fd) {
+		int[] route = layout.getRoute(fd.getInitialFloor(), fd.getDestinationFloor());
+		int[] stops = layout.getStops(fd.getInitialFloor(), fd.getDestinationFloor(), route);
+		capacity.acquireUninterruptibly();
+		if (isShutdown()) {
+			capacity.release();
+			return;
+		}
+		openTrips.incrementAndGet();
+		getMetrics().requestArrived(fd);
+		
+		TripLeg leg = new TripLeg(fd, route, stops, 0);
+		zones.get(leg.getZone()).addRequests(leg);
+	}
+	
+	/**
+	 * Called by the floor once it has sent all of its trips.
+	 * The zones are told once the trips that are on their way have arrived, since they send each other legs until then.
+	 */
+	@Override
+	public void notifyRequestsLoaded() {
+		super.notifyRequestsLoaded();
+		tripClosed();
+	}
+	
+	/**
+	 * Stops the scheduler of every zone before every trip has arrived.
+	 */
+	@Override
+	public void shutdown() {
+		super.shutdown();
+		capacity.release();
+		for (Scheduler s : zones) {
+			s.shutdown();
+		}
+	}
+	
+	/**
+	 * Sets the failure timeout of the watchdog of every zone, each zone sends the requests of its failed elevators
+	 * to its other elevators.
+	 * 
+	 * @param failureTimeout	a long, the timeout in milliseconds, 0 to turn the watchdogs off
+	 */
+	@Override
+	public void setFailureTimeout(long failureTimeout) {
+		super.setFailureTimeout(failureTimeout);
+		for (Scheduler s : zones) {
+			s.setFailureTimeout(failureTimeout);
+		}
+	}
+	
+	/**
+	 * Gets the elevators of every zone.
+	 * 
+	 * @return	an ArrayList, the elevators in the order of the zones
+	 */
+	@Override
+	public ArrayList<Elevator> getElevators() {
+		ArrayList<Elevator> elevators = new ArrayList<Elevator>();
+		for (Scheduler s : zones) {
+			elevators.addAll(s.getElevators());
+		}
+		return elevators;
+	}
+	
+	/**
+	 * Get the scheduler of every zone, e.g., to get the metrics of the legs a zone serviced.
+	 * 
+	 * @return	a List, the schedulers in the order of the zones of the layout
+	 */
+	public List<Scheduler> getZoneSchedulers() {
+		return zones;
+	}
+	
+	/**
+	 * Get the zones of the building.
+	 * 
+	 * @return	a ZoneLayout, the zones
+	 */
+	public ZoneLayout getLayout() {
+		return layout;
+	}
+	
+	/**
+	 * Called on the thread of the elevator that picked up a leg.
+	 * The trip waited until its first car picked it up, the changes are part of its ride.
+	 * 
+	 * @param leg	a TripLeg, the leg
+	 */
+	private void legPickedUp(TripLeg leg) {
+		if (leg.getLeg() == 0) {
+			getMetrics().requestPickedUp(leg.getTrip());
+		}
+	}
+	
+	/**
+	 * Called on the thread of the elevator that dropped off a leg.
+	 * Sends the next leg to its zone, or the trip to the floor if the leg ended at its destination floor.
+	 * 
+	 * @param zone	a Scheduler, the scheduler of the zone that serviced the leg
+	 * @param leg	a TripLeg, the leg
+	 */
+	private void legArrived(Scheduler zone, TripLeg leg) {
+		zone.arrivalReceived(leg);
+		FloorData trip = leg.getTrip();
+		if (!leg.isLast()) {
+			TripLeg next = leg.next();
+			zones.get(next.getZone()).addRequests(next);
+			return;
+		}
+		
+		getMetrics().requestDroppedOff(trip);
+		notifySchedulerToFloor(trip);
+		capacity.release();
+		tripClosed();
+	}
+	
+	/**
+	 * Counts a trip that arrived, or the floor having sent all of its trips.
+	 * Once nothing is left, the zones are told that no more legs will be sent to them.
+	 */
+	private void tripClosed() {
+		if (openTrips.decrementAndGet() == 0) {
+			for (Scheduler s : zones) {
+				s.notifyRequestsLoaded();
+			}
+		}
+	}
+	
+	/**
+	 * Used to run the ZonedScheduler thread.
+	 * Runs the scheduler of every zone on its own thread, and stops once all of them have serviced their legs.
+	 */
+	@Override
+	public void run() {
+		ArrayList<Thread> threads = new ArrayList<Thread>();
+		for (int z = 0; z < zones.size(); z++) {
+			Thread t = new Thread(zones.get(z), "Scheduler " + layout.getZones().get(z).getName());
+			threads.add(t);
+			t.start();
+		}
+		
+		boolean interrupted = false;
+		for (Thread t : threads) {
+			while (t.isAlive()) {
+				try {
+					t.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		finish();
+	}
+	
+	/**
+	 * Compares the zoned scheduler with one scheduler for every elevator of the building, on the same trips.
+	 * 
+	 * @param args	the number of floors, the zones (see ZoneLayout.parse), the number of trips (optional, 2000 by default)
+	 * 				and the TrafficPattern (optional, INTERFLOOR by default)
+	 * @throws InterruptedException	if the comparison is interrupted
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		if (args.length < 2) {
+			System.err.println("Usage: ZonedScheduler <floors> <zones> [trips] [pattern]");
+			System.err.println("       e.g. ZonedScheduler 90 low=2-30@1*4,mid=31-60@1*4,sky=61-61@1*2,high=62-90@61*4");
+			return;
+		}
+		Building building = Building.of(Integer.parseInt(args[0]));
+		ZoneLayout layout = ZoneLayout.parse(building, args[1]);
+		int trips = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+		TrafficPattern pattern = args.length > 3 ? TrafficPattern.valueOf(args[3]) : TrafficPattern.INTERFLOOR;
+		EventLog.getDefault().setLevel(EventLog.Level.OFF);
+		
+		ZonedScheduler zoned = new ZonedScheduler(layout, trips);
+		Scheduler single = new Scheduler(zoned.getElevators().size(), trips);
+		System.out.println("Scheduler\tElevators\tTrips\tTime (ms)\tTrips/s\tWait mean (ms)\tWait p99 (ms)\tFloors travelled");
+		print("single", single, run(single, building, pattern, trips));
+		print("zoned", zoned, run(zoned, building, pattern, trips));
+		
+		System.out.println();
+		System.out.println("Zone\t\tElevators\tLegs\tWait mean (ms)\tWait p99 (ms)\tFloors travelled");
+		for (int z = 0; z < zoned.getZoneSchedulers().size(); z++) {
+			Scheduler s = zoned.getZoneSchedulers().get(z);
+			print(layout.getZones().get(z).toString(), s, -1);
+		}
+	}
+	
+	/**
+	 * Services the same generated trips with a scheduler.
+	 * 
+	 * @param s			a Scheduler, the scheduler and its elevators
+	 * @param building	a Building, the building
+	 * @param pattern	a TrafficPattern, the traffic
+	 * @param trips		an int, the number of trips
+	 * @return	a long, the time it took to service the trips in nanoseconds
+	 * @throws InterruptedException	if the run is interrupted
+	 */
+	private static long run(Scheduler s, Building building, TrafficPattern pattern, int trips) throws InterruptedException {
+		for (Elevator car : s.getElevators()) {
+			car.setTravelTime(TRAVEL_TIME);
+		}
+		TrafficGenerator generator = new TrafficGenerator(building, pattern, 1, trips, 42);
+		while (generator.hasNext()) {
+			s.addRequests(generator.next());
+		}
+		s.notifyRequestsLoaded();
+		
+		Thread floor = new Thread(() -> {
+			while (s.awaitSchedulerToFloor() != null);
+		}, "Floor");
+		Thread scheduler = new Thread(s, "Scheduler");
+		long start = System.nanoTime();
+		floor.start();
+		scheduler.start();
+		scheduler.join();
+		floor.join();
+		return System.nanoTime() - start;
+	}
+	
+	/**
+	 * Prints a line of the comparison.
+	 * 
+	 * @param name		a String, the name of the scheduler or the zone
+	 * @param s			a Scheduler, the scheduler
+	 * @param elapsed	a long, the time the run took in nanoseconds, -1 to leave it out
+	 */
+	private static void print(String name, Scheduler s, long elapsed) {
+		MetricsSnapshot m = s.getMetrics().snapshot();
+		long floorsTravelled = 0;
+		for (Elevator car : s.getElevators()) {
+			floorsTravelled += car.getFloorsTravelled();
+		}
+		long mean = m.getWaitTime().getMean() / 1000000;
+		long p99 = m.getWaitTime().getPercentile(99) / 1000000;
+		if (elapsed < 0) {
+			System.out.println(name + "\t" + s.getElevators().size() + "\t\t" + m.getArrivedRequests() + "\t" + mean + "\t\t" + p99
+					+ "\t\t" + floorsTravelled);
+			return;
+		}
+		System.out.println(name + "\t\t" + s.getElevators().size() + "\t\t" + m.getArrivedRequests() + "\t" + elapsed / 1000000
+				+ "\t\t" + m.getArrivedRequests() * 1000000000L / elapsed + "\t" + mean + "\t\t" + p99 + "\t\t" + floorsTravelled);
+	}
+}
@@ -0,0 +1,124 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * JUnit Tests for ZonedScheduler Class.
+ * 
+ * @author Fareen Lavji
+ * 
+ * @version 02.04.2023
+ */
+class ZonedSchedulerTest {
+	
+	Building building = Building.of(90);
+	ZoneLayout layout = ZoneLayout.parse(building, "low=2-30@1*2,mid=31-60@1*2,sky=61-61@1*1,high=62-90@61*2");
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@BeforeEach
+	void setUp() throws Exception {
+	}
+	
+	/**
+	 * @throws java.lang.Exception
+	 */
+	@AfterEach
+	void tearDown() throws Exception {
+	}
+	
+	/**
+	 * Tests that every zone gets its own elevators, with their own ids, waiting at the lobby of the zone.
+	 */
+	@Test
+	void testZones() {
+		ZonedScheduler s = new ZonedScheduler(layout);
+		assertEquals(4, s.getZoneSchedulers().size());
+		assertEquals(7, s.getElevators().size());
+		
+		HashSet<Integer> ids = new HashSet<Integer>();
+		for (Elevator car : s.getElevators()) {
+			ids.add(car.getId());
+		}
+		assertEquals(7, ids.size());
+		assertEquals(61, s.getZoneSchedulers().get(3).getElevators().get(0).getCurrentFloor());
+		assertEquals(1, s.getZoneSchedulers().get(0).getElevators().get(0).getCurrentFloor());
+	}
+	
+	/**
+	 * Tests that every trip arrives at its destination floor once, including the trips that change zones,
+	 * while the zones run on their own threads and the floor is still adding trips.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testTripsArrive() throws Exception {
+		ZonedScheduler s = new ZonedScheduler(layout, 16);
+		List<FloorData> arrived = Collections.synchronizedList(new ArrayList<FloorData>());
+		Thread floor = new Thread(() -> {
+			FloorData fd;
+			while ((fd = s.awaitSchedulerToFloor()) != null) {
+				arrived.add(fd);
+			}
+		});
+		Thread scheduler = new Thread(s);
+		floor.start();
+		scheduler.start();
+		
+		TrafficGenerator generator = new TrafficGenerator(building, TrafficPattern.INTERFLOOR, 1, 300, 42);
+		ArrayList<FloorData> trips = new ArrayList<FloorData>();
+		while (generator.hasNext()) {
+			FloorData fd = generator.next();
+			trips.add(fd);
+			s.addRequests(fd);
+		}
+		s.notifyRequestsLoaded();
+		scheduler.join(20000);
+		floor.join(20000);
+		
+		assertFalse(scheduler.isAlive());
+		assertFalse(floor.isAlive());
+		assertEquals(300, arrived.size());
+		assertEquals(new HashSet<FloorData>(trips), new HashSet<FloorData>(arrived));
+		
+		// the trips were dropped off by the scheduler of their zone, not picked up again
+		MetricsSnapshot m = s.getMetrics().snapshot();
+		assertEquals(300, m.getArrivedRequests());
+		assertEquals(300, m.getWaitTime().getCount());
+		assertEquals(300, m.getRideTime().getCount());
+		
+		// the trips to and from the high rise took the shuttle, both ways
+		long legs = 0;
+		for (Scheduler zone : s.getZoneSchedulers()) {
+			assertTrue(zone.getServiceableRequests().isEmpty());
+			legs += zone.getMetrics().snapshot().getArrivedRequests();
+		}
+		assertTrue(legs > 300);
+		assertTrue(s.getZoneSchedulers().get(2).getMetrics().snapshot().getArrivedRequests() > 0);
+	}
+	
+	/**
+	 * Tests that the scheduler stops once the floor has sent all of its trips, even if there were none.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	void testNoTrips() throws Exception {
+		ZonedScheduler s = new ZonedScheduler(layout);
+		Thread scheduler = new Thread(s);
+		scheduler.start();
+		s.notifyRequestsLoaded();
+		scheduler.join(10000);
+		
+		assertFalse(scheduler.isAlive());
+		assertNull(s.awaitSchedulerToFloor());
+	}
+}